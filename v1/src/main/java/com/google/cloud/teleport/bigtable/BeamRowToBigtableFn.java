@@ -23,19 +23,18 @@ import java.nio.charset.Charset;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.TreeMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import org.apache.beam.sdk.options.ValueProvider;
 import org.apache.beam.sdk.options.ValueProvider.StaticValueProvider;
+import org.apache.beam.sdk.schemas.Schema;
 import org.apache.beam.sdk.schemas.Schema.Field;
+import org.apache.beam.sdk.schemas.Schema.FieldType;
 import org.apache.beam.sdk.schemas.Schema.TypeName;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.values.KV;
@@ -90,6 +89,7 @@ public class BeamRowToBigtableFn extends DoFn<Row, KV<ByteString, Iterable<Mutat
   private Boolean processWritetime;
   private final ValueProvider<Boolean> setZeroTimestamp;
   private Long backfillTimestamp;
+  private transient SchemaEncoder encoder;
 
   // Simplified function overload for testing purposes.
   public static BeamRowToBigtableFn create(
@@ -170,106 +170,283 @@ public class BeamRowToBigtableFn extends DoFn<Row, KV<ByteString, Iterable<Mutat
   public void processElement(
       @Element Row row, OutputReceiver<KV<ByteString, Iterable<Mutation>>> out) {
 
-    // Generate the Bigtable Rowkey. This key will be used for all Cells for this row.
-    ByteString rowkey = generateRowKey(row);
-
-    // Number of mutations accumulated to be outputted.
-    int cellsProcessed = 0;
-
-    // Retrieve all fields that are not part of the rowkey. All fields that are part of the
-    // rowkey must have a metadata key set to key_order. All other fields should become their own
-    // cells in Bigtable.
-    List<Field> nonKeyColumns =
-        row.getSchema().getFields().stream()
-            .filter(
-                f ->
-                    f.getType()
-                        .getMetadataString(CassandraRowMapperFn.KEY_ORDER_METADATA_KEY)
-                        .isEmpty())
-            .collect(Collectors.toList());
-
-    // Initialize hashmap of column name to int64 timestamps.
-    HashMap<String, Long> columnTimestamps = new HashMap<>();
-    if (processWritetime) {
-      columnTimestamps = getColumnWritetimes(row, nonKeyColumns);
+    // Rows of a PCollection share their schema, so the encoder is only compiled once per worker.
+    if (encoder == null || encoder.schema != row.getSchema()) {
+      encoder = new SchemaEncoder(row.getSchema());
     }
 
-    // Iterate over all the fields with three cases. Primitives, collections and maps.
-    List<Mutation> mutationsToAdd = new ArrayList<>();
-    for (Field field : nonKeyColumns) {
-      TypeName type = field.getType().getTypeName();
-      // Get writetime for column if it exists.
-      Long timestamp = columnTimestamps.getOrDefault(field.getName(), backfillTimestamp);
-
-      if (processWritetime && field.getName().contains(WRITETIME_COLUMN)) {
-        // Skip writetime fields if processWritetime is on.
-      } else if (type.isPrimitiveType()) {
-        ByteString value = primitiveFieldToBytes(type, row.getValue(field.getName()));
-        SetCell cell = createCell(defaultColumnFamily.get(), field.getName(), value, timestamp);
-        mutationsToAdd.addAll(Arrays.asList(Mutation.newBuilder().setSetCell(cell).build()));
-      } else if (type.isCollectionType()) {
-        mutationsToAdd.addAll(createCollectionMutations(row, field, timestamp));
-      } else if (type.isMapType()) {
-        mutationsToAdd.addAll(createMapMutations(row, field, timestamp));
-      } else {
-        throw new UnsupportedOperationException(
-            "Mapper does not support type:" + field.getType().getTypeName().toString());
+    // Generate the Bigtable Rowkey. This key will be used for all Cells for this row.
+    ByteString rowkey = encoder.encodeRowKey(row);
+    List<Mutation> mutationsToAdd = encoder.encodeMutations(row);
+
+    // Output the constructed mutations. Split them up if the split large rows flag is on.
+    if (!this.splitLargeRows || maxMutationsPerRequest <= 0) {
+      if (!mutationsToAdd.isEmpty()) {
+        out.output(KV.of(rowkey, ImmutableList.copyOf(mutationsToAdd)));
       }
+      return;
     }
+    for (int from = 0; from < mutationsToAdd.size(); from += maxMutationsPerRequest) {
+      // Send a MutateRow request for every max mutations per request.
+      int to = Math.min(from + maxMutationsPerRequest, mutationsToAdd.size());
+      out.output(KV.of(rowkey, ImmutableList.copyOf(mutationsToAdd.subList(from, to))));
+    }
+  }
 
-    // DoFn return value.
-    ImmutableList.Builder<Mutation> mutations = ImmutableList.builder();
-    // Iterate over constructed mutations and build them. Split them up if the split large rows flag
-    // is on.
-    for (Mutation mutationToAdd : mutationsToAdd) {
-      mutations.add(mutationToAdd);
-      cellsProcessed++;
-      if (this.splitLargeRows && cellsProcessed % maxMutationsPerRequest == 0) {
-        // Send a MutateRow request when we have accumulated max mutations per request.
-        out.output(KV.of(rowkey, mutations.build()));
-        mutations = ImmutableList.builder();
+  /**
+   * A {@link SchemaEncoder} holds everything about a {@link Schema} that does not change between
+   * rows: the ordered row key fields, the cell fields with their pre-encoded column qualifiers and
+   * the position of the writetime field of each column. Encoding a row is then an indexed walk over
+   * the row values.
+   */
+  private final class SchemaEncoder {
+
+    private final Schema schema;
+    private final String columnFamily;
+    private final String rowKeySeparator;
+    private final int[] keyIndexes;
+    private final TypeName[] keyTypes;
+    private final FieldEncoder[] fieldEncoders;
+    private final boolean hasWritetimes;
+
+    SchemaEncoder(Schema schema) {
+      this.schema = schema;
+      this.columnFamily = defaultColumnFamily.get();
+      this.rowKeySeparator = defaultRowKeySeparator.get();
+
+      // Fields that are part of the rowkey have a metadata key set to key_order, ordered by value.
+      Map<String, Integer> keyColumns = new TreeMap<>();
+      List<Integer> nonKeyColumns = new ArrayList<>();
+      for (int i = 0; i < schema.getFieldCount(); i++) {
+        String keyOrder =
+            schema
+                .getField(i)
+                .getType()
+                .getMetadataString(CassandraRowMapperFn.KEY_ORDER_METADATA_KEY);
+        if (keyOrder.isEmpty()) {
+          nonKeyColumns.add(i);
+        } else {
+          keyColumns.putIfAbsent(keyOrder, i);
+        }
       }
+      this.keyIndexes = keyColumns.values().stream().mapToInt(Integer::intValue).toArray();
+      this.keyTypes = new TypeName[keyIndexes.length];
+      for (int i = 0; i < keyIndexes.length; i++) {
+        keyTypes[i] = schema.getField(keyIndexes[i]).getType().getTypeName();
+      }
+
+      // Writetime values will be joined to the other mutations as timestamps.
+      Map<String, Integer> writetimeIndexes = getColumnWritetimeIndexes(schema, nonKeyColumns);
+      this.hasWritetimes = !writetimeIndexes.isEmpty();
+
+      List<FieldEncoder> encoders = new ArrayList<>(nonKeyColumns.size());
+      for (int index : nonKeyColumns) {
+        Field field = schema.getField(index);
+        if (processWritetime && field.getName().contains(WRITETIME_COLUMN)) {
+          // Skip writetime fields if processWritetime is on.
+          continue;
+        }
+        TypeName type = field.getType().getTypeName();
+        if (!type.isPrimitiveType() && !type.isCollectionType() && !type.isMapType()) {
+          throw new UnsupportedOperationException(
+              "Mapper does not support type:" + field.getType().getTypeName().toString());
+        }
+        encoders.add(
+            new FieldEncoder(index, field, writetimeIndexes.getOrDefault(field.getName(), -1)));
+      }
+      this.fieldEncoders = encoders.toArray(new FieldEncoder[0]);
     }
-    // Flush any remaining mutations.
-    ImmutableList remainingMutations = mutations.build();
-    if (!remainingMutations.isEmpty()) {
-      out.output(KV.of(rowkey, remainingMutations));
+
+    /**
+     * This method generates a String-based Bigtable Rowkey based on the Beam {@link Row} supplied
+     * as input. The values of the row key fields are joined in key order with the row key
+     * separator. Example:
+     *
+     * <p>If you supply the method with a row having three fields named 'key1', 'key2' and 'cell1'
+     * with values 'hello', 'world' and '1'. Where fields 'key1', 'key2' have the metadata
+     * "key_order",0 and "key_order",1 and defaultRowKeySeparator '#' the method would return:
+     * 'hello#world'
+     *
+     * @param row the row to create a rowkey from.
+     * @return the string formatted rowkey.
+     */
+    ByteString encodeRowKey(Row row) {
+      StringBuilder rowkey = new StringBuilder();
+      for (int i = 0; i < keyIndexes.length; i++) {
+        if (i > 0) {
+          rowkey.append(rowKeySeparator);
+        }
+        rowkey.append(primitiveFieldToString(keyTypes[i], row.getValue(keyIndexes[i])));
+      }
+      return ByteString.copyFromUtf8(rowkey.toString());
     }
-  }
 
-  private HashMap<String, Long> getColumnWritetimes(Row row, List<Field> nonKeyColumns) {
-    // Writetime values will be joined to the other mutations as timestamps.
-    HashMap<String, Long> columnTimestamps = new HashMap<>();
+    /**
+     * Encodes the cell fields of the row into {@link Mutation}s, in field order. The returned list
+     * is sized exactly to the number of cells of the row.
+     */
+    List<Mutation> encodeMutations(Row row) {
+      if (processWritetime && !hasWritetimes) {
+        LOG.warn(
+            "Could not parse timestamp column from row: " + row.toString() + " " + row.getValues());
+      }
 
-    if (!processWritetime) {
-      LOG.warn(
-          "Trying to get column writetime even though processWritetime is: " + processWritetime);
-      return columnTimestamps;
+      int cellCount = 0;
+      for (FieldEncoder fieldEncoder : fieldEncoders) {
+        cellCount += fieldEncoder.cellCount(row);
+      }
+
+      List<Mutation> mutations = new ArrayList<>(cellCount);
+      for (FieldEncoder fieldEncoder : fieldEncoders) {
+        // Get writetime for column if it exists.
+        long timestamp =
+            fieldEncoder.writetimeIndex < 0
+                ? backfillTimestamp
+                : normalizeToBigtableTimestamp(row.getInt64(fieldEncoder.writetimeIndex));
+        fieldEncoder.encode(row, timestamp, mutations);
+      }
+      return mutations;
     }
 
-    Pattern writetimeColumn = Pattern.compile(String.format("%s\\((.*)\\)", WRITETIME_COLUMN));
-    for (Field field : nonKeyColumns) {
-      if (field.getName().contains(WRITETIME_COLUMN)) {
-        // Get column name of writetime column, e.g. "writetime(column1)" will be the writetime for
-        // "column1".
-        Matcher matcher = writetimeColumn.matcher(field.getName());
-        matcher.matches();
-        String columnName = matcher.group(1);
+    private Mutation createMutation(ByteString columnQualifier, ByteString value, long timestamp) {
+      return Mutation.newBuilder()
+          .setSetCell(
+              SetCell.newBuilder()
+                  .setFamilyName(columnFamily)
+                  .setColumnQualifier(columnQualifier)
+                  .setValue(value)
+                  .setTimestampMicros(timestamp))
+          .build();
+    }
+
+    /**
+     * A {@link FieldEncoder} converts one cell field of the row to mutations. Primitives become a
+     * single cell. Collections and maps expand into one cell per element, see {@link
+     * #encodeCollection(Collection, long, List)} and {@link #encodeMap(Map, long, List)}. The
+     * column qualifiers of the expanded cells are cached as they are first needed.
+     */
+    private final class FieldEncoder {
+
+      private final int index;
+      private final TypeName type;
+      private final String name;
+      private final ByteString qualifier;
+      private final int writetimeIndex;
+      private final List<ByteString> elementQualifiers = new ArrayList<>();
+
+      FieldEncoder(int index, Field field, int writetimeIndex) {
+        this.index = index;
+        this.type = field.getType().getTypeName();
+        this.name = field.getName();
+        this.qualifier = ByteString.copyFrom(name, Charset.defaultCharset());
+        this.writetimeIndex = writetimeIndex;
+      }
+
+      int cellCount(Row row) {
+        if (type.isPrimitiveType()) {
+          return 1;
+        } else if (type.isCollectionType()) {
+          return row.getArray(index).size();
+        }
+        return row.getMap(index).size() * 2;
+      }
+
+      void encode(Row row, long timestamp, List<Mutation> mutations) {
+        if (type.isPrimitiveType()) {
+          mutations.add(
+              createMutation(
+                  qualifier, primitiveFieldToBytes(type, row.getValue(index)), timestamp));
+        } else if (type.isCollectionType()) {
+          encodeCollection(row.getArray(index), timestamp, mutations);
+        } else {
+          encodeMap(row.getMap(index), timestamp, mutations);
+        }
+      }
+
+      /**
+       * Example: a collection named ‘mycolumn’ with three values would be expanded into three
+       * column qualifiers in inside Cloud Bigtable called, ‘mycolumn[0]’, ‘mycolumn[1]’
+       * ,‘mycolumn[2]’. Cell values will be serialized with the {@link
+       * BeamRowToBigtableFn#primitiveFieldToBytes(TypeName, Object)} primitiveFieldToBytes} method.
+       */
+      private void encodeCollection(
+          Collection<Object> values, long timestamp, List<Mutation> mutations) {
+        TypeName elementType =
+            schema.getField(index).getType().getCollectionElementType().getTypeName();
+        int i = 0;
+        for (Object value : values) {
+          mutations.add(
+              createMutation(
+                  elementQualifier(i, "[" + i + "]"),
+                  primitiveFieldToBytes(elementType, value),
+                  timestamp));
+          i++;
+        }
+      }
 
-        // Get timestamp and normalize as necessary.
-        Long rawTimestamp = (Long) row.getValue(field.getName());
-        Long normalizedTimestamp = normalizeToBigtableTimestamp(rawTimestamp);
+      /**
+       * Maps are serialized similarly to collections however with an additional suffix to denote if
+       * the cell is a key or a value. As such a map column in Cassandra named ‘mycolumn’ with two
+       * key-value pairs would be expanded into the following column qualifiers: ‘mycolumn[0].key’,
+       * ‘mycolumn[1].key’, ‘mycolumn[0].value’, ‘mycolumn[1].value’.
+       */
+      private void encodeMap(Map<Object, Object> values, long timestamp, List<Mutation> mutations) {
+        FieldType fieldType = schema.getField(index).getType();
+        TypeName mapKeyType = fieldType.getMapKeyType().getTypeName();
+        TypeName mapValueType = fieldType.getMapValueType().getTypeName();
+        // We use tree-map here to make sure that the keys are sorted.
+        // Otherwise we get unpredictable serialization order of the keys in the mutation.
+        int i = 0;
+        for (Map.Entry<Object, Object> entry : new TreeMap<>(values).entrySet()) {
+          mutations.add(
+              createMutation(
+                  elementQualifier(2 * i, "[" + i + "].key"),
+                  primitiveFieldToBytes(mapKeyType, entry.getKey()),
+                  timestamp));
+          mutations.add(
+              createMutation(
+                  elementQualifier(2 * i + 1, "[" + i + "].value"),
+                  primitiveFieldToBytes(mapValueType, entry.getValue()),
+                  timestamp));
+          i++;
+        }
+      }
 
-        columnTimestamps.put(columnName, normalizedTimestamp);
+      private ByteString elementQualifier(int position, String suffix) {
+        while (elementQualifiers.size() <= position) {
+          elementQualifiers.add(null);
+        }
+        ByteString elementQualifier = elementQualifiers.get(position);
+        if (elementQualifier == null) {
+          elementQualifier = ByteString.copyFrom(name + suffix, Charset.defaultCharset());
+          elementQualifiers.set(position, elementQualifier);
+        }
+        return elementQualifier;
       }
     }
+  }
 
-    if (columnTimestamps.size() == 0) {
-      LOG.warn(
-          "Could not parse timestamp column from row: " + row.toString() + " " + row.getValues());
+  /**
+   * Returns the index of the writetime field for each column that has one, e.g.
+   * "writetime(column1)" holds the writetime for "column1".
+   */
+  private Map<String, Integer> getColumnWritetimeIndexes(
+      Schema schema, List<Integer> nonKeyColumns) {
+    Map<String, Integer> writetimeIndexes = new HashMap<>();
+    if (!processWritetime) {
+      return writetimeIndexes;
     }
 
-    return columnTimestamps;
+    Pattern writetimeColumn = Pattern.compile(String.format("%s\\((.*)\\)", WRITETIME_COLUMN));
+    for (int index : nonKeyColumns) {
+      String fieldName = schema.getField(index).getName();
+      if (fieldName.contains(WRITETIME_COLUMN)) {
+        Matcher matcher = writetimeColumn.matcher(fieldName);
+        matcher.matches();
+        writetimeIndexes.put(matcher.group(1), index);
+      }
+    }
+    return writetimeIndexes;
   }
 
   /**
@@ -309,92 +486,6 @@ public class BeamRowToBigtableFn extends DoFn<Row, KV<ByteString, Iterable<Mutat
     return newTimestamp;
   }
 
-  /**
-   * Method generates a set of Bigtable mutations from the field specified in the input. Example: a
-   * collection named ‘mycolumn’ with three values would be expanded into three column qualifiers in
-   * inside Cloud Bigtable called, ‘mycolumn[0]’, ‘mycolumn[1]’ ,‘mycolumn[2]’. Cell values will be
-   * serialized with the {@link BeamRowToBigtableFn#primitiveFieldToBytes(TypeName, Object)}
-   * primitiveFieldToBytes} method.
-   *
-   * @param row The row to get the collection from.
-   * @param field The field pointing to a collection in the row.
-   * @param timestamp epoch long timestamp for collection mutations.
-   * @return A set of mutation on the format specified above.
-   */
-  private List<Mutation> createCollectionMutations(Row row, Field field, Long timestamp) {
-    List<Mutation> mutations = new ArrayList<>();
-    List<Object> list = new ArrayList<Object>(row.getArray(field.getName()));
-    TypeName collectionElementType = field.getType().getCollectionElementType().getTypeName();
-    for (int i = 0; i < list.size(); i++) {
-      String fieldName = field.getName() + "[" + i + "]";
-      ByteString value = primitiveFieldToBytes(collectionElementType, list.get(i));
-      SetCell cell = createCell(defaultColumnFamily.get(), fieldName, value, timestamp);
-      mutations.add(Mutation.newBuilder().setSetCell(cell).build());
-    }
-    return mutations;
-  }
-
-  /**
-   * Maps are serialized similarly to {@link BeamRowToBigtableFn#createMapMutations(Row, Field,
-   * Long)} collections} however with an additional suffix to denote if the cell is a key or a
-   * value. As such a map column in Cassandra named ‘mycolumn’ with two key-value pairs would be
-   * expanded into the following column qualifiers: ‘mycolumn[0].key’, ‘mycolumn[1].key’,
-   * ‘mycolumn[0].value’, ‘mycolumn[1].value’. Cell values will be serialized with the {@link
-   * BeamRowToBigtableFn#primitiveFieldToBytes(TypeName, Object)} primitiveFieldToBytes} method.
-   *
-   * @param row The row to get the collection from.
-   * @param field The field pointing to a collection in the row.
-   * @param timestamp epoch long timestamp for map mutations.
-   * @return A set of mutation on the format specified above.
-   */
-  private List<Mutation> createMapMutations(Row row, Field field, Long timestamp) {
-    List<Mutation> mutations = new ArrayList<>();
-    // We use tree-map here to make sure that the keys are sorted.
-    // Otherwise we get unpredictable serialization order of the keys in the mutation.
-    Map<Object, Object> map = new TreeMap(row.getMap(field.getName()));
-    TypeName mapKeyType = field.getType().getMapKeyType().getTypeName();
-    TypeName mapValueType = field.getType().getMapValueType().getTypeName();
-    Set<Map.Entry<Object, Object>> entries = map.entrySet();
-    Iterator<Map.Entry<Object, Object>> iterator = entries.iterator();
-    int i = 0;
-    while (iterator.hasNext()) {
-      Map.Entry<Object, Object> entry = iterator.next();
-      // Key
-      String keyFieldName = field.getName() + "[" + i + "].key";
-      ByteString keyValue = primitiveFieldToBytes(mapKeyType, entry.getKey());
-      SetCell keyCell = createCell(defaultColumnFamily.get(), keyFieldName, keyValue, timestamp);
-      mutations.add(Mutation.newBuilder().setSetCell(keyCell).build());
-
-      // Value
-      String valueFieldName = field.getName() + "[" + i + "].value";
-      ByteString valueValue = primitiveFieldToBytes(mapValueType, entry.getValue());
-      SetCell valueCell =
-          createCell(defaultColumnFamily.get(), valueFieldName, valueValue, timestamp);
-      mutations.add(Mutation.newBuilder().setSetCell(valueCell).build());
-
-      i++;
-    }
-    return mutations;
-  }
-
-  /**
-   * Helper method to create a SetCell operation.
-   *
-   * @param columnFamily the column family to apply the value on.
-   * @param columnQualifier the column qualifier to apply the value on.
-   * @param value the value to apply.
-   * @return
-   */
-  private SetCell createCell(
-      String columnFamily, String columnQualifier, ByteString value, Long timestamp) {
-    return SetCell.newBuilder()
-        .setFamilyName(columnFamily)
-        .setColumnQualifier(ByteString.copyFrom(columnQualifier, Charset.defaultCharset()))
-        .setValue(value)
-        .setTimestampMicros(timestamp)
-        .build();
-  }
-
   /**
    * Method serializes a primitive to a ByteString. Most types are serialized with the {@link Bytes
    * toBytes toBytes} method. Bytes and byte arrays pass through as they are whilst DATETIME types
@@ -404,7 +495,7 @@ public class BeamRowToBigtableFn extends DoFn<Row, KV<ByteString, Iterable<Mutat
    * @param value the value from the {@link Row row}
    * @return a ByteString.
    */
-  private ByteString primitiveFieldToBytes(TypeName type, Object value) {
+  private static ByteString primitiveFieldToBytes(TypeName type, Object value) {
 
     if (value == null) {
       return ByteString.EMPTY;
@@ -496,46 +587,4 @@ public class BeamRowToBigtableFn extends DoFn<Row, KV<ByteString, Iterable<Mutat
             "Unsupported type: " + type + " This method only supports primitives.");
     }
   }
-
-  /**
-   * This method generates a String-based Bigtable Rowkey based on the Beam {@link Row} supplied as
-   * input. The method filters out all fields containing a metadata key set to "key_order". The
-   * value of this metadata field represents the order in which the field was used in Cassandra when
-   * constructing the primary key. Example:
-   *
-   * <p>If you supply the method with a row having three fields named 'key1', 'key2' and 'cell1'
-   * with values 'hello', 'world' and '1'. Where fields 'key1', 'key2' have the metadata
-   * "key_order",0 and "key_order",1 and defaultRowKeySeparator '#' the method would return:
-   * 'hello#world'
-   *
-   * @param row the row to create a rowkey from.
-   * @return the string formatted rowkey.
-   */
-  private ByteString generateRowKey(Row row) {
-    Map<String, String> keyColumns =
-        row.getSchema().getFields().stream()
-            .filter(
-                f ->
-                    !f.getType()
-                        .getMetadataString(CassandraRowMapperFn.KEY_ORDER_METADATA_KEY)
-                        .isEmpty())
-            .collect(
-                Collectors.toMap(
-                    f -> f.getType().getMetadataString(CassandraRowMapperFn.KEY_ORDER_METADATA_KEY),
-                    Field::getName,
-                    (f, s) -> f,
-                    TreeMap::new));
-
-    // Join all values (field names) in order.
-    String rowkey =
-        keyColumns.entrySet().stream()
-            .map(
-                e ->
-                    primitiveFieldToString(
-                        row.getSchema().getField(e.getValue()).getType().getTypeName(),
-                        row.getValue(e.getValue())))
-            .collect(Collectors.joining(defaultRowKeySeparator.get()));
-    byte[] bytes = Bytes.toBytes(rowkey);
-    return ByteString.copyFrom(bytes);
-  }
 }
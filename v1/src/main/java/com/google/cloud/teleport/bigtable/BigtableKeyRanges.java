@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.bigtable;
+
+import com.google.bigtable.v2.Row;
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.beam.sdk.io.range.ByteKey;
+import org.apache.beam.sdk.io.range.ByteKeyRange;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.options.ValueProvider;
+import org.apache.beam.sdk.options.ValueProvider.NestedValueProvider;
+
+/**
+ * Utility class for the row key ranges read by the Bigtable export pipelines. Exporting a subset of
+ * the key ranges of a table allows a failed part of a large export to be re-run without rereading
+ * the whole table.
+ *
+ * <p>Key ranges are specified as a comma-separated list of {@code startKey:endKey} pairs. Keys are
+ * UTF-8 strings, the start key is inclusive and the end key is exclusive. An empty start or end key
+ * leaves that side of the range unbounded. For example, {@code :user100,user500:} exports all rows
+ * before {@code user100} and all rows from {@code user500} onwards.
+ *
+ * <p>Any byte of a key can be percent-encoded as {@code %XX}, where {@code XX} are two hexadecimal
+ * digits. This is how keys containing {@code :}, {@code ,} or {@code %} ({@code %3A}, {@code %2C}
+ * and {@code %25}), or bytes that are not valid UTF-8, are specified.
+ */
+final class BigtableKeyRanges {
+
+  private static final String RANGE_SEPARATOR = ",";
+  private static final String KEY_SEPARATOR = ":";
+  private static final char ESCAPE = '%';
+
+  private BigtableKeyRanges() {}
+
+  /**
+   * Returns a {@link ValueProvider} of the key ranges to read. When no key ranges are specified,
+   * the whole table is read.
+   */
+  static ValueProvider<List<ByteKeyRange>> of(ValueProvider<String> keyRanges) {
+    return NestedValueProvider.of(keyRanges, BigtableKeyRanges::parse);
+  }
+
+  /**
+   * Parses a comma-separated list of {@code startKey:endKey} pairs into {@link ByteKeyRange}s.
+   *
+   * @param keyRanges the key ranges to parse, or null or blank for the whole table.
+   * @return the parsed key ranges.
+   */
+  static List<ByteKeyRange> parse(String keyRanges) {
+    if (keyRanges == null || keyRanges.trim().isEmpty()) {
+      return Collections.singletonList(ByteKeyRange.ALL_KEYS);
+    }
+    List<ByteKeyRange> ranges = new ArrayList<>();
+    for (String range : keyRanges.split(RANGE_SEPARATOR)) {
+      String[] keys = range.trim().split(KEY_SEPARATOR, -1);
+      if (keys.length != 2) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Invalid key range '%s', expected the format startKey%sendKey.",
+                range, KEY_SEPARATOR));
+      }
+      ranges.add(ByteKeyRange.of(toByteKey(keys[0]), toByteKey(keys[1])));
+    }
+    return ranges;
+  }
+
+  private static ByteKey toByteKey(String key) {
+    if (key.isEmpty()) {
+      return ByteKey.EMPTY;
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(key.length());
+    int i = 0;
+    while (i < key.length()) {
+      if (key.charAt(i) != ESCAPE) {
+        int end = key.indexOf(ESCAPE, i);
+        if (end < 0) {
+          end = key.length();
+        }
+        byte[] utf8 = key.substring(i, end).getBytes(StandardCharsets.UTF_8);
+        bytes.write(utf8, 0, utf8.length);
+        i = end;
+        continue;
+      }
+      boolean complete = i + 2 < key.length();
+      int high = complete ? Character.digit(key.charAt(i + 1), 16) : -1;
+      int low = complete ? Character.digit(key.charAt(i + 2), 16) : -1;
+      if (high < 0 || low < 0) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Invalid key '%s', %s must be followed by two hexadecimal digits.", key, ESCAPE));
+      }
+      bytes.write((high << 4) | low);
+      i += 3;
+    }
+    return ByteKey.copyFrom(bytes.toByteArray());
+  }
+
+  /**
+   * Counts the rows and bytes exported by a pipeline. The counters report the export throughput in
+   * the job metrics.
+   */
+  static final class ExportCounters implements Serializable {
+
+    private final Counter rowsExported;
+    private final Counter bytesExported;
+
+    ExportCounters(Class<?> namespace) {
+      this.rowsExported = Metrics.counter(namespace, "rows-exported");
+      this.bytesExported = Metrics.counter(namespace, "bytes-exported");
+    }
+
+    void count(Row row) {
+      rowsExported.inc();
+      bytesExported.inc(row.getSerializedSize());
+    }
+  }
+}
@@ -19,6 +19,7 @@ import com.google.bigtable.v2.Cell;
 import com.google.bigtable.v2.Column;
 import com.google.bigtable.v2.Family;
 import com.google.bigtable.v2.Row;
+import com.google.cloud.teleport.bigtable.BigtableKeyRanges.ExportCounters;
 import com.google.cloud.teleport.bigtable.BigtableToAvro.Options;
 import com.google.cloud.teleport.metadata.Template;
 import com.google.cloud.teleport.metadata.TemplateCategory;
@@ -142,6 +143,19 @@ public class BigtableToAvro {
 
     @SuppressWarnings("unused")
     void setBigtableAppProfileId(ValueProvider<String> appProfileId);
+
+    @TemplateParameter.Text(
+        order = 7,
+        groupName = "Source",
+        optional = true,
+        description = "Row key ranges",
+        helpText =
+            "A comma-separated list of row key ranges to export, in the format `startKey:endKey`. The start key is inclusive and the end key is exclusive, an empty key leaves that side of the range unbounded. Percent-encode any key byte as `%XX`, such as `%3A` for `:`, `%2C` for `,` and `%25` for `%`, to specify keys containing these characters or binary keys. Use this option to re-export the key ranges of a failed export. Defaults to the whole table.",
+        example = ":user100,user500:")
+    ValueProvider<String> getBigtableKeyRanges();
+
+    @SuppressWarnings("unused")
+    void setBigtableKeyRanges(ValueProvider<String> keyRanges);
   }
 
   /**
@@ -168,7 +182,8 @@ public class BigtableToAvro {
             .withProjectId(options.getBigtableProjectId())
             .withInstanceId(options.getBigtableInstanceId())
             .withAppProfileId(options.getBigtableAppProfileId())
-            .withTableId(options.getBigtableTableId());
+            .withTableId(options.getBigtableTableId())
+            .withKeyRanges(BigtableKeyRanges.of(options.getBigtableKeyRanges()));
 
     // Do not validate input fields if it is running as a template.
     if (options.as(DataflowPipelineOptions.class).getTemplateLocation() != null) {
@@ -200,8 +215,11 @@ public class BigtableToAvro {
 
   /** Translates Bigtable {@link Row} to Avro {@link BigtableRow}. */
   static class BigtableToAvroFn extends SimpleFunction<Row, BigtableRow> {
+    private final ExportCounters counters = new ExportCounters(BigtableToAvro.class);
+
     @Override
     public BigtableRow apply(Row row) {
+      counters.count(row);
       ByteBuffer key = ByteBuffer.wrap(toByteArray(row.getKey()));
       List<BigtableCell> cells = new ArrayList<>();
       for (Family family : row.getFamiliesList()) {
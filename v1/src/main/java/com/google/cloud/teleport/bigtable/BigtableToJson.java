@@ -19,6 +19,7 @@ import com.google.bigtable.v2.Cell;
 import com.google.bigtable.v2.Column;
 import com.google.bigtable.v2.Family;
 import com.google.bigtable.v2.Row;
+import com.google.cloud.teleport.bigtable.BigtableKeyRanges.ExportCounters;
 import com.google.cloud.teleport.bigtable.BigtableToJson.Options;
 import com.google.cloud.teleport.metadata.Template;
 import com.google.cloud.teleport.metadata.TemplateCategory;
@@ -180,6 +181,19 @@ public class BigtableToJson {
 
     @SuppressWarnings("unused")
     void setBigtableAppProfileId(ValueProvider<String> appProfileId);
+
+    @TemplateParameter.Text(
+        order = 9,
+        groupName = "Source",
+        optional = true,
+        description = "Row key ranges",
+        helpText =
+            "A comma-separated list of row key ranges to export, in the format `startKey:endKey`. The start key is inclusive and the end key is exclusive, an empty key leaves that side of the range unbounded. Percent-encode any key byte as `%XX`, such as `%3A` for `:`, `%2C` for `,` and `%25` for `%`, to specify keys containing these characters or binary keys. Use this option to re-export the key ranges of a failed export. Defaults to the whole table.",
+        example = ":user100,user500:")
+    ValueProvider<String> getBigtableKeyRanges();
+
+    @SuppressWarnings("unused")
+    void setBigtableKeyRanges(ValueProvider<String> keyRanges);
   }
 
   /**
@@ -207,7 +221,8 @@ public class BigtableToJson {
             .withProjectId(options.getBigtableProjectId())
             .withInstanceId(options.getBigtableInstanceId())
             .withAppProfileId(options.getBigtableAppProfileId())
-            .withTableId(options.getBigtableTableId());
+            .withTableId(options.getBigtableTableId())
+            .withKeyRanges(BigtableKeyRanges.of(options.getBigtableKeyRanges()));
 
     // Do not validate input fields if it is running as a template.
     if (options.as(DataflowPipelineOptions.class).getTemplateLocation() != null) {
@@ -243,6 +258,7 @@ public class BigtableToJson {
   static class BigtableToJsonFn extends SimpleFunction<Row, String> {
     private boolean flatten;
     private ValueProvider<String> columnsAliases;
+    private final ExportCounters counters = new ExportCounters(BigtableToJson.class);
 
     public BigtableToJsonFn(boolean flatten, ValueProvider<String> columnsAliases) {
       this.flatten = flatten;
@@ -251,6 +267,7 @@ public class BigtableToJson {
 
     @Override
     public String apply(Row row) {
+      counters.count(row);
       StringWriter stringWriter = new StringWriter();
       JsonWriter jsonWriter = new JsonWriter(stringWriter);
       try {
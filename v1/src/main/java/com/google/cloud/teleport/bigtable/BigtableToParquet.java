@@ -21,6 +21,7 @@ import com.google.bigtable.v2.Cell;
 import com.google.bigtable.v2.Column;
 import com.google.bigtable.v2.Family;
 import com.google.bigtable.v2.Row;
+import com.google.cloud.teleport.bigtable.BigtableKeyRanges.ExportCounters;
 import com.google.cloud.teleport.bigtable.BigtableToParquet.Options;
 import com.google.cloud.teleport.metadata.Template;
 import com.google.cloud.teleport.metadata.TemplateCategory;
@@ -168,6 +169,19 @@ public class BigtableToParquet {
 
     @SuppressWarnings("unused")
     void setMinRowCountForPageSizeCheck(ValueProvider<Integer> minRowCountForPageSizeCheck);
+
+    @TemplateParameter.Text(
+        order = 9,
+        groupName = "Source",
+        optional = true,
+        description = "Row key ranges",
+        helpText =
+            "A comma-separated list of row key ranges to export, in the format `startKey:endKey`. The start key is inclusive and the end key is exclusive, an empty key leaves that side of the range unbounded. Percent-encode any key byte as `%XX`, such as `%3A` for `:`, `%2C` for `,` and `%25` for `%`, to specify keys containing these characters or binary keys. Use this option to re-export the key ranges of a failed export. Defaults to the whole table.",
+        example = ":user100,user500:")
+    ValueProvider<String> getBigtableKeyRanges();
+
+    @SuppressWarnings("unused")
+    void setBigtableKeyRanges(ValueProvider<String> keyRanges);
   }
 
   /**
@@ -198,7 +212,8 @@ public class BigtableToParquet {
             .withProjectId(options.getBigtableProjectId())
             .withInstanceId(options.getBigtableInstanceId())
             .withAppProfileId(options.getBigtableAppProfileId())
-            .withTableId(options.getBigtableTableId());
+            .withTableId(options.getBigtableTableId())
+            .withKeyRanges(BigtableKeyRanges.of(options.getBigtableKeyRanges()));
 
     // Do not validate input fields if it is running as a template.
     if (options.as(DataflowPipelineOptions.class).getTemplateLocation() != null) {
@@ -239,8 +254,11 @@ public class BigtableToParquet {
    * GenericRecord}.
    */
   static class BigtableToParquetFn extends SimpleFunction<Row, GenericRecord> {
+    private final ExportCounters counters = new ExportCounters(BigtableToParquet.class);
+
     @Override
     public GenericRecord apply(Row row) {
+      counters.count(row);
       ByteBuffer key = ByteBuffer.wrap(toByteArray(row.getKey()));
       List<BigtableCell> cells = new ArrayList<>();
       for (Family family : row.getFamiliesList()) {
@@ -30,11 +30,13 @@ import com.google.gson.stream.JsonWriter;
 import com.google.protobuf.ByteString;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import org.apache.beam.runners.dataflow.options.DataflowPipelineOptions;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.PipelineResult;
@@ -336,15 +338,7 @@ public class BigtableToVectorEmbeddings {
     private static final String VALUE_FLOAT_KEY = "value_float";
     private static final String VALUE_DOUBLE_KEY = "value_double";
 
-    private String idColumn;
-    private String embeddingsColumn;
-    private Integer embeddingByteSize;
-    private String crowdingTagColumn;
-    private Map<String, String> allowRestricts;
-    private Map<String, String> denyRestricts;
-    private Map<String, String> intNumericRestricts;
-    private Map<String, String> floatNumericRestricts;
-    private Map<String, String> doubleNumericRestricts;
+    private static final String ROW_KEY_COLUMN = "_key";
 
     private ValueProvider<Integer> embeddingByteSizeProvider;
     private ValueProvider<String> idColumnProvider;
@@ -356,6 +350,12 @@ public class BigtableToVectorEmbeddings {
     private ValueProvider<String> floatNumericRestrictsMappingsProvider;
     private ValueProvider<String> doubleNumericRestrictsMappingsProvider;
 
+    // Resolved once from the providers on the first row.
+    private transient int embeddingByteSize;
+    private transient ColumnTarget rowKeyTarget;
+    private transient Map<String, Map<ByteString, ColumnTarget>> columnTargets;
+    private transient StringWriter stringWriter;
+
     public BigtableToVectorEmbeddingsFn(
         ValueProvider<String> idColumnProvider,
         ValueProvider<String> embeddingsColumnProvider,
@@ -379,40 +379,75 @@ public class BigtableToVectorEmbeddings {
 
     @Override
     public String apply(Row row) {
-      this.embeddingByteSize = this.embeddingByteSizeProvider.get();
-      if (this.embeddingByteSize != 4 && this.embeddingByteSize != 8) {
-        throw new RuntimeException("embeddingByteSize can be either 4 or 8");
+      if (columnTargets == null) {
+        initialize();
       }
-      this.idColumn = this.idColumnProvider.get();
-      this.embeddingsColumn = this.embeddingsColumnProvider.get();
-      this.crowdingTagColumn = this.crowdingTagColumnProvider.get();
-      this.allowRestricts =
-          Optional.ofNullable(this.allowRestricts)
-              .orElse(extractColumnsAliases(this.allowRestrictsMappingsProvider));
-      this.denyRestricts =
-          Optional.ofNullable(this.denyRestricts)
-              .orElse(extractColumnsAliases(this.denyRestrictsMappingsProvider));
-      this.intNumericRestricts =
-          Optional.ofNullable(this.intNumericRestricts)
-              .orElse(extractColumnsAliases(this.intNumericRestrictsMappingsProvider));
-      this.floatNumericRestricts =
-          Optional.ofNullable(this.floatNumericRestricts)
-              .orElse(extractColumnsAliases(this.floatNumericRestrictsMappingsProvider));
-      this.doubleNumericRestricts =
-          Optional.ofNullable(this.doubleNumericRestricts)
-              .orElse(extractColumnsAliases(this.doubleNumericRestrictsMappingsProvider));
-
-      StringWriter stringWriter = new StringWriter();
-      JsonWriter jsonWriter = new JsonWriter(stringWriter);
+
       VectorEmbeddings vectorEmbeddings = buildObject(row);
+      stringWriter.getBuffer().setLength(0);
       try {
-        serialize(jsonWriter, vectorEmbeddings);
+        serialize(new JsonWriter(stringWriter), vectorEmbeddings);
       } catch (IOException e) {
         throw new RuntimeException(e);
       }
       return stringWriter.toString();
     }
 
+    /**
+     * Resolves the providers and indexes every mapped column by family and qualifier, so that each
+     * cell of a row is routed with a single lookup.
+     */
+    private void initialize() {
+      this.embeddingByteSize = this.embeddingByteSizeProvider.get();
+      if (this.embeddingByteSize != 4 && this.embeddingByteSize != 8) {
+        throw new RuntimeException("embeddingByteSize can be either 4 or 8");
+      }
+
+      // Columns are added from the lowest to the highest precedence, so that a column which is
+      // mapped more than once keeps its highest precedence target.
+      Map<String, ColumnTarget> targets = new HashMap<>();
+      addTargets(targets, doubleNumericRestrictsMappingsProvider, ColumnTarget.Kind.DOUBLE);
+      addTargets(targets, floatNumericRestrictsMappingsProvider, ColumnTarget.Kind.FLOAT);
+      addTargets(targets, intNumericRestrictsMappingsProvider, ColumnTarget.Kind.INT);
+      addTargets(targets, denyRestrictsMappingsProvider, ColumnTarget.Kind.DENY);
+      addTargets(targets, allowRestrictsMappingsProvider, ColumnTarget.Kind.ALLOW);
+      addTarget(targets, embeddingsColumnProvider.get(), ColumnTarget.Kind.EMBEDDING, null);
+      addTarget(targets, crowdingTagColumnProvider.get(), ColumnTarget.Kind.CROWDING_TAG, null);
+      addTarget(targets, idColumnProvider.get(), ColumnTarget.Kind.ID, null);
+
+      this.rowKeyTarget = targets.get(ROW_KEY_COLUMN);
+      this.columnTargets = new HashMap<>();
+      for (Map.Entry<String, ColumnTarget> target : targets.entrySet()) {
+        int separator = target.getKey().indexOf(':');
+        if (separator < 0) {
+          continue;
+        }
+        this.columnTargets
+            .computeIfAbsent(target.getKey().substring(0, separator), family -> new HashMap<>())
+            .put(
+                ByteString.copyFromUtf8(target.getKey().substring(separator + 1)),
+                target.getValue());
+      }
+      this.stringWriter = new StringWriter();
+    }
+
+    private void addTargets(
+        Map<String, ColumnTarget> targets, ValueProvider<String> mappings, ColumnTarget.Kind kind) {
+      for (Map.Entry<String, String> mapping : extractColumnsAliases(mappings).entrySet()) {
+        addTarget(targets, mapping.getKey(), kind, mapping.getValue());
+      }
+    }
+
+    private static void addTarget(
+        Map<String, ColumnTarget> targets,
+        String column,
+        ColumnTarget.Kind kind,
+        String namespace) {
+      if (column != null) {
+        targets.put(column, new ColumnTarget(kind, namespace));
+      }
+    }
+
     private void serialize(JsonWriter jsonWriter, VectorEmbeddings vectorEmbeddings)
         throws IOException {
       jsonWriter.beginObject();
@@ -422,18 +457,18 @@ public class BigtableToVectorEmbeddings {
       jsonWriter.name(EMBEDDING_KEY);
       jsonWriter.beginArray();
       if (this.embeddingByteSize == 4) {
-        for (Float f : vectorEmbeddings.floatEmbeddings) {
+        for (float f : vectorEmbeddings.floatEmbeddings) {
           jsonWriter.value(f);
         }
       } else if (this.embeddingByteSize == 8) {
-        for (Double d : vectorEmbeddings.doubleEmbeddings) {
+        for (double d : vectorEmbeddings.doubleEmbeddings) {
           jsonWriter.value(d);
         }
       }
       jsonWriter.endArray();
 
       // Optional fields.
-      if (vectorEmbeddings.crowdingTag != "") {
+      if (!StringUtils.isEmpty(vectorEmbeddings.crowdingTag)) {
         jsonWriter.name(CROWDING_TAG_KEY).value(vectorEmbeddings.crowdingTag);
       }
       if (vectorEmbeddings.restricts != null && !vectorEmbeddings.restricts.isEmpty()) {
@@ -489,15 +524,21 @@ public class BigtableToVectorEmbeddings {
     private VectorEmbeddings buildObject(Row row) {
       VectorEmbeddings vectorEmbeddings = new VectorEmbeddings();
 
-      maybeAddToObject(vectorEmbeddings, "_key", row.getKey());
+      if (rowKeyTarget != null) {
+        addToObject(vectorEmbeddings, rowKeyTarget, row.getKey());
+      }
       for (Family family : row.getFamiliesList()) {
-        String familyName = family.getName();
+        Map<ByteString, ColumnTarget> familyTargets = columnTargets.get(family.getName());
+        if (familyTargets == null) {
+          continue;
+        }
         for (Column column : family.getColumnsList()) {
+          ColumnTarget target = familyTargets.get(column.getQualifier());
+          if (target == null) {
+            continue;
+          }
           for (Cell cell : column.getCellsList()) {
-            maybeAddToObject(
-                vectorEmbeddings,
-                familyName + ":" + column.getQualifier().toStringUtf8(),
-                cell.getValue());
+            addToObject(vectorEmbeddings, target, cell.getValue());
           }
         }
       }
@@ -510,14 +551,14 @@ public class BigtableToVectorEmbeddings {
       }
       if (this.embeddingByteSize == 4
           && (vectorEmbeddings.floatEmbeddings == null
-              || vectorEmbeddings.floatEmbeddings.isEmpty())) {
+              || vectorEmbeddings.floatEmbeddings.length == 0)) {
         throw new RuntimeException(
             String.format(
                 "'%s' value is missing for row '%s'", EMBEDDING_KEY, row.getKey().toStringUtf8()));
       }
       if (this.embeddingByteSize == 8
           && (vectorEmbeddings.doubleEmbeddings == null
-              || vectorEmbeddings.doubleEmbeddings.isEmpty())) {
+              || vectorEmbeddings.doubleEmbeddings.length == 0)) {
         throw new RuntimeException(
             String.format(
                 "'%s' value is missing for row '%s'", EMBEDDING_KEY, row.getKey().toStringUtf8()));
@@ -525,39 +566,56 @@ public class BigtableToVectorEmbeddings {
       return vectorEmbeddings;
     }
 
-    private void maybeAddToObject(
-        VectorEmbeddings vectorEmbeddings, String columnQualifier, ByteString value) {
-      if (columnQualifier.equals(this.idColumn)) {
-        vectorEmbeddings.id = value.toStringUtf8();
-      } else if (columnQualifier.equals(this.crowdingTagColumn)) {
-        vectorEmbeddings.crowdingTag = value.toStringUtf8();
-      } else if (columnQualifier.equals(this.embeddingsColumn)) {
-        vectorEmbeddings.floatEmbeddings = new ArrayList<Float>();
-        vectorEmbeddings.doubleEmbeddings = new ArrayList<Double>();
-
-        byte[] bytes = value.toByteArray();
-        for (int i = 0; i < bytes.length; i += embeddingByteSize) {
-          if (embeddingByteSize == 4) {
-            vectorEmbeddings.floatEmbeddings.add(Bytes.toFloat(bytes, i));
-          } else if (embeddingByteSize == 8) {
-            vectorEmbeddings.doubleEmbeddings.add(Bytes.toDouble(bytes, i));
-          }
-        }
-      } else if (this.allowRestricts.containsKey(columnQualifier)) {
-        vectorEmbeddings.addRestrict(
-            Restrict.allowRestrict(allowRestricts.get(columnQualifier), value));
-      } else if (this.denyRestricts.containsKey(columnQualifier)) {
-        vectorEmbeddings.addRestrict(
-            Restrict.denyRestrict(denyRestricts.get(columnQualifier), value));
-      } else if (this.intNumericRestricts.containsKey(columnQualifier)) {
-        vectorEmbeddings.addNumericRestrict(
-            NumericRestrict.intValue(intNumericRestricts.get(columnQualifier), value));
-      } else if (this.floatNumericRestricts.containsKey(columnQualifier)) {
-        vectorEmbeddings.addNumericRestrict(
-            NumericRestrict.floatValue(floatNumericRestricts.get(columnQualifier), value));
-      } else if (this.doubleNumericRestricts.containsKey(columnQualifier)) {
-        vectorEmbeddings.addNumericRestrict(
-            NumericRestrict.doubleValue(doubleNumericRestricts.get(columnQualifier), value));
+    private void addToObject(
+        VectorEmbeddings vectorEmbeddings, ColumnTarget target, ByteString value) {
+      switch (target.kind) {
+        case ID:
+          vectorEmbeddings.id = value.toStringUtf8();
+          break;
+        case CROWDING_TAG:
+          vectorEmbeddings.crowdingTag = value.toStringUtf8();
+          break;
+        case EMBEDDING:
+          decodeEmbeddings(vectorEmbeddings, value);
+          break;
+        case ALLOW:
+          vectorEmbeddings.addRestrict(Restrict.allowRestrict(target.namespace, value));
+          break;
+        case DENY:
+          vectorEmbeddings.addRestrict(Restrict.denyRestrict(target.namespace, value));
+          break;
+        case INT:
+          vectorEmbeddings.addNumericRestrict(NumericRestrict.intValue(target.namespace, value));
+          break;
+        case FLOAT:
+          vectorEmbeddings.addNumericRestrict(NumericRestrict.floatValue(target.namespace, value));
+          break;
+        case DOUBLE:
+          vectorEmbeddings.addNumericRestrict(NumericRestrict.doubleValue(target.namespace, value));
+          break;
+      }
+    }
+
+    /**
+     * Decodes the big-endian embeddings through a bulk view of the cell value, without copying the
+     * value or boxing the decoded numbers.
+     */
+    private void decodeEmbeddings(VectorEmbeddings vectorEmbeddings, ByteString value) {
+      if (value.size() % embeddingByteSize != 0) {
+        throw new RuntimeException(
+            String.format(
+                "'%s' value size %d is not a multiple of embeddingByteSize %d",
+                EMBEDDING_KEY, value.size(), embeddingByteSize));
+      }
+      ByteBuffer buffer = value.asReadOnlyByteBuffer();
+      if (embeddingByteSize == 4) {
+        FloatBuffer floats = buffer.asFloatBuffer();
+        vectorEmbeddings.floatEmbeddings = new float[floats.remaining()];
+        floats.get(vectorEmbeddings.floatEmbeddings);
+      } else {
+        DoubleBuffer doubles = buffer.asDoubleBuffer();
+        vectorEmbeddings.doubleEmbeddings = new double[doubles.remaining()];
+        doubles.get(vectorEmbeddings.doubleEmbeddings);
       }
     }
 
@@ -640,11 +698,32 @@ class NumericRestrict {
   }
 }
 
+class ColumnTarget {
+  enum Kind {
+    ID,
+    CROWDING_TAG,
+    EMBEDDING,
+    ALLOW,
+    DENY,
+    INT,
+    FLOAT,
+    DOUBLE
+  };
+
+  final Kind kind;
+  final String namespace;
+
+  ColumnTarget(Kind kind, String namespace) {
+    this.kind = kind;
+    this.namespace = namespace;
+  }
+}
+
 class VectorEmbeddings {
   String id;
   String crowdingTag;
-  List<Float> floatEmbeddings;
-  List<Double> doubleEmbeddings;
+  float[] floatEmbeddings;
+  double[] doubleEmbeddings;
   List<Restrict> restricts;
   List<NumericRestrict> numericRestricts;
 
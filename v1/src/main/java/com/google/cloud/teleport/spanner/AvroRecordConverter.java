@@ -20,13 +20,17 @@ import com.google.cloud.Date;
 import com.google.cloud.Timestamp;
 import com.google.cloud.spanner.Mutation;
 import com.google.cloud.spanner.Value;
+import com.google.cloud.spanner.ValueBinder;
 import com.google.cloud.teleport.spanner.common.NumericUtils;
 import com.google.cloud.teleport.spanner.ddl.Column;
 import com.google.cloud.teleport.spanner.ddl.Table;
 import com.google.common.annotations.VisibleForTesting;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.avro.LogicalType;
 import org.apache.avro.LogicalTypes;
@@ -40,16 +44,41 @@ public class AvroRecordConverter implements SerializableFunction<GenericRecord,
 
   private final Table table;
 
+  // Converters compiled for the schema of the last converted record. The records of an Avro file
+  // share the same schema, so the fields are resolved against the table once per file.
+  private transient Schema compiledSchema;
+  private transient List<FieldConverter> fieldConverters;
+
   public AvroRecordConverter(Table table) {
     this.table = table;
   }
 
   public Mutation apply(GenericRecord record) {
     Schema schema = record.getSchema();
-    List<Schema.Field> fields = schema.getFields();
+    if (schema != compiledSchema) {
+      fieldConverters = compile(schema);
+      compiledSchema = schema;
+    }
     Mutation.WriteBuilder builder = Mutation.newInsertOrUpdateBuilder(table.name());
+    for (FieldConverter fieldConverter : fieldConverters) {
+      fieldConverter.convert(record, builder);
+    }
+    return builder.build();
+  }
+
+  /** Sets the value of a field of a record to its column in a mutation. */
+  private interface FieldConverter {
+    void convert(GenericRecord record, Mutation.WriteBuilder builder);
+  }
 
-    for (Schema.Field field : fields) {
+  /**
+   * Resolves the fields of the Avro schema against the table, and returns the converters that set
+   * each field to its column. Fields are read by position, and the conversion for the Avro and
+   * Spanner types is chosen here once rather than for every record.
+   */
+  private List<FieldConverter> compile(Schema schema) {
+    List<FieldConverter> converters = new ArrayList<>();
+    for (Schema.Field field : schema.getFields()) {
       String fieldName = field.name();
 
       Column column = table.column(fieldName);
@@ -74,24 +103,26 @@ public class AvroRecordConverter implements SerializableFunction<GenericRecord,
       }
       LogicalType logicalType = LogicalTypes.fromSchema(avroFieldSchema);
       Schema.Type avroType = avroFieldSchema.getType();
+      int pos = field.pos();
+      String columnName = column.name();
 
       switch (column.type().getCode()) {
         case BOOL:
         case PG_BOOL:
-          builder.set(column.name()).to(readBool(record, avroType, fieldName).orElse(null));
+          converters.add(fieldConverter(pos, columnName, boolFn(avroType), ValueBinder::to));
           break;
         case INT64:
         case PG_INT8:
         case ENUM:
-          builder.set(column.name()).to(readInt64(record, avroType, fieldName).orElse(null));
+          converters.add(fieldConverter(pos, columnName, int64Fn(avroType), ValueBinder::to));
           break;
         case FLOAT32:
         case PG_FLOAT4:
-          builder.set(column.name()).to(readFloat32(record, avroType, fieldName).orElse(null));
+          converters.add(fieldConverter(pos, columnName, float32Fn(avroType), ValueBinder::to));
           break;
         case FLOAT64:
         case PG_FLOAT8:
-          builder.set(column.name()).to(readFloat64(record, avroType, fieldName).orElse(null));
+          converters.add(fieldConverter(pos, columnName, float64Fn(avroType), ValueBinder::to));
           break;
         case STRING:
         case PG_VARCHAR:
@@ -100,128 +131,44 @@ public class AvroRecordConverter implements SerializableFunction<GenericRecord,
         case PG_JSONB:
         case UUID:
         case PG_UUID:
-          builder.set(column.name()).to(readString(record, avroType, fieldName).orElse(null));
+          converters.add(fieldConverter(pos, columnName, stringFn(avroType), ValueBinder::to));
           break;
         case BYTES:
         case PG_BYTEA:
         case PROTO:
-          builder.set(column.name()).to(readBytes(record, avroType, fieldName).orElse(null));
+          converters.add(fieldConverter(pos, columnName, bytesFn(avroType), ValueBinder::to));
           break;
         case TIMESTAMP:
         case PG_TIMESTAMPTZ:
         case PG_SPANNER_COMMIT_TIMESTAMP:
-          builder
-              .set(column.name())
-              .to(readTimestamp(record, avroType, logicalType, fieldName).orElse(null));
+          converters.add(
+              fieldConverter(pos, columnName, timestampFn(avroType, logicalType), ValueBinder::to));
           break;
         case DATE:
         case PG_DATE:
-          builder
-              .set(column.name())
-              .to(readDate(record, avroType, logicalType, fieldName).orElse(null));
+          converters.add(
+              fieldConverter(pos, columnName, dateFn(avroType, logicalType), ValueBinder::to));
           break;
         case NUMERIC:
-          builder.set(column.name()).to(readNumeric(record, avroType, fieldName).orElse(null));
+          converters.add(
+              fieldConverter(
+                  pos,
+                  columnName,
+                  numericFn(avroType, NumericUtils::bytesToString, "BYTES"),
+                  ValueBinder::to));
           break;
         case PG_NUMERIC:
-          builder
-              .set(column.name())
-              .to(Value.pgNumeric(readPgNumeric(record, avroType, fieldName).orElse(null)));
+          converters.add(
+              fieldConverter(
+                  pos,
+                  columnName,
+                  numericFn(avroType, NumericUtils::pgBytesToString, "NUMERIC"),
+                  (binder, value) -> binder.to(Value.pgNumeric(value))));
           break;
         case ARRAY:
         case PG_ARRAY:
-          {
-            Schema arraySchema = avroFieldSchema.getElementType();
-            if (arraySchema.getType() == Schema.Type.UNION) {
-              Schema unpacked = AvroUtil.unpackNullable(arraySchema);
-              if (unpacked != null) {
-                arraySchema = unpacked;
-              }
-            }
-            LogicalType arrayLogicalType = LogicalTypes.fromSchema(arraySchema);
-            Schema.Type arrayType = arraySchema.getType();
-            switch (column.type().getArrayElementType().getCode()) {
-              case BOOL:
-              case PG_BOOL:
-                builder
-                    .set(column.name())
-                    .toBoolArray(readBoolArray(record, arrayType, fieldName).orElse(null));
-                break;
-              case INT64:
-              case PG_INT8:
-              case ENUM:
-                builder
-                    .set(column.name())
-                    .toInt64Array(readInt64Array(record, arrayType, fieldName).orElse(null));
-                break;
-              case FLOAT32:
-              case PG_FLOAT4:
-                builder
-                    .set(column.name())
-                    .toFloat32Array(readFloat32Array(record, arrayType, fieldName).orElse(null));
-                break;
-              case FLOAT64:
-              case PG_FLOAT8:
-                builder
-                    .set(column.name())
-                    .toFloat64Array(readFloat64Array(record, arrayType, fieldName).orElse(null));
-                break;
-              case STRING:
-              case PG_VARCHAR:
-              case PG_TEXT:
-              case JSON:
-              case UUID:
-              case PG_UUID:
-                builder
-                    .set(column.name())
-                    .toStringArray(readStringArray(record, arrayType, fieldName).orElse(null));
-                break;
-              case PG_JSONB:
-                builder
-                    .set(column.name())
-                    .toPgJsonbArray(readStringArray(record, arrayType, fieldName).orElse(null));
-                break;
-              case BYTES:
-              case PG_BYTEA:
-              case PROTO:
-                builder
-                    .set(column.name())
-                    .toBytesArray(readBytesArray(record, arrayType, fieldName).orElse(null));
-                break;
-              case TIMESTAMP:
-              case PG_TIMESTAMPTZ:
-              case PG_SPANNER_COMMIT_TIMESTAMP:
-                builder
-                    .set(column.name())
-                    .toTimestampArray(
-                        readTimestampArray(record, arrayType, arrayLogicalType, fieldName)
-                            .orElse(null));
-                break;
-              case DATE:
-              case PG_DATE:
-                builder
-                    .set(column.name())
-                    .toDateArray(readDateArray(record, arrayType, fieldName).orElse(null));
-                break;
-              case NUMERIC:
-                builder
-                    .set(column.name())
-                    .toStringArray(readNumericArray(record, arrayType, fieldName).orElse(null));
-                break;
-              case PG_NUMERIC:
-                builder
-                    .set(column.name())
-                    .toPgNumericArray(
-                        readPgNumericArray(record, arrayType, fieldName).orElse(null));
-                break;
-              default:
-                throw new IllegalArgumentException(
-                    String.format(
-                        "Cannot convert field %s in schema %s table %s",
-                        fieldName, schema.toString(true), table.prettyPrint()));
-            }
-            break;
-          }
+          converters.add(compileArray(schema, fieldName, avroFieldSchema, column));
+          break;
         default:
           throw new IllegalArgumentException(
               String.format(
@@ -229,8 +176,243 @@ public class AvroRecordConverter implements SerializableFunction<GenericRecord,
                   fieldName, schema.toString(true), table.prettyPrint()));
       }
     }
+    return converters;
+  }
 
-    return builder.build();
+  private FieldConverter compileArray(
+      Schema schema, String fieldName, Schema avroFieldSchema, Column column) {
+    Schema arraySchema = avroFieldSchema.getElementType();
+    if (arraySchema.getType() == Schema.Type.UNION) {
+      Schema unpacked = AvroUtil.unpackNullable(arraySchema);
+      if (unpacked != null) {
+        arraySchema = unpacked;
+      }
+    }
+    LogicalType arrayLogicalType = LogicalTypes.fromSchema(arraySchema);
+    Schema.Type arrayType = arraySchema.getType();
+    String columnName = column.name();
+    switch (column.type().getArrayElementType().getCode()) {
+      case BOOL:
+      case PG_BOOL:
+        return (record, builder) ->
+            builder
+                .set(columnName)
+                .toBoolArray(readBoolArray(record, arrayType, fieldName).orElse(null));
+      case INT64:
+      case PG_INT8:
+      case ENUM:
+        return (record, builder) ->
+            builder
+                .set(columnName)
+                .toInt64Array(readInt64Array(record, arrayType, fieldName).orElse(null));
+      case FLOAT32:
+      case PG_FLOAT4:
+        return (record, builder) ->
+            builder
+                .set(columnName)
+                .toFloat32Array(readFloat32Array(record, arrayType, fieldName).orElse(null));
+      case FLOAT64:
+      case PG_FLOAT8:
+        return (record, builder) ->
+            builder
+                .set(columnName)
+                .toFloat64Array(readFloat64Array(record, arrayType, fieldName).orElse(null));
+      case STRING:
+      case PG_VARCHAR:
+      case PG_TEXT:
+      case JSON:
+      case UUID:
+      case PG_UUID:
+        return (record, builder) ->
+            builder
+                .set(columnName)
+                .toStringArray(readStringArray(record, arrayType, fieldName).orElse(null));
+      case PG_JSONB:
+        return (record, builder) ->
+            builder
+                .set(columnName)
+                .toPgJsonbArray(readStringArray(record, arrayType, fieldName).orElse(null));
+      case BYTES:
+      case PG_BYTEA:
+      case PROTO:
+        return (record, builder) ->
+            builder
+                .set(columnName)
+                .toBytesArray(readBytesArray(record, arrayType, fieldName).orElse(null));
+      case TIMESTAMP:
+      case PG_TIMESTAMPTZ:
+      case PG_SPANNER_COMMIT_TIMESTAMP:
+        return (record, builder) ->
+            builder
+                .set(columnName)
+                .toTimestampArray(
+                    readTimestampArray(record, arrayType, arrayLogicalType, fieldName)
+                        .orElse(null));
+      case DATE:
+      case PG_DATE:
+        return (record, builder) ->
+            builder
+                .set(columnName)
+                .toDateArray(readDateArray(record, arrayType, fieldName).orElse(null));
+      case NUMERIC:
+        return (record, builder) ->
+            builder
+                .set(columnName)
+                .toStringArray(readNumericArray(record, arrayType, fieldName).orElse(null));
+      case PG_NUMERIC:
+        return (record, builder) ->
+            builder
+                .set(columnName)
+                .toPgNumericArray(readPgNumericArray(record, arrayType, fieldName).orElse(null));
+      default:
+        throw new IllegalArgumentException(
+            String.format(
+                "Cannot convert field %s in schema %s table %s",
+                fieldName, schema.toString(true), table.prettyPrint()));
+    }
+  }
+
+  /**
+   * Returns a converter that reads the field at {@code pos}, converts it when it's not null, and
+   * sets it to the column.
+   */
+  private static <T> FieldConverter fieldConverter(
+      int pos,
+      String columnName,
+      Function<Object, T> convertFn,
+      BiConsumer<ValueBinder<Mutation.WriteBuilder>, T> setFn) {
+    return (record, builder) -> {
+      Object value = record.get(pos);
+      setFn.accept(builder.set(columnName), value == null ? null : convertFn.apply(value));
+    };
+  }
+
+  private static Function<Object, Boolean> boolFn(Schema.Type avroType) {
+    switch (avroType) {
+      case BOOLEAN:
+        return x -> (Boolean) x;
+      case STRING:
+        return x -> Boolean.parseBoolean(x.toString());
+      default:
+        throw new IllegalArgumentException("Cannot interpret " + avroType + " as BOOL");
+    }
+  }
+
+  private static Function<Object, Long> int64Fn(Schema.Type avroType) {
+    switch (avroType) {
+      case INT:
+        return x -> ((Integer) x).longValue();
+      case LONG:
+        return x -> (Long) x;
+      case STRING:
+        return x -> Long.valueOf(x.toString());
+      default:
+        throw new IllegalArgumentException("Cannot interpret " + avroType + " as INT64");
+    }
+  }
+
+  private static Function<Object, Float> float32Fn(Schema.Type avroType) {
+    switch (avroType) {
+      case FLOAT:
+        return x -> (Float) x;
+      case STRING:
+        return x -> Float.valueOf(x.toString());
+        // Avoid decoding integers as not all 32 bit integers can be represented in float32.
+      case INT:
+        // Avoid decoding 64 bit values into 32 bit space as this will cause a precision loss.
+      case LONG:
+      case DOUBLE:
+      default:
+        throw new IllegalArgumentException("Cannot interpret " + avroType + " as FLOAT32");
+    }
+  }
+
+  private static Function<Object, Double> float64Fn(Schema.Type avroType) {
+    switch (avroType) {
+      case INT:
+        return x -> ((Integer) x).doubleValue();
+      case LONG:
+        return x -> ((Long) x).doubleValue();
+      case FLOAT:
+        return x -> ((Float) x).doubleValue();
+      case DOUBLE:
+        return x -> (Double) x;
+      case STRING:
+        return x -> Double.valueOf(x.toString());
+      default:
+        throw new IllegalArgumentException("Cannot interpret " + avroType + " as FLOAT64");
+    }
+  }
+
+  private static Function<Object, String> stringFn(Schema.Type avroType) {
+    switch (avroType) {
+      case INT:
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+      case STRING:
+        return Object::toString;
+      default:
+        throw new IllegalArgumentException("Cannot interpret " + avroType + " as STRING");
+    }
+  }
+
+  private static Function<Object, ByteArray> bytesFn(Schema.Type avroType) {
+    switch (avroType) {
+      case BYTES:
+        return x -> ByteArray.copyFrom((ByteBuffer) x);
+      case STRING:
+        // Copy the UTF-8 bytes of the string, without decoding them to a String first.
+        return x -> {
+          Utf8 utf8 = (Utf8) x;
+          return ByteArray.copyFrom(ByteBuffer.wrap(utf8.getBytes(), 0, utf8.getByteLength()));
+        };
+      default:
+        throw new IllegalArgumentException("Cannot interpret " + avroType + " as BYTES");
+    }
+  }
+
+  private static Function<Object, Timestamp> timestampFn(
+      Schema.Type avroType, LogicalType logicalType) {
+    switch (avroType) {
+      case LONG:
+        if (LogicalTypes.timestampMillis().equals(logicalType)) {
+          return x -> Timestamp.ofTimeMicroseconds(1000L * (Long) x);
+        }
+        // Default to micro-seconds.
+        return x -> Timestamp.ofTimeMicroseconds((Long) x);
+      case STRING:
+        return x -> Timestamp.parseTimestamp(x.toString());
+      default:
+        throw new IllegalArgumentException("Cannot interpret " + avroType + " as TIMESTAMP");
+    }
+  }
+
+  private static Function<Object, Date> dateFn(Schema.Type avroType, LogicalType logicalType) {
+    switch (avroType) {
+      case INT:
+        if (logicalType == null || !LogicalTypes.date().equals(logicalType)) {
+          throw new IllegalArgumentException(
+              "Cannot interpret Avrotype INT Logicaltype " + logicalType + " as DATE");
+        }
+        // Avro Date is number of days since Jan 1, 1970.
+        // Have to convert to Java Date first before creating google.cloud.core.Date
+        return x -> Date.fromJavaUtilDate(new java.util.Date((Integer) x * 24L * 3600L * 1000L));
+      case STRING:
+        return x -> Date.parseDate(x.toString());
+      default:
+        throw new IllegalArgumentException("Cannot interpret " + avroType + " as DATE");
+    }
+  }
+
+  private static Function<Object, String> numericFn(
+      Schema.Type avroType, Function<byte[], String> bytesToString, String typeName) {
+    switch (avroType) {
+      case BYTES:
+        return x -> bytesToString.apply(((ByteBuffer) x).array());
+      default:
+        throw new IllegalArgumentException("Cannot interpret " + avroType + " as " + typeName);
+    }
   }
 
   @SuppressWarnings("unchecked")
@@ -530,174 +712,4 @@ public class AvroRecordConverter implements SerializableFunction<GenericRecord,
         throw new IllegalArgumentException("Cannot interpret " + avroType + " as BOOL");
     }
   }
-
-  private Optional<Date> readDate(
-      GenericRecord record, Schema.Type avroType, LogicalType logicalType, String fieldName) {
-    switch (avroType) {
-      case INT:
-        if (logicalType == null || !LogicalTypes.date().equals(logicalType)) {
-          throw new IllegalArgumentException(
-              "Cannot interpret Avrotype INT Logicaltype " + logicalType + " as DATE");
-        }
-        // Avro Date is number of days since Jan 1, 1970.
-        // Have to convert to Java Date first before creating google.cloud.core.Date
-        return Optional.ofNullable((Integer) record.get(fieldName))
-            .map(x -> new java.util.Date((long) x * 24L * 3600L * 1000L))
-            .map(Date::fromJavaUtilDate);
-      case STRING:
-        return Optional.ofNullable((Utf8) record.get(fieldName))
-            .map(Utf8::toString)
-            .map(Date::parseDate);
-      default:
-        throw new IllegalArgumentException("Cannot interpret " + avroType + " as DATE");
-    }
-  }
-
-  private Optional<String> readNumeric(
-      GenericRecord record, Schema.Type avroType, String fieldName) {
-    switch (avroType) {
-      case BYTES:
-        return Optional.ofNullable((ByteBuffer) record.get(fieldName))
-            .map(ByteBuffer::array)
-            .map(NumericUtils::bytesToString);
-      default:
-        throw new IllegalArgumentException("Cannot interpret " + avroType + " as BYTES");
-    }
-  }
-
-  static Optional<String> readPgNumeric(
-      GenericRecord record, Schema.Type avroType, String fieldName) {
-    switch (avroType) {
-      case BYTES:
-        return Optional.ofNullable((ByteBuffer) record.get(fieldName))
-            .map(ByteBuffer::array)
-            .map(NumericUtils::pgBytesToString);
-      default:
-        throw new IllegalArgumentException("Cannot interpret " + avroType + " as NUMERIC");
-    }
-  }
-
-  private Optional<Timestamp> readTimestamp(
-      GenericRecord record, Schema.Type avroType, LogicalType logicalType, String fieldName) {
-    switch (avroType) {
-      case LONG:
-        if (LogicalTypes.timestampMillis().equals(logicalType)) {
-          return Optional.ofNullable((Long) record.get(fieldName))
-              .map(x -> Timestamp.ofTimeMicroseconds(1000L * x));
-        }
-        if (LogicalTypes.timestampMicros().equals(logicalType)) {
-          return Optional.ofNullable((Long) record.get(fieldName))
-              .map(Timestamp::ofTimeMicroseconds);
-        }
-        // Default to micro-seconds.
-        return Optional.ofNullable((Long) record.get(fieldName)).map(Timestamp::ofTimeMicroseconds);
-      case STRING:
-        return Optional.ofNullable((Utf8) record.get(fieldName))
-            .map(Utf8::toString)
-            .map(Timestamp::parseTimestamp);
-      default:
-        throw new IllegalArgumentException("Cannot interpret " + avroType + " as TIMESTAMP");
-    }
-  }
-
-  private static Optional<ByteArray> readBytes(
-      GenericRecord record, Schema.Type avroType, String fieldName) {
-    switch (avroType) {
-      case BYTES:
-        return Optional.ofNullable((ByteBuffer) record.get(fieldName)).map(ByteArray::copyFrom);
-      case STRING:
-        return Optional.ofNullable((Utf8) record.get(fieldName))
-            .map(Utf8::toString)
-            .map(ByteArray::copyFrom);
-      default:
-        throw new IllegalArgumentException("Cannot interpret " + avroType + " as BYTES");
-    }
-  }
-
-  private static Optional<Boolean> readBool(
-      GenericRecord record, Schema.Type avroType, String fieldName) {
-    switch (avroType) {
-      case BOOLEAN:
-        return Optional.ofNullable((Boolean) record.get(fieldName));
-      case STRING:
-        return Optional.ofNullable((Utf8) record.get(fieldName))
-            .map(Utf8::toString)
-            .map(Boolean::parseBoolean);
-      default:
-        throw new IllegalArgumentException("Cannot interpret " + avroType + " as BOOL");
-    }
-  }
-
-  private static Optional<Float> readFloat32(
-      GenericRecord record, Schema.Type avroType, String fieldName) {
-    switch (avroType) {
-      case FLOAT:
-        return Optional.ofNullable((Float) record.get(fieldName));
-      case STRING:
-        return Optional.ofNullable((Utf8) record.get(fieldName))
-            .map(Utf8::toString)
-            .map(Float::valueOf);
-        // Avoid decoding integers as not all 32 bit integers can be represented in float32.
-      case INT:
-        // Avoid decoding 64 bit values into 32 bit space as this will cause a precision loss.
-      case LONG:
-      case DOUBLE:
-      default:
-        throw new IllegalArgumentException("Cannot interpret " + avroType + " as FLOAT32");
-    }
-  }
-
-  private static Optional<Double> readFloat64(
-      GenericRecord record, Schema.Type avroType, String fieldName) {
-    switch (avroType) {
-      case INT:
-        return Optional.ofNullable((Integer) record.get(fieldName)).map(x -> (double) x);
-      case LONG:
-        return Optional.ofNullable((Long) record.get(fieldName)).map(x -> (double) x);
-      case FLOAT:
-        return Optional.ofNullable((Float) record.get(fieldName)).map(x -> (double) x);
-      case DOUBLE:
-        return Optional.ofNullable((Double) record.get(fieldName));
-      case STRING:
-        return Optional.ofNullable((Utf8) record.get(fieldName))
-            .map(Utf8::toString)
-            .map(Double::valueOf);
-      default:
-        throw new IllegalArgumentException("Cannot interpret " + avroType + " as FLOAT64");
-    }
-  }
-
-  private static Optional<Long> readInt64(
-      GenericRecord record, Schema.Type avroType, String fieldName) {
-    switch (avroType) {
-      case INT:
-        return Optional.ofNullable((Integer) record.get(fieldName)).map(x -> (long) x);
-      case LONG:
-        return Optional.ofNullable((Long) record.get(fieldName));
-      case STRING:
-        return Optional.ofNullable((Utf8) record.get(fieldName))
-            .map(Utf8::toString)
-            .map(Long::valueOf);
-      default:
-        throw new IllegalArgumentException("Cannot interpret " + avroType + " as INT64");
-    }
-  }
-
-  private static Optional<String> readString(
-      GenericRecord record, Schema.Type avroType, String fieldName) {
-    switch (avroType) {
-      case INT:
-        return Optional.ofNullable((Integer) record.get(fieldName)).map(String::valueOf);
-      case LONG:
-        return Optional.ofNullable((Long) record.get(fieldName)).map(String::valueOf);
-      case FLOAT:
-        return Optional.ofNullable((Float) record.get(fieldName)).map(String::valueOf);
-      case DOUBLE:
-        return Optional.ofNullable((Double) record.get(fieldName)).map(String::valueOf);
-      case STRING:
-        return Optional.ofNullable((Utf8) record.get(fieldName)).map(Utf8::toString);
-      default:
-        throw new IllegalArgumentException("Cannot interpret " + avroType + " as STRING");
-    }
-  }
 }
@@ -56,7 +56,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -203,7 +206,7 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
                 earlyIndexCreateThreshold));
 
     final PCollection<Ddl> ddl = createTableOutput.get(CreateTables.getDdlObjectTag());
-    final PCollectionView<List<String>> pendingIndexes =
+    final PCollectionView<Map<String, List<String>>> pendingIndexes =
         createTableOutput
             .get(CreateTables.getPendingIndexesTag())
             .apply("As Index view", View.asSingleton());
@@ -218,6 +221,9 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
 
     PCollectionView<Ddl> ddlView = ddl.apply("Cloud Spanner DDL as view", View.asSingleton());
 
+    // Tables interleaved IN PARENT load one level after their parent. Tables interleaved without a
+    // parent row requirement load at level 0 with the root tables. Each level waits for the whole
+    // previous level to be written.
     PCollectionView<HashMultimap<Integer, String>> levelsView =
         ddl.apply(
                 "Group tables by depth",
@@ -227,7 +233,7 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
                       @ProcessElement
                       public void processElement(ProcessContext c) {
                         Ddl ddl = c.element();
-                        c.output(ddl.perLevelView());
+                        c.output(ddl.perLoadLevelView());
                       }
                     }))
             .apply(View.asSingleton());
@@ -251,6 +257,7 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
                     }));
 
     PCollection<?> previousComputation = ddl;
+    List<PCollection<?>> indexesCreated = new ArrayList<>();
     for (int i = 0; i < MAX_DEPTH; i++) {
       final int depth = i;
       PCollection<KV<String, String>> levelFiles =
@@ -290,16 +297,44 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
                   .withGroupingFactor(100)
                   .withDialectView(dialectView));
       previousComputation = result.getOutput();
+
+      // Indexes only need the data of their own table, so they are created as soon as the
+      // tables of this depth are loaded, while the next depths are still being imported.
+      PCollectionView<List<String>> levelIndexes =
+          ddl.apply(
+                  "Get pending indexes depth " + depth,
+                  ParDo.of(
+                          new DoFn<Ddl, List<String>>() {
+
+                            @ProcessElement
+                            public void processElement(ProcessContext c) {
+                              Map<String, List<String>> indexes = c.sideInput(pendingIndexes);
+                              HashMultimap<Integer, String> levels = c.sideInput(levelsView);
+
+                              List<String> levelIndexStatements = new ArrayList<>();
+                              for (String table : levels.get(depth)) {
+                                levelIndexStatements.addAll(
+                                    indexes.getOrDefault(table, Collections.emptyList()));
+                              }
+                              c.output(levelIndexStatements);
+                            }
+                          })
+                      .withSideInputs(pendingIndexes, levelsView))
+              .apply("As Index view depth " + depth, View.asSingleton());
+      indexesCreated.add(
+          ddl.apply("Wait for mutations depth " + depth, Wait.on(previousComputation))
+              .apply(
+                  "Create Indexes depth " + depth,
+                  new ApplyDDLTransform(
+                      spannerConfig,
+                      levelIndexes,
+                      waitForIndexes,
+                      runIndexDdlInParallel,
+                      /* statementType= */ "index")));
     }
-    ddl.apply(Wait.on(previousComputation))
-        .apply(
-            "Create Indexes",
-            new ApplyDDLTransform(
-                spannerConfig,
-                pendingIndexes,
-                waitForIndexes,
-                runIndexDdlInParallel,
-                /* statementType= */ "index"))
+    // Foreign keys may reference tables at any depth, so they are added once all the tables are
+    // loaded and indexed.
+    ddl.apply("Wait for indexes", Wait.on(indexesCreated))
         .apply(
             "Add Foreign Keys",
             new ApplyDDLTransform(
@@ -445,7 +480,7 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
       return ddlObjectTag;
     }
 
-    public static TupleTag<List<String>> getPendingIndexesTag() {
+    public static TupleTag<Map<String, List<String>>> getPendingIndexesTag() {
       return pendingIndexesTag;
     }
 
@@ -458,7 +493,8 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
     }
 
     private static final TupleTag<Ddl> ddlObjectTag = new TupleTag<Ddl>() {};
-    private static final TupleTag<List<String>> pendingIndexesTag = new TupleTag<List<String>>() {};
+    private static final TupleTag<Map<String, List<String>>> pendingIndexesTag =
+        new TupleTag<Map<String, List<String>>>() {};
     private static final TupleTag<List<String>> pendingForeignKeysTag =
         new TupleTag<List<String>>() {};
     private static final TupleTag<List<String>> pendingChangeStreamsTag =
@@ -559,6 +595,7 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
                           AvroSchemaToDdlConverter converter =
                               new AvroSchemaToDdlConverter(dialect);
                           List<String> createIndexStatements = new ArrayList<>();
+                          Map<String, List<String>> createIndexStatementsByTable = new HashMap<>();
                           List<String> createForeignKeyStatements = new ArrayList<>();
                           List<String> createChangeStreamStatements = new ArrayList<>();
                           List<String> createSequenceStatements = new ArrayList<>();
@@ -663,6 +700,10 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
                               mergedDdl.addTable(table);
                               // Account for additional DDL changes for tables being created
                               createIndexStatements.addAll(table.indexes());
+                              if (!table.indexes().isEmpty()) {
+                                createIndexStatementsByTable.put(
+                                    table.name().toLowerCase(), new ArrayList<>(table.indexes()));
+                              }
                               createForeignKeyStatements.addAll(table.foreignKeys());
                             }
                             for (KV<String, Schema> kv : missingPropertyGraphs) {
@@ -691,12 +732,12 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
                                   "Create index early: {}",
                                   String.join(";", createIndexStatements));
                               ddlStatements.addAll(createIndexStatements);
-                              c.output(pendingIndexesTag, new ArrayList<String>());
+                              c.output(pendingIndexesTag, new HashMap<String, List<String>>());
                             } else {
                               LOG.info(
                                   "Pending index creation: {}",
                                   String.join(";", createIndexStatements));
-                              c.output(pendingIndexesTag, createIndexStatements);
+                              c.output(pendingIndexesTag, createIndexStatementsByTable);
                             }
                             c.output(pendingForeignKeysTag, createForeignKeyStatements);
                           }
@@ -747,7 +788,7 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
                           if (missingTables.isEmpty()
                               && missingModels.isEmpty()
                               && missingPropertyGraphs.isEmpty()) {
-                            c.output(pendingIndexesTag, createIndexStatements);
+                            c.output(pendingIndexesTag, createIndexStatementsByTable);
                             c.output(pendingForeignKeysTag, createForeignKeyStatements);
                           }
                         }
@@ -30,8 +30,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
-import org.apache.avro.generic.GenericRecordBuilder;
 
 /** Converts {@link Struct} to Avro record of specified {@link Schema}. */
 public class SpannerRecordConverter {
@@ -62,6 +62,7 @@ public class SpannerRecordConverter {
     private final boolean matchesVarcharArray;
 
     private int rowColumnIndex = -1;
+    private ValueReader valueReader;
 
     public FieldInfo(Schema.Field field) {
       this.field = field;
@@ -131,6 +132,14 @@ public class SpannerRecordConverter {
       rowColumnIndex = row.getColumnIndex(getName());
     }
 
+    public ValueReader getValueReader() {
+      return valueReader;
+    }
+
+    public void setValueReader(ValueReader valueReader) {
+      this.valueReader = valueReader;
+    }
+
     public boolean matchesStringPattern() {
       return matchesString;
     }
@@ -148,6 +157,11 @@ public class SpannerRecordConverter {
     }
   }
 
+  /** Reads the value of a non-null column of a row as an Avro value. */
+  private interface ValueReader {
+    Object read(Struct row, int fieldIndex);
+  }
+
   public SpannerRecordConverter(Schema schema, Dialect dialect) {
     this.schema = schema;
     this.dialect = dialect;
@@ -166,251 +180,203 @@ public class SpannerRecordConverter {
   public GenericRecord convert(Struct row) {
     synchronized (this.fields) {
       if (!fieldsColumnIndicesInitialized) {
-        this.fields.stream()
-            .forEach(
-                fieldInfo -> {
-                  if (!fieldInfo.generated) {
-                    fieldInfo.setColumnIndex(row);
-                  }
-                });
+        for (FieldInfo fieldInfo : this.fields) {
+          if (!fieldInfo.isGenerated()) {
+            fieldInfo.setColumnIndex(row);
+            fieldInfo.setValueReader(compileValueReader(fieldInfo));
+          }
+        }
         fieldsColumnIndicesInitialized = true;
       }
     }
 
-    GenericRecordBuilder builder = new GenericRecordBuilder(schema);
+    // The record is filled by position. Fields that are not set, such as generated columns, keep
+    // their null value.
+    GenericData.Record record = new GenericData.Record(schema);
     for (FieldInfo fieldInfo : this.fields) {
       if (fieldInfo.isGenerated()) {
         // Generated column values are not exported.
         continue;
       }
 
-      fieldInfo.checkSupported();
-
-      Schema.Field field = fieldInfo.getField();
-      String fieldName = fieldInfo.getName();
-      Schema type = fieldInfo.getType();
-      String spannerType = fieldInfo.getSpannerType();
-
       int fieldIndex = fieldInfo.getColumnIndex();
 
       boolean nullValue = row.isNull(fieldIndex);
       if (nullValue && !fieldInfo.isNullable()) {
-        throw new IllegalArgumentException("Unexpected null value for field " + fieldName);
+        throw new IllegalArgumentException(
+            "Unexpected null value for field " + fieldInfo.getName());
+      }
+      if (!nullValue) {
+        record.put(fieldInfo.getField().pos(), fieldInfo.getValueReader().read(row, fieldIndex));
       }
-      switch (type.getType()) {
-        case BOOLEAN:
-          builder.set(field, nullValue ? null : row.getBoolean(fieldIndex));
-          break;
-        case LONG:
-          if ((dialect == Dialect.GOOGLE_STANDARD_SQL && spannerType.equals("TIMESTAMP"))
-              || (dialect == Dialect.POSTGRESQL
-                  && (spannerType.equals("timestamp with time zone")
-                      || spannerType.equals("spanner.commit_timestamp")))) {
-            long microSeconds = 0L;
-            if (!nullValue) {
-              Timestamp ts = row.getTimestamp(fieldIndex);
-              microSeconds =
-                  TimeUnit.SECONDS.toMicros(ts.getSeconds())
-                      + TimeUnit.NANOSECONDS.toMicros(ts.getNanos());
-            }
-            builder.set(field, nullValue ? null : microSeconds);
-          } else {
-            builder.set(field, nullValue ? null : row.getLong(fieldIndex));
+    }
+    return record;
+  }
+
+  /**
+   * Chooses how the column of a field is read from the rows, based on the Avro and Spanner types of
+   * the field. This is done once per field rather than for every row.
+   *
+   * @return reader of the column.
+   * @throws IllegalArgumentException if the column can not be read as the Avro type of the field.
+   */
+  private ValueReader compileValueReader(FieldInfo fieldInfo) {
+    fieldInfo.checkSupported();
+
+    String fieldName = fieldInfo.getName();
+    Schema type = fieldInfo.getType();
+    String spannerType = fieldInfo.getSpannerType();
+
+    switch (type.getType()) {
+      case BOOLEAN:
+        return Struct::getBoolean;
+      case LONG:
+        if ((dialect == Dialect.GOOGLE_STANDARD_SQL && spannerType.equals("TIMESTAMP"))
+            || (dialect == Dialect.POSTGRESQL
+                && (spannerType.equals("timestamp with time zone")
+                    || spannerType.equals("spanner.commit_timestamp")))) {
+          return (row, fieldIndex) -> timestampToMicros(row.getTimestamp(fieldIndex));
+        }
+        return Struct::getLong;
+      case FLOAT:
+        return Struct::getFloat;
+      case DOUBLE:
+        return Struct::getDouble;
+      case BYTES:
+        if (dialect == Dialect.GOOGLE_STANDARD_SQL && spannerType.equals("NUMERIC")) {
+          // TODO: uses row.getNumeric() once teleport uses new spanner library.
+          return (row, fieldIndex) ->
+              ByteBuffer.wrap(NumericUtils.stringToBytes(row.getBigDecimal(fieldIndex).toString()));
+        }
+        if (dialect == Dialect.POSTGRESQL && spannerType.equals("numeric")) {
+          return (row, fieldIndex) ->
+              ByteBuffer.wrap(NumericUtils.pgStringToBytes(row.getString(fieldIndex)));
+        }
+        return (row, fieldIndex) -> ByteBuffer.wrap(row.getBytes(fieldIndex).toByteArray());
+      case STRING:
+        if (dialect == Dialect.GOOGLE_STANDARD_SQL) {
+          if (fieldInfo.matchesStringPattern()
+              || spannerType.equals("JSON")
+              || spannerType.equals("UUID")) {
+            return Struct::getString;
+          } else if (spannerType.equals("TIMESTAMP")) {
+            return (row, fieldIndex) -> row.getTimestamp(fieldIndex).toString();
+          } else if (spannerType.equals("DATE")) {
+            return (row, fieldIndex) -> dateToString(row.getDate(fieldIndex));
           }
-          break;
-        case FLOAT:
-          builder.set(field, nullValue ? null : row.getFloat(fieldIndex));
-          break;
-        case DOUBLE:
-          builder.set(field, nullValue ? null : row.getDouble(fieldIndex));
-          break;
-        case BYTES:
-          if (dialect == Dialect.GOOGLE_STANDARD_SQL && spannerType.equals("NUMERIC")) {
-            // TODO: uses row.getNumeric() once teleport uses new spanner library.
-            builder.set(
-                field,
-                nullValue
-                    ? null
-                    : ByteBuffer.wrap(
-                        NumericUtils.stringToBytes(row.getBigDecimal(fieldIndex).toString())));
-            break;
+        } else if (dialect == Dialect.POSTGRESQL) {
+          if (spannerType.equals("jsonb")) {
+            return Struct::getPgJsonb;
+          } else if (fieldInfo.matchesVarcharPattern()
+              || spannerType.equals("text")
+              || spannerType.equals("uuid")) {
+            return Struct::getString;
+          } else if (spannerType.equals("timestamp with time zone")
+              || spannerType.equals("spanner.commit_timestamp")) {
+            return (row, fieldIndex) -> row.getTimestamp(fieldIndex).toString();
+          } else if (spannerType.equals("date")) {
+            return (row, fieldIndex) -> dateToString(row.getDate(fieldIndex));
           }
-          if (dialect == Dialect.POSTGRESQL && spannerType.equals("numeric")) {
-            builder.set(
-                field,
-                nullValue
-                    ? null
-                    : ByteBuffer.wrap(NumericUtils.pgStringToBytes(row.getString(fieldIndex))));
-            break;
+        }
+        throw new IllegalArgumentException("Unsupported type " + spannerType);
+      case ARRAY:
+        {
+          Schema arrayType = type.getElementType();
+          boolean arrayElementNullable = arrayType.getType() == Schema.Type.UNION;
+          if (!arrayElementNullable) {
+            throw new IllegalArgumentException(
+                "Unsupported type for field "
+                    + fieldName
+                    + ". Cloud Spanner only supports nullable array values");
           }
-          builder.set(
-              field, nullValue ? null : ByteBuffer.wrap(row.getBytes(fieldIndex).toByteArray()));
-          break;
-        case STRING:
-          if (dialect == Dialect.GOOGLE_STANDARD_SQL) {
-            if (fieldInfo.matchesStringPattern() || spannerType.equals("JSON")) {
-              builder.set(field, nullValue ? null : row.getString(fieldIndex));
-            } else if (spannerType.equals("TIMESTAMP")) {
-              builder.set(field, nullValue ? null : row.getTimestamp(fieldIndex).toString());
-            } else if (spannerType.equals("DATE")) {
-              builder.set(field, nullValue ? null : dateToString(row.getDate(fieldIndex)));
-            } else if (spannerType.equals("UUID")) {
-              builder.set(field, nullValue ? null : row.getString(fieldIndex));
-            }
-          } else if (dialect == Dialect.POSTGRESQL) {
-            if (spannerType.equals("jsonb")) {
-              builder.set(field, nullValue ? null : row.getPgJsonb(fieldIndex));
-            } else if (fieldInfo.matchesVarcharPattern() || spannerType.equals("text")) {
-              builder.set(field, nullValue ? null : row.getString(fieldIndex));
-            } else if (spannerType.equals("timestamp with time zone")) {
-              builder.set(field, nullValue ? null : row.getTimestamp(fieldIndex).toString());
-            } else if (spannerType.equals("spanner.commit_timestamp")) {
-              builder.set(field, nullValue ? null : row.getTimestamp(fieldIndex).toString());
-            } else if (spannerType.equals("date")) {
-              builder.set(field, nullValue ? null : dateToString(row.getDate(fieldIndex)));
-            } else if (spannerType.equals("uuid")) {
-              builder.set(field, nullValue ? null : row.getString(fieldIndex));
-            }
+          arrayType = AvroUtil.unpackNullable(arrayType);
+          if (arrayType == null) {
+            throw new IllegalArgumentException("Unsupported type for field " + fieldName);
           }
-          break;
-        case ARRAY:
-          {
-            Schema arrayType = type.getElementType();
-            boolean arrayElementNullable = arrayType.getType() == Schema.Type.UNION;
-            if (!arrayElementNullable) {
-              throw new IllegalArgumentException(
-                  "Unsupported type for field "
-                      + fieldName
-                      + ". Cloud Spanner only supports nullable array values");
-            }
-            arrayType = AvroUtil.unpackNullable(arrayType);
-            if (arrayType == null) {
-              throw new IllegalArgumentException("Unsupported type for field " + fieldName);
-            }
-            switch (arrayType.getType()) {
-              case BOOLEAN:
-                builder.set(field, nullValue ? null : row.getBooleanList(fieldIndex));
-                break;
-              case LONG:
-                if ((dialect == Dialect.GOOGLE_STANDARD_SQL
-                        && spannerType.equals("ARRAY<TIMESTAMP>"))
-                    || (dialect == Dialect.POSTGRESQL
-                        && spannerType.equals("timestamp with time zone[]"))) {
-                  List<Long> values =
-                      row.getTimestampList(fieldIndex).stream()
+          switch (arrayType.getType()) {
+            case BOOLEAN:
+              return Struct::getBooleanList;
+            case LONG:
+              if ((dialect == Dialect.GOOGLE_STANDARD_SQL && spannerType.equals("ARRAY<TIMESTAMP>"))
+                  || (dialect == Dialect.POSTGRESQL
+                      && spannerType.equals("timestamp with time zone[]"))) {
+                return (row, fieldIndex) ->
+                    row.getTimestampList(fieldIndex).stream()
+                        .map(timestamp -> timestamp == null ? null : timestampToMicros(timestamp))
+                        .collect(Collectors.toList());
+              }
+              return Struct::getLongList;
+            case FLOAT:
+              return Struct::getFloatList;
+            case DOUBLE:
+              return Struct::getDoubleList;
+            case BYTES:
+              {
+                if (dialect == Dialect.GOOGLE_STANDARD_SQL
+                    && spannerType.equals("ARRAY<NUMERIC>")) {
+                  return (row, fieldIndex) ->
+                      row.getStringList(fieldIndex).stream()
                           .map(
-                              timestamp ->
-                                  timestamp == null
+                              numeric ->
+                                  numeric == null
                                       ? null
-                                      : (TimeUnit.SECONDS.toMicros(timestamp.getSeconds())
-                                          + TimeUnit.NANOSECONDS.toMicros(timestamp.getNanos())))
+                                      : ByteBuffer.wrap(NumericUtils.stringToBytes(numeric)))
                           .collect(Collectors.toList());
-                  builder.set(field, nullValue ? null : values);
-                } else {
-                  builder.set(field, nullValue ? null : row.getLongList(fieldIndex));
-                }
-                break;
-              case FLOAT:
-                {
-                  builder.set(field, nullValue ? null : row.getFloatList(fieldIndex));
-                  break;
                 }
-              case DOUBLE:
-                {
-                  builder.set(field, nullValue ? null : row.getDoubleList(fieldIndex));
-                  break;
+                if (dialect == Dialect.POSTGRESQL && spannerType.equals("numeric[]")) {
+                  return (row, fieldIndex) ->
+                      row.getStringList(fieldIndex).stream()
+                          .map(
+                              numeric ->
+                                  numeric == null
+                                      ? null
+                                      : ByteBuffer.wrap(NumericUtils.pgStringToBytes(numeric)))
+                          .collect(Collectors.toList());
                 }
-              case BYTES:
-                {
-                  if (dialect == Dialect.GOOGLE_STANDARD_SQL
-                      && spannerType.equals("ARRAY<NUMERIC>")) {
-                    if (nullValue) {
-                      builder.set(field, null);
-                      break;
-                    }
-                    List<ByteBuffer> numericValues = null;
-                    numericValues =
-                        row.getStringList(fieldIndex).stream()
-                            .map(
-                                numeric ->
-                                    numeric == null
-                                        ? null
-                                        : ByteBuffer.wrap(NumericUtils.stringToBytes(numeric)))
-                            .collect(Collectors.toList());
-                    builder.set(field, numericValues);
-                    break;
+                return (row, fieldIndex) ->
+                    row.getBytesList(fieldIndex).stream()
+                        .map(bytes -> bytes == null ? null : ByteBuffer.wrap(bytes.toByteArray()))
+                        .collect(Collectors.toList());
+              }
+            case STRING:
+              {
+                if (dialect == Dialect.GOOGLE_STANDARD_SQL) {
+                  if (fieldInfo.matchesArrayPattern()
+                      || spannerType.equals("ARRAY<JSON>")
+                      || spannerType.equals("ARRAY<UUID>")) {
+                    return Struct::getStringList;
+                  } else if (spannerType.equals("ARRAY<TIMESTAMP>")) {
+                    return SpannerRecordConverter::readTimestampArray;
+                  } else if (spannerType.equals("ARRAY<DATE>")) {
+                    return SpannerRecordConverter::readDateArray;
                   }
-                  if (dialect == Dialect.POSTGRESQL && spannerType.equals("numeric[]")) {
-                    if (nullValue) {
-                      builder.set(field, null);
-                      break;
-                    }
-                    List<ByteBuffer> numericValues = null;
-                    numericValues =
-                        row.getStringList(fieldIndex).stream()
-                            .map(
-                                numeric ->
-                                    numeric == null
-                                        ? null
-                                        : ByteBuffer.wrap(NumericUtils.pgStringToBytes(numeric)))
-                            .collect(Collectors.toList());
-                    builder.set(field, numericValues);
-                    break;
-                  }
-                  List<ByteBuffer> value = null;
-                  if (!nullValue) {
-                    value =
-                        row.getBytesList(fieldIndex).stream()
-                            .map(
-                                bytes ->
-                                    bytes == null ? null : ByteBuffer.wrap(bytes.toByteArray()))
-                            .collect(Collectors.toList());
-                  }
-                  builder.set(field, value);
-                  break;
                 }
-              case STRING:
-                {
-                  if (dialect == Dialect.GOOGLE_STANDARD_SQL) {
-                    if (fieldInfo.matchesArrayPattern()
-                        || spannerType.equals("ARRAY<JSON>")
-                        || spannerType.equals("ARRAY<UUID>")) {
-                      builder.set(field, nullValue ? null : row.getStringList(fieldIndex));
-                    } else if (spannerType.equals("ARRAY<TIMESTAMP>")) {
-                      setTimestampArray(row, builder, field, fieldIndex, nullValue);
-                    } else if (spannerType.equals("ARRAY<DATE>")) {
-                      setDateArray(row, builder, field, fieldIndex, nullValue);
-                    }
+                if (dialect == Dialect.POSTGRESQL) {
+                  if (spannerType.equals("jsonb[]")) {
+                    return Struct::getPgJsonbList;
+                  } else if (fieldInfo.matchesVarcharArrayPattern()
+                      || spannerType.equals("text[]")
+                      || spannerType.equals("uuid[]")) {
+                    return Struct::getStringList;
+                  } else if (spannerType.equals("timestamp with time zone[]")) {
+                    return SpannerRecordConverter::readTimestampArray;
+                  } else if (spannerType.equals("date[]")) {
+                    return SpannerRecordConverter::readDateArray;
                   }
-                  if (dialect == Dialect.POSTGRESQL) {
-                    if (spannerType.equals("jsonb[]")) {
-                      builder.set(field, nullValue ? null : row.getPgJsonbList(fieldIndex));
-                    } else if (fieldInfo.matchesVarcharArrayPattern()
-                        || spannerType.equals("text[]")
-                        || spannerType.equals("uuid[]")) {
-                      builder.set(field, nullValue ? null : row.getStringList(fieldIndex));
-                    } else if (spannerType.equals("timestamp with time zone[]")) {
-                      setTimestampArray(row, builder, field, fieldIndex, nullValue);
-                    } else if (spannerType.equals("date[]")) {
-                      setDateArray(row, builder, field, fieldIndex, nullValue);
-                    }
-                  }
-                  break;
-                }
-              default:
-                {
-                  throw new IllegalArgumentException("Unsupported array type " + arrayType);
                 }
-            }
-            break;
+                throw new IllegalArgumentException("Unsupported type " + spannerType);
+              }
+            default:
+              {
+                throw new IllegalArgumentException("Unsupported array type " + arrayType);
+              }
           }
-        default:
-          {
-            throw new IllegalArgumentException("Unsupported type" + type);
-          }
-      }
+        }
+      default:
+        {
+          throw new IllegalArgumentException("Unsupported type" + type);
+        }
     }
-    return builder.build();
   }
 
   // Package scope to be accessible to tests.
@@ -445,37 +411,20 @@ public class SpannerRecordConverter {
     return b.append(dayOfMonth).toString();
   }
 
-  private static void setTimestampArray(
-      Struct row,
-      GenericRecordBuilder builder,
-      Schema.Field field,
-      int fieldIndex,
-      boolean nullValue) {
-    if (nullValue) {
-      builder.set(field, null);
-    } else {
-      List<String> values =
-          row.getTimestampList(fieldIndex).stream()
-              .map(timestamp -> timestamp == null ? null : timestamp.toString())
-              .collect(Collectors.toList());
-      builder.set(field, values);
-    }
+  private static long timestampToMicros(Timestamp timestamp) {
+    return TimeUnit.SECONDS.toMicros(timestamp.getSeconds())
+        + TimeUnit.NANOSECONDS.toMicros(timestamp.getNanos());
   }
 
-  private static void setDateArray(
-      Struct row,
-      GenericRecordBuilder builder,
-      Schema.Field field,
-      int fieldIndex,
-      boolean nullValue) {
-    if (nullValue) {
-      builder.set(field, null);
-    } else {
-      List<String> values =
-          row.getDateList(fieldIndex).stream()
-              .map(date -> date == null ? null : dateToString(date))
-              .collect(Collectors.toList());
-      builder.set(field, values);
-    }
+  private static List<String> readTimestampArray(Struct row, int fieldIndex) {
+    return row.getTimestampList(fieldIndex).stream()
+        .map(timestamp -> timestamp == null ? null : timestamp.toString())
+        .collect(Collectors.toList());
+  }
+
+  private static List<String> readDateArray(Struct row, int fieldIndex) {
+    return row.getDateList(fieldIndex).stream()
+        .map(date -> date == null ? null : dateToString(date))
+        .collect(Collectors.toList());
   }
 }
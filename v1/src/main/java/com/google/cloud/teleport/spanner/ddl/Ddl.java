@@ -508,6 +508,34 @@ public class Ddl implements Serializable {
     return result;
   }
 
+  /**
+   * Groups the tables by the level at which their rows can be loaded. Tables interleaved {@code IN
+   * PARENT} are loaded one level after their parent, as their rows require the parent row. Other
+   * tables, including tables interleaved {@code IN} without {@code PARENT}, are loaded at level 0.
+   */
+  public HashMultimap<Integer, String> perLoadLevelView() {
+    HashMultimap<Integer, String> result = HashMultimap.create();
+    Map<String, Integer> levels = Maps.newHashMap();
+    LinkedList<String> pending = Lists.newLinkedList();
+    for (String tableName : childTableNames(ROOT)) {
+      levels.put(tableName, 0);
+      pending.add(tableName);
+    }
+
+    while (!pending.isEmpty()) {
+      String tableName = pending.removeFirst();
+      int level = levels.get(tableName);
+      result.put(level, tableName);
+      for (String childName : childTableNames(tableName)) {
+        Table child = table(childName);
+        levels.put(childName, child.interleaveType() == Table.InterleaveType.IN ? 0 : level + 1);
+        pending.add(childName);
+      }
+    }
+
+    return result;
+  }
+
   public String prettyPrint() {
     StringBuilder sb = new StringBuilder();
     try {
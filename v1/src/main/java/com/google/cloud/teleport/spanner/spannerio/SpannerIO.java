@@ -1961,6 +1961,14 @@ public class SpannerIO {
    * Gathers a set of mutations together, gets the keys, encodes them to byte[], sorts them and then
    * outputs the encoded sorted list.
    *
+   * <p>Mutation groups that are gathered in key order, such as the rows of an Avro import file, are
+   * batched without sorting. Otherwise they are sorted on an 8 byte prefix of their keys taken
+   * after the bytes shared by all the gathered keys (usually the encoded table name), and full keys
+   * are only compared when their prefixes are equal.
+   *
+   * <p>Mutation groups are not buffered across bundles, as a finished bundle is committed and
+   * anything still buffered would be lost if the worker failed afterwards.
+   *
    * <p>Testing notes: With very small amounts of data, each mutation group is in a separate bundle,
    * and as batching and sorting is over the bundle, this effectively means that no batching will
    * occur, Therefore this DoFn has to be tested in isolation.
@@ -1985,6 +1993,10 @@ public class SpannerIO {
     private long sortableNumCells = 0;
     // total number of rows mutated in mutationsToSort
     private long sortableNumRows = 0;
+    // whether mutationsToSort was gathered in key order.
+    private boolean sortableInKeyOrder = true;
+    // length of the prefix shared by all the encoded keys in mutationsToSort.
+    private int sortableCommonKeyLength = 0;
 
     GatherSortCreateBatchesFn(
         long maxBatchSizeBytes,
@@ -2010,19 +2022,21 @@ public class SpannerIO {
       this.maxSortableNumRows = maxBatchNumRows * groupingFactor;
     }
 
-    private synchronized void initSorter() {
+    private void initSorter() {
       mutationsToSort.clear();
       sortableSizeBytes = 0;
       sortableNumCells = 0;
       sortableNumRows = 0;
+      sortableInKeyOrder = true;
+      sortableCommonKeyLength = 0;
     }
 
     @FinishBundle
-    public synchronized void finishBundle(FinishBundleContext c) throws Exception {
+    public void finishBundle(FinishBundleContext c) throws Exception {
       sortAndOutputBatches(new OutputReceiverForFinishBundle(c));
     }
 
-    private synchronized void sortAndOutputBatches(OutputReceiver<Iterable<MutationGroup>> out)
+    private void sortAndOutputBatches(OutputReceiver<Iterable<MutationGroup>> out)
         throws IOException {
       try {
         if (mutationsToSort.isEmpty()) {
@@ -2036,8 +2050,13 @@ public class SpannerIO {
           return;
         }
 
-        // Sort then split the sorted mutations into batches.
-        mutationsToSort.sort(Comparator.naturalOrder());
+        // Sort, unless gathered in key order, then split the sorted mutations into batches.
+        if (!sortableInKeyOrder) {
+          for (MutationGroupContainer mg : mutationsToSort) {
+            mg.keyPrefix = keyPrefix(mg.encodedKey, sortableCommonKeyLength);
+          }
+          mutationsToSort.sort(Comparator.naturalOrder());
+        }
         int batchStart = 0;
         int batchEnd = 0;
 
@@ -2087,29 +2106,56 @@ public class SpannerIO {
     }
 
     @ProcessElement
-    public synchronized void processElement(
-        ProcessContext c, OutputReceiver<Iterable<MutationGroup>> out) throws Exception {
+    public void processElement(ProcessContext c, OutputReceiver<Iterable<MutationGroup>> out)
+        throws Exception {
       SpannerSchema spannerSchema = c.sideInput(schemaView);
       MutationKeyEncoder encoder = new MutationKeyEncoder(spannerSchema);
       MutationGroup mg = c.element();
       long groupSize = MutationSizeEstimator.sizeOf(mg);
       long groupCells = MutationCellCounter.countOf(spannerSchema, mg);
       long groupRows = mg.size();
+      byte[] encodedKey = encoder.encodeTableNameAndKey(mg.primary());
 
-      synchronized (this) {
-        if (((sortableNumCells + groupCells) > maxSortableNumMutations)
-            || (sortableSizeBytes + groupSize) > maxSortableSizeBytes
-            || (sortableNumRows + groupRows) > maxSortableNumRows) {
-          sortAndOutputBatches(out);
-        }
+      if (((sortableNumCells + groupCells) > maxSortableNumMutations)
+          || (sortableSizeBytes + groupSize) > maxSortableSizeBytes
+          || (sortableNumRows + groupRows) > maxSortableNumRows) {
+        sortAndOutputBatches(out);
+      }
 
-        mutationsToSort.add(
-            new MutationGroupContainer(
-                mg, groupSize, groupCells, groupRows, encoder.encodeTableNameAndKey(mg.primary())));
-        sortableSizeBytes += groupSize;
-        sortableNumCells += groupCells;
-        sortableNumRows += groupRows;
+      if (mutationsToSort.isEmpty()) {
+        sortableCommonKeyLength = encodedKey.length;
+      } else {
+        byte[] firstKey = mutationsToSort.get(0).encodedKey;
+        byte[] lastKey = mutationsToSort.get(mutationsToSort.size() - 1).encodedKey;
+        int mismatch = Arrays.mismatch(firstKey, encodedKey);
+        sortableCommonKeyLength =
+            Math.min(sortableCommonKeyLength, mismatch < 0 ? encodedKey.length : mismatch);
+        sortableInKeyOrder =
+            sortableInKeyOrder
+                && UnsignedBytes.lexicographicalComparator().compare(lastKey, encodedKey) <= 0;
       }
+      mutationsToSort.add(
+          new MutationGroupContainer(mg, groupSize, groupCells, groupRows, encodedKey));
+      sortableSizeBytes += groupSize;
+      sortableNumCells += groupCells;
+      sortableNumRows += groupRows;
+    }
+
+    /**
+     * Returns the 8 bytes of the key following the given offset as an unsigned long, padded with
+     * zeros past the end of the key. Keys sharing their first {@code offset} bytes are ordered like
+     * their prefixes whenever the prefixes differ.
+     */
+    @VisibleForTesting
+    static long keyPrefix(byte[] key, int offset) {
+      long prefix = 0;
+      for (int i = offset; i < offset + Long.BYTES; i++) {
+        prefix <<= 8;
+        if (i < key.length) {
+          prefix |= key[i] & 0xFF;
+        }
+      }
+      return prefix;
     }
 
     // Container class to store a MutationGroup, its sortable encoded key and its statistics.
@@ -2121,6 +2167,8 @@ public class SpannerIO {
       final long numCells;
       final long numRows;
       final byte[] encodedKey;
+      // prefix of encodedKey, set before sorting.
+      long keyPrefix;
 
       MutationGroupContainer(
           MutationGroup mutationGroup,
@@ -2137,6 +2185,10 @@ public class SpannerIO {
 
       @Override
       public int compareTo(MutationGroupContainer o) {
+        int result = Long.compareUnsigned(this.keyPrefix, o.keyPrefix);
+        if (result != 0) {
+          return result;
+        }
         return UnsignedBytes.lexicographicalComparator().compare(this.encodedKey, o.encodedKey);
       }
     }
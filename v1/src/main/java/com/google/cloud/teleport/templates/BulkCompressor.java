@@ -20,29 +20,47 @@ import com.google.cloud.teleport.metadata.TemplateCategory;
 import com.google.cloud.teleport.metadata.TemplateParameter;
 import com.google.cloud.teleport.metadata.TemplateParameter.TemplateEnumOption;
 import com.google.cloud.teleport.templates.BulkCompressor.Options;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.ByteStreams;
 import java.io.IOException;
+import java.io.Serializable;
+import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.PipelineResult;
+import org.apache.beam.sdk.coders.DefaultCoder;
+import org.apache.beam.sdk.coders.SerializableCoder;
 import org.apache.beam.sdk.io.Compression;
 import org.apache.beam.sdk.io.FileIO;
 import org.apache.beam.sdk.io.FileSystems;
 import org.apache.beam.sdk.io.TextIO;
 import org.apache.beam.sdk.io.fs.MatchResult;
+import org.apache.beam.sdk.io.fs.MetadataCoder;
+import org.apache.beam.sdk.io.fs.MoveOptions.StandardMoveOptions;
 import org.apache.beam.sdk.io.fs.ResolveOptions.StandardResolveOptions;
 import org.apache.beam.sdk.io.fs.ResourceId;
 import org.apache.beam.sdk.options.PipelineOptions;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
 import org.apache.beam.sdk.options.Validation.Required;
 import org.apache.beam.sdk.options.ValueProvider;
+import org.apache.beam.sdk.options.ValueProvider.NestedValueProvider;
 import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.Flatten;
+import org.apache.beam.sdk.transforms.GroupByKey;
 import org.apache.beam.sdk.transforms.MapElements;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.Reshuffle;
 import org.apache.beam.sdk.util.MimeTypes;
 import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollectionList;
 import org.apache.beam.sdk.values.PCollectionTuple;
 import org.apache.beam.sdk.values.TupleTag;
 import org.apache.beam.sdk.values.TupleTagList;
@@ -63,6 +81,11 @@ import org.slf4j.LoggerFactory;
  * CSV format of filename, error message. If no failures occur during execution, the error file will
  * still be created but will contain no error records.
  *
+ * <p>When a block size is specified, files larger than the block size are split into blocks which
+ * are compressed in parallel as independent members (<code>GZIP</code>) or frames (<code>ZSTD
+ * </code>) and then concatenated into the output file. The result is a valid multi-member archive
+ * which standard tools, and the {@link BulkDecompressor}, decompress as a single stream.
+ *
  * <p><b>Pipeline Requirements</b>
  *
  * <ul>
@@ -99,6 +122,9 @@ public class BulkCompressor {
   /** The logger to output status messages to. */
   private static final Logger LOG = LoggerFactory.getLogger(BulkCompressor.class);
 
+  /** The number of bytes in a megabyte. */
+  private static final long MB = 1024L * 1024L;
+
   /** The tag used to identify the main output of the {@link Compressor}. */
   private static final TupleTag<String> COMPRESSOR_MAIN_OUT = new TupleTag<String>() {};
 
@@ -106,6 +132,26 @@ public class BulkCompressor {
   private static final TupleTag<KV<String, String>> DEADLETTER_TAG =
       new TupleTag<KV<String, String>>() {};
 
+  /** The tag used to identify files which the {@link BlockSplitter} passes through whole. */
+  @VisibleForTesting
+  static final TupleTag<MatchResult.Metadata> WHOLE_FILE_TAG =
+      new TupleTag<MatchResult.Metadata>() {};
+
+  /** The tag used to identify the blocks emitted by the {@link BlockSplitter}. */
+  @VisibleForTesting static final TupleTag<FileBlock> FILE_BLOCK_TAG = new TupleTag<FileBlock>() {};
+
+  /** The tag used to identify the main output of the {@link BlockCompressor}. */
+  @VisibleForTesting
+  static final TupleTag<KV<String, FileBlock>> COMPRESSED_BLOCK_TAG =
+      new TupleTag<KV<String, FileBlock>>() {};
+
+  /**
+   * The compression modes whose output streams can be concatenated and still decompress as a single
+   * stream. Files compressed in any other mode are never split into blocks.
+   */
+  @VisibleForTesting
+  static final Set<Compression> BLOCK_COMPRESSIONS = EnumSet.of(Compression.GZIP, Compression.ZSTD);
+
   /**
    * The {@link Options} class provides the custom execution options passed by the executor at the
    * command-line.
@@ -175,6 +221,17 @@ public class BulkCompressor {
     ValueProvider<String> getOutputFilenameSuffix();
 
     void setOutputFilenameSuffix(ValueProvider<String> value);
+
+    @TemplateParameter.Integer(
+        order = 6,
+        optional = true,
+        description = "Block size in MB",
+        helpText =
+            "When set, files larger than this size are split into blocks of this many megabytes which are compressed in parallel and concatenated into a multi-member output file. Only applies to GZIP and ZSTD compression. By default, each file is compressed by a single worker.",
+        example = "256")
+    ValueProvider<Integer> getBlockSizeMb();
+
+    void setBlockSizeMb(ValueProvider<Integer> value);
   }
 
   /**
@@ -205,22 +262,58 @@ public class BulkCompressor {
     // Create the pipeline
     Pipeline pipeline = Pipeline.create(options);
 
+    ValueProvider<Long> blockSizeBytes =
+        NestedValueProvider.of(
+            options.getBlockSizeMb(), blockSizeMb -> blockSizeMb == null ? 0L : blockSizeMb * MB);
+
     /*
      * Steps:
      *   1) Find all files matching the input pattern
-     *   2) Compress the files found and output them to the output directory
-     *   3) Write any errors to the failure output file
+     *   2) Split files larger than the block size into blocks
+     *   3) Compress the whole files found and output them to the output directory
+     *   4) Compress the blocks in parallel and concatenate them into the output directory
+     *   5) Write any errors to the failure output file
      */
-    PCollectionTuple compressOut =
+    PCollectionTuple splitOut =
         pipeline
             .apply("Match File(s)", FileIO.match().filepattern(options.getInputFilePattern()))
+            .apply(
+                "Split Into Blocks",
+                ParDo.of(new BlockSplitter(blockSizeBytes, options.getCompression()))
+                    .withOutputTags(WHOLE_FILE_TAG, TupleTagList.of(FILE_BLOCK_TAG)));
+
+    PCollectionTuple compressOut =
+        splitOut
+            .get(WHOLE_FILE_TAG)
+            .setCoder(MetadataCoder.of())
             .apply(
                 "Compress File(s)",
                 ParDo.of(new Compressor(options.getOutputDirectory(), options.getCompression()))
                     .withOutputTags(COMPRESSOR_MAIN_OUT, TupleTagList.of(DEADLETTER_TAG)));
 
-    compressOut
-        .get(DEADLETTER_TAG)
+    PCollectionTuple blockOut =
+        splitOut
+            .get(FILE_BLOCK_TAG)
+            .apply("Redistribute Blocks", Reshuffle.viaRandomKey())
+            .apply(
+                "Compress Block(s)",
+                ParDo.of(
+                        new BlockCompressor(options.getOutputDirectory(), options.getCompression()))
+                    .withOutputTags(COMPRESSED_BLOCK_TAG, TupleTagList.of(DEADLETTER_TAG)));
+
+    PCollectionTuple concatOut =
+        blockOut
+            .get(COMPRESSED_BLOCK_TAG)
+            .apply("Group Blocks", GroupByKey.create())
+            .apply(
+                "Concatenate Blocks",
+                ParDo.of(new BlockConcatenator(options.getOutputDirectory()))
+                    .withOutputTags(COMPRESSOR_MAIN_OUT, TupleTagList.of(DEADLETTER_TAG)));
+
+    PCollectionList.of(compressOut.get(DEADLETTER_TAG))
+        .and(blockOut.get(DEADLETTER_TAG))
+        .and(concatOut.get(DEADLETTER_TAG))
+        .apply("Flatten Errors", Flatten.pCollections())
         .apply(
             "Format Errors",
             MapElements.into(TypeDescriptors.strings())
@@ -255,19 +348,8 @@ public class BulkCompressor {
     public void processElement(ProcessContext context) {
       ResourceId inputFile = context.element().resourceId();
       Compression compression = compressionValue.get();
-      Options options = context.getPipelineOptions().as(Options.class);
-      String outputFilename;
-
-      // Add the extension to the output filename.
-      if (options.getOutputFilenameSuffix() != null
-          && options.getOutputFilenameSuffix().isAccessible()
-          && options.getOutputFilenameSuffix().get() != null) {
-        // Use suffix parameter. Example: demo.txt -> demo.txt.foo
-        outputFilename = inputFile.getFilename() + options.getOutputFilenameSuffix().get();
-      } else {
-        // Use compression extension. Example: demo.txt -> demo.txt.gz
-        outputFilename = inputFile.getFilename() + compression.getSuggestedSuffix();
-      }
+      String outputFilename =
+          getOutputFilename(inputFile, compression, context.getPipelineOptions().as(Options.class));
 
       // Resolve the necessary resources to perform the transfer
       ResourceId outputDir = FileSystems.matchNewResource(destinationLocation.get(), true);
@@ -296,4 +378,239 @@ public class BulkCompressor {
       }
     }
   }
+
+  /**
+   * Resolves the name of the compressed output file for the given input file.
+   *
+   * @param inputFile The file being compressed.
+   * @param compression The compression mode used.
+   * @param options The execution options.
+   * @return The output filename.
+   */
+  private static String getOutputFilename(
+      ResourceId inputFile, Compression compression, Options options) {
+    // Add the extension to the output filename.
+    if (options.getOutputFilenameSuffix() != null
+        && options.getOutputFilenameSuffix().isAccessible()
+        && options.getOutputFilenameSuffix().get() != null) {
+      // Use suffix parameter. Example: demo.txt -> demo.txt.foo
+      return inputFile.getFilename() + options.getOutputFilenameSuffix().get();
+    }
+    // Use compression extension. Example: demo.txt -> demo.txt.gz
+    return inputFile.getFilename() + compression.getSuggestedSuffix();
+  }
+
+  /**
+   * A {@link FileBlock} describes a byte range of an input file which is compressed independently
+   * of the rest of the file.
+   */
+  @DefaultCoder(SerializableCoder.class)
+  static class FileBlock implements Serializable {
+
+    private final String inputFile;
+    private final String outputFilename;
+    private final int index;
+    private final int count;
+    private final long start;
+    private final long end;
+
+    FileBlock(String inputFile, String outputFilename, int index, int count, long start, long end) {
+      this.inputFile = inputFile;
+      this.outputFilename = outputFilename;
+      this.index = index;
+      this.count = count;
+      this.start = start;
+      this.end = end;
+    }
+
+    String getInputFile() {
+      return inputFile;
+    }
+
+    String getOutputFilename() {
+      return outputFilename;
+    }
+
+    int getIndex() {
+      return index;
+    }
+
+    int getCount() {
+      return count;
+    }
+
+    long getStart() {
+      return start;
+    }
+
+    long getEnd() {
+      return end;
+    }
+
+    /** Returns the temporary file the compressed block is written to. */
+    ResourceId getPartFile(ResourceId outputDir) {
+      return outputDir.resolve(
+          String.format("temp-%s-%05d-of-%05d", outputFilename, index, count),
+          StandardResolveOptions.RESOLVE_FILE);
+    }
+  }
+
+  /**
+   * The {@link BlockSplitter} splits each matched file which is larger than the block size into
+   * {@link FileBlock}s. Files which are not larger than the block size, or whose compression mode
+   * cannot be concatenated, are passed through whole to the {@link Compressor}.
+   */
+  @SuppressWarnings("serial")
+  public static class BlockSplitter extends DoFn<MatchResult.Metadata, MatchResult.Metadata> {
+
+    private final ValueProvider<Long> blockSizeBytes;
+    private final ValueProvider<Compression> compressionValue;
+
+    BlockSplitter(ValueProvider<Long> blockSizeBytes, ValueProvider<Compression> compression) {
+      this.blockSizeBytes = blockSizeBytes;
+      this.compressionValue = compression;
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext context) {
+      MatchResult.Metadata metadata = context.element();
+      Compression compression = compressionValue.get();
+      Long blockSize = blockSizeBytes == null ? null : blockSizeBytes.get();
+
+      if (blockSize == null
+          || blockSize <= 0
+          || !BLOCK_COMPRESSIONS.contains(compression)
+          || metadata.sizeBytes() <= blockSize) {
+        context.output(metadata);
+        return;
+      }
+
+      ResourceId inputFile = metadata.resourceId();
+      String outputFilename =
+          getOutputFilename(inputFile, compression, context.getPipelineOptions().as(Options.class));
+      long size = metadata.sizeBytes();
+      int count = (int) ((size + blockSize - 1) / blockSize);
+
+      for (int i = 0; i < count; i++) {
+        long start = i * blockSize;
+        context.output(
+            FILE_BLOCK_TAG,
+            new FileBlock(
+                inputFile.toString(),
+                outputFilename,
+                i,
+                count,
+                start,
+                Math.min(start + blockSize, size)));
+      }
+    }
+  }
+
+  /**
+   * The {@link BlockCompressor} compresses a single {@link FileBlock} into a temporary part file in
+   * the output location. The block is keyed by its input file so that all the parts of a file can
+   * be gathered by the {@link BlockConcatenator}.
+   */
+  @SuppressWarnings("serial")
+  public static class BlockCompressor extends DoFn<FileBlock, KV<String, FileBlock>> {
+
+    private final ValueProvider<String> destinationLocation;
+    private final ValueProvider<Compression> compressionValue;
+
+    BlockCompressor(
+        ValueProvider<String> destinationLocation, ValueProvider<Compression> compression) {
+      this.destinationLocation = destinationLocation;
+      this.compressionValue = compression;
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext context) {
+      FileBlock block = context.element();
+      ResourceId inputFile = FileSystems.matchNewResource(block.getInputFile(), false);
+      ResourceId outputDir = FileSystems.matchNewResource(destinationLocation.get(), true);
+      ResourceId partFile = block.getPartFile(outputDir);
+
+      try (ReadableByteChannel readerChannel = FileSystems.open(inputFile)) {
+        if (!(readerChannel instanceof SeekableByteChannel)) {
+          throw new IOException(
+              String.format("The file resource %s does not support seeking.", inputFile));
+        }
+        ((SeekableByteChannel) readerChannel).position(block.getStart());
+
+        try (WritableByteChannel writerChannel =
+            compressionValue
+                .get()
+                .writeCompressed(FileSystems.create(partFile, MimeTypes.BINARY))) {
+          ByteStreams.copy(
+              ByteStreams.limit(
+                  Channels.newInputStream(readerChannel), block.getEnd() - block.getStart()),
+              Channels.newOutputStream(writerChannel));
+        }
+
+        context.output(KV.of(block.getInputFile(), block));
+      } catch (IOException e) {
+        LOG.error(
+            "Error occurred during compression of block {} of {}",
+            block.getIndex(),
+            block.getInputFile(),
+            e);
+        context.output(DEADLETTER_TAG, KV.of(block.getInputFile(), e.getMessage()));
+      }
+    }
+  }
+
+  /**
+   * The {@link BlockConcatenator} concatenates the compressed parts of a file, in block order, into
+   * the output file and removes the temporary part files. Files with a failed block have already
+   * been reported by the {@link BlockCompressor}, so their parts are only cleaned up.
+   */
+  @SuppressWarnings("serial")
+  public static class BlockConcatenator extends DoFn<KV<String, Iterable<FileBlock>>, String> {
+
+    private final ValueProvider<String> destinationLocation;
+
+    BlockConcatenator(ValueProvider<String> destinationLocation) {
+      this.destinationLocation = destinationLocation;
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext context) {
+      String inputFile = context.element().getKey();
+      List<FileBlock> blocks = new ArrayList<>();
+      context.element().getValue().forEach(blocks::add);
+      blocks.sort(Comparator.comparingInt(FileBlock::getIndex));
+
+      ResourceId outputDir = FileSystems.matchNewResource(destinationLocation.get(), true);
+      List<ResourceId> partFiles = new ArrayList<>(blocks.size());
+      blocks.forEach(block -> partFiles.add(block.getPartFile(outputDir)));
+
+      try {
+        FileBlock first = blocks.get(0);
+        if (blocks.size() == first.getCount()) {
+          ResourceId outputFile =
+              outputDir.resolve(first.getOutputFilename(), StandardResolveOptions.RESOLVE_FILE);
+          ResourceId tempFile =
+              outputDir.resolve(
+                  "temp-" + first.getOutputFilename(), StandardResolveOptions.RESOLVE_FILE);
+
+          // Concatenating the compressed members only copies bytes, no recompression is needed.
+          try (WritableByteChannel writerChannel = FileSystems.create(tempFile, MimeTypes.BINARY)) {
+            for (ResourceId partFile : partFiles) {
+              try (ReadableByteChannel readerChannel = FileSystems.open(partFile)) {
+                ByteStreams.copy(readerChannel, writerChannel);
+              }
+            }
+          }
+
+          FileSystems.rename(ImmutableList.of(tempFile), ImmutableList.of(outputFile));
+          context.output(outputFile.toString());
+        }
+
+        FileSystems.delete(partFiles, StandardMoveOptions.IGNORE_MISSING_FILES);
+      } catch (IOException e) {
+        LOG.error("Error occurred during concatenation of blocks of {}", inputFile, e);
+        context.output(DEADLETTER_TAG, KV.of(inputFile, e.getMessage()));
+      }
+    }
+  }
 }
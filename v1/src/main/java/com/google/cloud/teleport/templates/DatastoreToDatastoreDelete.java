@@ -18,17 +18,27 @@ package com.google.cloud.teleport.templates;
 import com.google.cloud.teleport.metadata.Template;
 import com.google.cloud.teleport.metadata.TemplateCategory;
 import com.google.cloud.teleport.templates.DatastoreToDatastoreDelete.DatastoreToDatastoreDeleteOptions;
-import com.google.cloud.teleport.templates.common.DatastoreConverters.DatastoreDeleteEntityJson;
+import com.google.cloud.teleport.templates.common.DatastoreConverters.DatastoreDeleteKeys;
 import com.google.cloud.teleport.templates.common.DatastoreConverters.DatastoreDeleteOptions;
 import com.google.cloud.teleport.templates.common.DatastoreConverters.DatastoreReadOptions;
-import com.google.cloud.teleport.templates.common.DatastoreConverters.ReadJsonEntities;
+import com.google.cloud.teleport.templates.common.DatastoreConverters.JsonToKey;
+import com.google.cloud.teleport.templates.common.DatastoreConverters.ReadEntityKeys;
 import com.google.cloud.teleport.templates.common.FirestoreNestedValueProvider;
 import com.google.cloud.teleport.templates.common.JavascriptTextTransformer.JavascriptTextTransformerOptions;
 import com.google.cloud.teleport.templates.common.JavascriptTextTransformer.TransformTextViaJavascript;
+import com.google.common.base.Strings;
+import com.google.datastore.v1.Key;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.options.PipelineOptions;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
 import org.apache.beam.sdk.options.ValueProvider;
+import org.apache.beam.sdk.options.ValueProvider.NestedValueProvider;
+import org.apache.beam.sdk.transforms.Flatten;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionList;
+import org.apache.beam.sdk.values.PCollectionTuple;
+import org.apache.beam.sdk.values.TupleTag;
 
 /**
  * Dataflow template which deletes pulled Datastore Entities.
@@ -109,7 +119,8 @@ public class DatastoreToDatastoreDelete {
    * a Javascript UDF, and deletes all the Entities.
    *
    * <p>If the UDF returns value of undefined or null for a given Entity, then that Entity will not
-   * be deleted.
+   * be deleted. Without a UDF, the keys of the Entities are deleted directly, and only the keys are
+   * read when {@code deleteKeysOnly} is set.
    *
    * @param args arguments to the pipeline
    */
@@ -121,9 +132,14 @@ public class DatastoreToDatastoreDelete {
 
     Pipeline pipeline = Pipeline.create(options);
 
-    pipeline
-        .apply(
-            ReadJsonEntities.newBuilder()
+    TupleTag<Key> keyTag = new TupleTag<Key>() {};
+    TupleTag<String> jsonTag = new TupleTag<String>() {};
+
+    // Entities are only converted to JSON when a UDF is configured, otherwise their keys are
+    // deleted directly.
+    PCollectionTuple entities =
+        pipeline.apply(
+            ReadEntityKeys.newBuilder()
                 .setGqlQuery(
                     selectProvidedInput(
                         options.getDatastoreReadGqlQuery(), options.getFirestoreReadGqlQuery()))
@@ -133,14 +149,30 @@ public class DatastoreToDatastoreDelete {
                 .setNamespace(
                     selectProvidedInput(
                         options.getDatastoreReadNamespace(), options.getFirestoreReadNamespace()))
-                .build())
-        .apply(
-            TransformTextViaJavascript.newBuilder()
-                .setFileSystemPath(options.getJavascriptTextTransformGcsPath())
-                .setFunctionName(options.getJavascriptTextTransformFunctionName())
-                .build())
+                .setKeysOnly(options.getDeleteKeysOnly())
+                .setJsonRequired(
+                    NestedValueProvider.of(
+                        options.getJavascriptTextTransformGcsPath(),
+                        path -> !Strings.isNullOrEmpty(path)))
+                .setKeyTag(keyTag)
+                .setJsonTag(jsonTag)
+                .build());
+
+    PCollection<Key> transformedKeys =
+        entities
+            .get(jsonTag)
+            .apply(
+                TransformTextViaJavascript.newBuilder()
+                    .setFileSystemPath(options.getJavascriptTextTransformGcsPath())
+                    .setFunctionName(options.getJavascriptTextTransformFunctionName())
+                    .build())
+            .apply("StringToKey", ParDo.of(new JsonToKey()));
+
+    PCollectionList.of(entities.get(keyTag))
+        .and(transformedKeys)
+        .apply("FlattenKeys", Flatten.pCollections())
         .apply(
-            DatastoreDeleteEntityJson.newBuilder()
+            DatastoreDeleteKeys.newBuilder()
                 .setProjectId(
                     selectProvidedInput(
                         options.getDatastoreDeleteProjectId(),
@@ -18,8 +18,10 @@ package com.google.cloud.teleport.templates;
 import com.google.api.client.json.JsonFactory;
 import com.google.api.services.bigquery.model.TableRow;
 import com.google.cloud.teleport.coders.FailsafeElementCoder;
+import com.google.cloud.teleport.io.MatchNewFiles;
 import com.google.cloud.teleport.metadata.Template;
 import com.google.cloud.teleport.metadata.TemplateCategory;
+import com.google.cloud.teleport.metadata.TemplateCreationParameter;
 import com.google.cloud.teleport.metadata.TemplateParameter;
 import com.google.cloud.teleport.templates.TextToBigQueryStreaming.TextToBigQueryStreamingOptions;
 import com.google.cloud.teleport.templates.common.BigQueryConverters.FailsafeJsonToTableRow;
@@ -41,6 +43,7 @@ import org.apache.beam.sdk.PipelineResult;
 import org.apache.beam.sdk.coders.CoderRegistry;
 import org.apache.beam.sdk.coders.StringUtf8Coder;
 import org.apache.beam.sdk.extensions.gcp.util.Transport;
+import org.apache.beam.sdk.io.FileIO;
 import org.apache.beam.sdk.io.FileSystems;
 import org.apache.beam.sdk.io.TextIO;
 import org.apache.beam.sdk.io.fs.ResourceId;
@@ -51,6 +54,8 @@ import org.apache.beam.sdk.io.gcp.bigquery.BigQueryIO.Write.WriteDisposition;
 import org.apache.beam.sdk.io.gcp.bigquery.BigQueryInsertError;
 import org.apache.beam.sdk.io.gcp.bigquery.InsertRetryPolicy;
 import org.apache.beam.sdk.io.gcp.bigquery.WriteResult;
+import org.apache.beam.sdk.options.Default;
+import org.apache.beam.sdk.options.Description;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
 import org.apache.beam.sdk.options.ValueProvider;
 import org.apache.beam.sdk.options.ValueProvider.NestedValueProvider;
@@ -233,15 +238,18 @@ public class TextToBigQueryStreaming {
      *  6) Insert records that failed into deadletter table.
      */
 
-    PCollectionTuple transformedOutput =
-        pipeline
-
-            // 1) Read from the text source continuously.
-            .apply(
+    // 1) Read from the text source continuously.
+    PCollection<String> lines =
+        options.getUseBoundedFileDiscovery()
+            ? readNewFiles(pipeline, options)
+            : pipeline.apply(
                 "ReadFromSource",
                 TextIO.read()
                     .from(options.getInputFilePattern())
-                    .watchForNewFiles(DEFAULT_POLL_INTERVAL, Growth.never()))
+                    .watchForNewFiles(DEFAULT_POLL_INTERVAL, Growth.never()));
+
+    PCollectionTuple transformedOutput =
+        lines
 
             // 2) Convert to FailsafeElement.
             .apply(
@@ -321,6 +329,24 @@ public class TextToBigQueryStreaming {
     return pipeline.run();
   }
 
+  /**
+   * Reads the lines of new input files with {@link MatchNewFiles}, which only remembers the files
+   * within the late arrival window and skips the files listed after it.
+   */
+  private static PCollection<String> readNewFiles(
+      Pipeline pipeline, TextToBigQueryStreamingOptions options) {
+    return pipeline
+        .apply(
+            "MatchNewFiles",
+            MatchNewFiles.of(options.getInputFilePattern(), DEFAULT_POLL_INTERVAL)
+                .withLateArrivalWindow(
+                    NestedValueProvider.of(
+                        options.getLateArrivalWindowMinutes(),
+                        (Integer minutes) -> Duration.standardMinutes(minutes))))
+        .apply("ReadMatches", FileIO.readMatches())
+        .apply("ReadFromSource", TextIO.readFiles());
+  }
+
   /**
    * Method to wrap a {@link BigQueryInsertError} into a {@link FailsafeElement}.
    *
@@ -395,5 +421,33 @@ public class TextToBigQueryStreaming {
     ValueProvider<String> getOutputDeadletterTable();
 
     void setOutputDeadletterTable(ValueProvider<String> value);
+
+    @TemplateCreationParameter(value = "false")
+    @Description(
+        "Whether new input files are discovered by keeping only the files modified within the late"
+            + " arrival window, instead of every file read since the job started. Files that are"
+            + " first listed after they fall outside the window are skipped.")
+    @Default.Boolean(false)
+    Boolean getUseBoundedFileDiscovery();
+
+    void setUseBoundedFileDiscovery(Boolean value);
+
+    @TemplateParameter.Integer(
+        order = 2,
+        optional = true,
+        description = "Late arrival window in minutes",
+        helpText =
+            "This parameter takes effect only if the template was created with"
+                + " `useBoundedFileDiscovery` enabled. How long before the most recently modified"
+                + " input file another input file can have been last modified and still be read"
+                + " when it is first listed. Files that are first listed after they were last"
+                + " modified earlier than that are skipped and counted in the"
+                + " `filesSkippedOutsideLateArrivalWindow` metric. This can happen to files that"
+                + " are copied or moved in with their original modification time, or to uploads"
+                + " that take longer than the window. Defaults to `10`.")
+    @Default.Integer(10)
+    ValueProvider<Integer> getLateArrivalWindowMinutes();
+
+    void setLateArrivalWindowMinutes(ValueProvider<Integer> value);
   }
 }
@@ -15,15 +15,23 @@
  */
 package com.google.cloud.teleport.templates;
 
+import com.google.cloud.teleport.io.MatchNewFiles;
 import com.google.cloud.teleport.metadata.Template;
 import com.google.cloud.teleport.metadata.TemplateCategory;
-import com.google.cloud.teleport.templates.TextToPubsub.Options;
+import com.google.cloud.teleport.metadata.TemplateCreationParameter;
+import com.google.cloud.teleport.metadata.TemplateParameter;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.PipelineResult;
+import org.apache.beam.sdk.io.FileIO;
 import org.apache.beam.sdk.io.TextIO;
 import org.apache.beam.sdk.io.gcp.pubsub.PubsubIO;
+import org.apache.beam.sdk.options.Default;
+import org.apache.beam.sdk.options.Description;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
+import org.apache.beam.sdk.options.ValueProvider;
+import org.apache.beam.sdk.options.ValueProvider.NestedValueProvider;
 import org.apache.beam.sdk.transforms.Watch;
+import org.apache.beam.sdk.values.PCollection;
 import org.joda.time.Duration;
 
 /**
@@ -64,6 +72,37 @@ import org.joda.time.Duration;
 public class TextToPubsubStream {
   private static final Duration DEFAULT_POLL_INTERVAL = Duration.standardSeconds(10);
 
+  /** Options supported by {@link TextToPubsubStream}. */
+  public interface Options extends TextToPubsub.Options {
+    @TemplateCreationParameter(value = "false")
+    @Description(
+        "Whether new input files are discovered by keeping only the files modified within the late"
+            + " arrival window, instead of every file read since the job started. Files that are"
+            + " first listed after they fall outside the window are skipped.")
+    @Default.Boolean(false)
+    Boolean getUseBoundedFileDiscovery();
+
+    void setUseBoundedFileDiscovery(Boolean value);
+
+    @TemplateParameter.Integer(
+        order = 3,
+        optional = true,
+        description = "Late arrival window in minutes",
+        helpText =
+            "This parameter takes effect only if the template was created with"
+                + " `useBoundedFileDiscovery` enabled. How long before the most recently modified"
+                + " input file another input file can have been last modified and still be read"
+                + " when it is first listed. Files that are first listed after they were last"
+                + " modified earlier than that are skipped and counted in the"
+                + " `filesSkippedOutsideLateArrivalWindow` metric. This can happen to files that"
+                + " are copied or moved in with their original modification time, or to uploads"
+                + " that take longer than the window. Defaults to `10`.")
+    @Default.Integer(10)
+    ValueProvider<Integer> getLateArrivalWindowMinutes();
+
+    void setLateArrivalWindowMinutes(ValueProvider<Integer> value);
+  }
+
   /**
    * Main entry-point for the pipeline. Reads in the command-line arguments, parses them, and
    * executes the pipeline.
@@ -92,13 +131,24 @@ public class TextToPubsubStream {
      *  1) Read from the text source.
      *  2) Write each text record to Pub/Sub
      */
-    pipeline
-        .apply(
-            "Read Text Data",
-            TextIO.read()
-                .from(options.getInputFilePattern())
-                .watchForNewFiles(DEFAULT_POLL_INTERVAL, Watch.Growth.never()))
-        .apply("Write to PubSub", PubsubIO.writeStrings().to(options.getOutputTopic()));
+    PCollection<String> lines =
+        options.getUseBoundedFileDiscovery()
+            ? pipeline
+                .apply(
+                    "Match New Files",
+                    MatchNewFiles.of(options.getInputFilePattern(), DEFAULT_POLL_INTERVAL)
+                        .withLateArrivalWindow(
+                            NestedValueProvider.of(
+                                options.getLateArrivalWindowMinutes(),
+                                (Integer minutes) -> Duration.standardMinutes(minutes))))
+                .apply("Read Matches", FileIO.readMatches())
+                .apply("Read Text Data", TextIO.readFiles())
+            : pipeline.apply(
+                "Read Text Data",
+                TextIO.read()
+                    .from(options.getInputFilePattern())
+                    .watchForNewFiles(DEFAULT_POLL_INTERVAL, Watch.Growth.never()));
+    lines.apply("Write to PubSub", PubsubIO.writeStrings().to(options.getOutputTopic()));
 
     return pipeline.run();
   }
@@ -18,6 +18,7 @@ package com.google.cloud.teleport.templates.common;
 import com.google.auto.value.AutoValue;
 import com.google.cloud.teleport.metadata.TemplateParameter;
 import com.google.cloud.teleport.templates.common.ErrorConverters.ErrorMessage;
+import com.google.cloud.teleport.util.DualInputNestedValueProvider;
 import com.google.datastore.v1.ArrayValue;
 import com.google.datastore.v1.Entity;
 import com.google.datastore.v1.Key;
@@ -27,13 +28,13 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
-import com.google.protobuf.util.JsonFormat;
-import com.google.protobuf.util.JsonFormat.TypeRegistry;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.apache.beam.sdk.io.gcp.datastore.DatastoreIO;
 import org.apache.beam.sdk.io.gcp.datastore.DatastoreV1;
 import org.apache.beam.sdk.metrics.Counter;
@@ -59,6 +60,9 @@ import org.apache.beam.sdk.values.TupleTagList;
 /** Transforms & DoFns & Options for Teleport DatastoreIO. */
 public class DatastoreConverters {
 
+  private static final Pattern SELECT_ALL_PATTERN =
+      Pattern.compile("^\\s*SELECT\\s*\\*\\s*FROM\\b", Pattern.CASE_INSENSITIVE);
+
   /** Options for Reading Datastore Entities. */
   public interface DatastoreReadOptions extends PipelineOptions {
     /**
@@ -126,8 +130,7 @@ public class DatastoreConverters {
         regexes = {"^.+$"},
         description = "GQL Query",
         helpText =
-            "A GQL (https://cloud.google.com/datastore/docs/reference/gql_reference) query that specifies "
-                + "which entities to grab. For example, `SELECT * FROM MyKind`.")
+            "A GQL (https://cloud.google.com/datastore/docs/reference/gql_reference) query that specifies which entities to grab. For example, `SELECT * FROM MyKind`.")
     ValueProvider<String> getFirestoreReadGqlQuery();
 
     void setFirestoreReadGqlQuery(ValueProvider<String> firestoreReadGqlQuery);
@@ -336,6 +339,17 @@ public class DatastoreConverters {
     ValueProvider<Integer> getFirestoreHintNumWorkers();
 
     void setFirestoreHintNumWorkers(ValueProvider<Integer> value);
+
+    @TemplateParameter.Boolean(
+        order = 5,
+        optional = true,
+        description = "Read the keys of the entities only",
+        helpText =
+            "Whether to read only the keys of the entities to delete. A `SELECT *` query is then run as a `SELECT __key__` query, and the JavaScript UDF, if any, receives entities with their key only. Defaults to: `false`.")
+    @Default.Boolean(false)
+    ValueProvider<Boolean> getDeleteKeysOnly();
+
+    void setDeleteKeysOnly(ValueProvider<Boolean> value);
   }
 
   /** Options for reading Unique datastore Schemas. */
@@ -380,6 +394,91 @@ public class DatastoreConverters {
     }
   }
 
+  /**
+   * Reads the Keys of the Entities matching a GQL query from Datastore. Entities are output as JSON
+   * instead of Keys when they're required in JSON, for instance by a UDF.
+   */
+  @AutoValue
+  public abstract static class ReadEntityKeys extends PTransform<PBegin, PCollectionTuple> {
+    public abstract ValueProvider<String> gqlQuery();
+
+    public abstract ValueProvider<String> projectId();
+
+    public abstract ValueProvider<String> namespace();
+
+    public abstract ValueProvider<Boolean> keysOnly();
+
+    public abstract ValueProvider<Boolean> jsonRequired();
+
+    public abstract TupleTag<Key> keyTag();
+
+    public abstract TupleTag<String> jsonTag();
+
+    /** Builder for ReadEntityKeys. */
+    @AutoValue.Builder
+    public abstract static class Builder {
+      public abstract Builder setGqlQuery(ValueProvider<String> gqlQuery);
+
+      public abstract Builder setProjectId(ValueProvider<String> projectId);
+
+      public abstract Builder setNamespace(ValueProvider<String> namespace);
+
+      public abstract Builder setKeysOnly(ValueProvider<Boolean> keysOnly);
+
+      public abstract Builder setJsonRequired(ValueProvider<Boolean> jsonRequired);
+
+      public abstract Builder setKeyTag(TupleTag<Key> keyTag);
+
+      public abstract Builder setJsonTag(TupleTag<String> jsonTag);
+
+      public abstract ReadEntityKeys build();
+    }
+
+    public static Builder newBuilder() {
+      return new AutoValue_DatastoreConverters_ReadEntityKeys.Builder();
+    }
+
+    @Override
+    public PCollectionTuple expand(PBegin begin) {
+      // Only the keys are needed to delete the entities, unless a UDF filters them on properties.
+      ValueProvider<String> gqlQuery =
+          DualInputNestedValueProvider.of(
+              gqlQuery(),
+              keysOnly(),
+              input ->
+                  Boolean.TRUE.equals(input.getY())
+                      ? toKeysOnlyGqlQuery(input.getX())
+                      : input.getX());
+      return begin
+          .apply(
+              "ReadFromDatastore",
+              DatastoreIO.v1()
+                  .read()
+                  .withProjectId(projectId())
+                  .withLiteralGqlQuery(gqlQuery)
+                  .withNamespace(namespace()))
+          .apply(
+              "EntityToKeyOrJson",
+              ParDo.of(new EntityToKeyOrJson(jsonRequired(), jsonTag()))
+                  .withOutputTags(keyTag(), TupleTagList.of(jsonTag())));
+    }
+  }
+
+  /**
+   * Rewrites a {@code SELECT *} GQL query into a keys-only query. Other queries are returned
+   * unchanged, as their projection may select fewer entities than a keys-only query would.
+   *
+   * @param gqlQuery a GQL query.
+   * @return the keys-only form of the query.
+   */
+  static String toKeysOnlyGqlQuery(String gqlQuery) {
+    Matcher matcher = SELECT_ALL_PATTERN.matcher(gqlQuery);
+    if (!matcher.find()) {
+      return gqlQuery;
+    }
+    return "SELECT __key__ FROM" + gqlQuery.substring(matcher.end());
+  }
+
   /** Writes Entities encoded in JSON to Datastore. */
   @AutoValue
   public abstract static class WriteJsonEntities
@@ -545,6 +644,49 @@ public class DatastoreConverters {
 
     @Override
     public PDone expand(PCollection<String> entityJson) {
+      return entityJson
+          .apply("StringToKey", ParDo.of(new JsonToKey()))
+          .apply(
+              DatastoreDeleteKeys.newBuilder()
+                  .setProjectId(projectId())
+                  .setHintNumWorkers(hintNumWorkers())
+                  .setThrottleRampup(throttleRampup())
+                  .build());
+    }
+  }
+
+  /** Deletes Entities by Key. */
+  @AutoValue
+  public abstract static class DatastoreDeleteKeys extends PTransform<PCollection<Key>, PDone> {
+    public abstract ValueProvider<String> projectId();
+
+    public abstract ValueProvider<Integer> hintNumWorkers();
+
+    public abstract Boolean throttleRampup();
+
+    private final Counter keysToDelete =
+        Metrics.counter(DatastoreDeleteKeys.class, "keys-to-delete");
+
+    /** Builder for DatastoreDeleteKeys. */
+    @AutoValue.Builder
+    public abstract static class Builder {
+      public abstract Builder setProjectId(ValueProvider<String> projectId);
+
+      public abstract Builder setHintNumWorkers(ValueProvider<Integer> hintNumWorkers);
+
+      public abstract Builder setThrottleRampup(Boolean throttleRampup);
+
+      public abstract DatastoreDeleteKeys build();
+    }
+
+    public static Builder newBuilder() {
+      return new AutoValue_DatastoreConverters_DatastoreDeleteKeys.Builder()
+          .setHintNumWorkers(StaticValueProvider.of(500))
+          .setThrottleRampup(true); // defaults
+    }
+
+    @Override
+    public PDone expand(PCollection<Key> keys) {
       DatastoreV1.DeleteKey datastoreDelete =
           DatastoreIO.v1()
               .deleteKey()
@@ -553,8 +695,16 @@ public class DatastoreConverters {
       if (!throttleRampup()) {
         datastoreDelete = datastoreDelete.withRampupThrottlingDisabled();
       }
-      return entityJson
-          .apply("StringToKey", ParDo.of(new JsonToKey()))
+      return keys.apply(
+              "CountKeys",
+              ParDo.of(
+                  new DoFn<Key, Key>() {
+                    @ProcessElement
+                    public void processElement(ProcessContext c) {
+                      keysToDelete.inc();
+                      c.output(c.element());
+                    }
+                  }))
           .apply("DeleteKeys", datastoreDelete);
     }
   }
@@ -687,6 +837,36 @@ public class DatastoreConverters {
     }
   }
 
+  /**
+   * DoFn for extracting the Key of a Datastore Entity. The Entity is converted to JSON and output
+   * to the JSON tag instead when JSON is required.
+   */
+  public static class EntityToKeyOrJson extends DoFn<Entity, Key> {
+    private final ValueProvider<Boolean> jsonRequired;
+    private final TupleTag<String> jsonTag;
+    private EntityJsonPrinter entityJsonPrinter;
+
+    public EntityToKeyOrJson(ValueProvider<Boolean> jsonRequired, TupleTag<String> jsonTag) {
+      this.jsonRequired = jsonRequired;
+      this.jsonTag = jsonTag;
+    }
+
+    @Setup
+    public void setup() {
+      entityJsonPrinter = new EntityJsonPrinter();
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext c) throws InvalidProtocolBufferException {
+      Entity entity = c.element();
+      if (Boolean.TRUE.equals(jsonRequired.get())) {
+        c.output(jsonTag, entityJsonPrinter.print(entity));
+      } else {
+        c.output(entity.getKey());
+      }
+    }
+  }
+
   /** DoFn for extracting the Schema of a Entity. */
   public static class EntityToSchemaJson extends DoFn<Entity, String> {
 
@@ -762,15 +942,6 @@ public class DatastoreConverters {
   /** Converts an Entity to a JSON String. */
   public static class EntityJsonPrinter {
 
-    // A cached jsonPrinter
-    private JsonFormat.Printer jsonPrinter;
-
-    public EntityJsonPrinter() {
-      TypeRegistry typeRegistry = TypeRegistry.newBuilder().add(Entity.getDescriptor()).build();
-      jsonPrinter =
-          JsonFormat.printer().usingTypeRegistry(typeRegistry).omittingInsignificantWhitespace();
-    }
-
     /**
      * Prints an Entity as a JSON String.
      *
@@ -779,31 +950,20 @@ public class DatastoreConverters {
      * @throws InvalidProtocolBufferException
      */
     public String print(Entity entity) throws InvalidProtocolBufferException {
-      return jsonPrinter.print(entity);
+      return EntityJsonCodec.print(entity);
     }
   }
 
   /** Converts a JSON String to an Entity. */
   public static class EntityJsonParser {
 
-    // A cached jsonParser
-    private final JsonFormat.Parser jsonParser;
-
-    public EntityJsonParser() {
-      TypeRegistry typeRegistry = TypeRegistry.newBuilder().add(Entity.getDescriptor()).build();
-
-      jsonParser = JsonFormat.parser().usingTypeRegistry(typeRegistry);
-    }
-
     public void merge(String json, Entity.Builder entityBuilder)
         throws InvalidProtocolBufferException {
-      jsonParser.merge(json, entityBuilder);
+      entityBuilder.mergeFrom(EntityJsonCodec.parse(json));
     }
 
     public Entity parse(String json) throws InvalidProtocolBufferException {
-      Entity.Builder entityBuilder = Entity.newBuilder();
-      merge(json, entityBuilder);
-      return entityBuilder.build();
+      return EntityJsonCodec.parse(json);
     }
   }
 
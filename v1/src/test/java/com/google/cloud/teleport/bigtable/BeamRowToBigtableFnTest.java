@@ -1225,4 +1225,63 @@ public class BeamRowToBigtableFnTest {
     byte[] bytes = "Man".getBytes();
     assertEquals("TWFu", BeamRowToBigtableFn.primitiveFieldToString(TypeName.BYTES, bytes));
   }
+
+  @Test
+  public void processElementsWithListsOfDifferentSizes() {
+    String columnFamily = "default";
+    String rowKeyColumnName = "rowkey";
+    String listColumnName = "listColumnName";
+
+    Schema schema =
+        Schema.builder()
+            .addField(
+                Schema.Field.of(
+                    rowKeyColumnName,
+                    FieldType.STRING.withMetadata(
+                        CassandraRowMapperFn.KEY_ORDER_METADATA_KEY, "0")))
+            .addField(Schema.Field.of(listColumnName, FieldType.array(FieldType.STRING)))
+            .build();
+
+    // Both rows share the schema, so the second row reuses the column qualifiers of the first.
+    final List<Row> rows =
+        ImmutableList.of(
+            Row.withSchema(schema)
+                .addValue("rowkey1")
+                .addValue(ImmutableList.of("first", "second", "third"))
+                .build(),
+            Row.withSchema(schema).addValue("rowkey2").addValue(ImmutableList.of("only")).build());
+
+    List<Mutation> mutations1 = new ArrayList<>();
+    mutations1.add(
+        createMutation(
+            columnFamily, "listColumnName[0]", ByteString.copyFrom(Bytes.toBytes("first"))));
+    mutations1.add(
+        createMutation(
+            columnFamily, "listColumnName[1]", ByteString.copyFrom(Bytes.toBytes("second"))));
+    mutations1.add(
+        createMutation(
+            columnFamily, "listColumnName[2]", ByteString.copyFrom(Bytes.toBytes("third"))));
+    List<Mutation> mutations2 = new ArrayList<>();
+    mutations2.add(
+        createMutation(
+            columnFamily, "listColumnName[0]", ByteString.copyFrom(Bytes.toBytes("only"))));
+
+    final List<KV<ByteString, Iterable<Mutation>>> expectedBigtableRows =
+        ImmutableList.of(
+            KV.of(ByteString.copyFrom(Bytes.toBytes("rowkey1")), mutations1),
+            KV.of(ByteString.copyFrom(Bytes.toBytes("rowkey2")), mutations2));
+
+    PCollection<KV<ByteString, Iterable<Mutation>>> bigtableRows =
+        pipeline
+            .apply("Create", Create.of(rows))
+            .apply(
+                "Transform to Bigtable",
+                ParDo.of(
+                    BeamRowToBigtableFn.create(
+                        ValueProvider.StaticValueProvider.of("#"),
+                        ValueProvider.StaticValueProvider.of("default"))));
+
+    PAssert.that(bigtableRows).containsInAnyOrder(expectedBigtableRows);
+    pipeline.run();
+  }
 }
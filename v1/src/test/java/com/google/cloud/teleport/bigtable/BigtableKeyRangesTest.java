@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.bigtable;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import org.apache.beam.sdk.io.range.ByteKey;
+import org.apache.beam.sdk.io.range.ByteKeyRange;
+import org.apache.beam.sdk.options.ValueProvider.StaticValueProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link BigtableKeyRanges}. */
+@RunWith(JUnit4.class)
+public final class BigtableKeyRangesTest {
+
+  @Test
+  public void testParseEmptyReadsWholeTable() {
+    assertThat(BigtableKeyRanges.parse(null)).containsExactly(ByteKeyRange.ALL_KEYS);
+    assertThat(BigtableKeyRanges.parse(" ")).containsExactly(ByteKeyRange.ALL_KEYS);
+    assertThat(BigtableKeyRanges.of(StaticValueProvider.of(null)).get())
+        .containsExactly(ByteKeyRange.ALL_KEYS);
+  }
+
+  @Test
+  public void testParseRanges() {
+    assertThat(BigtableKeyRanges.parse(":user100, user200:user300 ,user500:"))
+        .containsExactly(
+            ByteKeyRange.of(ByteKey.EMPTY, key("user100")),
+            ByteKeyRange.of(key("user200"), key("user300")),
+            ByteKeyRange.of(key("user500"), ByteKey.EMPTY))
+        .inOrder();
+  }
+
+  @Test
+  public void testParsePercentEncodedKeys() {
+    assertThat(BigtableKeyRanges.parse("user%3A1%2C2:user%7E%00%ff,%25a:%25b"))
+        .containsExactly(
+            ByteKeyRange.of(
+                key("user:1,2"),
+                ByteKey.copyFrom(new byte[] {'u', 's', 'e', 'r', '~', 0x00, (byte) 0xFF})),
+            ByteKeyRange.of(key("%a"), key("%b")))
+        .inOrder();
+  }
+
+  @Test
+  public void testParseInvalidRange() {
+    assertThrows(IllegalArgumentException.class, () -> BigtableKeyRanges.parse("user100"));
+    assertThrows(IllegalArgumentException.class, () -> BigtableKeyRanges.parse("a:b:c"));
+    assertThrows(IllegalArgumentException.class, () -> BigtableKeyRanges.parse("user3:user1"));
+    assertThrows(IllegalArgumentException.class, () -> BigtableKeyRanges.parse("user%3:"));
+    assertThrows(IllegalArgumentException.class, () -> BigtableKeyRanges.parse("user%G1:"));
+  }
+
+  private static ByteKey key(String key) {
+    return ByteKey.copyFrom(key.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -349,4 +349,40 @@ public final class BigtableToVectorEmbeddingsTest {
 
     assertThat(thrown).hasMessageThat().contains("embeddingByteSize can be either 4 or 8");
   }
+
+  @Test
+  public void testBigtableToVectorEmbeddings_invalidEmbeddingValueSize() throws Exception {
+    Row row = createBigtableRow("1");
+    row =
+        upsertBigtableCell(
+            row,
+            "cf1",
+            "embedding",
+            1,
+            ByteString.copyFrom(ArrayUtils.addAll(Bytes.toBytes(3.14f), (byte) 1)));
+
+    pipeline
+        .apply("Create", Create.of(row))
+        .apply(
+            "Transform to JSON",
+            MapElements.via(
+                new BigtableToVectorEmbeddingsFn(
+                    StaticValueProvider.of("_key"),
+                    StaticValueProvider.of("cf1:embedding"),
+                    StaticValueProvider.of(4),
+                    StaticValueProvider.of(""),
+                    StaticValueProvider.of(""),
+                    StaticValueProvider.of(""),
+                    StaticValueProvider.of(""),
+                    StaticValueProvider.of(""),
+                    StaticValueProvider.of(""))))
+        .setCoder(StringUtf8Coder.of());
+
+    // Assert error.
+    Exception thrown = assertThrows(RuntimeException.class, () -> pipeline.run());
+
+    assertThat(thrown)
+        .hasMessageThat()
+        .contains("'embedding' value size 5 is not a multiple of embeddingByteSize 4");
+  }
 }
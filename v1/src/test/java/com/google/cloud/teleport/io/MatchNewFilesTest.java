@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.io;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.beam.sdk.io.FileSystems;
+import org.apache.beam.sdk.io.LocalResources;
+import org.apache.beam.sdk.io.fs.EmptyMatchTreatment;
+import org.apache.beam.sdk.io.fs.MatchResult.Metadata;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Test class for {@link MatchNewFiles}. */
+@RunWith(JUnit4.class)
+public class MatchNewFilesTest {
+
+  private static final long WINDOW_MILLIS = 60_000L;
+
+  /** The temporary folder. */
+  @Rule public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+  private static Metadata file(String name, long lastModifiedMillis) {
+    return Metadata.builder()
+        .setResourceId(LocalResources.fromString("/data/" + name, false))
+        .setIsReadSeekEfficient(true)
+        .setSizeBytes(1L)
+        .setLastModifiedMillis(lastModifiedMillis)
+        .build();
+  }
+
+  private static List<String> names(List<Metadata> files) {
+    return files.stream().map(file -> file.resourceId().getFilename()).collect(Collectors.toList());
+  }
+
+  @Test
+  public void testEachFileIsOutputOnce() {
+    Map<String, Long> recentFiles = new HashMap<>();
+    List<Metadata> newFiles = new ArrayList<>();
+
+    Long highWaterMark =
+        MatchNewFiles.addNewFiles(
+            List.of(file("a", 1_000L), file("b", 2_000L)),
+            null,
+            recentFiles,
+            WINDOW_MILLIS,
+            newFiles);
+    assertThat(names(newFiles)).containsExactly("a", "b");
+    assertThat(highWaterMark).isEqualTo(2_000L);
+
+    newFiles.clear();
+    highWaterMark =
+        MatchNewFiles.addNewFiles(
+            List.of(file("a", 1_000L), file("b", 2_000L), file("c", 1_500L)),
+            highWaterMark,
+            recentFiles,
+            WINDOW_MILLIS,
+            newFiles);
+    // c was modified before the high-water mark, but within the late arrival window.
+    assertThat(names(newFiles)).containsExactly("c");
+    assertThat(highWaterMark).isEqualTo(2_000L);
+  }
+
+  @Test
+  public void testFilesOlderThanTheWindowAreForgotten() {
+    Map<String, Long> recentFiles = new HashMap<>();
+    List<Metadata> newFiles = new ArrayList<>();
+
+    Long highWaterMark =
+        MatchNewFiles.addNewFiles(
+            List.of(file("a", 0L)), null, recentFiles, WINDOW_MILLIS, newFiles);
+    newFiles.clear();
+    highWaterMark =
+        MatchNewFiles.addNewFiles(
+            List.of(file("a", 0L), file("b", 2 * WINDOW_MILLIS)),
+            highWaterMark,
+            recentFiles,
+            WINDOW_MILLIS,
+            newFiles);
+
+    assertThat(names(newFiles)).containsExactly("b");
+    assertThat(MatchNewFiles.removeExpiredFiles(recentFiles, highWaterMark, WINDOW_MILLIS))
+        .containsExactly("/data/a");
+    assertThat(recentFiles.keySet()).containsExactly("/data/b");
+
+    newFiles.clear();
+    MatchNewFiles.addNewFiles(
+        List.of(file("a", 0L), file("b", 2 * WINDOW_MILLIS), file("late", WINDOW_MILLIS / 2)),
+        highWaterMark,
+        recentFiles,
+        WINDOW_MILLIS,
+        newFiles);
+    assertThat(newFiles).isEmpty();
+  }
+
+  @Test
+  public void testStateStaysBoundedOverAMillionFiles() {
+    int polls = 200;
+    int filesPerPoll = 5_000;
+    long pollIntervalMillis = 10_000L;
+    Map<String, Long> recentFiles = new HashMap<>();
+    List<Metadata> previousBatch = new ArrayList<>();
+    Long highWaterMark = null;
+    int outputFiles = 0;
+    int maxRecentFiles = 0;
+
+    for (int poll = 0; poll < polls; poll++) {
+      List<Metadata> batch = new ArrayList<>(filesPerPoll);
+      for (int i = 0; i < filesPerPoll; i++) {
+        batch.add(file(poll + "-" + i, poll * pollIntervalMillis + i % pollIntervalMillis));
+      }
+      // Each listing also returns the files of the previous poll, which must not be output again.
+      List<Metadata> listing = new ArrayList<>(previousBatch);
+      listing.addAll(batch);
+      List<Metadata> newFiles = new ArrayList<>();
+      highWaterMark =
+          MatchNewFiles.addNewFiles(listing, highWaterMark, recentFiles, WINDOW_MILLIS, newFiles);
+      MatchNewFiles.removeExpiredFiles(recentFiles, highWaterMark, WINDOW_MILLIS);
+
+      outputFiles += newFiles.size();
+      maxRecentFiles = Math.max(maxRecentFiles, recentFiles.size());
+      previousBatch = batch;
+    }
+
+    assertThat(outputFiles).isEqualTo(polls * filesPerPoll);
+    // Only the files of the polls within the late arrival window are remembered.
+    long pollsPerWindow = WINDOW_MILLIS / pollIntervalMillis + 1;
+    assertThat(maxRecentFiles).isAtMost((int) (pollsPerWindow * filesPerPoll));
+  }
+
+  @Test
+  public void testMatchesNewFilesOfALocalDirectory() throws IOException {
+    String filepattern = tmpFolder.getRoot().getAbsolutePath() + "/*.txt";
+    long now = System.currentTimeMillis();
+    newFile("first.txt", now - 2_000L);
+    newFile("second.txt", now - 1_000L);
+    Map<String, Long> recentFiles = new HashMap<>();
+    List<Metadata> newFiles = new ArrayList<>();
+
+    List<Metadata> files = match(filepattern);
+    long oldFiles = MatchNewFiles.countOldFiles(files, null, WINDOW_MILLIS);
+    Long highWaterMark =
+        MatchNewFiles.addNewFiles(files, null, recentFiles, WINDOW_MILLIS, newFiles);
+    long expectedOldFiles =
+        oldFiles
+            + MatchNewFiles.removeExpiredFiles(recentFiles, highWaterMark, WINDOW_MILLIS).size();
+    assertThat(names(newFiles)).containsExactly("first.txt", "second.txt");
+
+    newFile("third.txt", now);
+    // A file moved in with its modification time preserved is older than the window. It is not
+    // output, but it is detected as skipped.
+    newFile("stale.txt", now - 10 * WINDOW_MILLIS);
+    files = match(filepattern);
+    newFiles.clear();
+    MatchNewFiles.addNewFiles(files, highWaterMark, recentFiles, WINDOW_MILLIS, newFiles);
+    assertThat(names(newFiles)).containsExactly("third.txt");
+    assertThat(MatchNewFiles.countOldFiles(files, highWaterMark, WINDOW_MILLIS) - expectedOldFiles)
+        .isEqualTo(1L);
+  }
+
+  @Test
+  public void testSkippedFilesAreEstimatedFromOldFiles() {
+    Map<String, Long> recentFiles = new HashMap<>();
+    List<Metadata> newFiles = new ArrayList<>();
+    List<Metadata> listing = new ArrayList<>(List.of(file("a", 0L)));
+
+    Long highWaterMark =
+        MatchNewFiles.addNewFiles(listing, null, recentFiles, WINDOW_MILLIS, newFiles);
+    listing.add(file("b", 2 * WINDOW_MILLIS));
+    long oldFiles = MatchNewFiles.countOldFiles(listing, highWaterMark, WINDOW_MILLIS);
+    highWaterMark =
+        MatchNewFiles.addNewFiles(listing, highWaterMark, recentFiles, WINDOW_MILLIS, newFiles);
+    long expectedOldFiles =
+        oldFiles
+            + MatchNewFiles.removeExpiredFiles(recentFiles, highWaterMark, WINDOW_MILLIS).size();
+
+    // a expired from the recent files, so it is expected to be old at the next poll.
+    assertThat(expectedOldFiles).isEqualTo(1L);
+    assertThat(MatchNewFiles.countOldFiles(listing, highWaterMark, WINDOW_MILLIS))
+        .isEqualTo(expectedOldFiles);
+
+    listing.add(file("late", WINDOW_MILLIS / 2));
+    assertThat(MatchNewFiles.countOldFiles(listing, highWaterMark, WINDOW_MILLIS))
+        .isEqualTo(expectedOldFiles + 1);
+  }
+
+  private void newFile(String name, long lastModifiedMillis) throws IOException {
+    File file = tmpFolder.newFile(name);
+    assertThat(file.setLastModified(lastModifiedMillis)).isTrue();
+  }
+
+  private static List<Metadata> match(String filepattern) throws IOException {
+    return FileSystems.match(filepattern, EmptyMatchTreatment.ALLOW).metadata();
+  }
+}
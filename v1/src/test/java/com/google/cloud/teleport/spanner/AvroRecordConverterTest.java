@@ -1543,6 +1543,61 @@ public class AvroRecordConverterTest {
     assertThrows(IllegalArgumentException.class, () -> avroRecordConverter2.apply(avroRecord2));
   }
 
+  @Test
+  public void testSchemaChangeBetweenRecords() {
+    Table table =
+        Table.builder()
+            .name("record")
+            .column("id")
+            .type(Type.int64())
+            .endColumn()
+            .column("name")
+            .type(Type.string())
+            .endColumn()
+            .column("payload")
+            .type(Type.bytes())
+            .endColumn()
+            .build();
+    AvroRecordConverter avroRecordConverter = new AvroRecordConverter(table);
+
+    Schema schema =
+        SchemaBuilder.record("record")
+            .fields()
+            .requiredLong("id")
+            .optionalString("name")
+            .optionalString("payload")
+            .endRecord();
+    Mutation mutation =
+        avroRecordConverter.apply(
+            new GenericRecordBuilder(schema)
+                .set("id", 1L)
+                .set("name", new Utf8("abc"))
+                .set("payload", new Utf8("déf"))
+                .build());
+    assertEquals(1L, mutation.asMap().get("id").getInt64());
+    assertEquals("abc", mutation.asMap().get("name").getString());
+    assertEquals(ByteArray.copyFrom("déf"), mutation.asMap().get("payload").getBytes());
+
+    // A file with the fields in a different order and types is converted with its own schema.
+    Schema reorderedSchema =
+        SchemaBuilder.record("record")
+            .fields()
+            .optionalBytes("payload")
+            .optionalString("name")
+            .requiredInt("id")
+            .endRecord();
+    mutation =
+        avroRecordConverter.apply(
+            new GenericRecordBuilder(reorderedSchema)
+                .set("payload", ByteBuffer.wrap(new byte[] {1, 2}))
+                .set("name", null)
+                .set("id", 2)
+                .build());
+    assertEquals(2L, mutation.asMap().get("id").getInt64());
+    assertTrue(mutation.asMap().get("name").isNull());
+    assertEquals(ByteArray.copyFrom(new byte[] {1, 2}), mutation.asMap().get("payload").getBytes());
+  }
+
   private Schema createAvroSchema(String columnName, Schema.Type type) {
     return createAvroSchema(columnName, type, null);
   }
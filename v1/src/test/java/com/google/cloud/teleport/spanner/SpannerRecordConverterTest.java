@@ -20,6 +20,8 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 import com.google.cloud.ByteArray;
 import com.google.cloud.Date;
@@ -38,6 +40,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 import org.junit.Test;
 
@@ -116,6 +119,61 @@ public class SpannerRecordConverterTest {
     assertEquals("11111111-1111-1111-1111-111111111111", avroRecord.get("uuid"));
   }
 
+  @Test
+  public void multipleRows() {
+    Ddl ddl =
+        Ddl.builder()
+            .createTable("users")
+            .column("id")
+            .int64()
+            .notNull()
+            .endColumn()
+            .column("name")
+            .string()
+            .max()
+            .endColumn()
+            .column("ts")
+            .timestamp()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .end()
+            .endTable()
+            .build();
+    Schema schema = converter.convert(ddl).iterator().next();
+    SpannerRecordConverter recordConverter = new SpannerRecordConverter(schema);
+
+    GenericRecord first =
+        recordConverter.convert(
+            Struct.newBuilder()
+                .set("id")
+                .to(1L)
+                .set("name")
+                .to((String) null)
+                .set("ts")
+                .to(Timestamp.ofTimeMicroseconds(10))
+                .build());
+    GenericRecord second =
+        recordConverter.convert(
+            Struct.newBuilder()
+                .set("id")
+                .to(2L)
+                .set("name")
+                .to("John Doe")
+                .set("ts")
+                .to((Timestamp) null)
+                .build());
+
+    assertThat(first.get("id"), equalTo(1L));
+    assertNull(first.get("name"));
+    assertThat(first.get("ts"), equalTo("1970-01-01T00:00:00.000010000Z"));
+    assertThat(second.get("id"), equalTo(2L));
+    assertThat(second.get("name"), equalTo("John Doe"));
+    assertNull(second.get("ts"));
+    assertTrue(GenericData.get().validate(schema, first));
+    assertTrue(GenericData.get().validate(schema, second));
+  }
+
   @Test
   public void nulls() {
     Ddl ddl =
@@ -975,6 +1033,38 @@ public class SpannerRecordConverterTest {
     assertNull(avroRecord.get("generatedInt"));
   }
 
+  @Test
+  public void unsupportedStringColumn() {
+    Schema schema =
+        new Schema.Parser()
+            .parse(
+                "{\"type\":\"record\",\"name\":\"users\",\"fields\":["
+                    + "{\"name\":\"id\",\"type\":\"string\",\"sqlType\":\"FOO\"}]}");
+    SpannerRecordConverter recordConverter = new SpannerRecordConverter(schema);
+    Struct struct = Struct.newBuilder().set("id").to("abc").build();
+
+    IllegalArgumentException e =
+        assertThrows(IllegalArgumentException.class, () -> recordConverter.convert(struct));
+    assertEquals("Unsupported type FOO", e.getMessage());
+  }
+
+  @Test
+  public void unsupportedStringArrayColumn() {
+    Schema schema =
+        new Schema.Parser()
+            .parse(
+                "{\"type\":\"record\",\"name\":\"users\",\"fields\":["
+                    + "{\"name\":\"ids\","
+                    + "\"type\":{\"type\":\"array\",\"items\":[\"null\",\"string\"]},"
+                    + "\"sqlType\":\"ARRAY<FOO>\"}]}");
+    SpannerRecordConverter recordConverter = new SpannerRecordConverter(schema);
+    Struct struct = Struct.newBuilder().set("ids").toStringArray(Arrays.asList("abc")).build();
+
+    IllegalArgumentException e =
+        assertThrows(IllegalArgumentException.class, () -> recordConverter.convert(struct));
+    assertEquals("Unsupported type ARRAY<FOO>", e.getMessage());
+  }
+
   @Test
   public void dateToString() {
     List<Date> dates =
@@ -525,6 +525,73 @@ public class DdlTest {
     assertNotNull(ddl.hashCode());
   }
 
+  @Test
+  public void perLoadLevelView() {
+    Ddl ddl =
+        Ddl.builder()
+            .createTable("Users")
+            .column("id")
+            .int64()
+            .notNull()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .end()
+            .endTable()
+            .createTable("Account")
+            .column("id")
+            .int64()
+            .notNull()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .end()
+            .interleaveInParent("Users")
+            .interleaveType(Table.InterleaveType.IN_PARENT)
+            .endTable()
+            .createTable("Transfer")
+            .column("id")
+            .int64()
+            .notNull()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .end()
+            .interleaveInParent("Account")
+            .interleaveType(Table.InterleaveType.IN_PARENT)
+            .endTable()
+            .createTable("Session")
+            .column("id")
+            .int64()
+            .notNull()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .end()
+            .interleaveInParent("Users")
+            .interleaveType(Table.InterleaveType.IN)
+            .endTable()
+            .createTable("Event")
+            .column("id")
+            .int64()
+            .notNull()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .end()
+            .interleaveInParent("Session")
+            .interleaveType(Table.InterleaveType.IN_PARENT)
+            .endTable()
+            .build();
+
+    HashMultimap<Integer, String> perLoadLevelView = ddl.perLoadLevelView();
+
+    assertEquals(ImmutableSet.of("users", "session"), perLoadLevelView.get(0));
+    assertEquals(ImmutableSet.of("account", "event"), perLoadLevelView.get(1));
+    assertEquals(ImmutableSet.of("transfer"), perLoadLevelView.get(2));
+    assertEquals(5, perLoadLevelView.size());
+  }
+
   @Test
   public void pgInterleaves() {
     Ddl ddl =
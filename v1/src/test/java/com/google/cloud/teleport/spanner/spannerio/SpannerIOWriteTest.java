@@ -1462,6 +1462,74 @@ public class SpannerIOWriteTest implements Serializable {
     assertThat(mgListGroups.get(5), contains(buildMutationGroup(buildDeleteMutation(8L))));
   }
 
+  @Test
+  public void testGatherSortAndBatchFn_mostlyOrderedBundle() throws Exception {
+
+    // Setup class to create batches of 2.
+    GatherSortCreateBatchesFn testFn =
+        new GatherSortCreateBatchesFn(
+            10000000, // batch bytes
+            100, // batch cells
+            ValueProvider.StaticValueProvider.of(2), // batch rows
+            100, // groupingFactor
+            null);
+
+    ProcessContext mockProcessContext = Mockito.mock(ProcessContext.class);
+    FinishBundleContext mockFinishBundleContext = Mockito.mock(FinishBundleContext.class);
+    when(mockProcessContext.sideInput(any())).thenReturn(getSchema());
+
+    // Capture the outputs.
+    doNothing()
+        .when(mockFinishBundleContext)
+        .output(mutationGroupListCaptor.capture(), any(), any());
+
+    // Only the last mutation is out of order.
+    MutationGroup[] mutationGroups =
+        new MutationGroup[] {
+          buildMutationGroup(buildUpsertMutation(1L)),
+          buildMutationGroup(buildUpsertMutation(2L)),
+          buildMutationGroup(buildUpsertMutation(3L)),
+          buildMutationGroup(buildUpsertMutation(256L)),
+          buildMutationGroup(buildUpsertMutation(4L))
+        };
+
+    testFn.setup();
+    for (MutationGroup m : mutationGroups) {
+      when(mockProcessContext.element()).thenReturn(m);
+      testFn.processElement(mockProcessContext, null);
+    }
+    testFn.finishBundle(mockFinishBundleContext);
+
+    assertThat(
+        mutationGroupListCaptor.getAllValues(),
+        contains(
+            Arrays.asList(
+                buildMutationGroup(buildUpsertMutation(1L)),
+                buildMutationGroup(buildUpsertMutation(2L))),
+            Arrays.asList(
+                buildMutationGroup(buildUpsertMutation(3L)),
+                buildMutationGroup(buildUpsertMutation(4L))),
+            Arrays.asList(buildMutationGroup(buildUpsertMutation(256L)))));
+  }
+
+  @Test
+  public void testKeyPrefix() {
+    byte[] key = new byte[] {1, 2, 3, (byte) 0xFF, 5, 6, 7, 8, 9, 10};
+
+    assertEquals(0x010203FF05060708L, GatherSortCreateBatchesFn.keyPrefix(key, 0));
+    assertEquals(0xFF05060708090A00L, GatherSortCreateBatchesFn.keyPrefix(key, 3));
+    assertEquals(0L, GatherSortCreateBatchesFn.keyPrefix(key, key.length));
+
+    // A key sorts before the longer keys it prefixes.
+    byte[] shortKey = new byte[] {1, 2, 3};
+    byte[] longKey = new byte[] {1, 2, 3, 0, 1};
+    assertTrue(
+        Long.compareUnsigned(
+                GatherSortCreateBatchesFn.keyPrefix(shortKey, 1),
+                GatherSortCreateBatchesFn.keyPrefix(longKey, 1))
+            < 0);
+  }
+
   @Test
   public void testBatchFn_cells() throws Exception {
 
@@ -15,6 +15,9 @@
  */
 package com.google.cloud.teleport.templates;
 
+import com.google.cloud.teleport.templates.BulkCompressor.BlockCompressor;
+import com.google.cloud.teleport.templates.BulkCompressor.BlockConcatenator;
+import com.google.cloud.teleport.templates.BulkCompressor.BlockSplitter;
 import com.google.cloud.teleport.templates.BulkCompressor.Compressor;
 import com.google.cloud.teleport.util.TestUtils;
 import com.google.common.collect.ImmutableList;
@@ -31,8 +34,11 @@ import org.apache.beam.sdk.options.ValueProvider.StaticValueProvider;
 import org.apache.beam.sdk.testing.PAssert;
 import org.apache.beam.sdk.testing.TestPipeline;
 import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.transforms.GroupByKey;
 import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionTuple;
+import org.apache.beam.sdk.values.TupleTagList;
 import org.junit.BeforeClass;
 import org.junit.ClassRule;
 import org.junit.Rule;
@@ -97,4 +103,48 @@ public class BulkCompressorTest {
     PAssert.that(lines).containsInAnyOrder(FILE_CONTENT);
     pipeline.run();
   }
+
+  /**
+   * Tests the {@link BulkCompressor.BlockSplitter}, {@link BulkCompressor.BlockCompressor} and
+   * {@link BulkCompressor.BlockConcatenator} produce a multi-member file which decompresses to the
+   * original content.
+   */
+  @Test
+  public void testCompressFileInBlocks() throws Exception {
+    // Setup test
+    final Compression compression = Compression.GZIP;
+
+    final ValueProvider<String> outputDirectoryProvider =
+        pipeline.newProvider(tempFolderCompressedPath.resolve("blocks").toString());
+
+    final ValueProvider<Compression> compressionProvider = StaticValueProvider.of(compression);
+
+    final Metadata metadata = FileSystems.matchSingleFileSpec(textFile.toString());
+
+    // Execute the block compressor with blocks which split the lines of the file
+    PCollectionTuple splitOut =
+        pipeline
+            .apply("Create File Input", Create.of(metadata))
+            .apply(
+                "Split",
+                ParDo.of(new BlockSplitter(StaticValueProvider.of(7L), compressionProvider))
+                    .withOutputTags(
+                        BulkCompressor.WHOLE_FILE_TAG,
+                        TupleTagList.of(BulkCompressor.FILE_BLOCK_TAG)));
+
+    PCollection<String> lines =
+        splitOut
+            .get(BulkCompressor.FILE_BLOCK_TAG)
+            .apply(
+                "Compress Blocks",
+                ParDo.of(new BlockCompressor(outputDirectoryProvider, compressionProvider)))
+            .apply("Group Blocks", GroupByKey.create())
+            .apply("Concatenate Blocks", ParDo.of(new BlockConcatenator(outputDirectoryProvider)))
+            .apply("Read the Files", TextIO.readAll().withCompression(Compression.AUTO));
+
+    // Test the result
+    PAssert.that(splitOut.get(BulkCompressor.WHOLE_FILE_TAG)).empty();
+    PAssert.that(lines).containsInAnyOrder(FILE_CONTENT);
+    pipeline.run();
+  }
 }
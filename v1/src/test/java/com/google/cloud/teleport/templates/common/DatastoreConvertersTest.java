@@ -19,6 +19,7 @@ import com.google.cloud.teleport.templates.common.DatastoreConverters.CheckNoKey
 import com.google.cloud.teleport.templates.common.DatastoreConverters.CheckSameKey;
 import com.google.cloud.teleport.templates.common.DatastoreConverters.EntityJsonPrinter;
 import com.google.cloud.teleport.templates.common.DatastoreConverters.EntityToJson;
+import com.google.cloud.teleport.templates.common.DatastoreConverters.EntityToKeyOrJson;
 import com.google.cloud.teleport.templates.common.DatastoreConverters.EntityToSchemaJson;
 import com.google.cloud.teleport.templates.common.DatastoreConverters.JsonToEntity;
 import com.google.cloud.teleport.templates.common.DatastoreConverters.JsonToKey;
@@ -35,6 +36,7 @@ import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.apache.beam.sdk.options.ValueProvider.StaticValueProvider;
 import org.apache.beam.sdk.testing.NeedsRunner;
 import org.apache.beam.sdk.testing.PAssert;
 import org.apache.beam.sdk.testing.TestPipeline;
@@ -156,6 +158,41 @@ public class DatastoreConvertersTest implements Serializable {
     Assert.assertEquals(entities.get(0).getKey(), keys.get(0));
   }
 
+  /** Unit test for {@link DatastoreConverters.EntityToKeyOrJson}. */
+  @Test
+  public void testEntityToKeyOrJson() throws Exception {
+    TupleTag<String> jsonTag = new TupleTag<String>("json") {};
+
+    DoFnTester<Entity, Key> keyTester =
+        DoFnTester.of(new EntityToKeyOrJson(StaticValueProvider.of(false), jsonTag));
+    Assert.assertEquals(
+        entities.stream().map(Entity::getKey).collect(Collectors.toList()),
+        keyTester.processBundle(entities));
+    Assert.assertTrue(keyTester.takeOutputElements(jsonTag).isEmpty());
+
+    DoFnTester<Entity, Key> jsonTester =
+        DoFnTester.of(new EntityToKeyOrJson(StaticValueProvider.of(true), jsonTag));
+    Assert.assertTrue(jsonTester.processBundle(entities.subList(0, 1)).isEmpty());
+    Assert.assertEquals(entitiesJson, jsonTester.takeOutputElements(jsonTag));
+  }
+
+  /** Unit test for {@link DatastoreConverters#toKeysOnlyGqlQuery(String)}. */
+  @Test
+  public void testToKeysOnlyGqlQuery() {
+    Assert.assertEquals(
+        "SELECT __key__ FROM monkey WHERE age > 3",
+        DatastoreConverters.toKeysOnlyGqlQuery("SELECT * FROM monkey WHERE age > 3"));
+    Assert.assertEquals(
+        "SELECT __key__ FROM`my kind`",
+        DatastoreConverters.toKeysOnlyGqlQuery("  select* from`my kind`"));
+    Assert.assertEquals(
+        "SELECT DISTINCT ON (age) * FROM monkey",
+        DatastoreConverters.toKeysOnlyGqlQuery("SELECT DISTINCT ON (age) * FROM monkey"));
+    Assert.assertEquals(
+        "SELECT name FROM monkey",
+        DatastoreConverters.toKeysOnlyGqlQuery("SELECT name FROM monkey"));
+  }
+
   /** Unit test for {@link DatastoreConverters.EntityToSchemaJson}. */
   @Test
   public void testEntityToSchemaJson() throws Exception {
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.templates.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import com.google.datastore.v1.ArrayValue;
+import com.google.datastore.v1.Entity;
+import com.google.datastore.v1.Key;
+import com.google.datastore.v1.Key.PathElement;
+import com.google.datastore.v1.PartitionId;
+import com.google.datastore.v1.Value;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.NullValue;
+import com.google.protobuf.util.JsonFormat;
+import com.google.protobuf.util.JsonFormat.TypeRegistry;
+import com.google.protobuf.util.Timestamps;
+import com.google.type.LatLng;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link EntityJsonCodec}. */
+@RunWith(JUnit4.class)
+public class EntityJsonCodecTest {
+
+  private static final JsonFormat.Printer JSON_PRINTER =
+      JsonFormat.printer()
+          .usingTypeRegistry(TypeRegistry.newBuilder().add(Entity.getDescriptor()).build())
+          .omittingInsignificantWhitespace();
+
+  private static final Key KEY =
+      Key.newBuilder()
+          .setPartitionId(
+              PartitionId.newBuilder()
+                  .setProjectId("my-project")
+                  .setDatabaseId("my-database")
+                  .setNamespaceId("some-namespace"))
+          .addPath(PathElement.newBuilder().setKind("parent").setId(-1234L))
+          .addPath(PathElement.newBuilder().setKind("child").setName(""))
+          .build();
+
+  private static List<Entity> entities() {
+    Entity subEntity =
+        Entity.newBuilder()
+            .putProperties("someSubFloat", Value.newBuilder().setDoubleValue(0.234).build())
+            .build();
+    return List.of(
+        Entity.newBuilder().build(),
+        Entity.newBuilder()
+            .setKey(Key.newBuilder().setPartitionId(PartitionId.newBuilder()))
+            .build(),
+        Entity.newBuilder()
+            .setKey(KEY)
+            .putProperties("null", Value.newBuilder().setNullValue(NullValue.NULL_VALUE).build())
+            .putProperties("false", Value.newBuilder().setBooleanValue(false).build())
+            .putProperties("true", Value.newBuilder().setBooleanValue(true).build())
+            .putProperties("integer", Value.newBuilder().setIntegerValue(Long.MIN_VALUE).build())
+            .putProperties("double", Value.newBuilder().setDoubleValue(1.0E10).build())
+            .putProperties("nan", Value.newBuilder().setDoubleValue(Double.NaN).build())
+            .putProperties(
+                "-infinity", Value.newBuilder().setDoubleValue(Double.NEGATIVE_INFINITY).build())
+            .putProperties(
+                "timestamp",
+                Value.newBuilder()
+                    .setTimestampValue(Timestamps.fromNanos(1712751118123456000L))
+                    .build())
+            .putProperties("key", Value.newBuilder().setKeyValue(KEY).build())
+            .putProperties(
+                "string",
+                Value.newBuilder()
+                    .setStringValue("<a href='x?y=z&w'>\"\\\u0001\t \u00e9\ud83d\ude00\u2028</a>")
+                    .setMeaning(15)
+                    .setExcludeFromIndexes(true)
+                    .build())
+            .putProperties(
+                "blob",
+                Value.newBuilder()
+                    .setBlobValue(ByteString.copyFrom(new byte[] {0, -1, 2, -3, 4}))
+                    .setExcludeFromIndexes(true)
+                    .build())
+            .putProperties(
+                "geoPoint",
+                Value.newBuilder()
+                    .setGeoPointValue(LatLng.newBuilder().setLatitude(-0.0).setLongitude(12.5))
+                    .setMeaning(9)
+                    .build())
+            .putProperties("entity", Value.newBuilder().setEntityValue(subEntity).build())
+            .putProperties(
+                "array",
+                Value.newBuilder()
+                    .setArrayValue(
+                        ArrayValue.newBuilder()
+                            .addValues(Value.newBuilder().setIntegerValue(1234L))
+                            .addValues(Value.newBuilder().setArrayValue(ArrayValue.newBuilder()))
+                            .addValues(Value.newBuilder()))
+                    .build())
+            .putProperties("sch\u00e9ma <&>", Value.newBuilder().setStringValue("").build())
+            .build());
+  }
+
+  @Test
+  public void testPrintMatchesJsonFormat() throws Exception {
+    for (Entity entity : entities()) {
+      assertEquals(JSON_PRINTER.print(entity), EntityJsonCodec.print(entity));
+    }
+  }
+
+  @Test
+  public void testParseRoundTrip() throws Exception {
+    for (Entity entity : entities()) {
+      assertEquals(entity, EntityJsonCodec.parse(EntityJsonCodec.print(entity)));
+    }
+  }
+
+  @Test
+  public void testParseFallsBackToJsonFormat() throws Exception {
+    Entity expected =
+        Entity.newBuilder()
+            .setKey(KEY)
+            .putProperties("integer", Value.newBuilder().setIntegerValue(42L).build())
+            .putProperties("double", Value.newBuilder().setDoubleValue(0.5).build())
+            .build();
+
+    assertEquals(
+        expected,
+        EntityJsonCodec.parse(
+            "{\"key\": {\"partition_id\": {\"project_id\": \"my-project\", \"database_id\":"
+                + " \"my-database\", \"namespace_id\": \"some-namespace\"}, \"path\": [{\"kind\":"
+                + " \"parent\", \"id\": -1234}, {\"kind\": \"child\", \"name\": \"\"}]},"
+                + " \"properties\": {\"integer\": {\"integerValue\": 42}, \"double\":"
+                + " {\"doubleValue\": \"0.5\"}}}"));
+  }
+
+  @Test
+  public void testParseInvalidJson() {
+    assertThrows(
+        InvalidProtocolBufferException.class, () -> EntityJsonCodec.parse("{\"unknown\":1}"));
+    assertThrows(
+        InvalidProtocolBufferException.class,
+        () -> EntityJsonCodec.parse("{\"properties\":{\"a\":{\"stringValue\":\"x\"}}"));
+    assertThrows(
+        InvalidProtocolBufferException.class,
+        () ->
+            EntityJsonCodec.parse(
+                "{\"properties\":{\"a\":{\"stringValue\":\"x\",\"integerValue\":\"1\"}}}"));
+  }
+}
@@ -15,18 +15,23 @@
  */
 package com.google.cloud.dataflow.cdc.applier;
 
+import com.google.cloud.dataflow.cdc.common.DataflowCdcRowEnvelope;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.Collections;
 import org.apache.beam.sdk.coders.Coder;
 import org.apache.beam.sdk.coders.RowCoder;
 import org.apache.beam.sdk.schemas.Schema;
-import org.apache.beam.sdk.transforms.MapElements;
+import org.apache.beam.sdk.transforms.FlatMapElements;
 import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.Row;
 import org.apache.beam.sdk.values.TypeDescriptors;
 
-/** Receives byte-encoded Rows, and returns decoded Row objects. */
+/**
+ * Receives byte-encoded Rows, and returns decoded Row objects. A payload is either a single encoded
+ * Row or an envelope of several, see {@link DataflowCdcRowEnvelope}.
+ */
 public class DecodeRows extends PTransform<PCollection<byte[]>, PCollection<Row>> {
 
   private final Coder<Row> coder;
@@ -44,12 +49,15 @@ public class DecodeRows extends PTransform<PCollection<byte[]>, PCollection<Row>
   public PCollection<Row> expand(PCollection<byte[]> input) {
     return input
         .apply(
-            MapElements.into(TypeDescriptors.rows())
+            FlatMapElements.into(TypeDescriptors.rows())
                 .via(
                     elm -> {
-                      ByteArrayInputStream bis = new ByteArrayInputStream(elm);
                       try {
-                        return coder.decode(bis);
+                        if (DataflowCdcRowEnvelope.isEnvelope(elm)) {
+                          return DataflowCdcRowEnvelope.decode(coder, elm);
+                        }
+                        return Collections.singletonList(
+                            coder.decode(new ByteArrayInputStream(elm)));
                       } catch (IOException e) {
                         throw new RuntimeException(e);
                       }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.dataflow.cdc.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.apache.beam.sdk.coders.Coder;
+import org.apache.beam.sdk.util.VarInt;
+import org.apache.beam.sdk.values.Row;
+
+/**
+ * Packs several change rows of a table into a single compressed Pub/Sub message payload.
+ *
+ * <p>An envelope is the GZIP compression of the number of rows, as a VarInt, followed by each row
+ * encoded with the {@link org.apache.beam.sdk.coders.RowCoder} of the table. A payload holding a
+ * single encoded row is not an envelope: it starts with the field count of the row rather than with
+ * the GZIP magic number, which lets readers accept both.
+ */
+public class DataflowCdcRowEnvelope {
+
+  /** Pub/Sub message attribute with the encoding of the payload. */
+  public static final String ENCODING_ATTRIBUTE = "encoding";
+
+  /** Value of {@link #ENCODING_ATTRIBUTE} for envelopes. */
+  public static final String ENVELOPE_ENCODING = "gzipRowEnvelope";
+
+  /** Accumulates the rows of an envelope. */
+  public static class Builder {
+
+    private final Coder<Row> coder;
+    private final ByteArrayOutputStream encodedRows = new ByteArrayOutputStream();
+    private int rowCount = 0;
+
+    public Builder(Coder<Row> coder) {
+      this.coder = coder;
+    }
+
+    public void add(Row row) throws IOException {
+      coder.encode(row, encodedRows);
+      rowCount++;
+    }
+
+    public int rowCount() {
+      return rowCount;
+    }
+
+    /** Returns the size of the rows added so far, before compression. */
+    public int encodedSize() {
+      return encodedRows.size();
+    }
+
+    /** Returns the compressed envelope of the rows added so far. */
+    public byte[] build() throws IOException {
+      ByteArrayOutputStream envelope = new ByteArrayOutputStream(encodedRows.size() / 4 + 64);
+      try (OutputStream out = new GZIPOutputStream(envelope)) {
+        VarInt.encode(rowCount, out);
+        encodedRows.writeTo(out);
+      }
+      return envelope.toByteArray();
+    }
+  }
+
+  /** Returns whether the payload is an envelope rather than a single encoded row. */
+  public static boolean isEnvelope(byte[] payload) {
+    return payload.length >= 2
+        && (payload[0] & 0xFF) == (GZIPInputStream.GZIP_MAGIC & 0xFF)
+        && (payload[1] & 0xFF) == (GZIPInputStream.GZIP_MAGIC >> 8);
+  }
+
+  /** Decodes the rows of an envelope. */
+  public static List<Row> decode(Coder<Row> coder, byte[] payload) throws IOException {
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+      int rowCount = VarInt.decodeInt(in);
+      List<Row> rows = new ArrayList<>(rowCount);
+      for (int i = 0; i < rowCount; i++) {
+        rows.add(coder.decode(in));
+      }
+      return rows;
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.dataflow.cdc.common;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.apache.beam.sdk.coders.RowCoder;
+import org.apache.beam.sdk.schemas.Schema;
+import org.apache.beam.sdk.values.Row;
+import org.junit.jupiter.api.Test;
+
+/** Tests for DataflowCdcRowEnvelope class. */
+public class DataflowCdcRowEnvelopeTest {
+
+  private static final Schema KEY_SCHEMA = Schema.builder().addStringField("team").build();
+
+  private static final Schema RECORD_SCHEMA =
+      Schema.builder().addStringField("team").addInt32Field("year_founded").build();
+
+  private static final Schema ROW_SCHEMA =
+      Schema.builder()
+          .addStringField(DataflowCdcRowFormat.OPERATION)
+          .addStringField(DataflowCdcRowFormat.TABLE_NAME)
+          .addRowField(DataflowCdcRowFormat.PRIMARY_KEY, KEY_SCHEMA)
+          .addRowField(DataflowCdcRowFormat.FULL_RECORD, RECORD_SCHEMA)
+          .addInt64Field(DataflowCdcRowFormat.TIMESTAMP_MS)
+          .build();
+
+  private static Row changeRow(String team, int yearFounded) {
+    return Row.withSchema(ROW_SCHEMA)
+        .addValues(
+            "INSERT",
+            "mainstance.cdcForDataflow.team_metadata",
+            Row.withSchema(KEY_SCHEMA).addValue(team).build(),
+            Row.withSchema(RECORD_SCHEMA).addValues(team, yearFounded).build(),
+            1569287580660L)
+        .build();
+  }
+
+  @Test
+  public void testEnvelopeRoundTrip() throws IOException {
+    RowCoder coder = RowCoder.of(ROW_SCHEMA);
+    DataflowCdcRowEnvelope.Builder builder = new DataflowCdcRowEnvelope.Builder(coder);
+    builder.add(changeRow("team_PXHU", 1916));
+    builder.add(changeRow("team_ABCD", 2001));
+
+    byte[] envelope = builder.build();
+
+    assertThat(builder.rowCount(), is(2));
+    assertThat(DataflowCdcRowEnvelope.isEnvelope(envelope), is(true));
+    assertThat(
+        DataflowCdcRowEnvelope.decode(coder, envelope),
+        contains(changeRow("team_PXHU", 1916), changeRow("team_ABCD", 2001)));
+  }
+
+  @Test
+  public void testSingleRowIsNotAnEnvelope() throws IOException {
+    ByteArrayOutputStream encodedRow = new ByteArrayOutputStream();
+    RowCoder.of(ROW_SCHEMA).encode(changeRow("team_PXHU", 1916), encodedRow);
+
+    assertThat(DataflowCdcRowEnvelope.isEnvelope(encodedRow.toByteArray()), is(false));
+  }
+}
@@ -18,16 +18,16 @@ package com.google.cloud.dataflow.cdc.connector;
 import com.google.api.core.ApiFuture;
 import com.google.cloud.datacatalog.v1beta1.Entry;
 import com.google.cloud.dataflow.cdc.common.DataCatalogSchemaUtils.DataCatalogSchemaManager;
+import com.google.cloud.dataflow.cdc.common.DataflowCdcRowEnvelope;
 import com.google.cloud.pubsub.v1.Publisher;
-import com.google.common.collect.ImmutableList;
 import com.google.protobuf.ByteString;
 import com.google.pubsub.v1.ProjectTopicName;
 import com.google.pubsub.v1.PubsubMessage;
 import io.debezium.engine.ChangeEvent;
 import io.debezium.engine.DebeziumEngine;
 import io.debezium.engine.DebeziumEngine.RecordCommitter;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -40,12 +40,24 @@ import org.apache.beam.sdk.values.Row;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.slf4j.LoggerFactory;
 
-/** Implements Debezium's Embedded Engine change consumer to push data to PubSub. */
+/**
+ * Implements Debezium's Embedded Engine change consumer to push data to PubSub.
+ *
+ * <p>The rows of each table in a batch are packed into compressed envelopes, see {@link
+ * DataflowCdcRowEnvelope}. An envelope is published once it reaches {@link #MAX_ENVELOPE_BYTES} or
+ * {@link #MAX_ENVELOPE_ROWS}, or at the end of the batch, so rows are never held past their batch.
+ */
 public class PubSubChangeConsumer
     implements DebeziumEngine.ChangeConsumer<ChangeEvent<SourceRecord, SourceRecord>> {
 
   private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(PubSubChangeConsumer.class);
 
+  /** Maximum size of the rows in an envelope before compression. */
+  static final int MAX_ENVELOPE_BYTES = 1024 * 1024;
+
+  /** Maximum number of rows in an envelope. */
+  static final int MAX_ENVELOPE_ROWS = 1000;
+
   public static final BiFunction<String, DataCatalogSchemaManager, Publisher>
       DEFAULT_PUBLISHER_FACTORY =
           (tableName, schemaUtils) -> {
@@ -107,11 +119,13 @@ public class PubSubChangeConsumer
       RecordCommitter<ChangeEvent<SourceRecord, SourceRecord>> committer)
       throws InterruptedException {
 
-    ImmutableList.Builder<ApiFuture<String>> futureListBuilder = ImmutableList.builder();
+    // Envelope of each event, in the order of the events. Events which are not published have no
+    // envelope.
+    List<PendingEnvelope> eventEnvelopes = new ArrayList<>(records.size());
+    Map<String, PendingEnvelope> openEnvelopes = new HashMap<>();
 
     Set<Publisher> usedPublishers = new HashSet<>();
 
-    // TODO(pabloem): Improve the commit logic.
     for (ChangeEvent<SourceRecord, SourceRecord> event : records) {
       SourceRecord r = event.value();
 
@@ -119,66 +133,118 @@ public class PubSubChangeConsumer
       // qualified name of the MySQL table (e.g. dbInstanceName.databaseName.table_name).
       String tableName = r.topic();
 
-      if (whitelistedTables.contains(tableName)) {
-        Row updateRecord = translator.translate(r);
-        if (updateRecord == null) {
-          continue;
+      if (!whitelistedTables.contains(tableName)) {
+        LOG.debug("Discarding record: {}", r);
+        eventEnvelopes.add(null);
+        continue;
+      }
+
+      Row updateRecord = translator.translate(r);
+      if (updateRecord == null) {
+        eventEnvelopes.add(null);
+        continue;
+      }
+
+      if (!observedTables.contains(tableName)) {
+        Entry result = schemaUpdater.updateSchemaForTable(tableName, updateRecord.getSchema());
+        if (result == null) {
+          throw new InterruptedException(
+              "A problem occurred when communicating with Cloud Data Catalog");
         }
+        observedTables.add(tableName);
+      }
+
+      Publisher pubSubPublisher = this.getPubSubPublisher(tableName);
+      if (pubSubPublisher == null) {
+        // We were unable to create a pubSubPublisher for this topic. This is bad, and we should
+        // stop execution without committing any more messages.
+        throw new InterruptedException("Unable to create a PubSub topic for table " + tableName);
+      }
+      usedPublishers.add(pubSubPublisher);
 
-        if (!observedTables.contains(tableName)) {
-          Entry result = schemaUpdater.updateSchemaForTable(tableName, updateRecord.getSchema());
-          if (result == null) {
-            throw new InterruptedException(
-                "A problem occurred when communicating with Cloud Data Catalog");
-          }
-          observedTables.add(tableName);
+      LOG.debug("Update Record is: {}", updateRecord);
+
+      try {
+        PendingEnvelope envelope = openEnvelopes.get(tableName);
+        if (envelope == null) {
+          envelope =
+              new PendingEnvelope(
+                  tableName,
+                  pubSubPublisher,
+                  new DataflowCdcRowEnvelope.Builder(getCoderForRow(tableName, updateRecord)));
+          openEnvelopes.put(tableName, envelope);
         }
+        envelope.rows.add(updateRecord);
+        eventEnvelopes.add(envelope);
 
-        Publisher pubSubPublisher = this.getPubSubPublisher(tableName);
-        if (pubSubPublisher == null) {
-          // We were unable to create a pubSubPublisher for this topic. This is bad, and we should
-          // stop execution without committing any more messages.
-          throw new InterruptedException("Unable to create a PubSub topic for table " + tableName);
+        if (envelope.rows.encodedSize() >= MAX_ENVELOPE_BYTES
+            || envelope.rows.rowCount() >= MAX_ENVELOPE_ROWS) {
+          envelope.publish();
+          openEnvelopes.remove(tableName);
         }
-        usedPublishers.add(pubSubPublisher);
+      } catch (IOException e) {
+        LOG.error(
+            "Caught exception {} when trying to encode record {}. Stopping processing.",
+            e,
+            updateRecord);
+        return;
+      }
+    }
+
+    try {
+      for (PendingEnvelope envelope : openEnvelopes.values()) {
+        envelope.publish();
+      }
+    } catch (IOException e) {
+      LOG.error("Caught exception {} when trying to encode an envelope. Stopping processing.", e);
+      return;
+    }
 
-        PubsubMessage.Builder messageBuilder = PubsubMessage.newBuilder();
-        LOG.debug("Update Record is: {}", updateRecord);
+    usedPublishers.forEach(p -> p.publishAllOutstanding());
 
+    // Commit the events in order, each as soon as the envelope holding it has been published.
+    for (int i = 0; i < records.size(); i++) {
+      PendingEnvelope envelope = eventEnvelopes.get(i);
+      if (envelope != null) {
         try {
-          RowCoder recordCoder = getCoderForRow(tableName, updateRecord);
-          ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-          recordCoder.encode(updateRecord, outputStream);
-
-          ByteString encodedUpdate = ByteString.copyFrom(outputStream.toByteArray());
-          PubsubMessage message =
-              messageBuilder.setData(encodedUpdate).putAttributes("table", tableName).build();
-          futureListBuilder.add(pubSubPublisher.publish(message));
-        } catch (IOException e) {
+          String result = envelope.future.get();
+          LOG.debug("Result from PubSub Publish Future: {}", result);
+        } catch (ExecutionException e) {
           LOG.error(
-              "Caught exception {} when trying to encode record {}. Stopping processing.",
-              e,
-              updateRecord);
+              "Exception when executing future {}: {}. Stopping execution.", envelope.future, e);
           return;
         }
-      } else {
-        LOG.debug("Discarding record: {}", r);
       }
-      committer.markProcessed(event);
+      committer.markProcessed(records.get(i));
     }
 
-    usedPublishers.forEach(p -> p.publishAllOutstanding());
+    committer.markBatchFinished();
+  }
 
-    for (ApiFuture<String> f : futureListBuilder.build()) {
-      try {
-        String result = f.get();
-        LOG.debug("Result from PubSub Publish Future: {}", result);
-      } catch (ExecutionException e) {
-        LOG.error("Exception when executing future {}: {}. Stopping execution.", f, e);
-        return;
-      }
+  /** An envelope of change rows for a table, and the future of its publication. */
+  private static class PendingEnvelope {
+
+    private final String tableName;
+    private final Publisher publisher;
+    private final DataflowCdcRowEnvelope.Builder rows;
+    private ApiFuture<String> future;
+
+    PendingEnvelope(String tableName, Publisher publisher, DataflowCdcRowEnvelope.Builder rows) {
+      this.tableName = tableName;
+      this.publisher = publisher;
+      this.rows = rows;
     }
 
-    committer.markBatchFinished();
+    void publish() throws IOException {
+      PubsubMessage message =
+          PubsubMessage.newBuilder()
+              .setData(ByteString.copyFrom(rows.build()))
+              .putAttributes("table", tableName)
+              .putAttributes(
+                  DataflowCdcRowEnvelope.ENCODING_ATTRIBUTE,
+                  DataflowCdcRowEnvelope.ENVELOPE_ENCODING)
+              .build();
+      future = publisher.publish(message);
+    }
   }
 }
@@ -15,9 +15,13 @@
  */
 package com.google.cloud.dataflow.cdc.connector;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
 import com.google.cloud.datacatalog.v1beta1.Entry;
 import com.google.cloud.dataflow.cdc.common.DataCatalogSchemaUtils.DataCatalogSchemaManager;
+import com.google.cloud.dataflow.cdc.common.DataflowCdcRowEnvelope;
 import com.google.cloud.pubsub.v1.Publisher;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -26,11 +30,15 @@ import com.google.pubsub.v1.PubsubMessage;
 import io.debezium.engine.ChangeEvent;
 import io.debezium.engine.DebeziumEngine.RecordCommitter;
 import java.util.List;
+import org.apache.beam.sdk.coders.RowCoder;
+import org.apache.beam.sdk.values.Row;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 
 /** Tests for PubSubChangeConsumer. */
@@ -146,4 +154,84 @@ public class PubSubChangeConsumerTest {
     Mockito.verify(mockCommitter).markProcessed(recordBatch.get(0));
     Mockito.verify(mockCommitter).markBatchFinished();
   }
+
+  @Test
+  public void testRowsOfATablePublishedInOneEnvelope() throws Exception {
+    DataCatalogSchemaManager dataCatalogMock = Mockito.mock(DataCatalogSchemaManager.class);
+    Publisher pubsubMock = Mockito.mock(Publisher.class);
+    Mockito.when(
+            dataCatalogMock.updateSchemaForTable(
+                Mockito.anyString(), Mockito.any(org.apache.beam.sdk.schemas.Schema.class)))
+        .thenReturn(Entry.newBuilder().build());
+    Mockito.when(pubsubMock.publish(Mockito.any())).thenReturn(ApiFutures.immediateFuture("id"));
+
+    String topicName = "mainstance.cdcForDataflow.team_metadata";
+    PubSubChangeConsumer changeConsumer =
+        new PubSubChangeConsumer(
+            Sets.newHashSet(topicName), dataCatalogMock, (input1, input2) -> pubsubMock);
+
+    Schema keySchema = SchemaBuilder.struct().field("team", Schema.STRING_SCHEMA).build();
+    Schema valueAfterSchema =
+        SchemaBuilder.struct()
+            .field("team", Schema.STRING_SCHEMA)
+            .field("year_founded", Schema.INT32_SCHEMA)
+            .build();
+    Schema valueSchema =
+        SchemaBuilder.struct()
+            .field("after", valueAfterSchema)
+            .field("op", Schema.STRING_SCHEMA)
+            .field("ts_ms", Schema.INT64_SCHEMA)
+            .build();
+
+    ImmutableList.Builder<ChangeEvent<SourceRecord, SourceRecord>> recordBatchBuilder =
+        ImmutableList.builder();
+    for (String team : ImmutableList.of("team_PXHU", "team_ABCD", "team_EFGH")) {
+      SourceRecord record =
+          new SourceRecord(
+              ImmutableMap.of("server", "mainstance"),
+              ImmutableMap.of("file", "mysql-bin.000023", "pos", 110489),
+              topicName,
+              keySchema,
+              new Struct(keySchema).put("team", team),
+              valueSchema,
+              new Struct(valueSchema)
+                  .put("op", "c")
+                  .put("ts_ms", 1569287580660L)
+                  .put(
+                      "after",
+                      new Struct(valueAfterSchema).put("team", team).put("year_founded", 1916)));
+      ChangeEvent<SourceRecord, SourceRecord> mockEvent = Mockito.mock(ChangeEvent.class);
+      Mockito.when(mockEvent.value()).thenReturn(record);
+      recordBatchBuilder.add(mockEvent);
+    }
+    List<ChangeEvent<SourceRecord, SourceRecord>> recordBatch = recordBatchBuilder.build();
+
+    RecordCommitter<ChangeEvent<SourceRecord, SourceRecord>> mockCommitter =
+        Mockito.mock(RecordCommitter.class);
+
+    changeConsumer.handleBatch(recordBatch, mockCommitter);
+
+    ArgumentCaptor<PubsubMessage> messageCaptor = ArgumentCaptor.forClass(PubsubMessage.class);
+    Mockito.verify(pubsubMock, Mockito.times(1)).publish(messageCaptor.capture());
+    PubsubMessage message = messageCaptor.getValue();
+    assertEquals(topicName, message.getAttributesOrThrow("table"));
+    assertEquals(
+        DataflowCdcRowEnvelope.ENVELOPE_ENCODING,
+        message.getAttributesOrThrow(DataflowCdcRowEnvelope.ENCODING_ATTRIBUTE));
+
+    Row firstRow =
+        new DebeziumSourceRecordToDataflowCdcFormatTranslator()
+            .translate(recordBatch.get(0).value());
+    List<Row> rows =
+        DataflowCdcRowEnvelope.decode(
+            RowCoder.of(firstRow.getSchema()), message.getData().toByteArray());
+    assertEquals(3, rows.size());
+    assertEquals(firstRow, rows.get(0));
+
+    InOrder inOrder = Mockito.inOrder(mockCommitter);
+    for (ChangeEvent<SourceRecord, SourceRecord> event : recordBatch) {
+      inOrder.verify(mockCommitter).markProcessed(event);
+    }
+    inOrder.verify(mockCommitter).markBatchFinished();
+  }
 }
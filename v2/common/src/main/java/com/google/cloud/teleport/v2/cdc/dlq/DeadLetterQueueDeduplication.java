@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.cdc.dlq;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.Serializable;
+import javax.annotation.Nullable;
+
+/**
+ * Tells {@link FileBasedDeadLetterQueueReconsumer} which reconsumed records change the same row,
+ * and which of them is the latest. Only the latest record of each key is reconsumed from a poll.
+ */
+public interface DeadLetterQueueDeduplication extends Serializable {
+
+  /**
+   * Returns the key of the row changed by a reconsumed record, or {@code null} if the record must
+   * always be reconsumed.
+   */
+  @Nullable
+  String getKey(JsonNode record);
+
+  /**
+   * Compares two records with the same key. The record that compares greatest is the one that is
+   * reconsumed.
+   */
+  int compare(JsonNode left, JsonNode right);
+}
@@ -16,8 +16,8 @@
 package com.google.cloud.teleport.v2.cdc.dlq;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.cloud.teleport.v2.utils.JsonCodecs;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
 import java.io.IOException;
 import java.io.Serializable;
@@ -135,7 +135,7 @@ public class DeadLetterQueueManager implements Serializable {
     return FileBasedDeadLetterQueueReconsumer.create(retryDlqDirectory);
   }
 
-  public PTransform<PBegin, PCollection<String>> dlqReconsumer(Integer recheckPeriodMinutes) {
+  public FileBasedDeadLetterQueueReconsumer dlqReconsumer(Integer recheckPeriodMinutes) {
     return FileBasedDeadLetterQueueReconsumer.create(retryDlqDirectory, recheckPeriodMinutes);
   }
 
@@ -166,8 +166,7 @@ public class DeadLetterQueueManager implements Serializable {
                       /* Remove error from metadata and populate error field
                        * in failsafe element.
                        */
-                      ObjectMapper mapper = new ObjectMapper();
-                      JsonNode jsonDLQElement = mapper.readTree(input);
+                      JsonNode jsonDLQElement = JsonCodecs.readTree(input);
 
                       int retryCount = jsonDLQElement.get(RETRY_COUNT_KEY).asInt();
                       if (retryCount <= maxRetries) {
@@ -16,8 +16,8 @@
 package com.google.cloud.teleport.v2.cdc.dlq;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.cloud.teleport.v2.utils.JsonCodecs;
 import java.io.IOException;
 import org.apache.beam.sdk.transforms.SimpleFunction;
 import org.slf4j.Logger;
@@ -60,16 +60,15 @@ public class DeadLetterQueueSanitizer<InputT, OutputT> extends SimpleFunction<In
 
   // NOTE: Only override formatMessage if required or you desire a non-String output
   public OutputT formatMessage(String rawJson, String errorMessageJson) {
-    ObjectMapper mapper = new ObjectMapper();
-    ObjectNode resultNode = mapper.createObjectNode();
+    ObjectNode resultNode = JsonCodecs.createObjectNode();
     try {
-      JsonNode node = mapper.readTree(rawJson);
+      JsonNode node = JsonCodecs.readTree(rawJson);
       resultNode.put("message", node);
     } catch (IOException e) {
       resultNode.put("message", rawJson);
     }
     try {
-      JsonNode node = mapper.readTree(errorMessageJson);
+      JsonNode node = JsonCodecs.readTree(errorMessageJson);
       resultNode.put("error_message", node);
     } catch (IOException e) {
       resultNode.put("error_message", errorMessageJson);
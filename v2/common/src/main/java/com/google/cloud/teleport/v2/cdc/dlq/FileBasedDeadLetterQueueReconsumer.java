@@ -15,9 +15,12 @@
  */
 package com.google.cloud.teleport.v2.cdc.dlq;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.cloud.teleport.v2.utils.JsonCodecs;
+import com.google.common.util.concurrent.RateLimiter;
 import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -28,24 +31,38 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+import org.apache.beam.sdk.coders.KvCoder;
 import org.apache.beam.sdk.coders.StringUtf8Coder;
 import org.apache.beam.sdk.io.FileIO;
 import org.apache.beam.sdk.io.FileSystems;
 import org.apache.beam.sdk.io.GenerateSequence;
+import org.apache.beam.sdk.io.fs.EmptyMatchTreatment;
 import org.apache.beam.sdk.io.fs.MatchResult.Metadata;
 import org.apache.beam.sdk.io.fs.MetadataCoder;
 import org.apache.beam.sdk.io.fs.MetadataCoderV2;
 import org.apache.beam.sdk.io.fs.ResourceId;
 import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Gauge;
 import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.Filter;
+import org.apache.beam.sdk.transforms.Flatten;
+import org.apache.beam.sdk.transforms.GroupByKey;
 import org.apache.beam.sdk.transforms.MapElements;
 import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.transforms.Reshuffle;
+import org.apache.beam.sdk.transforms.windowing.FixedWindows;
+import org.apache.beam.sdk.transforms.windowing.GlobalWindows;
+import org.apache.beam.sdk.transforms.windowing.Window;
+import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.PBegin;
 import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionList;
 import org.apache.beam.sdk.values.PCollectionTuple;
 import org.apache.beam.sdk.values.TupleTag;
 import org.apache.beam.sdk.values.TupleTagList;
@@ -58,6 +75,10 @@ import org.slf4j.LoggerFactory;
  * A DeadLetterQueueReconsumer that works by periodically fetching files from a DLQ directory.
  *
  * <p>This transforms assumes that the DLQ files are stored in JSON Lines format.
+ *
+ * <p>With {@link #withDeduplication}, only the latest record of each key is reconsumed from the
+ * files found by a poll. With {@link #withMaxRecordsPerSecond}, each worker reconsumes records no
+ * faster than the given rate, so that a large backlog does not starve the live stream.
  */
 public class FileBasedDeadLetterQueueReconsumer extends PTransform<PBegin, PCollection<String>> {
 
@@ -68,6 +89,8 @@ public class FileBasedDeadLetterQueueReconsumer extends PTransform<PBegin, PColl
 
   private final String dlqDirectory;
   private final Duration recheckPeriod;
+  @Nullable private final DeadLetterQueueDeduplication deduplication;
+  private final double maxRecordsPerSecond;
 
   public static FileBasedDeadLetterQueueReconsumer create(
       String dlqDirectory, Integer recheckPeriodMinutes) {
@@ -80,8 +103,39 @@ public class FileBasedDeadLetterQueueReconsumer extends PTransform<PBegin, PColl
   }
 
   private FileBasedDeadLetterQueueReconsumer(String dlqDirectory, Duration recheckPeriod) {
+    this(dlqDirectory, recheckPeriod, null, 0);
+  }
+
+  private FileBasedDeadLetterQueueReconsumer(
+      String dlqDirectory,
+      Duration recheckPeriod,
+      @Nullable DeadLetterQueueDeduplication deduplication,
+      double maxRecordsPerSecond) {
     this.dlqDirectory = dlqDirectory;
     this.recheckPeriod = recheckPeriod;
+    this.deduplication = deduplication;
+    this.maxRecordsPerSecond = maxRecordsPerSecond;
+  }
+
+  /**
+   * Returns a reconsumer that reconsumes only the latest record of each key, as decided by {@code
+   * deduplication}, among the files found by the same poll.
+   */
+  public FileBasedDeadLetterQueueReconsumer withDeduplication(
+      DeadLetterQueueDeduplication deduplication) {
+    checkArgument(deduplication != null, "deduplication can not be null");
+    return new FileBasedDeadLetterQueueReconsumer(
+        dlqDirectory, recheckPeriod, deduplication, maxRecordsPerSecond);
+  }
+
+  /**
+   * Returns a reconsumer that outputs at most {@code maxRecordsPerSecond} records per second on
+   * each worker. A rate of {@code 0} does not limit the records.
+   */
+  public FileBasedDeadLetterQueueReconsumer withMaxRecordsPerSecond(double maxRecordsPerSecond) {
+    checkArgument(maxRecordsPerSecond >= 0, "maxRecordsPerSecond can not be negative");
+    return new FileBasedDeadLetterQueueReconsumer(
+        dlqDirectory, recheckPeriod, deduplication, maxRecordsPerSecond);
   }
 
   public PCollection<String> expand(PBegin in) {
@@ -90,11 +144,148 @@ public class FileBasedDeadLetterQueueReconsumer extends PTransform<PBegin, PColl
     // String filePattern = Paths.get(dlqDirectory).resolve("*").toString();
 
     String filePattern = dlqDirectory + "**";
-    return in.getPipeline()
-        .apply("TriggerConsumeDLQ", GenerateSequence.from(0).withRate(1, this.recheckPeriod))
-        .apply("AsFilePattern", MapElements.into(TypeDescriptors.strings()).via(seq -> filePattern))
-        .apply("MatchFiles", FileIO.matchAll())
-        .apply("ConsumeMatches", moveAndConsumeMatches());
+    PCollection<String> records =
+        in.getPipeline()
+            .apply("TriggerConsumeDLQ", GenerateSequence.from(0).withRate(1, this.recheckPeriod))
+            .apply(
+                "AsFilePattern",
+                MapElements.into(TypeDescriptors.strings()).via(seq -> filePattern))
+            .apply("MatchFiles", ParDo.of(new MatchAndReportBacklogFn()))
+            .setCoder(MetadataCoderV2.of())
+            // The matches are produced by a single trigger element. Redistribute them so that a
+            // large
+            // backlog of DLQ files is read in parallel by all workers.
+            .apply("ReshuffleMatches", Reshuffle.viaRandomKey())
+            .apply("ConsumeMatches", moveAndConsumeMatches());
+    if (deduplication != null) {
+      records =
+          records.apply("DeduplicateRecords", new DeduplicateRecords(deduplication, recheckPeriod));
+    }
+    if (maxRecordsPerSecond > 0) {
+      records = records.apply("ThrottleRecords", ParDo.of(new ThrottleFn(maxRecordsPerSecond)));
+    }
+    return records;
+  }
+
+  /**
+   * Keeps the latest record of each key among the records reconsumed by the same poll. Records that
+   * have no key are all kept.
+   *
+   * <p>The records of a poll all carry the timestamp of the trigger that started it, so they are
+   * grouped in fixed windows of the recheck period. The output is in the global window again, like
+   * the input.
+   */
+  static class DeduplicateRecords extends PTransform<PCollection<String>, PCollection<String>> {
+    private static final TupleTag<KV<String, String>> KEYED_RECORDS =
+        new TupleTag<KV<String, String>>() {};
+    private static final TupleTag<String> UNKEYED_RECORDS = new TupleTag<String>() {};
+
+    private final DeadLetterQueueDeduplication deduplication;
+    private final Duration window;
+
+    DeduplicateRecords(DeadLetterQueueDeduplication deduplication, Duration window) {
+      this.deduplication = deduplication;
+      this.window = window;
+    }
+
+    @Override
+    public PCollection<String> expand(PCollection<String> input) {
+      PCollectionTuple records =
+          input.apply(
+              "KeyRecords",
+              ParDo.of(new KeyRecordsFn(deduplication))
+                  .withOutputTags(KEYED_RECORDS, TupleTagList.of(UNKEYED_RECORDS)));
+      PCollection<String> latestRecords =
+          records
+              .get(KEYED_RECORDS)
+              .setCoder(KvCoder.of(StringUtf8Coder.of(), StringUtf8Coder.of()))
+              .apply("WindowByPoll", Window.into(FixedWindows.of(window)))
+              .apply("GroupByKey", GroupByKey.create())
+              .apply("KeepLatestRecord", ParDo.of(new KeepLatestRecordFn(deduplication)))
+              .setCoder(StringUtf8Coder.of())
+              .apply("RestoreGlobalWindow", Window.into(new GlobalWindows()));
+      return PCollectionList.of(latestRecords)
+          .and(records.get(UNKEYED_RECORDS).setCoder(StringUtf8Coder.of()))
+          .apply("FlattenRecords", Flatten.pCollections());
+    }
+  }
+
+  private static class KeyRecordsFn extends DoFn<String, KV<String, String>> {
+    private final DeadLetterQueueDeduplication deduplication;
+
+    KeyRecordsFn(DeadLetterQueueDeduplication deduplication) {
+      this.deduplication = deduplication;
+    }
+
+    @ProcessElement
+    public void process(@Element String record, MultiOutputReceiver outputs) throws IOException {
+      String key = deduplication.getKey(JsonCodecs.readTree(record));
+      if (key == null) {
+        outputs.get(DeduplicateRecords.UNKEYED_RECORDS).output(record);
+      } else {
+        outputs.get(DeduplicateRecords.KEYED_RECORDS).output(KV.of(key, record));
+      }
+    }
+  }
+
+  static class KeepLatestRecordFn extends DoFn<KV<String, Iterable<String>>, String> {
+    private final Counter duplicateRecords =
+        Metrics.counter(KeepLatestRecordFn.class, "duplicateRecordsDroppedFromDeadLetterQueue");
+
+    private final DeadLetterQueueDeduplication deduplication;
+
+    KeepLatestRecordFn(DeadLetterQueueDeduplication deduplication) {
+      this.deduplication = deduplication;
+    }
+
+    @ProcessElement
+    public void process(
+        @Element KV<String, Iterable<String>> records, OutputReceiver<String> output)
+        throws IOException {
+      String latestRecord = null;
+      JsonNode latestNode = null;
+      for (String record : records.getValue()) {
+        JsonNode node = JsonCodecs.readTree(record);
+        if (latestNode == null) {
+          latestRecord = record;
+          latestNode = node;
+          continue;
+        }
+        duplicateRecords.inc();
+        if (deduplication.compare(node, latestNode) > 0) {
+          latestRecord = record;
+          latestNode = node;
+        }
+      }
+      output.output(latestRecord);
+    }
+  }
+
+  /**
+   * Limits the records output on each worker to a maximum rate. The limiter is shared by all the
+   * instances of the same {@link ThrottleFn} on a worker.
+   */
+  static class ThrottleFn extends DoFn<String, String> {
+    private static final Map<String, RateLimiter> RATE_LIMITERS = new ConcurrentHashMap<>();
+
+    private final String id = UUID.randomUUID().toString();
+    private final double maxRecordsPerSecond;
+    private transient RateLimiter rateLimiter;
+
+    ThrottleFn(double maxRecordsPerSecond) {
+      this.maxRecordsPerSecond = maxRecordsPerSecond;
+    }
+
+    @Setup
+    public void setup() {
+      rateLimiter = RATE_LIMITERS.computeIfAbsent(id, k -> RateLimiter.create(maxRecordsPerSecond));
+    }
+
+    @ProcessElement
+    public void process(@Element String record, OutputReceiver<String> output) {
+      rateLimiter.acquire();
+      output.output(record);
+    }
   }
 
   /** Build a {@link PTransform} that consumes matched DLQ files. */
@@ -125,6 +316,38 @@ public class FileBasedDeadLetterQueueReconsumer extends PTransform<PBegin, PColl
     };
   }
 
+  /**
+   * Matches the DLQ files for each trigger and reports their number and total size as the backlog
+   * still waiting to be reconsumed.
+   */
+  static class MatchAndReportBacklogFn extends DoFn<String, Metadata> {
+    private final Gauge backlogFiles =
+        Metrics.gauge(MatchAndReportBacklogFn.class, "filesPendingInDeadLetterQueue");
+    private final Gauge backlogBytes =
+        Metrics.gauge(MatchAndReportBacklogFn.class, "bytesPendingInDeadLetterQueue");
+
+    @ProcessElement
+    public void process(@Element String filePattern, OutputReceiver<Metadata> output)
+        throws IOException {
+      long files = 0;
+      long bytes = 0;
+      for (Metadata dlqFile :
+          FileSystems.match(filePattern, EmptyMatchTreatment.ALLOW_IF_WILDCARD).metadata()) {
+        output.output(dlqFile);
+        if (!isTemporaryFile(dlqFile)) {
+          files++;
+          bytes += dlqFile.sizeBytes();
+        }
+      }
+      backlogFiles.set(files);
+      backlogBytes.set(bytes);
+    }
+  }
+
+  private static boolean isTemporaryFile(Metadata dlqFile) {
+    return dlqFile.resourceId().toString().contains("/tmp/.temp");
+  }
+
   private static class RemoveFiles extends DoFn<Metadata, Void> {
     private final List<ResourceId> filesToRemove = new ArrayList<>();
     private final Counter failedDeletions =
@@ -155,6 +378,10 @@ public class FileBasedDeadLetterQueueReconsumer extends PTransform<PBegin, PColl
 
     private final Counter reconsumedElements =
         Metrics.counter(MoveAndConsumeFn.class, "elementsReconsumedFromDeadLetterQueue");
+    private final Counter reconsumedFiles =
+        Metrics.counter(MoveAndConsumeFn.class, "filesReconsumedFromDeadLetterQueue");
+    private final Counter reconsumedBytes =
+        Metrics.counter(MoveAndConsumeFn.class, "bytesReconsumedFromDeadLetterQueue");
 
     private final TupleTag<Metadata> filesTag;
     private final TupleTag<String> contentTag;
@@ -179,44 +406,39 @@ public class FileBasedDeadLetterQueueReconsumer extends PTransform<PBegin, PColl
     @ProcessElement
     public void process(@Element Metadata dlqFile, MultiOutputReceiver outputs) throws IOException {
       LOG.info("Found DLQ File: {}", dlqFile.resourceId().toString());
-      if (dlqFile.resourceId().toString().contains("/tmp/.temp")) {
+      if (isTemporaryFile(dlqFile)) {
         return;
       }
 
-      BufferedReader jsonReader;
-      try {
-        jsonReader = readFile(dlqFile.resourceId());
+      // Assuming that files are JSONLines formatted.
+      try (BufferedReader jsonReader = readFile(dlqFile.resourceId())) {
+        String line;
+        while ((line = jsonReader.readLine()) != null) {
+          // Each line is expecting this format: {"message": ROW, "error_message": ERROR}
+          try {
+            JsonNode jsonDLQElement = JsonCodecs.readTree(line);
+            if (!jsonDLQElement.get("message").isObject()) {
+              throw new IOException("Unable to parse JSON record " + line);
+            }
+            ObjectNode resultNode = (ObjectNode) jsonDLQElement.get("message");
+            resultNode.put("_metadata_error", jsonDLQElement.get("error_message"));
+            // Populate the retried count.
+            long retryErrorCount = getRetryCountForRecord(resultNode);
+            resultNode.put("_metadata_retry_count", retryErrorCount);
+            outputs.get(contentTag).output(resultNode.toString());
+            reconsumedElements.inc();
+          } catch (IOException e) {
+            LOG.error("Issue parsing JSON record {}. Unable to continue.", line, e);
+            throw new RuntimeException(e);
+          }
+        }
       } catch (FileNotFoundException e) {
         // If the file does exist, it will be retried on the next trigger.
         LOG.warn("DLQ File Not Found: {}", dlqFile.resourceId().toString());
         return;
       }
-
-      // Assuming that files are JSONLines formatted.
-      ObjectMapper mapper = new ObjectMapper();
-      jsonReader
-          .lines()
-          .forEach(
-              line -> {
-                ObjectNode resultNode;
-                // Each line is expecting this format: {"message": ROW, "error_message": ERROR}
-                try {
-                  JsonNode jsonDLQElement = mapper.readTree(line);
-                  if (!jsonDLQElement.get("message").isObject()) {
-                    throw new IOException("Unable to parse JSON record " + line);
-                  }
-                  resultNode = (ObjectNode) jsonDLQElement.get("message");
-                  resultNode.put("_metadata_error", jsonDLQElement.get("error_message"));
-                  // Populate the retried count.
-                  long retryErrorCount = getRetryCountForRecord(resultNode);
-                  resultNode.put("_metadata_retry_count", retryErrorCount);
-                  outputs.get(contentTag).output(resultNode.toString());
-                  reconsumedElements.inc();
-                } catch (IOException e) {
-                  LOG.error("Issue parsing JSON record {}. Unable to continue.", line, e);
-                  throw new RuntimeException(e);
-                }
-              });
+      reconsumedFiles.inc();
+      reconsumedBytes.inc(dlqFile.sizeBytes());
       outputs.get(filesTag).output(dlqFile);
     }
   }
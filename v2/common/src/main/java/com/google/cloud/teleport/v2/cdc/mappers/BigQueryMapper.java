@@ -28,14 +28,17 @@ import com.google.cloud.bigquery.TableId;
 import com.google.cloud.teleport.v2.transforms.BigQueryConverters;
 import com.google.cloud.teleport.v2.utils.BigQueryTableCache;
 import com.google.cloud.teleport.v2.utils.GCSUtils;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import org.apache.beam.sdk.transforms.MapElements;
 import org.apache.beam.sdk.transforms.PTransform;
@@ -67,11 +70,20 @@ public class BigQueryMapper<InputT, OutputT>
   private static BigQueryTableCache tableCache;
   private static final Cache<String, TableId> tableLockMap =
       CacheBuilder.newBuilder().expireAfterWrite(10, TimeUnit.MINUTES).<String, TableId>build();
+  static final int MAX_VERIFIED_ROW_SHAPES = 1000;
+  private transient Cache<Table, Set<Set<String>>> verifiedRowShapes;
 
   public BigQueryMapper(String projectId) {
     this.projectId = projectId;
   }
 
+  @VisibleForTesting
+  BigQueryMapper(String projectId, BigQuery bigquery, BigQueryTableCache tableCache) {
+    this.projectId = projectId;
+    this.bigquery = bigquery;
+    BigQueryMapper.tableCache = tableCache;
+  }
+
   public TableId getTableId(InputT input) {
     return null;
   }
@@ -190,6 +202,16 @@ public class BigQueryMapper<InputT, OutputT>
     if (this.tableCache == null) {
       setUpTableCache();
     }
+    if (this.verifiedRowShapes == null) {
+      // Shapes are kept per cached Table instance, compared by identity, so that a table that is
+      // recreated or reloaded by the table cache is verified again. They also expire with the table
+      // locks so that columns dropped outside of the pipeline are eventually detected again.
+      this.verifiedRowShapes =
+          CacheBuilder.newBuilder()
+              .weakKeys()
+              .expireAfterWrite(10, TimeUnit.MINUTES)
+              .<Table, Set<Set<String>>>build();
+    }
   }
 
   @Override
@@ -290,9 +312,18 @@ public class BigQueryMapper<InputT, OutputT>
    * @param tableId a TableId referencing the BigQuery table to be loaded to.
    * @param row a TableRow with the raw data to be loaded into BigQuery.
    */
-  private void updateTableIfRequired(TableId tableId, TableRow row) {
+  @VisibleForTesting
+  void updateTableIfRequired(TableId tableId, TableRow row) {
+    // The table is looked up for every row, so that a deleted table is recreated once its cache
+    // entry expires.
     Table table = this.tableCache.getOrCreateBigQueryTable(tableId, this.dayPartitioning);
 
+    Set<Set<String>> rowShapes = getVerifiedRowShapes(table);
+    Set<String> rowKeys = row.keySet();
+    if (rowShapes.contains(rowKeys)) {
+      return;
+    }
+
     Map<String, StandardSQLTypeName> inputSchema = new HashMap<String, StandardSQLTypeName>();
     List<Field> newFieldList = getNewTableFields(row, table, inputSchema, this.ignoreFields);
 
@@ -300,6 +331,28 @@ public class BigQueryMapper<InputT, OutputT>
       LOG.info("Updating Table: {}", tableId.toString());
       updateBigQueryTable(tableId, row, this.ignoreFields);
     }
+
+    if (rowShapes.size() >= MAX_VERIFIED_ROW_SHAPES) {
+      rowShapes.clear();
+    }
+    rowShapes.add(ImmutableSet.copyOf(rowKeys));
+  }
+
+  /**
+   * Returns the set of row key shapes already verified against the schema of the table. A row whose
+   * keys match a verified shape has no new columns, so its keys are not compared to the table
+   * fields.
+   *
+   * @param table the cached BigQuery table to be loaded to.
+   */
+  private Set<Set<String>> getVerifiedRowShapes(Table table) {
+    Set<Set<String>> rowShapes = this.verifiedRowShapes.getIfPresent(table);
+    if (rowShapes != null) {
+      return rowShapes;
+    }
+    return this.verifiedRowShapes
+        .asMap()
+        .computeIfAbsent(table, k -> ConcurrentHashMap.newKeySet());
   }
 
   private static TableId getTableLock(TableId tableId) {
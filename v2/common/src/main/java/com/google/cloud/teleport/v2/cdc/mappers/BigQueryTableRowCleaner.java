@@ -19,6 +19,7 @@ import com.google.api.services.bigquery.model.TableRow;
 import com.google.cloud.bigquery.Field;
 import com.google.cloud.bigquery.FieldList;
 import com.google.cloud.bigquery.LegacySQLTypeName;
+import com.google.cloud.teleport.v2.utils.JsonCodecs;
 import com.google.gson.Gson;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -68,7 +69,7 @@ public class BigQueryTableRowCleaner {
    */
   public static void cleanTableRowFieldStrings(TableRow row, FieldList tableFields, String rowKey) {
     Object rowObject = row.get(rowKey);
-    Gson gson = new Gson();
+    Gson gson = JsonCodecs.gson();
     if (rowObject instanceof Boolean) {
       Boolean rowValue = (Boolean) rowObject;
       row.put(rowKey, rowValue.toString());
@@ -17,9 +17,11 @@ package com.google.cloud.teleport.v2.coders;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.concurrent.ExecutionException;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
@@ -47,12 +49,17 @@ public class GenericRecordCoder extends AtomicCoder<GenericRecord> {
   private static final Cache<String, AvroCoder<GenericRecord>> avroCoderCache =
       CacheBuilder.newBuilder().maximumSize(MAX_CACHE_SIZE).build();
 
+  // Records decoded by the same reader share their Schema instance, so the encoded schema string
+  // and the AvroCoder are looked up by identity rather than by calling Schema#toString() for each
+  // record.
+  private static final Cache<Schema, EncodedSchema> encodedSchemaCache =
+      CacheBuilder.newBuilder().weakKeys().maximumSize(MAX_CACHE_SIZE).build();
+
   @Override
   public void encode(GenericRecord value, OutputStream outStream) throws IOException {
-    String schemaString = value.getSchema().toString();
-    StringUtf8Coder.of().encode(schemaString, outStream);
-    AvroCoder<GenericRecord> coder = getAvroCoder(value.getSchema().toString());
-    coder.encode(value, outStream);
+    EncodedSchema encodedSchema = getEncodedSchema(value.getSchema());
+    outStream.write(encodedSchema.bytes);
+    encodedSchema.coder.encode(value, outStream);
   }
 
   @Override
@@ -70,4 +77,30 @@ public class GenericRecordCoder extends AtomicCoder<GenericRecord> {
       throw new AssertionError("impossible; loader can't throw.");
     }
   }
+
+  private EncodedSchema getEncodedSchema(Schema schema) {
+    try {
+      return encodedSchemaCache.get(
+          schema,
+          () -> {
+            String schemaString = schema.toString();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            StringUtf8Coder.of().encode(schemaString, bytes);
+            return new EncodedSchema(bytes.toByteArray(), getAvroCoder(schemaString));
+          });
+    } catch (ExecutionException e) {
+      throw new UncheckedIOException((IOException) e.getCause());
+    }
+  }
+
+  /** The schema of a record as written by {@link StringUtf8Coder}, with its {@link AvroCoder}. */
+  private static class EncodedSchema {
+    private final byte[] bytes;
+    private final AvroCoder<GenericRecord> coder;
+
+    EncodedSchema(byte[] bytes, AvroCoder<GenericRecord> coder) {
+      this.bytes = bytes;
+      this.coder = coder;
+    }
+  }
 }
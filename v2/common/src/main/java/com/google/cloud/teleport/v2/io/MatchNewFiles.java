@@ -0,0 +1,263 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.io;
+
+import static org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.beam.sdk.coders.InstantCoder;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.coders.VarLongCoder;
+import org.apache.beam.sdk.io.FileSystems;
+import org.apache.beam.sdk.io.fs.EmptyMatchTreatment;
+import org.apache.beam.sdk.io.fs.MatchResult.Metadata;
+import org.apache.beam.sdk.io.fs.MetadataCoderV2;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.state.MapState;
+import org.apache.beam.sdk.state.StateSpec;
+import org.apache.beam.sdk.state.StateSpecs;
+import org.apache.beam.sdk.state.ValueState;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.PTransform;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.PeriodicImpulse;
+import org.apache.beam.sdk.transforms.WithKeys;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PBegin;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.annotations.VisibleForTesting;
+import org.joda.time.Duration;
+import org.joda.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link MatchNewFiles} transform continuously matches a file pattern and outputs the {@link
+ * Metadata} of each new file once.
+ *
+ * <p>{@code FileIO.match().continuously()} and {@code TextIO.read().watchForNewFiles()} remember
+ * every file they have output, so their state grows with the number of files matched during the
+ * life of the job. This transform only keeps a high-water mark on the last modified time of the
+ * files output so far, along with the names of the files modified within the late arrival window
+ * before it. A matched file is new when it was modified after the high-water mark minus the window
+ * and its name is not among the recent ones. Every poll still lists the whole file pattern, so only
+ * the state is bounded, not the cost of a poll.
+ *
+ * <p>Files listed for the first time after they were last modified more than the window before the
+ * high-water mark are skipped. That happens, for example, to a file moved into the pattern with its
+ * modification time preserved, or to an upload that takes longer than the window. The window should
+ * therefore cover the delay between a file being modified and it being listed. The number of
+ * skipped files is estimated from the number of old files in each listing, logged, and reported in
+ * the {@code filesSkippedOutsideLateArrivalWindow} counter. The estimate is a lower bound, as files
+ * deleted between polls hide skipped ones. Since {@code watchForNewFiles()} reads such files, this
+ * transform is not a drop-in replacement for it, and templates only use it when asked to.
+ *
+ * <p>The state is held by a stateful {@link DoFn} driven by a {@link PeriodicImpulse}, so it is
+ * checkpointed along with the rest of the pipeline.
+ */
+public class MatchNewFiles extends PTransform<PBegin, PCollection<Metadata>> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MatchNewFiles.class);
+
+  private static final Duration DEFAULT_LATE_ARRIVAL_WINDOW = Duration.standardMinutes(10);
+
+  private final String filepattern;
+  private final Duration pollInterval;
+  private final Duration lateArrivalWindow;
+
+  private MatchNewFiles(String filepattern, Duration pollInterval, Duration lateArrivalWindow) {
+    this.filepattern = filepattern;
+    this.pollInterval = pollInterval;
+    this.lateArrivalWindow = lateArrivalWindow;
+  }
+
+  /** Polls {@code filepattern} for new files every {@code pollInterval}. */
+  public static MatchNewFiles of(String filepattern, Duration pollInterval) {
+    return new MatchNewFiles(filepattern, pollInterval, DEFAULT_LATE_ARRIVAL_WINDOW);
+  }
+
+  /**
+   * Sets how long before the high-water mark a file may have been modified and still be output when
+   * it is first listed. Older files are skipped. Default = 10 minutes.
+   */
+  public MatchNewFiles withLateArrivalWindow(Duration lateArrivalWindow) {
+    checkArgument(!lateArrivalWindow.isShorterThan(Duration.ZERO), "Negative late arrival window");
+    return new MatchNewFiles(filepattern, pollInterval, lateArrivalWindow);
+  }
+
+  @Override
+  public PCollection<Metadata> expand(PBegin input) {
+    return input
+        .apply("PollInterval", PeriodicImpulse.create().withInterval(pollInterval))
+        .apply("KeyByFilePattern", WithKeys.of(filepattern))
+        .setCoder(KvCoder.of(StringUtf8Coder.of(), InstantCoder.of()))
+        .apply("MatchNewFiles", ParDo.of(new MatchNewFilesFn(lateArrivalWindow.getMillis())))
+        .setCoder(MetadataCoderV2.of());
+  }
+
+  /** Matches the file pattern on every poll and outputs the files not output before. */
+  static class MatchNewFilesFn extends DoFn<KV<String, Instant>, Metadata> {
+
+    private static final String HIGH_WATER_MARK_STATE_ID = "highWaterMark";
+    private static final String RECENT_FILES_STATE_ID = "recentFiles";
+    private static final String OLD_FILES_STATE_ID = "oldFiles";
+
+    private final Counter skippedFiles =
+        Metrics.counter(MatchNewFiles.class, "filesSkippedOutsideLateArrivalWindow");
+
+    @StateId(HIGH_WATER_MARK_STATE_ID)
+    private final StateSpec<ValueState<Long>> highWaterMarkSpec =
+        StateSpecs.value(VarLongCoder.of());
+
+    @StateId(RECENT_FILES_STATE_ID)
+    private final StateSpec<MapState<String, Long>> recentFilesSpec =
+        StateSpecs.map(StringUtf8Coder.of(), VarLongCoder.of());
+
+    /* The number of files expected to be older than the cutoff at the next poll. */
+    @StateId(OLD_FILES_STATE_ID)
+    private final StateSpec<ValueState<Long>> oldFilesSpec = StateSpecs.value(VarLongCoder.of());
+
+    private final long lateArrivalWindowMillis;
+
+    MatchNewFilesFn(long lateArrivalWindowMillis) {
+      this.lateArrivalWindowMillis = lateArrivalWindowMillis;
+    }
+
+    @ProcessElement
+    public void processElement(
+        ProcessContext context,
+        @StateId(HIGH_WATER_MARK_STATE_ID) ValueState<Long> highWaterMarkState,
+        @StateId(RECENT_FILES_STATE_ID) MapState<String, Long> recentFilesState,
+        @StateId(OLD_FILES_STATE_ID) ValueState<Long> oldFilesState)
+        throws IOException {
+      List<Metadata> files =
+          FileSystems.match(context.element().getKey(), EmptyMatchTreatment.ALLOW).metadata();
+
+      Long highWaterMark = highWaterMarkState.read();
+      Map<String, Long> recentFiles = new HashMap<>();
+      for (Map.Entry<String, Long> recentFile : recentFilesState.entries().read()) {
+        recentFiles.put(recentFile.getKey(), recentFile.getValue());
+      }
+
+      long oldFiles = countOldFiles(files, highWaterMark, lateArrivalWindowMillis);
+      Long expectedOldFiles = oldFilesState.read();
+      if (expectedOldFiles != null && oldFiles > expectedOldFiles) {
+        skippedFiles.inc(oldFiles - expectedOldFiles);
+        LOG.warn(
+            "Skipped at least {} files matching {} that were first listed after they were last"
+                + " modified more than {} before the newest file output. Increase the late arrival"
+                + " window to read such files.",
+            oldFiles - expectedOldFiles,
+            context.element().getKey(),
+            Duration.millis(lateArrivalWindowMillis));
+      }
+
+      List<Metadata> newFiles = new ArrayList<>();
+      Long newHighWaterMark =
+          addNewFiles(files, highWaterMark, recentFiles, lateArrivalWindowMillis, newFiles);
+      for (Metadata file : newFiles) {
+        recentFilesState.put(file.resourceId().toString(), file.lastModifiedMillis());
+        context.output(file);
+      }
+      List<String> expiredFiles =
+          removeExpiredFiles(recentFiles, newHighWaterMark, lateArrivalWindowMillis);
+      for (String expiredFile : expiredFiles) {
+        recentFilesState.remove(expiredFile);
+      }
+      if (!newFiles.isEmpty()) {
+        highWaterMarkState.write(newHighWaterMark);
+      }
+      // The files that expire from the recent files fall below the cutoff of the next poll.
+      long nextOldFiles = oldFiles + expiredFiles.size();
+      if (expectedOldFiles == null || nextOldFiles != expectedOldFiles) {
+        oldFilesState.write(nextOldFiles);
+      }
+    }
+  }
+
+  /**
+   * Adds the files of a listing that were not seen before to {@code newFiles}, and records them in
+   * {@code recentFiles}. Files modified more than the late arrival window before the high-water
+   * mark are skipped.
+   *
+   * @param files The files of the listing.
+   * @param highWaterMark The latest last modified time of the files seen so far, or null if none.
+   * @param recentFiles The names and last modified times of the files seen within the window.
+   * @param lateArrivalWindowMillis The late arrival window.
+   * @param newFiles The list receiving the new files.
+   * @return The new high-water mark.
+   */
+  @VisibleForTesting
+  static Long addNewFiles(
+      List<Metadata> files,
+      Long highWaterMark,
+      Map<String, Long> recentFiles,
+      long lateArrivalWindowMillis,
+      List<Metadata> newFiles) {
+    long cutoff = cutoff(highWaterMark, lateArrivalWindowMillis);
+    for (Metadata file : files) {
+      long lastModified = file.lastModifiedMillis();
+      String name = file.resourceId().toString();
+      if (lastModified < cutoff || recentFiles.containsKey(name)) {
+        continue;
+      }
+      recentFiles.put(name, lastModified);
+      newFiles.add(file);
+      if (highWaterMark == null || lastModified > highWaterMark) {
+        highWaterMark = lastModified;
+      }
+    }
+    return highWaterMark;
+  }
+
+  /**
+   * Removes the files modified more than the late arrival window before the high-water mark from
+   * {@code recentFiles}.
+   *
+   * @return The names of the removed files.
+   */
+  @VisibleForTesting
+  static List<String> removeExpiredFiles(
+      Map<String, Long> recentFiles, Long highWaterMark, long lateArrivalWindowMillis) {
+    long cutoff = cutoff(highWaterMark, lateArrivalWindowMillis);
+    List<String> expiredFiles = new ArrayList<>();
+    for (Map.Entry<String, Long> recentFile : recentFiles.entrySet()) {
+      if (recentFile.getValue() < cutoff) {
+        expiredFiles.add(recentFile.getKey());
+      }
+    }
+    recentFiles.keySet().removeAll(expiredFiles);
+    return expiredFiles;
+  }
+
+  /** Counts the files of a listing modified more than the window before the high-water mark. */
+  @VisibleForTesting
+  static long countOldFiles(
+      List<Metadata> files, Long highWaterMark, long lateArrivalWindowMillis) {
+    long cutoff = cutoff(highWaterMark, lateArrivalWindowMillis);
+    return files.stream().filter(file -> file.lastModifiedMillis() < cutoff).count();
+  }
+
+  private static long cutoff(Long highWaterMark, long lateArrivalWindowMillis) {
+    return highWaterMark == null ? Long.MIN_VALUE : highWaterMark - lateArrivalWindowMillis;
+  }
+}
@@ -26,6 +26,7 @@ import com.google.cloud.bigquery.LegacySQLTypeName;
 import com.google.cloud.teleport.metadata.TemplateParameter;
 import com.google.cloud.teleport.v2.options.BigQueryCommonOptions.WriteOptions;
 import com.google.cloud.teleport.v2.transforms.JavascriptTextTransformer.JavascriptTextTransformerOptions;
+import com.google.cloud.teleport.v2.utils.JsonCodecs;
 import com.google.cloud.teleport.v2.utils.SerializableSchemaSupplier;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
 import com.google.gson.Gson;
@@ -156,7 +157,7 @@ public class BigQueryConverters {
 
   /** Converts a {@link TableRow} into a Json string using {@link Gson}. */
   public static String tableRowToJson(TableRow row) {
-    return new Gson().toJson(row, TableRow.class);
+    return JsonCodecs.gson().toJson(row, TableRow.class);
   }
 
   /**
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The {@link JsonCodecs} class provides JSON readers and writers shared by the per-element paths of
+ * the templates.
+ *
+ * <p>Building an {@link ObjectMapper} or a {@link Gson} is expensive, as each instance keeps its
+ * own caches of serializers and deserializers, and an {@link ObjectMapper} also recycles its
+ * parsing and output buffers per thread. The instances here have the default configuration and are
+ * never reconfigured, which makes them safe to share between threads. Code needing another
+ * configuration should derive it from {@link #writer()} or keep its own instance in a static field,
+ * but should not create one per element.
+ */
+public final class JsonCodecs {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final ObjectWriter OBJECT_WRITER = OBJECT_MAPPER.writer();
+  private static final Gson GSON = new Gson();
+
+  private JsonCodecs() {}
+
+  /** Creates an empty {@link ObjectNode}, as {@link ObjectMapper#createObjectNode()} does. */
+  public static ObjectNode createObjectNode() {
+    return OBJECT_MAPPER.createObjectNode();
+  }
+
+  /** Parses a JSON document into a tree. */
+  public static JsonNode readTree(String json) throws JsonProcessingException {
+    return OBJECT_MAPPER.readTree(json);
+  }
+
+  /** Parses a UTF-8 encoded JSON document into a tree, without decoding it to a String first. */
+  public static JsonNode readTree(byte[] json) throws IOException {
+    return OBJECT_MAPPER.readTree(json);
+  }
+
+  /** Parses a JSON document into an instance of {@code type}. */
+  public static <T> T readValue(String json, Class<T> type) throws JsonProcessingException {
+    return OBJECT_MAPPER.readValue(json, type);
+  }
+
+  /** Parses the JSON document of a stream into an instance of {@code type} as it is read. */
+  public static <T> T readValue(InputStream json, Class<T> type) throws IOException {
+    return OBJECT_MAPPER.readValue(json, type);
+  }
+
+  /** Serializes a value, such as a {@link JsonNode} or a bean, into a JSON String. */
+  public static String writeValueAsString(Object value) throws JsonProcessingException {
+    return OBJECT_WRITER.writeValueAsString(value);
+  }
+
+  /** Serializes a value into UTF-8 encoded JSON, without building an intermediate String. */
+  public static byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+    return OBJECT_WRITER.writeValueAsBytes(value);
+  }
+
+  /**
+   * Returns the shared {@link ObjectWriter}. Writers are immutable, so a writer with another
+   * configuration, such as {@link ObjectWriter#withDefaultPrettyPrinter()}, can be derived from it.
+   */
+  public static ObjectWriter writer() {
+    return OBJECT_WRITER;
+  }
+
+  /** Returns the shared {@link Gson} instance, which has the default configuration. */
+  public static Gson gson() {
+    return GSON;
+  }
+}
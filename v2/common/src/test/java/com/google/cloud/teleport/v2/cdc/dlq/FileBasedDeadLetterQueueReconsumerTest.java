@@ -18,6 +18,7 @@ package com.google.cloud.teleport.v2.cdc.dlq;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertFalse;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
@@ -29,14 +30,24 @@ import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.apache.beam.sdk.PipelineResult;
 import org.apache.beam.sdk.coders.StringUtf8Coder;
 import org.apache.beam.sdk.io.FileIO;
 import org.apache.beam.sdk.io.FileSystems;
+import org.apache.beam.sdk.io.fs.MetadataCoderV2;
 import org.apache.beam.sdk.io.fs.ResourceId;
+import org.apache.beam.sdk.metrics.MetricNameFilter;
+import org.apache.beam.sdk.metrics.MetricQueryResults;
+import org.apache.beam.sdk.metrics.MetricsFilter;
 import org.apache.beam.sdk.testing.PAssert;
 import org.apache.beam.sdk.testing.TestPipeline;
 import org.apache.beam.sdk.testing.TestStream;
+import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.transforms.MapElements;
+import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.TypeDescriptors;
+import org.joda.time.Duration;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -124,6 +135,98 @@ public class FileBasedDeadLetterQueueReconsumerTest {
     p.run().waitUntilFinish();
   }
 
+  @Test
+  public void testMatchReportsBacklog() throws IOException {
+    String fileName = createJsonFile("dlqFile1.json", JSON_FILE_CONTENTS_1);
+    createJsonFile("dlqFile2.json", JSON_FILE_CONTENTS_1);
+    long fileSize = new File(fileName).length();
+
+    String folderPath = Paths.get(folder.getRoot().getAbsolutePath()).resolve("*").toString();
+    PCollection<String> matches =
+        p.apply(Create.of(folderPath))
+            .apply(ParDo.of(new FileBasedDeadLetterQueueReconsumer.MatchAndReportBacklogFn()))
+            .setCoder(MetadataCoderV2.of())
+            .apply(
+                MapElements.into(TypeDescriptors.strings())
+                    .via(metadata -> metadata.resourceId().getFilename()));
+    PAssert.that(matches).containsInAnyOrder("dlqFile1.json", "dlqFile2.json");
+    PipelineResult result = p.run();
+    result.waitUntilFinish();
+
+    assertThat(getGauge(result, "filesPendingInDeadLetterQueue")).isEqualTo(2L);
+    assertThat(getGauge(result, "bytesPendingInDeadLetterQueue")).isEqualTo(2 * fileSize);
+  }
+
+  private static long getGauge(PipelineResult result, String name) {
+    MetricQueryResults metrics =
+        result
+            .metrics()
+            .queryMetrics(
+                MetricsFilter.builder()
+                    .addNameFilter(
+                        MetricNameFilter.named(
+                            FileBasedDeadLetterQueueReconsumer.MatchAndReportBacklogFn.class, name))
+                    .build());
+    return metrics.getGauges().iterator().next().getAttempted().getValue();
+  }
+
+  /** Keys records by their "id" field, and keeps the one with the greatest "seq" field. */
+  private static class DeduplicateById implements DeadLetterQueueDeduplication {
+    @Override
+    public String getKey(JsonNode record) {
+      return record.has("id") ? record.get("id").asText() : null;
+    }
+
+    @Override
+    public int compare(JsonNode left, JsonNode right) {
+      return Long.compare(left.get("seq").asLong(), right.get("seq").asLong());
+    }
+  }
+
+  @Test
+  public void testDeduplicateRecordsKeepsLatestRecordPerKey() {
+    PCollection<String> records =
+        p.apply(
+                Create.of(
+                    "{\"id\":\"a\",\"seq\":1}",
+                    "{\"id\":\"a\",\"seq\":3}",
+                    "{\"id\":\"a\",\"seq\":2}",
+                    "{\"id\":\"b\",\"seq\":1}",
+                    "{\"seq\":1}",
+                    "{\"seq\":1}"))
+            .apply(
+                new FileBasedDeadLetterQueueReconsumer.DeduplicateRecords(
+                    new DeduplicateById(), Duration.standardMinutes(5)));
+
+    PAssert.that(records)
+        .containsInAnyOrder(
+            "{\"id\":\"a\",\"seq\":3}", "{\"id\":\"b\",\"seq\":1}", "{\"seq\":1}", "{\"seq\":1}");
+    PipelineResult result = p.run();
+    result.waitUntilFinish();
+
+    MetricQueryResults metrics =
+        result
+            .metrics()
+            .queryMetrics(
+                MetricsFilter.builder()
+                    .addNameFilter(
+                        MetricNameFilter.named(
+                            FileBasedDeadLetterQueueReconsumer.KeepLatestRecordFn.class,
+                            "duplicateRecordsDroppedFromDeadLetterQueue"))
+                    .build());
+    assertThat(metrics.getCounters().iterator().next().getAttempted()).isEqualTo(2L);
+  }
+
+  @Test
+  public void testThrottleOutputsAllRecords() {
+    PCollection<String> records =
+        p.apply(Create.of("a", "b", "c"))
+            .apply(ParDo.of(new FileBasedDeadLetterQueueReconsumer.ThrottleFn(100)));
+
+    PAssert.that(records).containsInAnyOrder("a", "b", "c");
+    p.run().waitUntilFinish();
+  }
+
   @Test
   public void testReadData() throws IOException, FileNotFoundException {
     String jsonPath = createJsonFile("dlqFile3.json", JSON_FILE_CONTENTS_1);
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.cdc.mappers;
+
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.api.services.bigquery.model.TableRow;
+import com.google.cloud.bigquery.BigQuery;
+import com.google.cloud.bigquery.Field;
+import com.google.cloud.bigquery.Schema;
+import com.google.cloud.bigquery.StandardSQLTypeName;
+import com.google.cloud.bigquery.StandardTableDefinition;
+import com.google.cloud.bigquery.Table;
+import com.google.cloud.bigquery.TableId;
+import com.google.cloud.teleport.v2.utils.BigQueryTableCache;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for the verification of row shapes in {@link BigQueryMapper}. */
+@RunWith(JUnit4.class)
+public class BigQueryMapperTest {
+
+  private static final TableId TABLE_ID = TableId.of("project", "dataset", "table");
+
+  private BigQuery bigQuery;
+  private BigQueryTableCache tableCache;
+  private BigQueryMapper<TableRow, TableRow> mapper;
+
+  @Before
+  public void setUp() {
+    bigQuery = mock(BigQuery.class);
+    tableCache = new BigQueryTableCache(bigQuery);
+    mapper = new BigQueryMapper<>("project", bigQuery, tableCache);
+    mapper.setUp();
+  }
+
+  @Test
+  public void testKnownRowShapeSkipsTableFields() {
+    Table table = mockTable("a", "b");
+    when(bigQuery.getTable(TABLE_ID)).thenReturn(table);
+
+    mapper.updateTableIfRequired(TABLE_ID, new TableRow().set("a", "1").set("b", "2"));
+    mapper.updateTableIfRequired(TABLE_ID, new TableRow().set("b", "3").set("a", "4"));
+
+    verify(table, times(1)).getDefinition();
+    verify(table, never()).toBuilder();
+  }
+
+  @Test
+  public void testNewColumnUpdatesTable() {
+    Table table = mockTable("a", "b");
+    Table updatedTable = mockTable("a", "b", "c");
+    Table.Builder tableBuilder = mock(Table.Builder.class, RETURNS_SELF);
+    when(table.toBuilder()).thenReturn(tableBuilder);
+    when(tableBuilder.build()).thenReturn(updatedTable);
+    when(updatedTable.update()).thenReturn(updatedTable);
+    when(bigQuery.getTable(TABLE_ID)).thenReturn(table, updatedTable);
+
+    mapper.updateTableIfRequired(TABLE_ID, new TableRow().set("a", "1").set("b", "2"));
+    mapper.updateTableIfRequired(
+        TABLE_ID, new TableRow().set("a", "1").set("b", "2").set("c", "3"));
+
+    verify(updatedTable, times(1)).update();
+
+    // The updated table is reloaded in the cache, and the row is verified against it once.
+    mapper.updateTableIfRequired(
+        TABLE_ID, new TableRow().set("a", "1").set("b", "2").set("c", "3"));
+    mapper.updateTableIfRequired(
+        TABLE_ID, new TableRow().set("a", "1").set("b", "2").set("c", "3"));
+
+    verify(updatedTable, times(1)).getDefinition();
+    verify(updatedTable, times(1)).update();
+  }
+
+  @Test
+  public void testRecreatedTableIsVerifiedAgain() {
+    Table table = mockTable("a", "b");
+    Table recreatedTable = mockTable("a", "b");
+    when(bigQuery.getTable(TABLE_ID)).thenReturn(table, recreatedTable);
+
+    mapper.updateTableIfRequired(TABLE_ID, new TableRow().set("a", "1").set("b", "2"));
+    tableCache.reset(TABLE_ID);
+    mapper.updateTableIfRequired(TABLE_ID, new TableRow().set("a", "1").set("b", "2"));
+    mapper.updateTableIfRequired(TABLE_ID, new TableRow().set("a", "1").set("b", "2"));
+
+    verify(table, times(1)).getDefinition();
+    verify(recreatedTable, times(1)).getDefinition();
+  }
+
+  @Test
+  public void testVerifiedRowShapesAreBounded() {
+    int maxShapes = BigQueryMapper.MAX_VERIFIED_ROW_SHAPES;
+    String[] columns = new String[maxShapes + 1];
+    for (int i = 0; i <= maxShapes; i++) {
+      columns[i] = "column" + i;
+    }
+    Table table = mockTable(columns);
+    when(bigQuery.getTable(TABLE_ID)).thenReturn(table);
+
+    for (String column : columns) {
+      mapper.updateTableIfRequired(TABLE_ID, new TableRow().set(column, "1"));
+    }
+    verify(table, times(maxShapes + 1)).getDefinition();
+
+    // The shapes were cleared when the bound was reached, only the last one is kept.
+    mapper.updateTableIfRequired(TABLE_ID, new TableRow().set(columns[maxShapes], "1"));
+    verify(table, times(maxShapes + 1)).getDefinition();
+    mapper.updateTableIfRequired(TABLE_ID, new TableRow().set(columns[0], "1"));
+    verify(table, times(maxShapes + 2)).getDefinition();
+  }
+
+  private static Table mockTable(String... columns) {
+    List<Field> fields = new ArrayList<>();
+    for (String column : columns) {
+      fields.add(Field.of(column, StandardSQLTypeName.STRING));
+    }
+    Table table = mock(Table.class);
+    doReturn(StandardTableDefinition.of(Schema.of(fields))).when(table).getDefinition();
+    return table;
+  }
+}
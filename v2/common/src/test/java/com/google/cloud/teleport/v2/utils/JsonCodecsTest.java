@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.utils;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link JsonCodecs}. */
+@RunWith(JUnit4.class)
+public class JsonCodecsTest {
+
+  private static final String JSON = "{\"id\":\"a1\",\"price\":2.5,\"tags\":[\"x\",\"y\"]}";
+
+  @Test
+  public void readTreeParsesStringsAndBytes() throws Exception {
+    JsonNode fromString = JsonCodecs.readTree(JSON);
+    JsonNode fromBytes = JsonCodecs.readTree(JSON.getBytes(StandardCharsets.UTF_8));
+
+    assertThat(fromString.get("id").textValue()).isEqualTo("a1");
+    assertThat(fromString.get("tags").size()).isEqualTo(2);
+    assertThat(fromBytes).isEqualTo(fromString);
+  }
+
+  @Test
+  public void readValueParsesIntoTarget() throws Exception {
+    Map<?, ?> fromString = JsonCodecs.readValue(JSON, Map.class);
+    Map<?, ?> fromStream =
+        JsonCodecs.readValue(
+            new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8)), Map.class);
+
+    assertThat(fromString.get("price")).isEqualTo(2.5);
+    assertThat(fromStream).isEqualTo(fromString);
+  }
+
+  @Test
+  public void writeValueRoundTrips() throws Exception {
+    ObjectNode node = JsonCodecs.createObjectNode();
+    node.put("id", "a1");
+    node.put("price", 2.5);
+    node.putArray("tags").add("x").add("y");
+
+    assertThat(JsonCodecs.writeValueAsString(node)).isEqualTo(JSON);
+    assertThat(new String(JsonCodecs.writeValueAsBytes(node), StandardCharsets.UTF_8))
+        .isEqualTo(JSON);
+  }
+
+  @Test
+  public void writerCanBeDerivedWithoutChangingTheSharedWriter() throws Exception {
+    JsonNode node = JsonCodecs.readTree(JSON);
+
+    assertThat(JsonCodecs.writer().withDefaultPrettyPrinter().writeValueAsString(node))
+        .contains("\n");
+    assertThat(JsonCodecs.writeValueAsString(node)).isEqualTo(JSON);
+  }
+
+  @Test
+  public void gsonIsShared() {
+    assertThat(JsonCodecs.gson()).isSameInstanceAs(JsonCodecs.gson());
+    assertThat(JsonCodecs.gson().toJson(Map.of("id", "a1"))).isEqualTo("{\"id\":\"a1\"}");
+  }
+}
@@ -16,8 +16,8 @@
 package com.google.cloud.teleport.v2.datastream.transforms;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.cloud.teleport.v2.utils.JsonCodecs;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
 import java.io.IOException;
 import java.time.Instant;
@@ -51,7 +51,7 @@ public final class FormatDatastreamJsonToJson
     JsonNode record = null;
 
     try {
-      record = new ObjectMapper().readTree(c.element());
+      record = JsonCodecs.readTree(c.element());
 
       // check if payload is null/empty
       // re: b/183584054
@@ -67,8 +67,7 @@ public final class FormatDatastreamJsonToJson
       return;
     }
 
-    ObjectMapper mapper = new ObjectMapper();
-    ObjectNode outputObject = mapper.createObjectNode();
+    ObjectNode outputObject = JsonCodecs.createObjectNode();
 
     // General DataStream Metadata
     String sourceType = getSourceType(record);
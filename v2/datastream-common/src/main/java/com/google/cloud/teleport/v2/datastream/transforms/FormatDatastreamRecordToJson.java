@@ -16,8 +16,8 @@
 package com.google.cloud.teleport.v2.datastream.transforms;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.cloud.teleport.v2.utils.JsonCodecs;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
 import java.io.IOException;
 import java.math.BigDecimal;
@@ -123,8 +123,7 @@ public class FormatDatastreamRecordToJson
 
   @Override
   public FailsafeElement<String, String> apply(GenericRecord record) {
-    ObjectMapper mapper = new ObjectMapper();
-    ObjectNode outputObject = mapper.createObjectNode();
+    ObjectNode outputObject = JsonCodecs.createObjectNode();
     UnifiedTypesFormatter.payloadToJson(getPayload(record), outputObject);
     if (this.lowercaseSourceColumns) {
       outputObject = getLowerCaseObject(outputObject);
@@ -192,8 +191,7 @@ public class FormatDatastreamRecordToJson
   }
 
   private ObjectNode getLowerCaseObject(ObjectNode outputObject) {
-    ObjectMapper mapper = new ObjectMapper();
-    ObjectNode loweredOutputObject = mapper.createObjectNode();
+    ObjectNode loweredOutputObject = JsonCodecs.createObjectNode();
 
     for (Iterator<String> fieldNames = outputObject.fieldNames(); fieldNames.hasNext(); ) {
       String fieldName = fieldNames.next();
@@ -204,10 +202,9 @@ public class FormatDatastreamRecordToJson
   }
 
   private JsonNode getSourceMetadataJson(GenericRecord record) {
-    ObjectMapper mapper = new ObjectMapper();
     JsonNode dataInput;
     try {
-      dataInput = mapper.readTree(record.get("source_metadata").toString());
+      dataInput = JsonCodecs.readTree(record.get("source_metadata").toString());
     } catch (IOException e) {
       LOG.error("Issue parsing JSON record. Unable to continue.", e);
       throw new RuntimeException(e);
@@ -744,10 +741,9 @@ public class FormatDatastreamRecordToJson
           jsonObject.put(fieldName, convertedIntervalNano);
           break;
         default:
-          ObjectMapper mapper = new ObjectMapper();
           JsonNode dataInput;
           try {
-            dataInput = mapper.readTree(element.toString());
+            dataInput = JsonCodecs.readTree(element.toString());
             jsonObject.put(fieldName, dataInput);
           } catch (IOException e) {
             LOG.error("Issue parsing JSON record. Unable to continue.", e);
@@ -401,6 +401,17 @@ public class DataStreamMongoDBToFirestore {
     Integer getBatchSize();
 
     void setBatchSize(Integer value);
+
+    @TemplateParameter.Boolean(
+        order = 25,
+        optional = true,
+        description = "Write change events in batches",
+        helpText =
+            "When true, the change events of a bundle are written in batches of up to batchSize events per collection, each in a single transaction, instead of one transaction per event. Only the newest event of each document in a batch is applied. A batch that fails is written again one event at a time. Default: false")
+    @Default.Boolean(false)
+    Boolean getBatchChangeEventWrites();
+
+    void setBatchChangeEventWrites(Boolean value);
   }
 
   /**
@@ -596,7 +607,11 @@ public class DataStreamMongoDBToFirestore {
               .get(SplitBackfillAndCdcEventsFn.backfillTag)
               .apply(
                   "Process Backfill with Shadow Tables",
-                  ParDo.of(new ProcessChangeEventFn(connectionString, options.getDatabaseName()))
+                  ParDo.of(
+                          new ProcessChangeEventFn(
+                              connectionString,
+                              options.getDatabaseName(),
+                              changeEventBatchSize(options)))
                       .withOutputTags(
                           ProcessChangeEventFn.successfulWriteTag,
                           TupleTagList.of(ProcessChangeEventFn.failedWriteTag)
@@ -669,7 +684,11 @@ public class DataStreamMongoDBToFirestore {
             .get(SplitBackfillAndCdcEventsFn.cdcTag)
             .apply(
                 "Process CDC Events",
-                ParDo.of(new ProcessChangeEventFn(connectionString, options.getDatabaseName()))
+                ParDo.of(
+                        new ProcessChangeEventFn(
+                            connectionString,
+                            options.getDatabaseName(),
+                            changeEventBatchSize(options)))
                     .withOutputTags(
                         ProcessChangeEventFn.successfulWriteTag,
                         TupleTagList.of(ProcessChangeEventFn.failedWriteTag)
@@ -787,7 +806,11 @@ public class DataStreamMongoDBToFirestore {
             .setCoder(SerializableCoder.of(MongoDbChangeEventContext.class))
             .apply(
                 "Transactional write events",
-                ParDo.of(new ProcessChangeEventFn(connectionString, options.getDatabaseName()))
+                ParDo.of(
+                        new ProcessChangeEventFn(
+                            connectionString,
+                            options.getDatabaseName(),
+                            changeEventBatchSize(options)))
                     .withOutputTags(
                         ProcessChangeEventFn.successfulWriteTag,
                         TupleTagList.of(ProcessChangeEventFn.failedWriteTag)
@@ -825,6 +848,11 @@ public class DataStreamMongoDBToFirestore {
     return pipeline.run();
   }
 
+  /** Returns the batch size of the change event writes, 1 when events are written one by one. */
+  private static int changeEventBatchSize(Options options) {
+    return options.getBatchChangeEventWrites() ? options.getBatchSize() : 1;
+  }
+
   private static DeadLetterQueueManager buildDlqManager(Options options) {
     LOG.info("Building Dead Letter Queue manager");
     String tempLocation = null;
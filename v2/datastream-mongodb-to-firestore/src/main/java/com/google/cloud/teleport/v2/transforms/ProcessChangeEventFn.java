@@ -16,6 +16,7 @@
 package com.google.cloud.teleport.v2.transforms;
 
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
 
 import com.google.cloud.teleport.v2.templates.datastream.MongoDbChangeEventContext;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
@@ -29,15 +30,26 @@ import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import org.apache.beam.sdk.metrics.Counter;
 import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.windowing.GlobalWindow;
 import org.apache.beam.sdk.values.TupleTag;
 import org.bson.Document;
 import org.bson.UuidRepresentation;
 import org.bson.conversions.Bson;
+import org.joda.time.Instant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,6 +63,7 @@ public class ProcessChangeEventFn
   private MongoClient client = null;
   private final int maxRetries = 3; // Maximum number of retry attempts
   private final long retryDelayMs = 1000; // Initial delay in milliseconds
+  private final int batchSize;
 
   public static TupleTag<MongoDbChangeEventContext> successfulWriteTag =
       new TupleTag<>("successfulWrite");
@@ -81,16 +94,42 @@ public class ProcessChangeEventFn
       Metrics.counter(ProcessChangeEventFn.class, "outOfOrderSkips");
   private final Counter nullDataUpdateSkips =
       Metrics.counter(ProcessChangeEventFn.class, "nullDataUpdateSkips");
+  private final Counter batchFallbacks =
+      Metrics.counter(ProcessChangeEventFn.class, "batchFallbacks");
+
+  // Events of the bundle waiting to be written, by data collection. Only used with batching.
+  private final Map<String, List<MongoDbChangeEventContext>> bufferedEvents = new HashMap<>();
 
   public ProcessChangeEventFn(String connectionString, String databaseName) {
+    this(connectionString, databaseName, 1);
+  }
+
+  /**
+   * Creates a DoFn that writes the events of a bundle in batches of up to {@code batchSize} events
+   * per collection, each in a single transaction. A batch size of 1 writes each event in its own
+   * transaction.
+   */
+  public ProcessChangeEventFn(String connectionString, String databaseName, int batchSize) {
     this.connectionString = connectionString;
     this.targetDatabaseName = databaseName;
+    this.batchSize = batchSize;
   }
 
   @VisibleForTesting
   public ProcessChangeEventFn(MongoClient mongoClient, String databaseName) {
+    this(mongoClient, databaseName, 1);
+  }
+
+  @VisibleForTesting
+  public ProcessChangeEventFn(MongoClient mongoClient, String databaseName, int batchSize) {
     this.client = mongoClient;
     this.targetDatabaseName = databaseName;
+    this.batchSize = batchSize;
+  }
+
+  @StartBundle
+  public void startBundle() {
+    bufferedEvents.clear();
   }
 
   @ProcessElement
@@ -105,6 +144,178 @@ public class ProcessChangeEventFn
       dlqRetries.inc();
     }
 
+    EventOutput output =
+        new EventOutput() {
+          @Override
+          public void success(MongoDbChangeEventContext event) {
+            out.get(successfulWriteTag).output(event);
+          }
+
+          @Override
+          public void failure(
+              TupleTag<FailsafeElement<MongoDbChangeEventContext, MongoDbChangeEventContext>> tag,
+              FailsafeElement<MongoDbChangeEventContext, MongoDbChangeEventContext> failedElement) {
+            out.get(tag).output(failedElement);
+          }
+        };
+    if (batchSize <= 1) {
+      processInTransaction(element, output);
+      return;
+    }
+
+    List<MongoDbChangeEventContext> events =
+        bufferedEvents.computeIfAbsent(element.getDataCollection(), k -> new ArrayList<>());
+    events.add(element);
+    if (events.size() >= batchSize) {
+      writeBatch(events, output);
+      events.clear();
+    }
+  }
+
+  @FinishBundle
+  public void finishBundle(FinishBundleContext context) {
+    EventOutput output =
+        new EventOutput() {
+          @Override
+          public void success(MongoDbChangeEventContext event) {
+            context.output(successfulWriteTag, event, Instant.now(), GlobalWindow.INSTANCE);
+          }
+
+          @Override
+          public void failure(
+              TupleTag<FailsafeElement<MongoDbChangeEventContext, MongoDbChangeEventContext>> tag,
+              FailsafeElement<MongoDbChangeEventContext, MongoDbChangeEventContext> failedElement) {
+            context.output(tag, failedElement, Instant.now(), GlobalWindow.INSTANCE);
+          }
+        };
+    for (List<MongoDbChangeEventContext> events : bufferedEvents.values()) {
+      if (!events.isEmpty()) {
+        writeBatch(events, output);
+        events.clear();
+      }
+    }
+  }
+
+  /**
+   * Writes a batch of events of the same collection in a single transaction. Only the newest event
+   * of each document is applied, after checking it against the shadow documents read for the whole
+   * batch. Events that can't be written with the batch are retried one by one with {@link
+   * #processInTransaction}.
+   */
+  private void writeBatch(List<MongoDbChangeEventContext> events, EventOutput output) {
+    // Keep only the newest event of each document. Older events are superseded and skipped, as
+    // they would be if applied one by one.
+    Map<Object, MongoDbChangeEventContext> latestEvents = new LinkedHashMap<>();
+    List<MongoDbChangeEventContext> skippedEvents = new ArrayList<>();
+    for (MongoDbChangeEventContext event : events) {
+      MongoDbChangeEventContext latest = latestEvents.get(event.getDocumentId());
+      if (latest == null
+          || Utils.isNewerTimestamp(event.getTimestampDoc(), latest.getTimestampDoc())) {
+        if (latest != null) {
+          skippedEvents.add(latest);
+        }
+        latestEvents.put(event.getDocumentId(), event);
+      } else {
+        skippedEvents.add(event);
+      }
+    }
+
+    MongoDbChangeEventContext first = events.get(0);
+    List<MongoDbChangeEventContext> writtenEvents = new ArrayList<>();
+    List<MongoDbChangeEventContext> fallbackEvents = new ArrayList<>();
+    ClientSession session = null;
+    try {
+      MongoDatabase database = client.getDatabase(targetDatabaseName);
+      MongoCollection<Document> dataCollection = database.getCollection(first.getDataCollection());
+      MongoCollection<Document> shadowCollection =
+          database.getCollection(first.getShadowCollection());
+
+      session = client.startSession();
+      session.startTransaction();
+
+      Map<Object, Document> shadowDocs = new HashMap<>();
+      for (Document shadowDoc :
+          shadowCollection.find(session, in("_id", new ArrayList<>(latestEvents.keySet())))) {
+        shadowDocs.put(shadowDoc.get("_id"), shadowDoc);
+      }
+
+      List<WriteModel<Document>> dataWrites = new ArrayList<>();
+      List<WriteModel<Document>> shadowWrites = new ArrayList<>();
+      for (MongoDbChangeEventContext event : latestEvents.values()) {
+        if (!isEventNewerThanShadowDoc(event, shadowDocs.get(event.getDocumentId()))) {
+          skippedEvents.add(event);
+          continue;
+        }
+        Bson lookupById = eq("_id", event.getDocumentId());
+        if (event.isDeleteEvent()) {
+          dataWrites.add(new DeleteOneModel<>(lookupById));
+        } else {
+          Document docToWrite =
+              Utils.jsonToDocument(event.getDataAsJsonString(), event.getDocumentId());
+          if (docToWrite == null) {
+            // Null data is skipped or rejected per event.
+            fallbackEvents.add(event);
+            continue;
+          }
+          dataWrites.add(
+              new ReplaceOneModel<>(lookupById, docToWrite, new ReplaceOptions().upsert(true)));
+        }
+        shadowWrites.add(
+            new ReplaceOneModel<>(
+                lookupById, event.getShadowDocument(), new ReplaceOptions().upsert(true)));
+        writtenEvents.add(event);
+      }
+
+      if (!dataWrites.isEmpty()) {
+        dataCollection.bulkWrite(session, dataWrites, new BulkWriteOptions().ordered(false));
+        shadowCollection.bulkWrite(session, shadowWrites, new BulkWriteOptions().ordered(false));
+      }
+      session.commitTransaction();
+    } catch (Exception e) {
+      if (session != null && session.hasActiveTransaction()) {
+        try {
+          session.abortTransaction();
+        } catch (MongoException abortException) {
+          LOG.error(
+              "Error aborting batch transaction for collection {}: {}",
+              first.getDataCollection(),
+              abortException.getMessage(),
+              abortException);
+        }
+      }
+      LOG.warn(
+          "Batch write of {} events failed for collection {}, writing them one by one: {}",
+          events.size(),
+          first.getDataCollection(),
+          e.getMessage());
+      batchFallbacks.inc();
+      for (MongoDbChangeEventContext event : events) {
+        processInTransaction(event, output);
+      }
+      return;
+    } finally {
+      if (session != null) {
+        session.close();
+      }
+    }
+
+    for (MongoDbChangeEventContext event : writtenEvents) {
+      successfulWrites.inc();
+      Metrics.counter(ProcessChangeEventFn.class, "successfulWrites_" + event.getChangeType())
+          .inc();
+      output.success(event);
+    }
+    for (MongoDbChangeEventContext event : skippedEvents) {
+      outOfOrderSkips.inc();
+      output.success(event);
+    }
+    for (MongoDbChangeEventContext event : fallbackEvents) {
+      processInTransaction(event, output);
+    }
+  }
+
+  /** Writes an event in its own transaction, retrying transient errors with backoff. */
+  private void processInTransaction(MongoDbChangeEventContext element, EventOutput output) {
     int retryCount = 0;
     Exception lastException = null;
     while (retryCount <= maxRetries) {
@@ -181,7 +392,7 @@ public class ProcessChangeEventFn
           outOfOrderSkips.inc();
         }
         session.commitTransaction();
-        out.get(successfulWriteTag).output(element);
+        output.success(element);
         break; // Exit the retry loop on success
       } catch (Exception e) {
         lastException = e;
@@ -217,7 +428,7 @@ public class ProcessChangeEventFn
               FailsafeElement.of(element, element);
           failedElement.setErrorMessage(e.getMessage());
           failedElement.setStacktrace(Throwables.getStackTraceAsString(e));
-          out.get(severeFailedWriteTag).output(failedElement);
+          output.failure(severeFailedWriteTag, failedElement);
 
           String errorIdentifier = "UnknownError";
           if (e instanceof MongoWriteException writeException) {
@@ -264,7 +475,7 @@ public class ProcessChangeEventFn
                 FailsafeElement.of(element, element);
             failedElement.setErrorMessage(ie.getMessage());
             failedElement.setStacktrace(Throwables.getStackTraceAsString(ie));
-            out.get(failedWriteTag).output(failedElement);
+            output.failure(failedWriteTag, failedElement);
             retriableFailedWrites.inc();
             break; // Exit the retry loop if interrupted
           }
@@ -282,7 +493,7 @@ public class ProcessChangeEventFn
               FailsafeElement.of(element, element);
           failedElement.setErrorMessage(e.getMessage());
           failedElement.setStacktrace(Throwables.getStackTraceAsString(e));
-          out.get(failedWriteTag).output(failedElement);
+          output.failure(failedWriteTag, failedElement);
           retriableFailedWrites.inc();
           LOG.info(
               "Failed element of id {} sent to retry DLQ after {} attempts",
@@ -339,6 +550,15 @@ public class ProcessChangeEventFn
     }
   }
 
+  /** Outputs of the events, from either {@link #processElement} or {@link #finishBundle}. */
+  private interface EventOutput {
+    void success(MongoDbChangeEventContext event);
+
+    void failure(
+        TupleTag<FailsafeElement<MongoDbChangeEventContext, MongoDbChangeEventContext>> tag,
+        FailsafeElement<MongoDbChangeEventContext, MongoDbChangeEventContext> failedElement);
+  }
+
   private static boolean isEventNewerThanShadowDoc(
       MongoDbChangeEventContext event, Document shadowDoc) {
     return shadowDoc == null
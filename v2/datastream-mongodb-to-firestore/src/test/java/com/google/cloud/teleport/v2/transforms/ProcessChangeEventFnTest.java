@@ -37,26 +37,34 @@ import com.mongodb.client.ClientSession;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
+import java.util.List;
 import org.apache.beam.runners.core.metrics.MetricsContainerImpl;
 import org.apache.beam.sdk.metrics.MetricName;
 import org.apache.beam.sdk.metrics.MetricsEnvironment;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.DoFn.MultiOutputReceiver;
 import org.apache.beam.sdk.transforms.DoFn.OutputReceiver;
+import org.apache.beam.sdk.transforms.windowing.GlobalWindow;
 import org.bson.BsonDocument;
 import org.bson.BsonInt32;
 import org.bson.BsonString;
 import org.bson.Document;
 import org.bson.conversions.Bson;
+import org.joda.time.Instant;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 
 /** Unit tests for {@link ProcessChangeEventFn}. */
 @RunWith(JUnit4.class)
@@ -543,6 +551,108 @@ public class ProcessChangeEventFnTest {
     verify(mockSevereFailureReceiver, times(1)).output(any());
   }
 
+  @Test
+  public void testFinishBundle_batchAppliesNewestEventOnly() {
+    MongoDbChangeEventContext olderElement = mockOlderElement();
+    MongoCursor<Document> mockCursor = mock(MongoCursor.class);
+    when(mockCursor.hasNext()).thenReturn(false);
+    when(mockFindIterable.iterator()).thenReturn(mockCursor);
+    when(mockShadowCollection.find(ArgumentMatchers.eq(mockSession), any(Bson.class)))
+        .thenReturn(mockFindIterable);
+    DoFn.FinishBundleContext mockFinishBundleContext = mock(DoFn.FinishBundleContext.class);
+    processFn = new ProcessChangeEventFn(mockClient, DATABASE_NAME, 10);
+
+    processFn.startBundle();
+    when(mockContext.element()).thenReturn(olderElement);
+    processFn.processElement(mockContext, mockReceiver);
+    when(mockContext.element()).thenReturn(mockElement);
+    processFn.processElement(mockContext, mockReceiver);
+    processFn.finishBundle(mockFinishBundleContext);
+
+    ArgumentCaptor<List<WriteModel<Document>>> dataWritesCaptor =
+        ArgumentCaptor.forClass(List.class);
+    verify(mockDataCollection)
+        .bulkWrite(
+            ArgumentMatchers.eq(mockSession),
+            dataWritesCaptor.capture(),
+            any(BulkWriteOptions.class));
+    assertEquals(1, dataWritesCaptor.getValue().size());
+    assertEquals(
+        mockDataDoc.get("data"),
+        ((ReplaceOneModel<Document>) dataWritesCaptor.getValue().get(0)).getReplacement());
+    verify(mockShadowCollection)
+        .bulkWrite(ArgumentMatchers.eq(mockSession), any(List.class), any(BulkWriteOptions.class));
+    verify(mockSession).commitTransaction();
+    verify(mockFinishBundleContext)
+        .output(
+            ArgumentMatchers.eq(ProcessChangeEventFn.successfulWriteTag),
+            ArgumentMatchers.eq(mockElement),
+            any(Instant.class),
+            ArgumentMatchers.eq(GlobalWindow.INSTANCE));
+    verify(mockFinishBundleContext)
+        .output(
+            ArgumentMatchers.eq(ProcessChangeEventFn.successfulWriteTag),
+            ArgumentMatchers.eq(olderElement),
+            any(Instant.class),
+            ArgumentMatchers.eq(GlobalWindow.INSTANCE));
+    verify(mockReceiver, never()).get(any());
+
+    MetricsContainerImpl container =
+        (MetricsContainerImpl) MetricsEnvironment.getCurrentContainer();
+    assertEquals(
+        1L,
+        (long)
+            container
+                .getCounter(MetricName.named(ProcessChangeEventFn.class, "outOfOrderSkips"))
+                .getCumulative());
+  }
+
+  @Test
+  public void testFinishBundle_batchFailureFallsBackToTransactionPerEvent() {
+    FindIterable<Document> mockBatchFindIterable = mock(FindIterable.class);
+    MongoCursor<Document> mockCursor = mock(MongoCursor.class);
+    when(mockCursor.hasNext()).thenReturn(false);
+    when(mockBatchFindIterable.iterator()).thenReturn(mockCursor);
+    when(mockShadowCollection.find(ArgumentMatchers.eq(mockSession), any(Bson.class)))
+        .thenReturn(mockBatchFindIterable);
+    when(mockShadowCollection.find(mockSession, LOOKUP_BY_DOC_ID)).thenReturn(mockFindIterable);
+    when(mockFindIterable.first()).thenReturn(null);
+    when(mockDataCollection.bulkWrite(
+            ArgumentMatchers.eq(mockSession), any(List.class), any(BulkWriteOptions.class)))
+        .thenThrow(new MongoException("batch failed"));
+    when(mockSession.hasActiveTransaction()).thenReturn(true, false);
+    DoFn.FinishBundleContext mockFinishBundleContext = mock(DoFn.FinishBundleContext.class);
+    processFn = new ProcessChangeEventFn(mockClient, DATABASE_NAME, 10);
+
+    processFn.startBundle();
+    processFn.processElement(mockContext, mockReceiver);
+    processFn.finishBundle(mockFinishBundleContext);
+
+    verify(mockSession).abortTransaction();
+    verify(mockDataCollection)
+        .replaceOne(
+            ArgumentMatchers.eq(mockSession),
+            ArgumentMatchers.eq(LOOKUP_BY_DOC_ID),
+            any(Document.class),
+            any(ReplaceOptions.class));
+    verify(mockFinishBundleContext)
+        .output(
+            ArgumentMatchers.eq(ProcessChangeEventFn.successfulWriteTag),
+            ArgumentMatchers.eq(mockElement),
+            any(Instant.class),
+            ArgumentMatchers.eq(GlobalWindow.INSTANCE));
+  }
+
+  private MongoDbChangeEventContext mockOlderElement() {
+    MongoDbChangeEventContext olderElement = mock(MongoDbChangeEventContext.class);
+    when(olderElement.getDataCollection()).thenReturn(DATA_COLLECTION);
+    when(olderElement.getShadowCollection()).thenReturn(SHADOW_COLLECTION);
+    when(olderElement.getDocumentId()).thenReturn(DOC_ID);
+    when(olderElement.getTimestampDoc()).thenReturn(mockTimestampDocOlder);
+    when(olderElement.getDataAsJsonString()).thenReturn(mockDataDoc.toJson());
+    return olderElement;
+  }
+
   @Test
   public void testIsTransientTransactionError_code112WithoutLabel() {
     BsonDocument response = new BsonDocument("code", new BsonInt32(112));
@@ -23,6 +23,7 @@ import com.google.cloud.teleport.metadata.TemplateCategory;
 import com.google.cloud.teleport.metadata.TemplateParameter;
 import com.google.cloud.teleport.metadata.TemplateParameter.TemplateEnumOption;
 import com.google.cloud.teleport.v2.cdc.dlq.DeadLetterQueueManager;
+import com.google.cloud.teleport.v2.cdc.dlq.FileBasedDeadLetterQueueReconsumer;
 import com.google.cloud.teleport.v2.cdc.dlq.PubSubNotifiedDlqIO;
 import com.google.cloud.teleport.v2.cdc.dlq.StringDeadLetterQueueSanitizer;
 import com.google.cloud.teleport.v2.coders.FailsafeElementCoder;
@@ -49,6 +50,7 @@ import com.google.cloud.teleport.v2.spanner.migrations.utils.SessionFileReader;
 import com.google.cloud.teleport.v2.spanner.migrations.utils.TransformationContextReader;
 import com.google.cloud.teleport.v2.templates.DataStreamToSpanner.Options;
 import com.google.cloud.teleport.v2.templates.constants.DatastreamToSpannerConstants;
+import com.google.cloud.teleport.v2.templates.datastream.ChangeEventDeduplication;
 import com.google.cloud.teleport.v2.templates.source.DatastreamToSpannerSourceConnectorRegistry;
 import com.google.cloud.teleport.v2.templates.spanner.ProcessInformationSchema;
 import com.google.cloud.teleport.v2.templates.transform.ChangeEventTransformerDoFn;
@@ -586,6 +588,28 @@ public class DataStreamToSpanner {
     String getFailureInjectionParameter();
 
     void setFailureInjectionParameter(String value);
+
+    @TemplateParameter.Boolean(
+        order = 35,
+        optional = true,
+        description = "Deduplicate retried dead letter queue events",
+        helpText =
+            "If true, only the latest change event of each source row is retried from the dead letter queue files found by the same poll. Older events of the row are dropped, as the shadow tables would skip them once the latest event is applied. Not used with `dlqGcsPubSubSubscription`. Defaults to `false`.")
+    @Default.Boolean(false)
+    Boolean getDlqDeduplicateRetries();
+
+    void setDlqDeduplicateRetries(Boolean value);
+
+    @TemplateParameter.Integer(
+        order = 36,
+        optional = true,
+        description = "Maximum dead letter queue retries per second per worker",
+        helpText =
+            "The maximum number of dead letter queue events that each worker retries per second, so that draining a large dead letter queue does not slow down the live stream. Not used with `dlqGcsPubSubSubscription`. `0` means no limit. Defaults to `0`.")
+    @Default.Integer(0)
+    Integer getDlqMaxRetriesPerSecond();
+
+    void setDlqMaxRetriesPerSecond(Integer value);
   }
 
   static void validateSourceType(Options options) {
@@ -750,7 +774,7 @@ public class DataStreamToSpanner {
       if (isRegularMode) {
         reconsumedElements =
             dlqManager.getReconsumerDataTransform(
-                pipeline.apply(dlqManager.dlqReconsumer(options.getDlqRetryMinutes())));
+                pipeline.apply(buildDlqReconsumer(dlqManager, options)));
       } else { // retryDLQ or retryAllDLQ mode
         PCollection<String> oneShotRecords =
             pipeline.apply("Read severe from OneShot", dlqManager.dlqOneShotReconsumer(startTime));
@@ -760,9 +784,7 @@ public class DataStreamToSpanner {
         } else {
           // retryAllDLQ mode: Drain both the severe (one-shot) and retry (continuous) buckets
           PCollection<String> continuousRecords =
-              pipeline.apply(
-                  "Read retry from Continuous",
-                  dlqManager.dlqReconsumer(options.getDlqRetryMinutes()));
+              pipeline.apply("Read retry from Continuous", buildDlqReconsumer(dlqManager, options));
 
           PCollection<String> allRecords =
               PCollectionList.of(continuousRecords)
@@ -1047,6 +1069,18 @@ public class DataStreamToSpanner {
     return DeadLetterQueueManager.create(dlqDirectory, options.getDlqMaxRetryCount(), true);
   }
 
+  static FileBasedDeadLetterQueueReconsumer buildDlqReconsumer(
+      DeadLetterQueueManager dlqManager, Options options) {
+    FileBasedDeadLetterQueueReconsumer reconsumer =
+        dlqManager
+            .dlqReconsumer(options.getDlqRetryMinutes())
+            .withMaxRecordsPerSecond(options.getDlqMaxRetriesPerSecond());
+    if (options.getDlqDeduplicateRetries()) {
+      reconsumer = reconsumer.withDeduplication(new ChangeEventDeduplication());
+    }
+    return reconsumer;
+  }
+
   static ISchemaOverridesParser configureSchemaOverrides(Options options) {
     // incorrect configuration
     if (!options.getSchemaOverridesFilePath().isEmpty()
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates.datastream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.google.cloud.teleport.v2.cdc.dlq.DeadLetterQueueDeduplication;
+import com.google.cloud.teleport.v2.spanner.migrations.exceptions.ChangeEventConvertorException;
+import com.google.cloud.teleport.v2.templates.source.DatastreamToSpannerSourceConnectorRegistry;
+import javax.annotation.Nullable;
+
+/**
+ * Deduplicates the change events reconsumed from the retry DLQ. Events are keyed by the stream,
+ * schema, table and primary key values of their source row, and ordered by their source specific
+ * {@link ChangeEventSequence}, which is the order the shadow tables enforce.
+ *
+ * <p>Events without the metadata needed for the key or the sequence are never deduplicated.
+ */
+public class ChangeEventDeduplication implements DeadLetterQueueDeduplication {
+
+  @Override
+  @Nullable
+  public String getKey(JsonNode changeEvent) {
+    JsonNode sourceType = changeEvent.get(DatastreamConstants.EVENT_SOURCE_TYPE_KEY);
+    JsonNode tableName = changeEvent.get(DatastreamConstants.EVENT_TABLE_NAME_KEY);
+    JsonNode primaryKeys = changeEvent.get(DatastreamConstants.EVENT_PRIMARY_KEYS_KEY);
+    if (sourceType == null
+        || tableName == null
+        || primaryKeys == null
+        || !primaryKeys.isArray()
+        || primaryKeys.isEmpty()) {
+      return null;
+    }
+    try {
+      // Comparing the sequence parses all of its fields, such as the Postgres LSN.
+      ChangeEventSequence sequence = getSequence(changeEvent);
+      sequence.compareTo(sequence);
+    } catch (ChangeEventConvertorException | RuntimeException e) {
+      return null;
+    }
+    ArrayNode key = JsonNodeFactory.instance.arrayNode();
+    key.add(sourceType.asText());
+    key.add(changeEvent.path(DatastreamConstants.EVENT_STREAM_NAME).asText());
+    key.add(changeEvent.path(DatastreamConstants.EVENT_SCHEMA_KEY).asText());
+    key.add(tableName.asText());
+    for (JsonNode column : primaryKeys) {
+      JsonNode value = changeEvent.get(column.asText());
+      if (value == null) {
+        return null;
+      }
+      key.add(value);
+    }
+    return key.toString();
+  }
+
+  @Override
+  public int compare(JsonNode left, JsonNode right) {
+    try {
+      return getSequence(left).compareTo(getSequence(right));
+    } catch (ChangeEventConvertorException e) {
+      // getKey only keys events whose sequence can be created.
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static ChangeEventSequence getSequence(JsonNode changeEvent)
+      throws ChangeEventConvertorException {
+    return DatastreamToSpannerSourceConnectorRegistry.getSourceConnector(
+            changeEvent.get(DatastreamConstants.EVENT_SOURCE_TYPE_KEY).asText())
+        .createChangeEventSequenceFromChangeEvent(changeEvent);
+  }
+}
@@ -53,4 +53,7 @@ public class DatastreamConstants {
 
   /* The key for stream name in the event json */
   public static final String EVENT_STREAM_NAME = "_metadata_stream";
+
+  /* The key for the names of the primary key columns in the event json */
+  public static final String EVENT_PRIMARY_KEYS_KEY = "_metadata_primary_keys";
 }
@@ -54,6 +54,10 @@ public interface IDsToSpSourceConnector {
       ChangeEventContext changeEventContext)
       throws ChangeEventConvertorException, InvalidChangeEventException;
 
+  /** Creates a ChangeEventSequence from the metadata keys of a change event. */
+  ChangeEventSequence createChangeEventSequenceFromChangeEvent(JsonNode changeEvent)
+      throws ChangeEventConvertorException;
+
   /** Creates a ChangeEventSequence by reading from the shadow table. */
   ChangeEventSequence createChangeEventSequenceFromShadowTable(
       TransactionContext transactionContext,
@@ -15,6 +15,7 @@
  */
 package com.google.cloud.teleport.v2.templates.source.mysql;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.cloud.spanner.Key;
 import com.google.cloud.spanner.ResultSet;
 import com.google.cloud.spanner.Statement;
@@ -63,6 +64,14 @@ class MySqlChangeEventSequence extends ChangeEventSequence {
    */
   public static MySqlChangeEventSequence createFromChangeEvent(ChangeEventContext ctx)
       throws ChangeEventConvertorException, InvalidChangeEventException {
+    return createFromChangeEvent(ctx.getChangeEvent());
+  }
+
+  /*
+   * Creates MySqlChangeEventSequence from the JSON keys of a change event
+   */
+  public static MySqlChangeEventSequence createFromChangeEvent(JsonNode changeEvent)
+      throws ChangeEventConvertorException {
 
     /* Dump events from MySql only has timestamp metadata filled in. They don't have
      * logfile and logposition metadata.
@@ -74,16 +83,14 @@ class MySqlChangeEventSequence extends ChangeEventSequence {
 
     logFile =
         ChangeEventTypeConvertor.toString(
-            ctx.getChangeEvent(),
-            MySqlDsToSpSourceConnector.MYSQL_LOGFILE_KEY,
-            /* requiredField= */ false);
+            changeEvent, MySqlDsToSpSourceConnector.MYSQL_LOGFILE_KEY, /* requiredField= */ false);
     if (logFile == null) {
       logFile = "";
     }
 
     logPosition =
         ChangeEventTypeConvertor.toLong(
-            ctx.getChangeEvent(),
+            changeEvent,
             MySqlDsToSpSourceConnector.MYSQL_LOGPOSITION_KEY,
             /* requiredField= */ false);
     if (logPosition == null) {
@@ -93,9 +100,7 @@ class MySqlChangeEventSequence extends ChangeEventSequence {
     // Create MySqlChangeEventSequence from JSON keys in change event.
     return new MySqlChangeEventSequence(
         ChangeEventTypeConvertor.toLong(
-            ctx.getChangeEvent(),
-            MySqlDsToSpSourceConnector.MYSQL_TIMESTAMP_KEY,
-            /* requiredField= */ true),
+            changeEvent, MySqlDsToSpSourceConnector.MYSQL_TIMESTAMP_KEY, /* requiredField= */ true),
         logFile,
         logPosition);
   }
@@ -102,6 +102,12 @@ public class MySqlDsToSpSourceConnector implements IDsToSpSourceConnector {
     return MySqlChangeEventSequence.createFromChangeEvent(changeEventContext);
   }
 
+  @Override
+  public ChangeEventSequence createChangeEventSequenceFromChangeEvent(JsonNode changeEvent)
+      throws ChangeEventConvertorException {
+    return MySqlChangeEventSequence.createFromChangeEvent(changeEvent);
+  }
+
   @Override
   public ChangeEventSequence createChangeEventSequenceFromShadowTable(
       TransactionContext transactionContext,
@@ -15,6 +15,7 @@
  */
 package com.google.cloud.teleport.v2.templates.source.oracle;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.cloud.spanner.Key;
 import com.google.cloud.spanner.ResultSet;
 import com.google.cloud.spanner.Statement;
@@ -55,6 +56,14 @@ class OracleChangeEventSequence extends ChangeEventSequence {
    */
   public static OracleChangeEventSequence createFromChangeEvent(ChangeEventContext ctx)
       throws ChangeEventConvertorException, InvalidChangeEventException {
+    return createFromChangeEvent(ctx.getChangeEvent());
+  }
+
+  /*
+   * Creates OracleChangeEventSequence from the JSON keys of a change event
+   */
+  public static OracleChangeEventSequence createFromChangeEvent(JsonNode changeEvent)
+      throws ChangeEventConvertorException {
 
     /* Backfill events from Oracle "can" have only timestamp metadata filled in.
      * Set SCN to a smaller value than any real value
@@ -63,9 +72,7 @@ class OracleChangeEventSequence extends ChangeEventSequence {
 
     scn =
         ChangeEventTypeConvertor.toLong(
-            ctx.getChangeEvent(),
-            OracleDsToSpSourceConnector.ORACLE_SCN_KEY,
-            /* requiredField= */ false);
+            changeEvent, OracleDsToSpSourceConnector.ORACLE_SCN_KEY, /* requiredField= */ false);
     if (scn == null) {
       scn = new Long(-1);
     }
@@ -73,7 +80,7 @@ class OracleChangeEventSequence extends ChangeEventSequence {
     // Change events from Oracle have timestamp and SCN filled in always.
     return new OracleChangeEventSequence(
         ChangeEventTypeConvertor.toLong(
-            ctx.getChangeEvent(),
+            changeEvent,
             OracleDsToSpSourceConnector.ORACLE_TIMESTAMP_KEY,
             /* requiredField= */ true),
         scn);
@@ -92,6 +92,12 @@ public class OracleDsToSpSourceConnector implements IDsToSpSourceConnector {
     return OracleChangeEventSequence.createFromChangeEvent(changeEventContext);
   }
 
+  @Override
+  public ChangeEventSequence createChangeEventSequenceFromChangeEvent(JsonNode changeEvent)
+      throws ChangeEventConvertorException {
+    return OracleChangeEventSequence.createFromChangeEvent(changeEvent);
+  }
+
   @Override
   public ChangeEventSequence createChangeEventSequenceFromShadowTable(
       TransactionContext transactionContext,
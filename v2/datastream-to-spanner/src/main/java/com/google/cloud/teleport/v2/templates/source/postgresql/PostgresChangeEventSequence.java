@@ -15,6 +15,7 @@
  */
 package com.google.cloud.teleport.v2.templates.source.postgresql;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.cloud.spanner.Key;
 import com.google.cloud.spanner.ResultSet;
 import com.google.cloud.spanner.Statement;
@@ -55,6 +56,14 @@ class PostgresChangeEventSequence extends ChangeEventSequence {
    */
   public static PostgresChangeEventSequence createFromChangeEvent(ChangeEventContext ctx)
       throws ChangeEventConvertorException, InvalidChangeEventException {
+    return createFromChangeEvent(ctx.getChangeEvent());
+  }
+
+  /*
+   * Creates PostgresChangeEventSequence from the JSON keys of a change event
+   */
+  public static PostgresChangeEventSequence createFromChangeEvent(JsonNode changeEvent)
+      throws ChangeEventConvertorException {
 
     /* Backfill events from Postgres "can" have only timestamp metadata filled in.
      * Set LSN to a smaller value than any real value
@@ -63,7 +72,7 @@ class PostgresChangeEventSequence extends ChangeEventSequence {
 
     lsn =
         ChangeEventTypeConvertor.toString(
-            ctx.getChangeEvent(),
+            changeEvent,
             PostgresqlDsToSpSourceConnector.POSTGRES_LSN_KEY,
             /* requiredField= */ false);
     if (lsn == null) {
@@ -73,7 +82,7 @@ class PostgresChangeEventSequence extends ChangeEventSequence {
     // Change events from Postgres have timestamp and lsn filled in always.
     return new PostgresChangeEventSequence(
         ChangeEventTypeConvertor.toLong(
-            ctx.getChangeEvent(),
+            changeEvent,
             PostgresqlDsToSpSourceConnector.POSTGRES_TIMESTAMP_KEY,
             /* requiredField= */ true),
         lsn);
@@ -92,6 +92,12 @@ public class PostgresqlDsToSpSourceConnector implements IDsToSpSourceConnector {
     return PostgresChangeEventSequence.createFromChangeEvent(changeEventContext);
   }
 
+  @Override
+  public ChangeEventSequence createChangeEventSequenceFromChangeEvent(JsonNode changeEvent)
+      throws ChangeEventConvertorException {
+    return PostgresChangeEventSequence.createFromChangeEvent(changeEvent);
+  }
+
   @Override
   public ChangeEventSequence createChangeEventSequenceFromShadowTable(
       TransactionContext transactionContext,
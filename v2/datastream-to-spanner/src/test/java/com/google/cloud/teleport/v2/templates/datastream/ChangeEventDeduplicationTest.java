@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates.datastream;
+
+import static com.google.cloud.teleport.v2.templates.datastream.ChangeEventConvertorTest.parseChangeEvent;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Test;
+
+/** Unit tests for {@link ChangeEventDeduplication}. */
+public final class ChangeEventDeduplicationTest {
+
+  private final ChangeEventDeduplication deduplication = new ChangeEventDeduplication();
+
+  private static JsonNode mySqlEvent(long id, String logFile, long logPosition) {
+    return parseChangeEvent(
+        "{\"_metadata_source_type\":\"mysql\",\"_metadata_stream\":\"stream1\","
+            + "\"_metadata_schema\":\"db1\",\"_metadata_table\":\"Users\","
+            + "\"_metadata_primary_keys\":[\"id\"],\"_metadata_timestamp\":1615159728,"
+            + "\"_metadata_log_file\":\""
+            + logFile
+            + "\",\"_metadata_log_position\":"
+            + logPosition
+            + ",\"id\":"
+            + id
+            + ",\"name\":\"name"
+            + logPosition
+            + "\"}");
+  }
+
+  @Test
+  public void testEventsOfTheSameRowHaveTheSameKey() {
+    String key = deduplication.getKey(mySqlEvent(1, "file1.log", 2));
+
+    assertNotNull(key);
+    assertEquals(key, deduplication.getKey(mySqlEvent(1, "file2.log", 1)));
+    assertNotEquals(key, deduplication.getKey(mySqlEvent(2, "file1.log", 2)));
+  }
+
+  @Test
+  public void testEventsWithoutPrimaryKeysAreNotKeyed() {
+    JsonNode event =
+        parseChangeEvent(
+            "{\"_metadata_source_type\":\"mysql\",\"_metadata_table\":\"Users\","
+                + "\"_metadata_timestamp\":1615159728,\"id\":1}");
+
+    assertNull(deduplication.getKey(event));
+  }
+
+  @Test
+  public void testEventsWithoutSequenceAreNotKeyed() {
+    JsonNode event =
+        parseChangeEvent(
+            "{\"_metadata_source_type\":\"mysql\",\"_metadata_table\":\"Users\","
+                + "\"_metadata_primary_keys\":[\"id\"],\"id\":1}");
+
+    assertNull(deduplication.getKey(event));
+  }
+
+  @Test
+  public void testCompareOrdersBySourceSequence() {
+    JsonNode oldEvent = mySqlEvent(1, "file1.log", 2);
+    JsonNode newEvent = mySqlEvent(1, "file1.log", 3);
+    JsonNode newerEvent = mySqlEvent(1, "file2.log", 1);
+
+    assertTrue(deduplication.compare(oldEvent, newEvent) < 0);
+    assertTrue(deduplication.compare(newerEvent, newEvent) > 0);
+  }
+}
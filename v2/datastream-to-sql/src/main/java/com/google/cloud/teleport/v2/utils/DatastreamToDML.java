@@ -16,7 +16,6 @@
 package com.google.cloud.teleport.v2.utils;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.cloud.teleport.v2.datastream.io.CdcJdbcIO;
 import com.google.cloud.teleport.v2.datastream.values.DatastreamRow;
 import com.google.cloud.teleport.v2.datastream.values.DmlInfo;
@@ -168,11 +167,10 @@ public abstract class DatastreamToDML
   public void processElement(ProcessContext context) {
     FailsafeElement<String, String> element = context.element();
     String jsonString = element.getPayload();
-    ObjectMapper mapper = new ObjectMapper();
     JsonNode rowObj;
 
     try {
-      rowObj = mapper.readTree(jsonString);
+      rowObj = JsonCodecs.readTree(jsonString);
       DmlInfo dmlInfo = convertJsonToDmlInfo(rowObj, element.getOriginalPayload());
 
       // Null rows suggest no DML is required.
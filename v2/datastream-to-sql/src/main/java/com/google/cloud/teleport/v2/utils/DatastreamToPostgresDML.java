@@ -17,7 +17,6 @@ package com.google.cloud.teleport.v2.utils;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.cloud.teleport.v2.datastream.io.CdcJdbcIO.DataSourceConfiguration;
 import com.google.cloud.teleport.v2.datastream.values.DatastreamRow;
 import java.util.ArrayList;
@@ -157,10 +156,9 @@ public class DatastreamToPostgresDML extends DatastreamToDML {
       return getNullValueSql();
     }
 
-    ObjectMapper mapper = new ObjectMapper();
     try {
       String unquotedJsonValue = unquote(jsonValue);
-      JsonNode rootNode = mapper.readTree(unquotedJsonValue);
+      JsonNode rootNode = JsonCodecs.readTree(unquotedJsonValue);
 
       // 2. An hstore must be created from a JSON object.
       if (!rootNode.isObject()) {
@@ -220,8 +218,7 @@ public class DatastreamToPostgresDML extends DatastreamToDML {
 
     try {
       String unquotedJsonValue = unquote(jsonValue);
-      ObjectMapper mapper = new ObjectMapper();
-      JsonNode rootNode = mapper.readTree(unquotedJsonValue);
+      JsonNode rootNode = JsonCodecs.readTree(unquotedJsonValue);
 
       if (!rootNode.isObject()
           || !rootNode.has("months")
@@ -253,8 +250,7 @@ public class DatastreamToPostgresDML extends DatastreamToDML {
 
     try {
       String unquotedJsonValue = unquote(jsonValue);
-      ObjectMapper mapper = new ObjectMapper();
-      JsonNode rootNode = mapper.readTree(unquotedJsonValue);
+      JsonNode rootNode = JsonCodecs.readTree(unquotedJsonValue);
       if (!(rootNode.isObject() && rootNode.has("nestedArray"))) {
         LOG.warn("Null array for column {}, value {}", columnName, jsonValue);
         return getNullValueSql();
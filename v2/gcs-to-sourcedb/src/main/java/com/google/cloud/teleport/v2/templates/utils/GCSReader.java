@@ -19,8 +19,7 @@ import com.google.cloud.Timestamp;
 import com.google.cloud.teleport.v2.templates.common.ProcessingContext;
 import com.google.cloud.teleport.v2.templates.common.TrimmedShardedDataChangeRecord;
 import com.google.cloud.teleport.v2.templates.dao.SpannerDao;
-import com.google.gson.FieldNamingPolicy;
-import com.google.gson.GsonBuilder;
+import com.google.cloud.teleport.v2.utils.JsonCodecs;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
@@ -92,10 +91,7 @@ public class GCSReader {
       while (reader.ready()) {
         String line = reader.readLine();
         TrimmedShardedDataChangeRecord chrec =
-            new GsonBuilder()
-                .setFieldNamingPolicy(FieldNamingPolicy.IDENTITY)
-                .create()
-                .fromJson(line, TrimmedShardedDataChangeRecord.class);
+            JsonCodecs.gson().fromJson(line, TrimmedShardedDataChangeRecord.class);
 
         changeStreamList.add(chrec);
       }
@@ -229,10 +225,7 @@ public class GCSReader {
         while (reader.ready()) {
           String line = reader.readLine();
           TrimmedShardedDataChangeRecord chrec =
-              new GsonBuilder()
-                  .setFieldNamingPolicy(FieldNamingPolicy.IDENTITY)
-                  .create()
-                  .fromJson(line, TrimmedShardedDataChangeRecord.class);
+              JsonCodecs.gson().fromJson(line, TrimmedShardedDataChangeRecord.class);
 
           changeStreamList.add(chrec);
         }
@@ -40,12 +40,16 @@ import com.google.privacy.dlp.v2.FieldId;
 import com.google.privacy.dlp.v2.ProjectName;
 import com.google.privacy.dlp.v2.Table;
 import com.google.privacy.dlp.v2.Value;
-import java.io.BufferedReader;
+import com.google.protobuf.CodedOutputStream;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.nio.channels.Channels;
-import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -82,6 +86,7 @@ import org.apache.beam.sdk.transforms.Watch;
 import org.apache.beam.sdk.transforms.WithKeys;
 import org.apache.beam.sdk.transforms.splittabledofn.OffsetRangeTracker;
 import org.apache.beam.sdk.transforms.splittabledofn.RestrictionTracker;
+import org.apache.beam.sdk.transforms.splittabledofn.SplitResult;
 import org.apache.beam.sdk.transforms.windowing.AfterProcessingTime;
 import org.apache.beam.sdk.transforms.windowing.FixedWindows;
 import org.apache.beam.sdk.transforms.windowing.Repeatedly;
@@ -92,6 +97,7 @@ import org.apache.beam.sdk.values.PCollectionView;
 import org.apache.beam.sdk.values.TypeDescriptor;
 import org.apache.beam.sdk.values.ValueInSingleWindow;
 import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.joda.time.Duration;
 import org.slf4j.Logger;
@@ -380,150 +386,144 @@ public class DLPTextToBigQueryStreaming {
 
   /**
    * The {@link CSVReader} class uses experimental Split DoFn to split each csv file contents in
-   * chunks and process it in non-monolithic fashion. For example: if a CSV file has 100 rows and
-   * batch size is set to 15, then initial restrictions for the SDF will be 1 to 7 and split
-   * restriction will be {{1-2},{2-3}..{7-8}} for parallel executions.
+   * chunks and process it in non-monolithic fashion. The batch boundaries of a file are found once,
+   * by scanning it, and each batch becomes a restriction holding its byte range. For example: if a
+   * CSV file has 100 rows and batch size is set to 15, then the restrictions for the SDF will be
+   * the byte ranges of rows {1-15},{16-30}..{91-100}, each read in one pass for parallel
+   * executions. Batches are also capped by the serialized size of their DLP table, so that a DLP
+   * request stays within its size limit.
    */
   static class CSVReader extends DoFn<KV<String, ReadableFile>, KV<String, Table>> {
 
+    /** Maximum size of a DLP deidentifyContent request. */
+    static final int MAX_REQUEST_BYTES = 512 * 1024;
+
+    /**
+     * Bytes of a request that are not part of its table: the parent, the template names and the
+     * content item that wraps the table.
+     */
+    static final int REQUEST_OVERHEAD_BYTES = 4 * 1024;
+
+    /** Maximum serialized size of the DLP table of a batch, headers included. */
+    static final int MAX_BATCH_BYTES = MAX_REQUEST_BYTES - REQUEST_OVERHEAD_BYTES;
+
     private final Integer batchSize;
+    private final int maxBatchBytes;
     private PCollectionView<List<KV<String, List<String>>>> headerMap;
 
-    /** This counter is used to track number of lines processed against batch size. */
-    private Integer lineCount;
-
     public CSVReader(Integer batchSize) {
-      lineCount = 1;
+      this(batchSize, MAX_BATCH_BYTES);
+    }
+
+    CSVReader(Integer batchSize, int maxBatchBytes) {
       this.batchSize = batchSize;
+      this.maxBatchBytes = maxBatchBytes;
     }
 
     @ProcessElement
     public void processElement(ProcessContext c, RestrictionTracker<OffsetRange, Long> tracker)
         throws IOException {
-      for (long i = tracker.currentRestriction().getFrom(); tracker.tryClaim(i); ++i) {
-        String fileKey = c.element().getKey();
-        try (BufferedReader br = getReader(c.element().getValue())) {
-          List<Table.Row> rows = new ArrayList<>();
-          Table dlpTable = null;
-          /** finding out EOL for this restriction so that we know the SOL */
-          int endOfLine = (int) (i * batchSize.intValue());
-          int startOfLine = (endOfLine - batchSize.intValue());
-
-          // getting the DLP table headers
-          Iterator<CSVRecord> csvRows = CSVFormat.DEFAULT.parse(br).iterator();
-          if (!csvRows.hasNext()) {
-            LOG.info("File `" + c.element().getKey() + "` is empty");
-            continue;
-          }
-          List<FieldId> dlpTableHeaders = toDlpTableHeaders(csvRows.next());
+      String fileKey = c.element().getKey();
+      OffsetRange range = tracker.currentRestriction();
+      try (SeekableByteChannel channel = c.element().getValue().openSeekable()) {
+        // getting the DLP table headers
+        List<FieldId> dlpTableHeaders = newBatchReader(channel, 0L).readHeaders();
+        if (dlpTableHeaders == null) {
+          LOG.info("File `" + fileKey + "` is empty");
+          tracker.tryClaim(range.getTo());
+          return;
+        }
 
-          /** skipping all the rows that's not part of this restriction */
-          for (int line = 0; line < startOfLine; line++) {
-            if (csvRows.hasNext()) {
-              csvRows.next();
-            }
+        /** streaming the batches of this restriction from its first byte */
+        channel.position(range.getFrom());
+        CsvBatchReader batchReader = newBatchReader(channel, range.getFrom());
+        List<Table.Row> rows = new ArrayList<>();
+        while (tracker.tryClaim(batchReader.position())) {
+          long startOfBatch = batchReader.position();
+          if (!batchReader.readBatch(dlpTableHeaders, rows)) {
+            LOG.warn("File `{}` ended before offset {}", fileKey, range.getTo());
+            tracker.tryClaim(range.getTo());
+            return;
           }
-          /** looping through buffered reader and creating DLP Table Rows equals to batch */
-          while (csvRows.hasNext() && lineCount <= batchSize) {
-
-            CSVRecord csvRow = csvRows.next();
-            rows.add(convertCsvRowToTableRow(csvRow));
-            lineCount += 1;
+          if (rows.isEmpty()) {
+            continue;
           }
           /** creating DLP table and output for next transformation */
-          dlpTable = Table.newBuilder().addAllHeaders(dlpTableHeaders).addAllRows(rows).build();
+          Table dlpTable =
+              Table.newBuilder().addAllHeaders(dlpTableHeaders).addAllRows(rows).build();
           c.output(KV.of(fileKey, dlpTable));
 
           LOG.debug(
               "Current Restriction From: {}, Current Restriction To: {},"
-                  + " StartofLine: {}, End Of Line {}, BatchData {}",
-              tracker.currentRestriction().getFrom(),
-              tracker.currentRestriction().getTo(),
-              startOfLine,
-              endOfLine,
+                  + " Start Of Batch: {}, End Of Batch {}, BatchData {}",
+              range.getFrom(),
+              range.getTo(),
+              startOfBatch,
+              batchReader.position(),
               dlpTable.getRowsCount());
         }
       }
     }
 
-    private static List<FieldId> toDlpTableHeaders(CSVRecord headerRow) {
-      List<FieldId> result = new ArrayList<>();
-      for (String header : headerRow) {
-        result.add(FieldId.newBuilder().setName(header).build());
-      }
-      return result;
-    }
-
     /**
      * SDF needs to define a @GetInitialRestriction method that can create a restriction describing
-     * the complete work for a given element. For our case this would be the total number of rows
-     * for each CSV file. We will calculate the number of split required based on total number of
-     * rows and batch size provided.
+     * the complete work for a given element. For our case this would be all the bytes of each CSV
+     * file.
      */
     @GetInitialRestriction
-    public OffsetRange getInitialRestriction(@Element KV<String, ReadableFile> csvFile)
-        throws IOException {
-
-      int rowCount = 0;
-      int totalSplit = 0;
-      try (BufferedReader br = getReader(csvFile.getValue())) {
-        /** assume first row is header */
-        int checkRowCount = (int) br.lines().count() - 1;
-        rowCount = (checkRowCount < 1) ? 1 : checkRowCount;
-        totalSplit = rowCount / batchSize.intValue();
-        int remaining = rowCount % batchSize.intValue();
-        /**
-         * Adjusting the total number of split based on remaining rows. For example: batch size of
-         * 15 for 100 rows will have total 7 splits. As it's a range last split will have offset
-         * range {7,8}
-         */
-        if (remaining > 0) {
-          totalSplit = totalSplit + 2;
-
-        } else {
-          totalSplit = totalSplit + 1;
-        }
-      }
-
-      LOG.debug("Initial Restriction range from 1 to: {}", totalSplit);
-      return new OffsetRange(1, totalSplit);
+    public OffsetRange getInitialRestriction(@Element KV<String, ReadableFile> csvFile) {
+      return new OffsetRange(0, csvFile.getValue().getMetadata().sizeBytes());
     }
 
     /**
      * SDF needs to define a @SplitRestriction method that can split the intital restriction to a
-     * number of smaller restrictions. For example: a intital rewstriction of (x, N) as input and
-     * produces pairs (x, 0), (x, 1), …, (x, N-1) as output.
+     * number of smaller restrictions. The file is scanned once and split into the byte ranges of
+     * its batches, starting after the header row.
      */
     @SplitRestriction
     public void splitRestriction(
         @Element KV<String, ReadableFile> csvFile,
         @Restriction OffsetRange range,
-        OutputReceiver<OffsetRange> out) {
-      /** split the initial restriction by 1 */
-      for (final OffsetRange p : range.split(1, 1)) {
-        out.output(p);
+        OutputReceiver<OffsetRange> out)
+        throws IOException {
+      try (SeekableByteChannel channel = csvFile.getValue().openSeekable()) {
+        CsvBatchReader batchReader = newBatchReader(channel, 0L);
+        List<FieldId> dlpTableHeaders = batchReader.readHeaders();
+        if (dlpTableHeaders == null) {
+          return;
+        }
+        int batchCount = 0;
+        List<Table.Row> rows = new ArrayList<>();
+        long startOfBatch = batchReader.position();
+        while (batchReader.readBatch(dlpTableHeaders, rows)) {
+          out.output(new OffsetRange(startOfBatch, batchReader.position()));
+          startOfBatch = batchReader.position();
+          batchCount++;
+        }
+        LOG.debug("Split file `{}` into {} batches", csvFile.getKey(), batchCount);
       }
     }
 
+    /**
+     * Restrictions are single batches and are not split any further, as a split could start in the
+     * middle of a CSV record.
+     */
     @NewTracker
     public OffsetRangeTracker newTracker(@Restriction OffsetRange range) {
-      return new OffsetRangeTracker(new OffsetRange(range.getFrom(), range.getTo()));
-    }
-
-    private Table.Row convertCsvRowToTableRow(CSVRecord csvRow) {
-      /** convert from CSV row to DLP Table Row */
-      Iterator<String> valueIterator = csvRow.iterator();
-      Table.Row.Builder tableRowBuilder = Table.Row.newBuilder();
-      while (valueIterator.hasNext()) {
-        String value = valueIterator.next();
-        if (value != null) {
-          tableRowBuilder.addValues(Value.newBuilder().setStringValue(value.toString()).build());
-        } else {
-          tableRowBuilder.addValues(Value.newBuilder().setStringValue("").build());
+      return new OffsetRangeTracker(new OffsetRange(range.getFrom(), range.getTo())) {
+        @Override
+        public SplitResult<OffsetRange> trySplit(double fractionOfRemainder) {
+          return null;
         }
-      }
+      };
+    }
 
-      return tableRowBuilder.build();
+    private CsvBatchReader newBatchReader(SeekableByteChannel channel, long position) {
+      return new CsvBatchReader(
+          new BufferedInputStream(Channels.newInputStream(channel)),
+          position,
+          batchSize,
+          maxBatchBytes);
     }
 
     private List<String> getHeaders(List<KV<String, List<String>>> headerMap, String fileKey) {
@@ -535,6 +535,167 @@ public class DLPTextToBigQueryStreaming {
     }
   }
 
+  /**
+   * The {@link CsvBatchReader} class reads the records of a CSV file in batches of DLP table rows,
+   * which are capped both by number of rows and by the serialized size of the DLP table they are
+   * sent in. Batch boundaries only depend on the contents of the file, so a batch found once can be
+   * read again from its byte offset.
+   */
+  static class CsvBatchReader {
+
+    private final InputStream inputStream;
+    private final int maxRows;
+    private final int maxBytes;
+
+    /** Record that was read but did not fit in the previous batch. */
+    private final ByteArrayOutputStream pendingRecord = new ByteArrayOutputStream();
+
+    /** DLP table rows of the pending record, an empty line has none. */
+    private final List<Table.Row> pendingRows = new ArrayList<>();
+
+    private long position;
+
+    CsvBatchReader(InputStream inputStream, long position, int maxRows, int maxBytes) {
+      this.inputStream =
+          inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+      this.position = position;
+      this.maxRows = maxRows;
+      this.maxBytes = maxBytes;
+    }
+
+    /** Returns the byte offset of the next batch. */
+    long position() {
+      return position - pendingRecord.size();
+    }
+
+    /**
+     * Reads the header row, which is the first record that is not an empty line.
+     *
+     * @return the DLP table headers, or null if the file has no records.
+     */
+    List<FieldId> readHeaders() throws IOException {
+      ByteArrayOutputStream record = new ByteArrayOutputStream();
+      while (readRecord(record)) {
+        Iterator<CSVRecord> csvRows = parse(record).iterator();
+        if (csvRows.hasNext()) {
+          List<FieldId> headers = new ArrayList<>();
+          for (String header : csvRows.next()) {
+            headers.add(FieldId.newBuilder().setName(header).build());
+          }
+          return headers;
+        }
+        record.reset();
+      }
+      return null;
+    }
+
+    /**
+     * Reads the next batch of records as DLP table rows. A batch holds at least one record, and
+     * more records as long as it stays within the maximum number of rows and the table of the
+     * headers and rows stays within the maximum number of bytes.
+     *
+     * @param headers headers of the DLP table that the rows are sent in.
+     * @param batch list that receives the rows of the records.
+     * @return false if there are no more records.
+     */
+    boolean readBatch(List<FieldId> headers, List<Table.Row> batch) throws IOException {
+      batch.clear();
+      long tableBytes = 0;
+      for (FieldId header : headers) {
+        tableBytes += CodedOutputStream.computeMessageSize(Table.HEADERS_FIELD_NUMBER, header);
+      }
+      int records = 0;
+      while (records < maxRows) {
+        if (pendingRecord.size() == 0) {
+          if (!readRecord(pendingRecord)) {
+            break;
+          }
+          for (CSVRecord csvRow : parse(pendingRecord)) {
+            pendingRows.add(toTableRow(csvRow));
+          }
+        }
+        long recordBytes = 0;
+        for (Table.Row row : pendingRows) {
+          recordBytes += CodedOutputStream.computeMessageSize(Table.ROWS_FIELD_NUMBER, row);
+        }
+        if (records > 0 && tableBytes + recordBytes > maxBytes) {
+          break;
+        }
+        tableBytes += recordBytes;
+        batch.addAll(pendingRows);
+        pendingRows.clear();
+        pendingRecord.reset();
+        records++;
+      }
+      return records > 0;
+    }
+
+    /**
+     * Reads the next record with its line break. Line breaks in quoted values are part of the
+     * record, as in {@link CSVFormat#DEFAULT}.
+     *
+     * @param record buffer that the bytes of the record are appended to.
+     * @return false if there are no more records.
+     */
+    boolean readRecord(ByteArrayOutputStream record) throws IOException {
+      boolean fieldStart = true;
+      boolean quoted = false;
+      boolean afterQuote = false;
+      int length = 0;
+      int b;
+      while ((b = inputStream.read()) != -1) {
+        record.write(b);
+        length++;
+        if (quoted) {
+          if (b == '"') {
+            // Either the end of the quoted value, or the first quote of an escaped quote.
+            quoted = false;
+            afterQuote = true;
+          }
+          continue;
+        }
+        if (b == '"' && (fieldStart || afterQuote)) {
+          quoted = true;
+          afterQuote = false;
+          fieldStart = false;
+          continue;
+        }
+        afterQuote = false;
+        if (b == '\n') {
+          break;
+        } else if (b == '\r') {
+          inputStream.mark(1);
+          if (inputStream.read() == '\n') {
+            record.write('\n');
+            length++;
+          } else {
+            inputStream.reset();
+          }
+          break;
+        }
+        fieldStart = b == ',';
+      }
+      position += length;
+      return length > 0;
+    }
+
+    private static CSVParser parse(ByteArrayOutputStream csv) throws IOException {
+      return CSVFormat.DEFAULT.parse(
+          new InputStreamReader(
+              new ByteArrayInputStream(csv.toByteArray()), StandardCharsets.UTF_8));
+    }
+
+    private static Table.Row toTableRow(CSVRecord csvRow) {
+      /** convert from CSV row to DLP Table Row */
+      Table.Row.Builder tableRowBuilder = Table.Row.newBuilder();
+      for (String value : csvRow) {
+        tableRowBuilder.addValues(
+            Value.newBuilder().setStringValue(value != null ? value : "").build());
+      }
+      return tableRowBuilder.build();
+    }
+  }
+
   /**
    * The {@link DLPTokenizationDoFn} class executes tokenization request by calling DLP api. It uses
    * DLP table as a content item as CSV file contains fully structured data. DLP templates (e.g.
@@ -730,26 +891,6 @@ public class DLPTextToBigQueryStreaming {
     return fileKey[0];
   }
 
-  private static BufferedReader getReader(ReadableFile csvFile) {
-    BufferedReader br = null;
-    ReadableByteChannel channel = null;
-    /** read the file and create buffered reader */
-    try {
-      channel = csvFile.openSeekable();
-
-    } catch (IOException e) {
-      LOG.error("Failed to Read File {}", e.getMessage());
-      throw new RuntimeException(e);
-    }
-
-    if (channel != null) {
-
-      br = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8.name()));
-    }
-
-    return br;
-  }
-
   private static String checkHeaderName(String name) {
     /** some checks to make sure BQ column names don't fail e.g. special characters */
     String checkedHeader = name.replaceAll("\\s", "_");
@@ -23,6 +23,7 @@ import com.google.cloud.teleport.metadata.TemplateCategory;
 import com.google.cloud.teleport.metadata.TemplateParameter;
 import com.google.cloud.teleport.v2.coders.FailsafeElementCoder;
 import com.google.cloud.teleport.v2.common.UncaughtExceptionLogger;
+import com.google.cloud.teleport.v2.io.MatchNewFiles;
 import com.google.cloud.teleport.v2.options.BigQueryStorageApiStreamingOptions;
 import com.google.cloud.teleport.v2.templates.TextToBigQueryStreaming.TextToBigQueryStreamingOptions;
 import com.google.cloud.teleport.v2.transforms.BigQueryConverters.FailsafeJsonToTableRow;
@@ -42,6 +43,7 @@ import org.apache.beam.sdk.PipelineResult;
 import org.apache.beam.sdk.coders.CoderRegistry;
 import org.apache.beam.sdk.coders.StringUtf8Coder;
 import org.apache.beam.sdk.extensions.gcp.util.Transport;
+import org.apache.beam.sdk.io.FileIO;
 import org.apache.beam.sdk.io.TextIO;
 import org.apache.beam.sdk.io.gcp.bigquery.BigQueryIO;
 import org.apache.beam.sdk.io.gcp.bigquery.BigQueryIO.Write.CreateDisposition;
@@ -331,11 +333,11 @@ public class TextToBigQueryStreaming {
      *  6) Insert records that failed into deadletter table.
      */
 
+    boolean useBoundedFileDiscovery = options.getUseBoundedFileDiscovery();
     PCollection<String> sourceRead =
-        pipeline.apply(
-            TextIO.read()
-                .from(options.getInputFilePattern())
-                .watchForNewFiles(DEFAULT_POLL_INTERVAL, Growth.never()));
+        useBoundedFileDiscovery
+            ? readNewFiles(pipeline, options)
+            : pipeline.apply(watchForNewFiles(options));
     PCollectionTuple transformedOutput;
     if (usePythonUdf) {
       transformedOutput =
@@ -356,15 +358,13 @@ public class TextToBigQueryStreaming {
                       .withOutputTags(UDF_OUT, TupleTagList.of(UDF_DEADLETTER_OUT)));
 
     } else {
+      // 1) Read from the text source continuously.
+      PCollection<String> lines =
+          useBoundedFileDiscovery
+              ? sourceRead
+              : pipeline.apply("ReadFromSource", watchForNewFiles(options));
       transformedOutput =
-          pipeline
-
-              // 1) Read from the text source continuously.
-              .apply(
-                  "ReadFromSource",
-                  TextIO.read()
-                      .from(options.getInputFilePattern())
-                      .watchForNewFiles(DEFAULT_POLL_INTERVAL, Growth.never()))
+          lines
 
               // 2) Convert to FailsafeElement.
               .apply(
@@ -443,6 +443,32 @@ public class TextToBigQueryStreaming {
     return pipeline.run();
   }
 
+  /**
+   * Reads the lines of new input files with {@link TextIO.Read#watchForNewFiles}, which remembers
+   * every file it has read.
+   */
+  private static TextIO.Read watchForNewFiles(TextToBigQueryStreamingOptions options) {
+    return TextIO.read()
+        .from(options.getInputFilePattern())
+        .watchForNewFiles(DEFAULT_POLL_INTERVAL, Growth.never());
+  }
+
+  /**
+   * Reads the lines of new input files with {@link MatchNewFiles}, which only remembers the files
+   * within the late arrival window and skips the files listed after it.
+   */
+  private static PCollection<String> readNewFiles(
+      Pipeline pipeline, TextToBigQueryStreamingOptions options) {
+    return pipeline
+        .apply(
+            "MatchNewFiles",
+            MatchNewFiles.of(options.getInputFilePattern(), DEFAULT_POLL_INTERVAL)
+                .withLateArrivalWindow(
+                    Duration.standardMinutes(options.getLateArrivalWindowMinutes())))
+        .apply("ReadMatches", FileIO.readMatches())
+        .apply("ReadFromSource", TextIO.readFiles());
+  }
+
   /**
    * Method to wrap a {@link BigQueryInsertError} into a {@link FailsafeElement}.
    *
@@ -504,5 +530,39 @@ public class TextToBigQueryStreaming {
     Boolean getUseStorageWriteApiAtLeastOnce();
 
     void setUseStorageWriteApiAtLeastOnce(Boolean value);
+
+    @TemplateParameter.Boolean(
+        order = 3,
+        optional = true,
+        description = "Discover new files with bounded state",
+        helpText =
+            "If enabled, new input files are discovered by keeping only the files modified within"
+                + " the late arrival window, instead of every file read since the job started. Files"
+                + " that are first listed after they fall outside the window are skipped. Every poll"
+                + " still lists the whole input file pattern. Updating a running job to change this"
+                + " setting requires a transform mapping. Defaults to `false`.")
+    @Default.Boolean(false)
+    Boolean getUseBoundedFileDiscovery();
+
+    void setUseBoundedFileDiscovery(Boolean value);
+
+    @TemplateParameter.Integer(
+        order = 4,
+        optional = true,
+        parentName = "useBoundedFileDiscovery",
+        parentTriggerValues = {"true"},
+        description = "Late arrival window in minutes",
+        helpText =
+            "This parameter takes effect only if `useBoundedFileDiscovery` is enabled. How long"
+                + " before the most recently modified input file another input file can have been"
+                + " last modified and still be read when it is first listed. Files that are first"
+                + " listed after they were last modified earlier than that are skipped and counted"
+                + " in the `filesSkippedOutsideLateArrivalWindow` metric. This can happen to files"
+                + " that are copied or moved in with their original modification time, or to"
+                + " uploads that take longer than the window. Defaults to `10`.")
+    @Default.Integer(10)
+    Integer getLateArrivalWindowMinutes();
+
+    void setLateArrivalWindowMinutes(Integer value);
   }
 }
@@ -15,34 +15,29 @@
  */
 package com.google.cloud.teleport.v2.templates.bigtablechangestreamstobigquery;
 
-import com.google.api.services.bigquery.model.TableRow;
 import com.google.cloud.Timestamp;
 import com.google.cloud.bigquery.BigQuery;
 import com.google.cloud.bigquery.BigQueryOptions;
 import com.google.cloud.bigquery.DatasetId;
 import com.google.cloud.bigtable.data.v2.models.ChangeStreamMutation;
-import com.google.cloud.bigtable.data.v2.models.DeleteCells;
-import com.google.cloud.bigtable.data.v2.models.DeleteFamily;
-import com.google.cloud.bigtable.data.v2.models.Entry;
-import com.google.cloud.bigtable.data.v2.models.SetCell;
 import com.google.cloud.teleport.metadata.Template;
 import com.google.cloud.teleport.metadata.TemplateCategory;
 import com.google.cloud.teleport.v2.bigtable.options.BigtableCommonOptions.ReadChangeStreamOptions;
 import com.google.cloud.teleport.v2.bigtable.options.BigtableCommonOptions.ReadOptions;
-import com.google.cloud.teleport.v2.bigtable.utils.UnsupportedEntryException;
 import com.google.cloud.teleport.v2.cdc.dlq.DeadLetterQueueManager;
 import com.google.cloud.teleport.v2.options.BigtableChangeStreamToBigQueryOptions;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstobigquery.model.BigQueryDestination;
-import com.google.cloud.teleport.v2.templates.bigtablechangestreamstobigquery.model.Mod;
-import com.google.cloud.teleport.v2.templates.bigtablechangestreamstobigquery.model.ModType;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstobigquery.schemautils.BigQueryUtils;
+import com.google.cloud.teleport.v2.templates.bigtablechangestreamstobigquery.schemautils.ChangelogEncoder;
 import com.google.cloud.teleport.v2.transforms.DLQWriteTransform;
 import com.google.cloud.teleport.v2.utils.BigtableSource;
 import java.util.ArrayList;
 import java.util.List;
+import org.apache.avro.generic.GenericRecord;
 import org.apache.beam.runners.dataflow.options.DataflowPipelineOptions;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.PipelineResult;
+import org.apache.beam.sdk.extensions.avro.coders.AvroCoder;
 import org.apache.beam.sdk.io.gcp.bigquery.BigQueryIO;
 import org.apache.beam.sdk.io.gcp.bigquery.BigQueryIO.Write;
 import org.apache.beam.sdk.io.gcp.bigquery.BigQueryIO.Write.CreateDisposition;
@@ -64,8 +59,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This pipeline ingests {@link ChangeStreamMutation} from Bigtable change stream. The {@link
- * ChangeStreamMutation} is then broken into {@link Mod}, which converted into {@link TableRow} and
- * inserted into BigQuery table.
+ * ChangeStreamMutation} is then broken into changelog records, one per entry, which are written
+ * into BigQuery table with the Storage Write API.
  */
 @Template(
     name = "Bigtable_Change_Streams_to_BigQuery",
@@ -181,6 +176,7 @@ public final class BigtableChangeStreamsToBigQuery {
             options.getBigQueryChangelogTableFieldsToIgnore());
 
     BigQueryUtils bigQuery = new BigQueryUtils(sourceInfo, destinationInfo);
+    ChangelogEncoder changelogEncoder = new ChangelogEncoder(sourceInfo, destinationInfo);
 
     Pipeline pipeline = Pipeline.create(options);
     DeadLetterQueueManager dlqManager = buildDlqManager(options);
@@ -210,17 +206,18 @@ public final class BigtableChangeStreamsToBigQuery {
             .apply("Read from Cloud Bigtable Change Streams", readChangeStream)
             .apply(Values.create());
 
-    PCollection<TableRow> changeStreamMutationToTableRow =
-        dataChangeRecord.apply(
-            "ChangeStreamMutation To TableRow",
-            ParDo.of(new ChangeStreamMutationToTableRowFn(sourceInfo, bigQuery)));
+    PCollection<GenericRecord> changeStreamMutationToChangelogRecord =
+        dataChangeRecord
+            .apply(
+                "ChangeStreamMutation To Changelog Record",
+                ParDo.of(new ChangeStreamMutationToChangelogRecordFn(changelogEncoder)))
+            .setCoder(AvroCoder.of(changelogEncoder.getSchema()));
 
-    Write<TableRow> bigQueryWrite =
-        BigQueryIO.<TableRow>write()
+    Write<GenericRecord> bigQueryWrite =
+        BigQueryIO.writeGenericRecords()
             .to(destinationInfo.getBigQueryTableReference())
             .withSchema(bigQuery.getDestinationTableSchema())
-            .withFormatFunction(element -> element)
-            .withFormatRecordOnFailureFunction(element -> element)
+            .withAvroSchemaFactory(tableSchema -> changelogEncoder.getSchema())
             .withCreateDisposition(CreateDisposition.CREATE_IF_NEEDED)
             .withWriteDisposition(WriteDisposition.WRITE_APPEND)
             .withExtendedErrorInfo()
@@ -244,7 +241,7 @@ public final class BigtableChangeStreamsToBigQuery {
     // capability.
 
     WriteResult writeResult =
-        changeStreamMutationToTableRow.apply("Write To BigQuery", bigQueryWrite);
+        changeStreamMutationToChangelogRecord.apply("Write To BigQuery", bigQueryWrite);
 
     writeResult
         .getFailedStorageApiInserts()
@@ -318,60 +315,21 @@ public final class BigtableChangeStreamsToBigQuery {
   }
 
   /**
-   * DoFn that converts a {@link ChangeStreamMutation} to multiple {@link Mod} in serialized JSON
-   * format.
+   * DoFn that encodes a {@link ChangeStreamMutation} to a changelog record per entry, to be written
+   * with the BigQuery Storage Write API.
    */
-  static class ChangeStreamMutationToTableRowFn extends DoFn<ChangeStreamMutation, TableRow> {
-    private final BigtableSource sourceInfo;
-    private final BigQueryUtils bigQuery;
+  static class ChangeStreamMutationToChangelogRecordFn
+      extends DoFn<ChangeStreamMutation, GenericRecord> {
+    private final ChangelogEncoder changelogEncoder;
 
-    ChangeStreamMutationToTableRowFn(BigtableSource source, BigQueryUtils bigQuery) {
-      this.sourceInfo = source;
-      this.bigQuery = bigQuery;
+    ChangeStreamMutationToChangelogRecordFn(ChangelogEncoder changelogEncoder) {
+      this.changelogEncoder = changelogEncoder;
     }
 
     @ProcessElement
-    public void process(@Element ChangeStreamMutation input, OutputReceiver<TableRow> receiver)
+    public void process(@Element ChangeStreamMutation input, OutputReceiver<GenericRecord> receiver)
         throws Exception {
-      for (Entry entry : input.getEntries()) {
-        ModType modType = getModType(entry);
-
-        Mod mod = null;
-        switch (modType) {
-          case SET_CELL:
-            mod = new Mod(sourceInfo, input, (SetCell) entry);
-            break;
-          case DELETE_CELLS:
-            mod = new Mod(sourceInfo, input, (DeleteCells) entry);
-            break;
-          case DELETE_FAMILY:
-            mod = new Mod(sourceInfo, input, (DeleteFamily) entry);
-            break;
-          default:
-          case UNKNOWN:
-            throw new UnsupportedEntryException(
-                "Cloud Bigtable change stream entry of type "
-                    + entry.getClass().getName()
-                    + " is not supported. The entry was put into a dead letter queue directory. "
-                    + "Please update your Dataflow template with the latest template version");
-        }
-
-        TableRow tableRow = new TableRow();
-        if (bigQuery.setTableRowFields(mod, tableRow)) {
-          receiver.output(tableRow);
-        }
-      }
-    }
-
-    private ModType getModType(Entry entry) {
-      if (entry instanceof SetCell) {
-        return ModType.SET_CELL;
-      } else if (entry instanceof DeleteCells) {
-        return ModType.DELETE_CELLS;
-      } else if (entry instanceof DeleteFamily) {
-        return ModType.DELETE_FAMILY;
-      }
-      return ModType.UNKNOWN;
+      changelogEncoder.encode(input, receiver::output);
     }
   }
 }
@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates.bigtablechangestreamstobigquery.schemautils;
+
+import com.google.cloud.bigtable.data.v2.models.ChangeStreamMutation;
+import com.google.cloud.bigtable.data.v2.models.ChangeStreamMutation.MutationType;
+import com.google.cloud.bigtable.data.v2.models.DeleteCells;
+import com.google.cloud.bigtable.data.v2.models.DeleteFamily;
+import com.google.cloud.bigtable.data.v2.models.Entry;
+import com.google.cloud.bigtable.data.v2.models.Range.BoundType;
+import com.google.cloud.bigtable.data.v2.models.SetCell;
+import com.google.cloud.teleport.v2.bigtable.utils.UnsupportedEntryException;
+import com.google.cloud.teleport.v2.templates.bigtablechangestreamstobigquery.model.BigQueryDestination;
+import com.google.cloud.teleport.v2.templates.bigtablechangestreamstobigquery.model.ChangelogColumn;
+import com.google.cloud.teleport.v2.templates.bigtablechangestreamstobigquery.model.ModType;
+import com.google.cloud.teleport.v2.utils.BigtableSource;
+import com.google.protobuf.ByteString;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.Schema.Field;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.threeten.bp.Instant;
+
+/**
+ * {@link ChangelogEncoder} encodes the entries of a {@link ChangeStreamMutation} as changelog
+ * records for the BigQuery Storage Write API, without going through {@code Mod} JSON or {@code
+ * TableRow}.
+ *
+ * <p>Records are Avro {@link GenericRecord}s with a field per configured {@link ChangelogColumn},
+ * except the columns filled by a BigQuery default value. Timestamps are written as microseconds,
+ * which BigQuery reads as TIMESTAMP. The fields which come from the mutation rather than from its
+ * entries are encoded once per mutation and shared by all of its records.
+ */
+public class ChangelogEncoder implements Serializable {
+
+  private static final String RECORD_NAME = "ChangelogEntry";
+
+  private final BigtableSource source;
+  private final List<ChangelogColumn> encodedChangelogColumns;
+
+  private transient Schema schema;
+  private transient int[] fieldPositions;
+  private transient Charset charsetObj;
+
+  public ChangelogEncoder(BigtableSource sourceInfo, BigQueryDestination destinationInfo) {
+    this.source = sourceInfo;
+    this.encodedChangelogColumns = new ArrayList<>();
+    for (ChangelogColumn column : ChangelogColumn.values()) {
+      if (destinationInfo.isColumnEnabled(column) && column.getDefaultValueExpression() == null) {
+        this.encodedChangelogColumns.add(column);
+      }
+    }
+  }
+
+  /** Returns the Avro schema of the changelog records. */
+  public Schema getSchema() {
+    if (schema == null) {
+      List<Field> fields = new ArrayList<>();
+      for (ChangelogColumn column : encodedChangelogColumns) {
+        Schema fieldSchema = toAvroSchema(column);
+        if (column.isRequired()) {
+          fields.add(new Field(column.getBqColumnName(), fieldSchema));
+        } else {
+          fields.add(
+              new Field(
+                  column.getBqColumnName(),
+                  Schema.createUnion(Schema.create(Schema.Type.NULL), fieldSchema),
+                  null,
+                  Field.NULL_DEFAULT_VALUE));
+        }
+      }
+      schema =
+          Schema.createRecord(
+              RECORD_NAME, null, ChangelogEncoder.class.getPackageName(), false, fields);
+    }
+    return schema;
+  }
+
+  /**
+   * Encodes the entries of a mutation as changelog records. Entries of ignored column families and
+   * columns are skipped.
+   *
+   * @param mutation the mutation to encode.
+   * @param receiver receives a changelog record per entry which is not ignored.
+   * @throws UnsupportedEntryException if the mutation has an entry of an unsupported type.
+   */
+  public void encode(ChangeStreamMutation mutation, Consumer<GenericRecord> receiver)
+      throws UnsupportedEntryException {
+    GenericData.Record mutationRecord = newMutationRecord(mutation);
+    for (Entry entry : mutation.getEntries()) {
+      if (entry instanceof SetCell) {
+        SetCell setCell = (SetCell) entry;
+        String column = setCell.getQualifier().toString(getCharset());
+        if (isIgnored(setCell.getFamilyName(), column)) {
+          continue;
+        }
+        GenericData.Record record = new GenericData.Record(mutationRecord, false);
+        put(record, ChangelogColumn.MOD_TYPE, ModType.SET_CELL.getCode());
+        put(record, ChangelogColumn.COLUMN_FAMILY, setCell.getFamilyName());
+        put(record, ChangelogColumn.COLUMN, column);
+        put(record, ChangelogColumn.TIMESTAMP, setCell.getTimestamp());
+        put(record, ChangelogColumn.TIMESTAMP_NUM, setCell.getTimestamp());
+        if (isEncoded(ChangelogColumn.VALUE_STRING)) {
+          put(record, ChangelogColumn.VALUE_STRING, setCell.getValue().toString(getCharset()));
+        }
+        if (isEncoded(ChangelogColumn.VALUE_BYTES)) {
+          put(record, ChangelogColumn.VALUE_BYTES, toByteBuffer(setCell.getValue()));
+        }
+        receiver.accept(record);
+      } else if (entry instanceof DeleteCells) {
+        DeleteCells deleteCells = (DeleteCells) entry;
+        String column = deleteCells.getQualifier().toString(getCharset());
+        if (isIgnored(deleteCells.getFamilyName(), column)) {
+          continue;
+        }
+        Long startTimestamp = deleteCells.getTimestampRange().getStart();
+        if (startTimestamp == null) {
+          startTimestamp = 0L;
+        }
+        Long endTimestamp = deleteCells.getTimestampRange().getEnd();
+        if (deleteCells.getTimestampRange().getEndBound() == BoundType.UNBOUNDED) {
+          endTimestamp = null;
+        }
+        GenericData.Record record = new GenericData.Record(mutationRecord, false);
+        put(record, ChangelogColumn.MOD_TYPE, ModType.DELETE_CELLS.getCode());
+        put(record, ChangelogColumn.COLUMN_FAMILY, deleteCells.getFamilyName());
+        put(record, ChangelogColumn.COLUMN, column);
+        put(record, ChangelogColumn.TIMESTAMP_FROM, startTimestamp);
+        put(record, ChangelogColumn.TIMESTAMP_FROM_NUM, startTimestamp);
+        put(record, ChangelogColumn.TIMESTAMP_TO, endTimestamp);
+        put(record, ChangelogColumn.TIMESTAMP_TO_NUM, endTimestamp);
+        receiver.accept(record);
+      } else if (entry instanceof DeleteFamily) {
+        DeleteFamily deleteFamily = (DeleteFamily) entry;
+        if (source.isIgnoredColumnFamily(deleteFamily.getFamilyName())) {
+          continue;
+        }
+        GenericData.Record record = new GenericData.Record(mutationRecord, false);
+        put(record, ChangelogColumn.MOD_TYPE, ModType.DELETE_FAMILY.getCode());
+        put(record, ChangelogColumn.COLUMN_FAMILY, deleteFamily.getFamilyName());
+        receiver.accept(record);
+      } else {
+        throw new UnsupportedEntryException(
+            "Cloud Bigtable change stream entry of type "
+                + entry.getClass().getName()
+                + " is not supported. The entry was put into a dead letter queue directory. "
+                + "Please update your Dataflow template with the latest template version");
+      }
+    }
+  }
+
+  /** Returns a record with the fields shared by all the entries of the mutation. */
+  private GenericData.Record newMutationRecord(ChangeStreamMutation mutation) {
+    GenericData.Record record = new GenericData.Record(getSchema());
+    if (isEncoded(ChangelogColumn.ROW_KEY_STRING)) {
+      put(record, ChangelogColumn.ROW_KEY_STRING, mutation.getRowKey().toString(getCharset()));
+    }
+    if (isEncoded(ChangelogColumn.ROW_KEY_BYTES)) {
+      put(record, ChangelogColumn.ROW_KEY_BYTES, toByteBuffer(mutation.getRowKey()));
+    }
+    put(record, ChangelogColumn.COMMIT_TIMESTAMP, toMicros(mutation.getCommitTimestamp()));
+    put(record, ChangelogColumn.IS_GC, mutation.getType() == MutationType.GARBAGE_COLLECTION);
+    put(record, ChangelogColumn.SOURCE_INSTANCE, source.getInstanceId());
+    put(record, ChangelogColumn.SOURCE_CLUSTER, mutation.getSourceClusterId());
+    put(record, ChangelogColumn.SOURCE_TABLE, source.getTableId());
+    put(record, ChangelogColumn.TIEBREAKER, (long) mutation.getTieBreaker());
+    return record;
+  }
+
+  private boolean isIgnored(String columnFamily, String column) {
+    return source.isIgnoredColumnFamily(columnFamily)
+        || (!column.isEmpty() && source.isIgnoredColumn(columnFamily, column));
+  }
+
+  private boolean isEncoded(ChangelogColumn column) {
+    return getFieldPositions()[column.ordinal()] >= 0;
+  }
+
+  private void put(GenericData.Record record, ChangelogColumn column, Object value) {
+    int position = getFieldPositions()[column.ordinal()];
+    if (position >= 0) {
+      record.put(position, value);
+    }
+  }
+
+  private int[] getFieldPositions() {
+    if (fieldPositions == null) {
+      int[] positions = new int[ChangelogColumn.values().length];
+      Arrays.fill(positions, -1);
+      for (int i = 0; i < encodedChangelogColumns.size(); i++) {
+        positions[encodedChangelogColumns.get(i).ordinal()] = i;
+      }
+      fieldPositions = positions;
+    }
+    return fieldPositions;
+  }
+
+  private Charset getCharset() {
+    if (charsetObj == null) {
+      charsetObj = Charset.forName(source.getCharset());
+    }
+    return charsetObj;
+  }
+
+  private static Schema toAvroSchema(ChangelogColumn column) {
+    switch (column.getBqType()) {
+      case "STRING":
+        return Schema.create(Schema.Type.STRING);
+      case "BYTES":
+        return Schema.create(Schema.Type.BYTES);
+      case "INT64":
+        return Schema.create(Schema.Type.LONG);
+      case "BOOL":
+        return Schema.create(Schema.Type.BOOLEAN);
+      case "TIMESTAMP":
+        return LogicalTypes.timestampMicros().addToSchema(Schema.create(Schema.Type.LONG));
+      default:
+        throw new IllegalArgumentException(
+            "Unsupported type " + column.getBqType() + " for column " + column.getBqColumnName());
+    }
+  }
+
+  private static ByteBuffer toByteBuffer(ByteString bytes) {
+    return ByteBuffer.wrap(bytes.toByteArray());
+  }
+
+  private static long toMicros(Instant timestamp) {
+    return TimeUnit.SECONDS.toMicros(timestamp.getEpochSecond())
+        + TimeUnit.NANOSECONDS.toMicros(timestamp.getNano());
+  }
+}
@@ -18,25 +18,22 @@ package com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub;
 import com.google.cloud.Timestamp;
 import com.google.cloud.bigtable.data.v2.models.ChangeStreamMutation;
 import com.google.cloud.bigtable.data.v2.models.ChangeStreamMutation.MutationType;
-import com.google.cloud.bigtable.data.v2.models.DeleteCells;
-import com.google.cloud.bigtable.data.v2.models.DeleteFamily;
-import com.google.cloud.bigtable.data.v2.models.Entry;
 import com.google.cloud.bigtable.data.v2.models.SetCell;
 import com.google.cloud.pubsub.v1.SchemaServiceClient;
 import com.google.cloud.pubsub.v1.TopicAdminClient;
 import com.google.cloud.teleport.metadata.Template;
 import com.google.cloud.teleport.metadata.TemplateCategory;
 import com.google.cloud.teleport.v2.bigtable.options.BigtableCommonOptions;
-import com.google.cloud.teleport.v2.bigtable.utils.UnsupportedEntryException;
 import com.google.cloud.teleport.v2.cdc.dlq.DeadLetterQueueManager;
 import com.google.cloud.teleport.v2.cdc.dlq.StringDeadLetterQueueSanitizer;
 import com.google.cloud.teleport.v2.coders.FailsafeElementCoder;
 import com.google.cloud.teleport.v2.options.BigtableChangeStreamsToPubSubOptions;
+import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.FailsafePublisher.PublishChangeStreamMutationToTopic;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.FailsafePublisher.PublishModJsonToTopic;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.MessageEncoding;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.MessageFormat;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.Mod;
-import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.ModType;
+import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.ModValues;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.PubSubDestination;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.TestChangeStreamMutation;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.schemautils.PubSubUtils;
@@ -52,7 +49,6 @@ import com.google.pubsub.v1.SchemaName;
 import com.google.pubsub.v1.Topic;
 import com.google.pubsub.v1.TopicName;
 import com.google.pubsub.v1.ValidateMessageRequest;
-import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Base64;
@@ -65,10 +61,8 @@ import org.apache.beam.sdk.coders.StringUtf8Coder;
 import org.apache.beam.sdk.io.gcp.bigtable.BigtableIO;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
 import org.apache.beam.sdk.transforms.Create;
-import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.Flatten;
 import org.apache.beam.sdk.transforms.MapElements;
-import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.transforms.Values;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.PCollectionList;
@@ -234,11 +228,10 @@ public final class BigtableChangeStreamsToPubSub {
     /*
      * Stages:
      * 1) Read {@link ChangeStreamMutation} from change stream.
-     * 2) Create {@link FailsafeElement} of {@link Mod} JSON and merge from:
-     *    - {@link ChangeStreamMutation}.
-     *    - GCS Dead letter queue.
-     * 3) Convert {@link Mod} JSON into PubsubMessage and publish it to PubSub.
-     * 4) Write Failures from 2) and 3) to GCS dead letter queue.
+     * 2) Convert {@link ChangeStreamMutation} into PubsubMessage and publish it to PubSub.
+     * 3) Convert {@link Mod} JSON from GCS dead letter queue into PubsubMessage and publish it
+     *    to PubSub.
+     * 4) Write Failures from 2) and 3) as {@link Mod} JSON to GCS dead letter queue.
      */
     // Step 1
     Pipeline pipeline = Pipeline.create(options);
@@ -293,23 +286,10 @@ public final class BigtableChangeStreamsToPubSub {
             .apply("Read from Cloud Bigtable Change Streams", readChangeStream)
             .apply(Values.create());
 
-    PCollection<FailsafeElement<String, String>> sourceFailsafeModJson =
-        dataChangeRecord
-            .apply(
-                "ChangeStreamMutation To Mod JSON",
-                ParDo.of(new ChangeStreamMutationToModJsonFn(sourceInfo)))
-            .apply(
-                "Wrap Mod JSON In FailsafeElement",
-                ParDo.of(
-                    new DoFn<String, FailsafeElement<String, String>>() {
-                      @ProcessElement
-                      public void process(
-                          @Element String input,
-                          OutputReceiver<FailsafeElement<String, String>> receiver) {
-                        receiver.output(FailsafeElement.of(input, input));
-                      }
-                    }))
-            .setCoder(FAILSAFE_ELEMENT_CODER);
+    PCollectionTuple failedToPublishSource =
+        dataChangeRecord.apply(
+            "Publish Change Stream Mutations To Pubsub",
+            new PublishChangeStreamMutationToTopic(pubSub, VALID_MODS_TAG, INVALID_MODS_TAG));
 
     PCollectionTuple dlqModJson =
         dlqManager.getReconsumerDataTransform(
@@ -323,21 +303,17 @@ public final class BigtableChangeStreamsToPubSub {
           dlqModJson.get(DeadLetterQueueManager.RETRYABLE_ERRORS).setCoder(FAILSAFE_ELEMENT_CODER);
     }
 
-    PCollection<FailsafeElement<String, String>> failsafeModJson =
-        PCollectionList.of(sourceFailsafeModJson)
-            .and(retryableDlqFailsafeModJson)
-            .apply("Merge Source And DLQ Mod JSON", Flatten.pCollections());
-
     PublishModJsonToTopic publishModJsonToTopic =
         new PublishModJsonToTopic(pubSub, VALID_MODS_TAG, INVALID_MODS_TAG);
 
-    PCollectionTuple failedToPublish =
-        failsafeModJson.apply("Publish Mod JSON To Pubsub", publishModJsonToTopic);
+    PCollectionTuple failedToPublishDlq =
+        retryableDlqFailsafeModJson.apply("Publish Mod JSON To Pubsub", publishModJsonToTopic);
 
     PCollection<String> transformDlqJson =
-        failedToPublish
-            .get(VALID_MODS_TAG)
-            .setCoder(FAILSAFE_ELEMENT_CODER)
+        PCollectionList.of(
+                failedToPublishSource.get(VALID_MODS_TAG).setCoder(FAILSAFE_ELEMENT_CODER))
+            .and(failedToPublishDlq.get(VALID_MODS_TAG).setCoder(FAILSAFE_ELEMENT_CODER))
+            .apply("Merge Source And DLQ Publish Failures", Flatten.pCollections())
             .apply(
                 "Failed Mod JSON During Table Row Transformation",
                 MapElements.via(new StringDeadLetterQueueSanitizer()));
@@ -357,7 +333,8 @@ public final class BigtableChangeStreamsToPubSub {
                 dlqModJson
                     .get(DeadLetterQueueManager.PERMANENT_ERRORS)
                     .setCoder(FAILSAFE_ELEMENT_CODER))
-            .and(failedToPublish.get(INVALID_MODS_TAG).setCoder(FAILSAFE_ELEMENT_CODER))
+            .and(failedToPublishSource.get(INVALID_MODS_TAG).setCoder(FAILSAFE_ELEMENT_CODER))
+            .and(failedToPublishDlq.get(INVALID_MODS_TAG).setCoder(FAILSAFE_ELEMENT_CODER))
             .apply("Merge Reconsume And Invalid Mods", Flatten.pCollections());
     LOG.info(
         "DLQ manager severe DLQ directory with date time: {}",
@@ -577,97 +554,6 @@ public final class BigtableChangeStreamsToPubSub {
             java.time.Instant.now(), // low watermark
             setCell);
 
-    Mod mod = new Mod(pubSub.getSource(), mutation, setCell);
-
-    switch (pubSub.getDestination().getMessageFormat()) {
-      case AVRO:
-        return pubSub.mapChangeJsonStringToPubSubMessageAsAvro(mod.getChangeJson());
-      case PROTOCOL_BUFFERS:
-        return pubSub.mapChangeJsonStringToPubSubMessageAsProto(mod.getChangeJson());
-      case JSON:
-        return pubSub.mapChangeJsonStringToPubSubMessageAsJson(mod.getChangeJson());
-      default:
-        throw new IllegalArgumentException(
-            "Unexpected message format: " + pubSub.getDestination().getMessageFormat());
-    }
-  }
-
-  /**
-   * DoFn that converts a {@link ChangeStreamMutation} to multiple {@link Mod} in serialized JSON
-   * format.
-   */
-  static class ChangeStreamMutationToModJsonFn extends DoFn<ChangeStreamMutation, String> {
-    private final BigtableSource sourceInfo;
-
-    ChangeStreamMutationToModJsonFn(BigtableSource source) {
-      this.sourceInfo = source;
-    }
-
-    private static String toJsonString(Mod mod, ChangeStreamMutation inputMutation) {
-      try {
-        return mod.toJson();
-      } catch (IOException e) {
-        // Ignore exception and print bad format.
-        return String.format("\"%s\"", inputMutation);
-      }
-    }
-
-    @ProcessElement
-    public void process(@Element ChangeStreamMutation input, OutputReceiver<String> receiver)
-        throws Exception {
-      for (Entry entry : input.getEntries()) {
-        ModType modType = getModType(entry);
-
-        switch (modType) {
-          case SET_CELL:
-            SetCell setCell = (SetCell) entry;
-            if (!sourceInfo.isIgnoredColumnFamily(setCell.getFamilyName())
-                && !sourceInfo.isIgnoredColumn(
-                    setCell.getFamilyName(),
-                    setCell.getQualifier().toString(Charset.forName(sourceInfo.getCharset())))) {
-              Mod mod = new Mod(sourceInfo, input, setCell);
-              receiver.output(toJsonString(mod, input));
-            }
-            break;
-          case DELETE_CELLS:
-            DeleteCells deleteCells = (DeleteCells) entry;
-            if (!sourceInfo.isIgnoredColumnFamily(deleteCells.getFamilyName())
-                && !sourceInfo.isIgnoredColumn(
-                    deleteCells.getFamilyName(),
-                    deleteCells
-                        .getQualifier()
-                        .toString(Charset.forName(sourceInfo.getCharset())))) {
-              Mod mod = new Mod(sourceInfo, input, deleteCells);
-              receiver.output(toJsonString(mod, input));
-            }
-            break;
-          case DELETE_FAMILY:
-            DeleteFamily deleteFamily = (DeleteFamily) entry;
-            if (!sourceInfo.isIgnoredColumnFamily(deleteFamily.getFamilyName())) {
-              Mod mod = new Mod(sourceInfo, input, deleteFamily);
-              receiver.output(toJsonString(mod, input));
-            }
-            break;
-          default:
-          case UNKNOWN:
-            throw new UnsupportedEntryException(
-                "Cloud Bigtable change stream entry of type "
-                    + entry.getClass().getName()
-                    + " is not supported. The entry was put into a DLQ directory. "
-                    + "Please update your Dataflow template with the latest template version");
-        }
-      }
-    }
-
-    private ModType getModType(Entry entry) {
-      if (entry instanceof SetCell) {
-        return ModType.SET_CELL;
-      } else if (entry instanceof DeleteCells) {
-        return ModType.DELETE_CELLS;
-      } else if (entry instanceof DeleteFamily) {
-        return ModType.DELETE_FAMILY;
-      }
-      return ModType.UNKNOWN;
-    }
+    return pubSub.mapChangeToPubSubMessage(ModValues.of(pubSub.getSource(), mutation, setCell));
   }
 }
@@ -15,25 +15,43 @@
  */
 package com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub;
 
+import com.google.api.core.ApiFuture;
+import com.google.cloud.bigtable.data.v2.models.ChangeStreamMutation;
+import com.google.cloud.bigtable.data.v2.models.DeleteCells;
+import com.google.cloud.bigtable.data.v2.models.DeleteFamily;
+import com.google.cloud.bigtable.data.v2.models.Entry;
+import com.google.cloud.bigtable.data.v2.models.SetCell;
 import com.google.cloud.pubsub.v1.Publisher;
+import com.google.cloud.teleport.v2.bigtable.utils.UnsupportedEntryException;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.InvalidModException;
-import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.MessageFormat;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.Mod;
+import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.ModType;
+import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.ModValues;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.schemautils.PubSubUtils;
+import com.google.cloud.teleport.v2.utils.BigtableSource;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
 import com.google.common.base.Throwables;
 import com.google.pubsub.v1.PubsubMessage;
 import com.google.pubsub.v1.TopicName;
+import java.io.IOException;
 import java.io.Serializable;
-import java.util.Arrays;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.windowing.BoundedWindow;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.PCollectionTuple;
 import org.apache.beam.sdk.values.TupleTag;
 import org.apache.beam.sdk.values.TupleTagList;
+import org.joda.time.Instant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +61,8 @@ import org.slf4j.LoggerFactory;
  */
 public final class FailsafePublisher {
 
+  private static final Logger LOG = LoggerFactory.getLogger(FailsafePublisher.class);
+
   /**
    * Primary class for taking a {@link FailsafeElement} JSON input and converting to a {@link
    * PubsubMessage}.
@@ -54,8 +74,6 @@ public final class FailsafePublisher {
     private final TupleTag<FailsafeElement<String, String>> invalidModsTag;
     private final TupleTag<FailsafeElement<String, String>> validModsTag;
 
-    private static final Logger LOG = LoggerFactory.getLogger(PublishModJsonToTopic.class);
-
     public PublishModJsonToTopic(
         PubSubUtils pubSubUtils,
         TupleTag<FailsafeElement<String, String>> validModsTag,
@@ -78,129 +96,323 @@ public final class FailsafePublisher {
      * invalidModsTag output stream, so they are not retried.
      */
     public static class PublishModJsonToTopicFn
-        extends DoFn<FailsafeElement<String, String>, FailsafeElement<String, String>> {
-      private final PubSubUtils pubSubUtils;
-      private final ThrottledLogger throttled;
-      private final TupleTag<FailsafeElement<String, String>> invalidModsTag;
-      private final TupleTag<FailsafeElement<String, String>> validModsTag;
-
-      private transient Publisher publisher;
+        extends PublishToTopicFn<FailsafeElement<String, String>> {
 
       public PublishModJsonToTopicFn(
           PubSubUtils pubSubUtils,
           TupleTag<FailsafeElement<String, String>> validModsTag,
           TupleTag<FailsafeElement<String, String>> invalidModsTag) {
-        this.pubSubUtils = pubSubUtils;
-        this.invalidModsTag = invalidModsTag;
-        this.validModsTag = validModsTag;
-        this.throttled = new ThrottledLogger();
+        super(pubSubUtils, validModsTag, invalidModsTag);
       }
 
-      @Setup
-      public void setUp() {
-        try {
-          final TopicName projectTopicName =
-              TopicName.of(
-                  pubSubUtils.getDestination().getPubSubProject(),
-                  pubSubUtils.getDestination().getPubSubTopicName());
-          publisher = Publisher.newBuilder(projectTopicName).build();
-        } catch (Exception e) {
-          throw new RuntimeException(e);
+      @ProcessElement
+      public void processElement(ProcessContext context, BoundedWindow window) {
+        FailsafeElement<String, String> failsafeModJsonString = context.element();
+
+        publish(
+            context,
+            window,
+            () ->
+                pubSubUtils.mapChangeJsonStringToPubSubMessage(
+                    Mod.fromJson(failsafeModJsonString.getPayload()).getChangeJson()),
+            () -> FailsafeElement.of(failsafeModJsonString));
+      }
+    }
+  }
+
+  /**
+   * Class for publishing the {@link Mod}s of {@link ChangeStreamMutation}s. Each mod is mapped
+   * straight to a {@link PubsubMessage}, and its {@link Mod} JSON is only built when it has to be
+   * returned as a failure.
+   */
+  public static class PublishChangeStreamMutationToTopic
+      extends PTransform<PCollection<ChangeStreamMutation>, PCollectionTuple> {
+
+    private final PubSubUtils pubSubUtils;
+    private final TupleTag<FailsafeElement<String, String>> invalidModsTag;
+    private final TupleTag<FailsafeElement<String, String>> validModsTag;
+
+    public PublishChangeStreamMutationToTopic(
+        PubSubUtils pubSubUtils,
+        TupleTag<FailsafeElement<String, String>> validModsTag,
+        TupleTag<FailsafeElement<String, String>> invalidModsTag) {
+      this.pubSubUtils = pubSubUtils;
+      this.invalidModsTag = invalidModsTag;
+      this.validModsTag = validModsTag;
+    }
+
+    public PCollectionTuple expand(PCollection<ChangeStreamMutation> input) {
+
+      return input.apply(
+          ParDo.of(
+                  new PublishChangeStreamMutationToTopicFn(
+                      pubSubUtils, validModsTag, invalidModsTag))
+              .withOutputTags(validModsTag, TupleTagList.of(invalidModsTag)));
+    }
+
+    /**
+     * The {@link PublishChangeStreamMutationToTopicFn} breaks a {@link ChangeStreamMutation} into
+     * changes, skipping the ignored columns, and publishes each change to the topic. A change that
+     * fails is returned as {@link Mod} JSON wrapped in {@link FailsafeElement}.
+     */
+    public static class PublishChangeStreamMutationToTopicFn
+        extends PublishToTopicFn<ChangeStreamMutation> {
+
+      public PublishChangeStreamMutationToTopicFn(
+          PubSubUtils pubSubUtils,
+          TupleTag<FailsafeElement<String, String>> validModsTag,
+          TupleTag<FailsafeElement<String, String>> invalidModsTag) {
+        super(pubSubUtils, validModsTag, invalidModsTag);
+      }
+
+      @ProcessElement
+      public void processElement(ProcessContext context, BoundedWindow window) throws Exception {
+        ChangeStreamMutation mutation = context.element();
+        BigtableSource sourceInfo = pubSubUtils.getSource();
+
+        for (Entry entry : mutation.getEntries()) {
+          ModType modType = getModType(entry);
+
+          switch (modType) {
+            case SET_CELL:
+              SetCell setCell = (SetCell) entry;
+              if (!sourceInfo.isIgnoredColumnFamily(setCell.getFamilyName())
+                  && !sourceInfo.isIgnoredColumn(
+                      setCell.getFamilyName(),
+                      setCell.getQualifier().toString(Charset.forName(sourceInfo.getCharset())))) {
+                publishChange(
+                    context, window, mutation, ModValues.of(sourceInfo, mutation, setCell));
+              }
+              break;
+            case DELETE_CELLS:
+              DeleteCells deleteCells = (DeleteCells) entry;
+              if (!sourceInfo.isIgnoredColumnFamily(deleteCells.getFamilyName())
+                  && !sourceInfo.isIgnoredColumn(
+                      deleteCells.getFamilyName(),
+                      deleteCells
+                          .getQualifier()
+                          .toString(Charset.forName(sourceInfo.getCharset())))) {
+                publishChange(
+                    context, window, mutation, ModValues.of(sourceInfo, mutation, deleteCells));
+              }
+              break;
+            case DELETE_FAMILY:
+              DeleteFamily deleteFamily = (DeleteFamily) entry;
+              if (!sourceInfo.isIgnoredColumnFamily(deleteFamily.getFamilyName())) {
+                publishChange(
+                    context, window, mutation, ModValues.of(sourceInfo, mutation, deleteFamily));
+              }
+              break;
+            default:
+            case UNKNOWN:
+              throw new UnsupportedEntryException(
+                  "Cloud Bigtable change stream entry of type "
+                      + entry.getClass().getName()
+                      + " is not supported. The entry was put into a DLQ directory. "
+                      + "Please update your Dataflow template with the latest template version");
+          }
         }
       }
 
-      @Teardown
-      public void tearDown() {
+      private void publishChange(
+          ProcessContext context,
+          BoundedWindow window,
+          ChangeStreamMutation mutation,
+          ModValues values) {
+        publish(
+            context,
+            window,
+            () -> pubSubUtils.mapChangeToPubSubMessage(values),
+            () -> {
+              String modJsonString = toJsonString(new Mod(mutation, values), mutation);
+              return FailsafeElement.of(modJsonString, modJsonString);
+            });
+      }
+
+      private static String toJsonString(Mod mod, ChangeStreamMutation inputMutation) {
         try {
-          if (publisher != null) {
-            publisher.shutdown();
-            publisher.awaitTermination(5, TimeUnit.MINUTES);
-          }
-        } catch (Exception e) {
-          throw new RuntimeException(e);
+          return mod.toJson();
+        } catch (IOException e) {
+          // Ignore exception and print bad format.
+          return String.format("\"%s\"", inputMutation);
         }
       }
 
-      @ProcessElement
-      public void processElement(ProcessContext context) {
-        FailsafeElement<String, String> failsafeModJsonString = context.element();
+      private ModType getModType(Entry entry) {
+        if (entry instanceof SetCell) {
+          return ModType.SET_CELL;
+        } else if (entry instanceof DeleteCells) {
+          return ModType.DELETE_CELLS;
+        } else if (entry instanceof DeleteFamily) {
+          return ModType.DELETE_FAMILY;
+        }
+        return ModType.UNKNOWN;
+      }
+    }
+  }
+
+  /**
+   * Base {@link DoFn} publishing messages to the topic. Publishes are not awaited per element: they
+   * stay in flight, batched by the {@link Publisher}, until the bundle finishes. Messages that fail
+   * to publish are then sent to the validModsTag output stream with their own timestamp and window,
+   * so they are retried. Messages that can not be mapped are sent right away to the invalidModsTag
+   * output stream when the mod is invalid, or to the validModsTag output stream otherwise.
+   */
+  abstract static class PublishToTopicFn<InputT>
+      extends DoFn<InputT, FailsafeElement<String, String>> {
+    protected final PubSubUtils pubSubUtils;
+    private final ThrottledLogger throttled;
+    private final TupleTag<FailsafeElement<String, String>> invalidModsTag;
+    private final TupleTag<FailsafeElement<String, String>> validModsTag;
+
+    private transient Publisher publisher;
+    private transient List<PendingMessage> pendingMessages;
+
+    PublishToTopicFn(
+        PubSubUtils pubSubUtils,
+        TupleTag<FailsafeElement<String, String>> validModsTag,
+        TupleTag<FailsafeElement<String, String>> invalidModsTag) {
+      this.pubSubUtils = pubSubUtils;
+      this.invalidModsTag = invalidModsTag;
+      this.validModsTag = validModsTag;
+      this.throttled = new ThrottledLogger();
+    }
+
+    @Setup
+    public void setUp() {
+      try {
+        final TopicName projectTopicName =
+            TopicName.of(
+                pubSubUtils.getDestination().getPubSubProject(),
+                pubSubUtils.getDestination().getPubSubTopicName());
+        publisher = Publisher.newBuilder(projectTopicName).build();
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    @Teardown
+    public void tearDown() {
+      try {
+        if (publisher != null) {
+          publisher.shutdown();
+          publisher.awaitTermination(5, TimeUnit.MINUTES);
+        }
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    @StartBundle
+    public void startBundle() {
+      pendingMessages = new ArrayList<>();
+    }
 
+    @FinishBundle
+    public void finishBundle(FinishBundleContext context) {
+      for (PendingMessage pendingMessage : pendingMessages) {
         try {
-          PubsubMessage pubSubMessage = newPubsubMessage(failsafeModJsonString.getPayload());
-          throttled.success(LOG, publisher.publish(pubSubMessage).get());
-        } catch (InvalidModException e) {
-          throttled.failure(LOG, e);
-          context.output(
-              invalidModsTag,
-              FailsafeElement.of(failsafeModJsonString)
-                  .setErrorMessage(e.getMessage())
-                  .setStacktrace(Throwables.getStackTraceAsString(e)));
+          throttled.success(LOG, pendingMessage.messageId.get());
         } catch (Exception e) {
-          throttled.failure(LOG, e);
+          Exception cause = e;
+          if (e instanceof ExecutionException && e.getCause() instanceof Exception) {
+            cause = (Exception) e.getCause();
+          }
+          throttled.failure(LOG, cause);
           context.output(
               validModsTag,
-              FailsafeElement.of(failsafeModJsonString)
-                  .setErrorMessage(e.getMessage())
-                  .setStacktrace(Throwables.getStackTraceAsString(e)));
+              withError(pendingMessage.failsafeElement.get(), cause),
+              pendingMessage.timestamp,
+              pendingMessage.window);
         }
       }
+      pendingMessages.clear();
+    }
 
-      /* Schema Details: */
-      private PubsubMessage newPubsubMessage(String modJsonString) throws Exception {
-        String changeJsonString = Mod.fromJson(modJsonString).getChangeJson();
-        MessageFormat messageFormat = pubSubUtils.getDestination().getMessageFormat();
-
-        switch (messageFormat) {
-          case AVRO:
-            return pubSubUtils.mapChangeJsonStringToPubSubMessageAsAvro(changeJsonString);
-          case PROTOCOL_BUFFERS:
-            return pubSubUtils.mapChangeJsonStringToPubSubMessageAsProto(changeJsonString);
-          case JSON:
-            return pubSubUtils.mapChangeJsonStringToPubSubMessageAsJson(changeJsonString);
-          default:
-            final String errorMessage =
-                "Invalid message format:"
-                    + messageFormat
-                    + ". Supported output formats: "
-                    + Arrays.toString(MessageFormat.values());
-            throw new IllegalArgumentException(errorMessage);
-        }
+    /**
+     * Maps an element to a message and starts publishing it. The outcome of the publish is handled
+     * when the bundle finishes.
+     *
+     * @param context context of the element being processed.
+     * @param window window of the element being processed.
+     * @param newMessage maps the element to a message.
+     * @param failsafeElement supplies the failsafe element output if the message fails.
+     */
+    protected void publish(
+        ProcessContext context,
+        BoundedWindow window,
+        Callable<PubsubMessage> newMessage,
+        Supplier<FailsafeElement<String, String>> failsafeElement) {
+      try {
+        PubsubMessage pubSubMessage = newMessage.call();
+        pendingMessages.add(
+            new PendingMessage(
+                publisher.publish(pubSubMessage), failsafeElement, context.timestamp(), window));
+      } catch (InvalidModException e) {
+        throttled.failure(LOG, e);
+        context.output(invalidModsTag, withError(failsafeElement.get(), e));
+      } catch (Exception e) {
+        throttled.failure(LOG, e);
+        context.output(validModsTag, withError(failsafeElement.get(), e));
       }
     }
+
+    private static FailsafeElement<String, String> withError(
+        FailsafeElement<String, String> failsafeElement, Exception e) {
+      return failsafeElement
+          .setErrorMessage(e.getMessage())
+          .setStacktrace(Throwables.getStackTraceAsString(e));
+    }
+  }
+
+  /** A message being published, with what is needed to output it if the publish fails. */
+  private static class PendingMessage {
+    private final ApiFuture<String> messageId;
+    private final Supplier<FailsafeElement<String, String>> failsafeElement;
+    private final Instant timestamp;
+    private final BoundedWindow window;
+
+    PendingMessage(
+        ApiFuture<String> messageId,
+        Supplier<FailsafeElement<String, String>> failsafeElement,
+        Instant timestamp,
+        BoundedWindow window) {
+      this.messageId = messageId;
+      this.failsafeElement = failsafeElement;
+      this.timestamp = timestamp;
+      this.window = window;
+    }
   }
 
   private static class ThrottledLogger implements Serializable {
     private static final long ONE_MINUTE_MILLIS = 60000;
-    private static long lastSuccessLogged = 0L;
-    private static long lastFailureLogged = 0L;
+    private static final AtomicLong lastSuccessLogged = new AtomicLong();
+    private static final AtomicLong lastFailureLogged = new AtomicLong();
 
-    private static long countPublished = 0L;
-    private static long countFailures = 0L;
+    private static final AtomicLong countPublished = new AtomicLong();
+    private static final AtomicLong countFailures = new AtomicLong();
 
     public void success(Logger logger, String messageId) {
-      long currentTimeMillis = System.currentTimeMillis();
-      synchronized (ThrottledLogger.class) {
-        countPublished++;
-        if (lastSuccessLogged <= currentTimeMillis - ONE_MINUTE_MILLIS) {
-          lastSuccessLogged = currentTimeMillis;
-          logger.info(
-              "Succeeded publishing. Published so far: {}, last messageId={}",
-              countPublished,
-              messageId);
-        }
+      long published = countPublished.incrementAndGet();
+      if (shouldLog(lastSuccessLogged)) {
+        logger.info(
+            "Succeeded publishing. Published so far: {}, last messageId={}", published, messageId);
       }
     }
 
     public void failure(Logger logger, Exception exception) {
-      long currentTimeMillis = System.currentTimeMillis();
-      synchronized (ThrottledLogger.class) {
-        countFailures++;
-        if (lastFailureLogged <= currentTimeMillis - ONE_MINUTE_MILLIS) {
-
-          lastFailureLogged = currentTimeMillis;
-          logger.warn("Failed to publish message. Failures so far: {}", countFailures, exception);
-        }
+      long failures = countFailures.incrementAndGet();
+      if (shouldLog(lastFailureLogged)) {
+        logger.warn("Failed to publish message. Failures so far: {}", failures, exception);
       }
     }
+
+    /** Claims the next log slot without locking, so that at most one thread logs per minute. */
+    private static boolean shouldLog(AtomicLong lastLogged) {
+      long currentTimeMillis = System.currentTimeMillis();
+      long lastLoggedMillis = lastLogged.get();
+      return lastLoggedMillis <= currentTimeMillis - ONE_MINUTE_MILLIS
+          && lastLogged.compareAndSet(lastLoggedMillis, currentTimeMillis);
+    }
   }
 }
@@ -18,12 +18,11 @@ package com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.mod
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.cloud.bigtable.data.v2.models.ChangeStreamMutation;
-import com.google.cloud.bigtable.data.v2.models.ChangeStreamMutation.MutationType;
 import com.google.cloud.bigtable.data.v2.models.DeleteCells;
 import com.google.cloud.bigtable.data.v2.models.DeleteFamily;
-import com.google.cloud.bigtable.data.v2.models.Range.BoundType;
 import com.google.cloud.bigtable.data.v2.models.SetCell;
 import com.google.cloud.teleport.v2.utils.BigtableSource;
+import com.google.cloud.teleport.v2.utils.JsonCodecs;
 import com.google.common.collect.Maps;
 import com.google.protobuf.ByteString;
 import java.io.IOException;
@@ -66,89 +65,60 @@ public final class Mod implements Serializable {
   }
 
   public Mod(BigtableSource source, ChangeStreamMutation mutation, SetCell setCell) {
-    this(mutation.getCommitTimestamp(), ModType.SET_CELL);
-
-    Map<String, Object> propertiesMap = Maps.newHashMap();
-    setCommonProperties(propertiesMap, source, mutation);
-    setSpecificProperties(propertiesMap, setCell);
-    this.changeJson = convertPropertiesToJson(propertiesMap);
+    this(mutation, ModValues.of(source, mutation, setCell));
   }
 
   public Mod(BigtableSource source, ChangeStreamMutation mutation, DeleteCells deleteCells) {
-    this.commitTimestampNanos = mutation.getCommitTimestamp().getNano();
-    this.commitTimestampSeconds = mutation.getCommitTimestamp().getEpochSecond();
-    this.modType = ModType.DELETE_CELLS;
-
-    Map<String, Object> propertiesMap = Maps.newHashMap();
-    setCommonProperties(propertiesMap, source, mutation);
-    setSpecificProperties(propertiesMap, deleteCells);
-    this.changeJson = convertPropertiesToJson(propertiesMap);
+    this(mutation, ModValues.of(source, mutation, deleteCells));
   }
 
   public Mod(BigtableSource source, ChangeStreamMutation mutation, DeleteFamily deleteFamily) {
-    this.commitTimestampNanos = mutation.getCommitTimestamp().getNano();
-    this.commitTimestampSeconds = mutation.getCommitTimestamp().getEpochSecond();
-    this.modType = ModType.DELETE_FAMILY;
-
-    Map<String, Object> propertiesMap = Maps.newLinkedHashMap();
-    setCommonProperties(propertiesMap, source, mutation);
-    setSpecificProperties(propertiesMap, deleteFamily);
-    this.changeJson = convertPropertiesToJson(propertiesMap);
-  }
-
-  private void setCommonProperties(
-      Map<String, Object> propertiesMap, BigtableSource source, ChangeStreamMutation mutation) {
-    propertiesMap.put(PubSubFields.ROW_KEY_BYTES.name(), encodeBytes(mutation.getRowKey()));
-    propertiesMap.put(PubSubFields.SOURCE_INSTANCE.name(), source.getInstanceId());
-    propertiesMap.put(PubSubFields.SOURCE_CLUSTER.name(), mutation.getSourceClusterId());
-    propertiesMap.put(PubSubFields.SOURCE_TABLE.name(), source.getTableId());
-    propertiesMap.put(PubSubFields.TIEBREAKER.name(), mutation.getTieBreaker());
-    propertiesMap.put(
-        PubSubFields.IS_GC.name(), mutation.getType() == MutationType.GARBAGE_COLLECTION);
-    propertiesMap.put(
-        PubSubFields.COMMIT_TIMESTAMP.name(),
-        cbtTimestampToLongMicros(mutation.getCommitTimestamp()));
-  }
-
-  private Long cbtTimestampToLongMicros(Instant commitTimestamp) {
-    long epochMicros = commitTimestamp.toEpochMilli() * 1000;
-    long nanosAsMicros = commitTimestamp.getNano() / 1000;
-    return epochMicros + nanosAsMicros;
+    this(mutation, ModValues.of(source, mutation, deleteFamily));
   }
 
-  private void setSpecificProperties(Map<String, Object> propertiesMap, SetCell setCell) {
-    propertiesMap.put(PubSubFields.MOD_TYPE.name(), ModType.SET_CELL.getCode());
-    propertiesMap.put(PubSubFields.COLUMN_FAMILY.name(), setCell.getFamilyName());
-    propertiesMap.put(PubSubFields.COLUMN_BYTES.name(), encodeBytes(setCell.getQualifier()));
-    propertiesMap.put(PubSubFields.TIMESTAMP.name(), setCell.getTimestamp());
-    propertiesMap.put(PubSubFields.VALUE_BYTES.name(), encodeBytes(setCell.getValue()));
-  }
-
-  private void setSpecificProperties(Map<String, Object> propertiesMap, DeleteCells deleteCells) {
-    Long startTimestamp = deleteCells.getTimestampRange().getStart();
-    if (startTimestamp == null) {
-      startTimestamp = 0L;
-    }
-    Long endTimestamp = deleteCells.getTimestampRange().getEnd();
-    if (deleteCells.getTimestampRange().getEndBound() == BoundType.UNBOUNDED) {
-      endTimestamp = null;
+  /**
+   * Creates a {@link Mod} from the values of one of the entries of a mutation.
+   *
+   * @param mutation the mutation the values were read from.
+   * @param values the values of the entry.
+   */
+  public Mod(ChangeStreamMutation mutation, ModValues values) {
+    this(mutation.getCommitTimestamp(), values.getModType());
+    this.changeJson = convertPropertiesToJson(changeProperties(values));
+  }
+
+  private static Map<String, Object> changeProperties(ModValues values) {
+    Map<String, Object> propertiesMap =
+        values.getModType() == ModType.DELETE_FAMILY ? Maps.newLinkedHashMap() : Maps.newHashMap();
+    propertiesMap.put(PubSubFields.ROW_KEY_BYTES.name(), encodeBytes(values.getRowKey()));
+    propertiesMap.put(PubSubFields.SOURCE_INSTANCE.name(), values.getSourceInstance());
+    propertiesMap.put(PubSubFields.SOURCE_CLUSTER.name(), values.getSourceCluster());
+    propertiesMap.put(PubSubFields.SOURCE_TABLE.name(), values.getSourceTable());
+    propertiesMap.put(PubSubFields.TIEBREAKER.name(), values.getTieBreaker());
+    propertiesMap.put(PubSubFields.IS_GC.name(), values.getIsGC());
+    propertiesMap.put(PubSubFields.COMMIT_TIMESTAMP.name(), values.getCommitTimestamp());
+
+    propertiesMap.put(PubSubFields.MOD_TYPE.name(), values.getModType().getCode());
+    propertiesMap.put(PubSubFields.COLUMN_FAMILY.name(), values.getColumnFamily());
+    switch (values.getModType()) {
+      case SET_CELL:
+        propertiesMap.put(PubSubFields.COLUMN_BYTES.name(), encodeBytes(values.getColumn()));
+        propertiesMap.put(PubSubFields.TIMESTAMP.name(), values.getTimestamp());
+        propertiesMap.put(PubSubFields.VALUE_BYTES.name(), encodeBytes(values.getValue()));
+        break;
+      case DELETE_CELLS:
+        propertiesMap.put(PubSubFields.COLUMN_BYTES.name(), encodeBytes(values.getColumn()));
+        propertiesMap.put(PubSubFields.TIMESTAMP_FROM.name(), values.getTimestampFrom());
+        propertiesMap.put(PubSubFields.TIMESTAMP_TO.name(), values.getTimestampTo());
+        break;
+      default:
+        break;
     }
-
-    propertiesMap.put(PubSubFields.MOD_TYPE.name(), ModType.DELETE_CELLS.getCode());
-    propertiesMap.put(PubSubFields.COLUMN_FAMILY.name(), deleteCells.getFamilyName());
-    propertiesMap.put(PubSubFields.COLUMN_BYTES.name(), encodeBytes(deleteCells.getQualifier()));
-    propertiesMap.put(PubSubFields.TIMESTAMP_FROM.name(), startTimestamp);
-    propertiesMap.put(PubSubFields.TIMESTAMP_TO.name(), endTimestamp);
-  }
-
-  private void setSpecificProperties(Map<String, Object> propertiesMap, DeleteFamily deleteFamily) {
-    propertiesMap.put(PubSubFields.MOD_TYPE.name(), ModType.DELETE_FAMILY.getCode());
-    propertiesMap.put(PubSubFields.COLUMN_FAMILY.name(), deleteFamily.getFamilyName());
+    return propertiesMap;
   }
 
   public static Mod fromJson(String json) throws IOException {
-    RowJsonUtils.increaseDefaultStreamReadConstraints(100 * 1024 * 1024);
-    return new ObjectMapper().readValue(json, Mod.class);
+    return ModReader.OBJECT_MAPPER.readValue(json, Mod.class);
   }
 
   /**
@@ -231,10 +201,10 @@ public final class Mod implements Serializable {
   }
 
   public String toJson() throws JsonProcessingException {
-    return new ObjectMapper().writeValueAsString(this);
+    return JsonCodecs.writeValueAsString(this);
   }
 
-  private String encodeBytes(ByteString rowKey) {
+  private static String encodeBytes(ByteString rowKey) {
     if (rowKey == null) {
       return null;
     } else {
@@ -249,11 +219,24 @@ public final class Mod implements Serializable {
     return Long.toString(timestampMicros);
   }
 
-  private String convertPropertiesToJson(Map<String, Object> propertiesMap) {
+  private static String convertPropertiesToJson(Map<String, Object> propertiesMap) {
     try {
-      return new ObjectMapper().writeValueAsString(propertiesMap);
+      return JsonCodecs.writeValueAsString(propertiesMap);
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
+
+  /**
+   * Holds the mapper reading {@link Mod}s. Raised stream read constraints only apply to mappers
+   * created afterwards, so it is created once they are raised rather than shared.
+   */
+  private static class ModReader {
+    private static final ObjectMapper OBJECT_MAPPER = createObjectMapper();
+
+    private static ObjectMapper createObjectMapper() {
+      RowJsonUtils.increaseDefaultStreamReadConstraints(100 * 1024 * 1024);
+      return new ObjectMapper();
+    }
+  }
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model;
+
+import com.google.auto.value.AutoValue;
+import com.google.cloud.bigtable.data.v2.models.ChangeStreamMutation;
+import com.google.cloud.bigtable.data.v2.models.ChangeStreamMutation.MutationType;
+import com.google.cloud.bigtable.data.v2.models.DeleteCells;
+import com.google.cloud.bigtable.data.v2.models.DeleteFamily;
+import com.google.cloud.bigtable.data.v2.models.Range.BoundType;
+import com.google.cloud.bigtable.data.v2.models.SetCell;
+import com.google.cloud.teleport.v2.utils.BigtableSource;
+import com.google.protobuf.ByteString;
+import java.util.Base64;
+import javax.annotation.Nullable;
+import org.json.JSONObject;
+import org.threeten.bp.Instant;
+
+/**
+ * The {@link ModValues} holds the values of a changelog entry, as they are mapped to a PubSub
+ * message. Row keys, column qualifiers and cell values are kept as bytes. The values are read
+ * either straight from an entry of a {@link ChangeStreamMutation}, or from the change JSON of a
+ * {@link Mod}.
+ */
+@AutoValue
+public abstract class ModValues {
+
+  public abstract ByteString getRowKey();
+
+  public abstract ModType getModType();
+
+  public abstract boolean getIsGC();
+
+  public abstract int getTieBreaker();
+
+  public abstract String getColumnFamily();
+
+  /** Commit timestamp of the mutation, in microseconds. */
+  public abstract long getCommitTimestamp();
+
+  @Nullable
+  public abstract ByteString getColumn();
+
+  @Nullable
+  public abstract Long getTimestamp();
+
+  @Nullable
+  public abstract Long getTimestampFrom();
+
+  @Nullable
+  public abstract Long getTimestampTo();
+
+  @Nullable
+  public abstract ByteString getValue();
+
+  public abstract String getSourceInstance();
+
+  public abstract String getSourceCluster();
+
+  public abstract String getSourceTable();
+
+  public static ModValues of(
+      BigtableSource source, ChangeStreamMutation mutation, SetCell setCell) {
+    return newBuilder(source, mutation)
+        .setModType(ModType.SET_CELL)
+        .setColumnFamily(setCell.getFamilyName())
+        .setColumn(setCell.getQualifier())
+        .setTimestamp(setCell.getTimestamp())
+        .setValue(setCell.getValue())
+        .build();
+  }
+
+  public static ModValues of(
+      BigtableSource source, ChangeStreamMutation mutation, DeleteCells deleteCells) {
+    Long startTimestamp = deleteCells.getTimestampRange().getStart();
+    if (startTimestamp == null) {
+      startTimestamp = 0L;
+    }
+    Long endTimestamp = deleteCells.getTimestampRange().getEnd();
+    if (deleteCells.getTimestampRange().getEndBound() == BoundType.UNBOUNDED) {
+      endTimestamp = null;
+    }
+
+    return newBuilder(source, mutation)
+        .setModType(ModType.DELETE_CELLS)
+        .setColumnFamily(deleteCells.getFamilyName())
+        .setColumn(deleteCells.getQualifier())
+        .setTimestampFrom(startTimestamp)
+        .setTimestampTo(endTimestamp)
+        .build();
+  }
+
+  public static ModValues of(
+      BigtableSource source, ChangeStreamMutation mutation, DeleteFamily deleteFamily) {
+    return newBuilder(source, mutation)
+        .setModType(ModType.DELETE_FAMILY)
+        .setColumnFamily(deleteFamily.getFamilyName())
+        .build();
+  }
+
+  /**
+   * Reads the values of a change JSON, as written by {@link Mod}. Bytes are Base64 encoded in the
+   * change JSON, and optional values are absent or null.
+   *
+   * @param changeJson the parsed change JSON of a {@link Mod}.
+   */
+  public static ModValues fromChangeJson(JSONObject changeJson) {
+    return new AutoValue_ModValues.Builder()
+        .setRowKey(getBytes(changeJson, PubSubFields.ROW_KEY_BYTES))
+        .setModType(ModType.valueOf(changeJson.getString(PubSubFields.MOD_TYPE.name())))
+        .setIsGC(changeJson.getBoolean(PubSubFields.IS_GC.name()))
+        .setTieBreaker(changeJson.getInt(PubSubFields.TIEBREAKER.name()))
+        .setColumnFamily(changeJson.getString(PubSubFields.COLUMN_FAMILY.name()))
+        .setCommitTimestamp(changeJson.getLong(PubSubFields.COMMIT_TIMESTAMP.name()))
+        .setColumn(getBytes(changeJson, PubSubFields.COLUMN_BYTES))
+        .setTimestamp(getLong(changeJson, PubSubFields.TIMESTAMP))
+        .setTimestampFrom(getLong(changeJson, PubSubFields.TIMESTAMP_FROM))
+        .setTimestampTo(getLong(changeJson, PubSubFields.TIMESTAMP_TO))
+        .setValue(getBytes(changeJson, PubSubFields.VALUE_BYTES))
+        .setSourceInstance(changeJson.getString(PubSubFields.SOURCE_INSTANCE.name()))
+        .setSourceCluster(changeJson.getString(PubSubFields.SOURCE_CLUSTER.name()))
+        .setSourceTable(changeJson.getString(PubSubFields.SOURCE_TABLE.name()))
+        .build();
+  }
+
+  private static Builder newBuilder(BigtableSource source, ChangeStreamMutation mutation) {
+    return new AutoValue_ModValues.Builder()
+        .setRowKey(mutation.getRowKey())
+        .setSourceInstance(source.getInstanceId())
+        .setSourceCluster(mutation.getSourceClusterId())
+        .setSourceTable(source.getTableId())
+        .setTieBreaker(mutation.getTieBreaker())
+        .setIsGC(mutation.getType() == MutationType.GARBAGE_COLLECTION)
+        .setCommitTimestamp(cbtTimestampToLongMicros(mutation.getCommitTimestamp()));
+  }
+
+  private static long cbtTimestampToLongMicros(Instant commitTimestamp) {
+    long epochMicros = commitTimestamp.toEpochMilli() * 1000;
+    long nanosAsMicros = commitTimestamp.getNano() / 1000;
+    return epochMicros + nanosAsMicros;
+  }
+
+  @Nullable
+  private static ByteString getBytes(JSONObject changeJson, PubSubFields field) {
+    if (changeJson.isNull(field.name())) {
+      return null;
+    }
+    return ByteString.copyFrom(Base64.getDecoder().decode(changeJson.getString(field.name())));
+  }
+
+  @Nullable
+  private static Long getLong(JSONObject changeJson, PubSubFields field) {
+    if (changeJson.isNull(field.name())) {
+      return null;
+    }
+    return changeJson.getLong(field.name());
+  }
+
+  @AutoValue.Builder
+  abstract static class Builder {
+
+    abstract Builder setRowKey(ByteString value);
+
+    abstract Builder setModType(ModType value);
+
+    abstract Builder setIsGC(boolean value);
+
+    abstract Builder setTieBreaker(int value);
+
+    abstract Builder setColumnFamily(String value);
+
+    abstract Builder setCommitTimestamp(long value);
+
+    abstract Builder setColumn(@Nullable ByteString value);
+
+    abstract Builder setTimestamp(@Nullable Long value);
+
+    abstract Builder setTimestampFrom(@Nullable Long value);
+
+    abstract Builder setTimestampTo(@Nullable Long value);
+
+    abstract Builder setValue(@Nullable ByteString value);
+
+    abstract Builder setSourceInstance(String value);
+
+    abstract Builder setSourceCluster(String value);
+
+    abstract Builder setSourceTable(String value);
+
+    abstract ModValues build();
+  }
+}
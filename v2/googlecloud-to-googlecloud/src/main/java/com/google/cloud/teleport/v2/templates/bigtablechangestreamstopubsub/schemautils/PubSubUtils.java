@@ -21,8 +21,9 @@ import com.google.cloud.teleport.bigtable.ChangelogEntryMessageText;
 import com.google.cloud.teleport.bigtable.ModType;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.InvalidModException;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.MessageEncoding;
+import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.MessageFormat;
+import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.ModValues;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.PubSubDestination;
-import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.PubSubFields;
 import com.google.cloud.teleport.v2.utils.BigtableSource;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.util.JsonFormat;
@@ -33,12 +34,11 @@ import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.Base64;
-import java.util.EnumMap;
 import org.apache.avro.io.BinaryEncoder;
 import org.apache.avro.io.Encoder;
 import org.apache.avro.io.EncoderFactory;
-import org.apache.commons.lang3.Validate;
 import org.json.JSONObject;
 
 /**
@@ -46,120 +46,10 @@ import org.json.JSONObject;
  */
 public class PubSubUtils implements Serializable {
 
-  private static final EnumMap<PubSubFields, PubSubValueFormatter> FORMATTERS =
-      new EnumMap<>(PubSubFields.class);
   private static final ThreadLocal<BinaryEncoder> BINARY_ENCODER =
       ThreadLocal.withInitial(
           () -> EncoderFactory.get().directBinaryEncoder(new ByteArrayOutputStream(), null));
 
-  static {
-    FORMATTERS.put(
-        PubSubFields.ROW_KEY_STRING,
-        (pb, chg) -> {
-          String rowkeyEncoded = chg.getString(PubSubFields.ROW_KEY_BYTES.name());
-          return pb.convertBase64ToString(rowkeyEncoded);
-        });
-    FORMATTERS.put(
-        PubSubFields.ROW_KEY_STRING_BASE64,
-        (pb, chg) -> chg.getString(PubSubFields.ROW_KEY_BYTES.name()));
-    FORMATTERS.put(
-        PubSubFields.ROW_KEY_BYTES,
-        (pb, chg) -> {
-          String rowkeyEncoded = chg.getString(PubSubFields.ROW_KEY_BYTES.name());
-          return pb.convertBase64ToBytes(rowkeyEncoded);
-        });
-    FORMATTERS.put(PubSubFields.MOD_TYPE, (pb, chg) -> chg.getString(PubSubFields.MOD_TYPE.name()));
-    FORMATTERS.put(
-        PubSubFields.COMMIT_TIMESTAMP,
-        (pb, chg) -> chg.getLong(PubSubFields.COMMIT_TIMESTAMP.name()));
-    FORMATTERS.put(
-        PubSubFields.COLUMN_FAMILY, (pb, chg) -> chg.getString(PubSubFields.COLUMN_FAMILY.name()));
-    FORMATTERS.put(
-        PubSubFields.COLUMN_BYTES,
-        (pb, chg) -> {
-          if (!chg.has(PubSubFields.COLUMN_BYTES.name())) {
-            return null;
-          }
-          String qualifierEncoded = chg.getString(PubSubFields.COLUMN_BYTES.name());
-          return pb.convertBase64ToBytes(qualifierEncoded);
-        });
-    FORMATTERS.put(
-        PubSubFields.COLUMN_STRING,
-        (pb, chg) -> {
-          if (!chg.has(PubSubFields.COLUMN_BYTES.name())) {
-            return null;
-          }
-          String qualifierEncoded = chg.getString(PubSubFields.COLUMN_BYTES.name());
-          return pb.convertBase64ToString(qualifierEncoded);
-        });
-    FORMATTERS.put(
-        (PubSubFields.COLUMN_STRING_BASE64),
-        (pb, chg) -> chg.getString(PubSubFields.COLUMN_BYTES.name()));
-    FORMATTERS.put(
-        PubSubFields.TIMESTAMP,
-        (pb, chg) -> {
-          if (!chg.has(PubSubFields.TIMESTAMP.name())) {
-            return null;
-          }
-          return chg.getLong(PubSubFields.TIMESTAMP.name());
-        });
-    FORMATTERS.put(
-        PubSubFields.VALUE_BYTES,
-        (pb, chg) -> {
-          if (!chg.has(PubSubFields.VALUE_BYTES.name())) {
-            return null;
-          }
-
-          String valueEncoded = chg.getString(PubSubFields.VALUE_BYTES.name());
-          return pb.convertBase64ToBytes(valueEncoded);
-        });
-    FORMATTERS.put(
-        PubSubFields.VALUE_STRING,
-        (pb, chg) -> {
-          if (!chg.has(PubSubFields.VALUE_BYTES.name())) {
-            return null;
-          }
-
-          String valueEncoded = chg.getString(PubSubFields.VALUE_BYTES.name());
-          return pb.convertBase64ToString(valueEncoded);
-        });
-    FORMATTERS.put(
-        PubSubFields.VALUE_STRING_BASE64,
-        (pb, chg) -> chg.getString(PubSubFields.VALUE_BYTES.name()));
-    FORMATTERS.put(
-        PubSubFields.TIMESTAMP_FROM,
-        (pb, chg) -> {
-          if (!chg.has(PubSubFields.TIMESTAMP_FROM.name())) {
-            return null;
-          }
-          return chg.getLong(PubSubFields.TIMESTAMP_FROM.name());
-        });
-    FORMATTERS.put(
-        PubSubFields.TIMESTAMP_TO,
-        (pb, chg) -> {
-          if (!chg.has(PubSubFields.TIMESTAMP_TO.name())) {
-            return null;
-          }
-          return chg.getLong(PubSubFields.TIMESTAMP_TO.name());
-        });
-    FORMATTERS.put(PubSubFields.IS_GC, (pb, chg) -> chg.getBoolean(PubSubFields.IS_GC.name()));
-    FORMATTERS.put(
-        PubSubFields.SOURCE_INSTANCE,
-        (pb, chg) -> chg.getString(PubSubFields.SOURCE_INSTANCE.name()));
-    FORMATTERS.put(
-        PubSubFields.SOURCE_CLUSTER,
-        (pb, chg) -> chg.getString(PubSubFields.SOURCE_CLUSTER.name()));
-    FORMATTERS.put(
-        PubSubFields.SOURCE_TABLE, (pb, chg) -> chg.getString(PubSubFields.SOURCE_TABLE.name()));
-    FORMATTERS.put(
-        PubSubFields.TIEBREAKER, (pb, chg) -> chg.getInt(PubSubFields.TIEBREAKER.name()));
-
-    // Just in case, validate that every column in the enum has a formatter
-    for (PubSubFields field : PubSubFields.values()) {
-      Validate.notNull(FORMATTERS.get(field));
-    }
-  }
-
   private final BigtableSource source;
   private final PubSubDestination destination;
   private transient Charset charsetObj;
@@ -183,56 +73,85 @@ public class PubSubUtils implements Serializable {
     charsetObj = Charset.forName(source.getCharset());
   }
 
-  private String convertBase64ToString(String base64String) {
-    return new String(Base64.getDecoder().decode(base64String), charsetObj);
+  private String convertBytesToString(ByteString bytes) {
+    return bytes.toString(charsetObj);
+  }
+
+  private static String convertBytesToBase64(ByteString bytes) {
+    return Base64.getEncoder().encodeToString(bytes.toByteArray());
+  }
+
+  /**
+   * Maps the values of a changelog entry to a PubSub message in the message format of the
+   * destination. Row keys, column qualifiers and cell values are written from their bytes, without
+   * going through the change JSON.
+   *
+   * @param values values of the changelog entry.
+   * @return PubSub message for the destination topic.
+   * @throws InvalidModException if the values can never be mapped to a valid message.
+   */
+  public PubsubMessage mapChangeToPubSubMessage(ModValues values) throws Exception {
+    MessageFormat messageFormat = destination.getMessageFormat();
+    switch (messageFormat) {
+      case AVRO:
+        return mapChangeToPubSubMessageAsAvro(values);
+      case PROTOCOL_BUFFERS:
+        return mapChangeToPubSubMessageAsProto(values);
+      case JSON:
+        return mapChangeToPubSubMessageAsJson(values);
+      default:
+        final String errorMessage =
+            "Invalid message format:"
+                + messageFormat
+                + ". Supported output formats: "
+                + Arrays.toString(MessageFormat.values());
+        throw new IllegalArgumentException(errorMessage);
+    }
   }
 
-  private byte[] convertBase64ToBytes(String base64String) {
-    return Base64.getDecoder().decode(base64String);
+  /**
+   * Maps a change JSON, such as the change JSON of a {@code Mod} read back from the DLQ, to a
+   * PubSub message in the message format of the destination.
+   *
+   * @param changeJsonString change JSON of a {@code Mod}.
+   * @return PubSub message for the destination topic.
+   * @throws InvalidModException if the change can never be mapped to a valid message.
+   */
+  public PubsubMessage mapChangeJsonStringToPubSubMessage(String changeJsonString)
+      throws Exception {
+    return mapChangeToPubSubMessage(ModValues.fromChangeJson(new JSONObject(changeJsonString)));
   }
 
   public PubsubMessage mapChangeJsonStringToPubSubMessageAsAvro(String changeJsonString)
       throws Exception {
+    return mapChangeToPubSubMessageAsAvro(
+        ModValues.fromChangeJson(new JSONObject(changeJsonString)));
+  }
+
+  private PubsubMessage mapChangeToPubSubMessageAsAvro(ModValues values) throws Exception {
     MessageEncoding messageEncoding = this.getDestination().getMessageEncoding();
     ChangelogEntryMessage changelogEntryMessage = new ChangelogEntryMessage();
-    JSONObject changeJsonParsed = new JSONObject(changeJsonString);
-
-    changelogEntryMessage.setRowKey(
-        ByteBuffer.wrap(
-            (byte[]) FORMATTERS.get(PubSubFields.ROW_KEY_BYTES).format(this, changeJsonParsed)));
-    changelogEntryMessage.setModType(
-        ModType.valueOf(
-            (String) FORMATTERS.get(PubSubFields.MOD_TYPE).format(this, changeJsonParsed)));
-    changelogEntryMessage.setIsGC(
-        (Boolean) FORMATTERS.get(PubSubFields.IS_GC).format(this, changeJsonParsed));
-    changelogEntryMessage.setTieBreaker(
-        (Integer) FORMATTERS.get(PubSubFields.TIEBREAKER).format(this, changeJsonParsed));
-    changelogEntryMessage.setColumnFamily(
-        (String) FORMATTERS.get(PubSubFields.COLUMN_FAMILY).format(this, changeJsonParsed));
-    changelogEntryMessage.setCommitTimestamp(
-        (Long) FORMATTERS.get(PubSubFields.COMMIT_TIMESTAMP).format(this, changeJsonParsed));
-    changelogEntryMessage.setColumn(
-        ByteBuffer.wrap(
-            (byte[]) FORMATTERS.get(PubSubFields.COLUMN_BYTES).format(this, changeJsonParsed)));
-    changelogEntryMessage.setTimestamp(
-        (Long) FORMATTERS.get(PubSubFields.TIMESTAMP).format(this, changeJsonParsed));
-    changelogEntryMessage.setTimestampFrom(
-        (Long) FORMATTERS.get(PubSubFields.TIMESTAMP_FROM).format(this, changeJsonParsed));
-    changelogEntryMessage.setTimestampTo(
-        (Long) FORMATTERS.get(PubSubFields.TIMESTAMP_TO).format(this, changeJsonParsed));
-    if (destination.getStripValues()) {
+
+    changelogEntryMessage.setRowKey(ByteBuffer.wrap(values.getRowKey().toByteArray()));
+    changelogEntryMessage.setModType(ModType.valueOf(values.getModType().getCode()));
+    changelogEntryMessage.setIsGC(values.getIsGC());
+    changelogEntryMessage.setTieBreaker(values.getTieBreaker());
+    changelogEntryMessage.setColumnFamily(values.getColumnFamily());
+    changelogEntryMessage.setCommitTimestamp(values.getCommitTimestamp());
+    if (values.getColumn() != null) {
+      changelogEntryMessage.setColumn(ByteBuffer.wrap(values.getColumn().toByteArray()));
+    }
+    changelogEntryMessage.setTimestamp(values.getTimestamp());
+    changelogEntryMessage.setTimestampFrom(values.getTimestampFrom());
+    changelogEntryMessage.setTimestampTo(values.getTimestampTo());
+    if (destination.getStripValues() || values.getValue() == null) {
       changelogEntryMessage.setValue(null);
     } else {
-      changelogEntryMessage.setValue(
-          ByteBuffer.wrap(
-              (byte[]) FORMATTERS.get(PubSubFields.VALUE_BYTES).format(this, changeJsonParsed)));
+      changelogEntryMessage.setValue(ByteBuffer.wrap(values.getValue().toByteArray()));
     }
-    changelogEntryMessage.setSourceInstance(
-        (String) FORMATTERS.get(PubSubFields.SOURCE_INSTANCE).format(this, changeJsonParsed));
-    changelogEntryMessage.setSourceCluster(
-        (String) FORMATTERS.get(PubSubFields.SOURCE_CLUSTER).format(this, changeJsonParsed));
-    changelogEntryMessage.setSourceTable(
-        (String) FORMATTERS.get(PubSubFields.SOURCE_TABLE).format(this, changeJsonParsed));
+    changelogEntryMessage.setSourceInstance(values.getSourceInstance());
+    changelogEntryMessage.setSourceCluster(values.getSourceCluster());
+    changelogEntryMessage.setSourceTable(values.getSourceTable());
 
     ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
 
@@ -259,76 +178,58 @@ public class PubSubUtils implements Serializable {
 
   public PubsubMessage mapChangeJsonStringToPubSubMessageAsJson(String changeJsonString)
       throws InvalidModException, Exception {
-    JSONObject changeJsonParsed = new JSONObject(changeJsonString);
+    return mapChangeToPubSubMessageAsJson(
+        ModValues.fromChangeJson(new JSONObject(changeJsonString)));
+  }
+
+  private PubsubMessage mapChangeToPubSubMessageAsJson(ModValues values)
+      throws InvalidModException, Exception {
 
     var changelogEntryTextBuilder =
         ChangelogEntryMessageText.ChangelogEntryText.newBuilder()
             .setModType(
                 ChangelogEntryMessageText.ChangelogEntryText.ModType.valueOf(
-                    (String) FORMATTERS.get(PubSubFields.MOD_TYPE).format(this, changeJsonParsed)))
-            .setIsGC((Boolean) FORMATTERS.get(PubSubFields.IS_GC).format(this, changeJsonParsed))
-            .setTieBreaker(
-                (Integer) FORMATTERS.get(PubSubFields.TIEBREAKER).format(this, changeJsonParsed))
-            .setColumnFamily(
-                (String) FORMATTERS.get(PubSubFields.COLUMN_FAMILY).format(this, changeJsonParsed))
-            .setCommitTimestamp(
-                (Long) FORMATTERS.get(PubSubFields.COMMIT_TIMESTAMP).format(this, changeJsonParsed))
-            .setSourceInstance(
-                (String)
-                    FORMATTERS.get(PubSubFields.SOURCE_INSTANCE).format(this, changeJsonParsed))
-            .setSourceCluster(
-                (String) FORMATTERS.get(PubSubFields.SOURCE_CLUSTER).format(this, changeJsonParsed))
-            .setSourceTable(
-                (String) FORMATTERS.get(PubSubFields.SOURCE_TABLE).format(this, changeJsonParsed));
+                    values.getModType().getCode()))
+            .setIsGC(values.getIsGC())
+            .setTieBreaker(values.getTieBreaker())
+            .setColumnFamily(values.getColumnFamily())
+            .setCommitTimestamp(values.getCommitTimestamp())
+            .setSourceInstance(values.getSourceInstance())
+            .setSourceCluster(values.getSourceCluster())
+            .setSourceTable(values.getSourceTable());
 
     if (this.destination.getUseBase64Rowkey()) {
-      changelogEntryTextBuilder.setRowKey(
-          (String)
-              FORMATTERS.get(PubSubFields.ROW_KEY_STRING_BASE64).format(this, changeJsonParsed));
+      changelogEntryTextBuilder.setRowKey(convertBytesToBase64(values.getRowKey()));
     } else {
-      changelogEntryTextBuilder.setRowKey(
-          (String) FORMATTERS.get(PubSubFields.ROW_KEY_STRING).format(this, changeJsonParsed));
+      changelogEntryTextBuilder.setRowKey(convertBytesToString(values.getRowKey()));
     }
 
-    String columnString;
-    if (this.destination.getUseBase64ColumnQualifiers()) {
-      columnString =
-          (String) FORMATTERS.get(PubSubFields.COLUMN_STRING_BASE64).format(this, changeJsonParsed);
-    } else {
-      columnString =
-          (String) FORMATTERS.get(PubSubFields.COLUMN_STRING).format(this, changeJsonParsed);
-    }
-    if (columnString != null) {
-      changelogEntryTextBuilder.setColumn(columnString);
+    if (values.getColumn() != null) {
+      if (this.destination.getUseBase64ColumnQualifiers()) {
+        changelogEntryTextBuilder.setColumn(convertBytesToBase64(values.getColumn()));
+      } else {
+        changelogEntryTextBuilder.setColumn(convertBytesToString(values.getColumn()));
+      }
     }
     if (!destination.getStripValues()) {
-      String value;
+      if (values.getValue() == null) {
+        throw new InvalidModException(values.toString());
+      }
       if (destination.getUseBase64Values()) {
-        value =
-            (String)
-                FORMATTERS.get(PubSubFields.VALUE_STRING_BASE64).format(this, changeJsonParsed);
+        changelogEntryTextBuilder.setValue(convertBytesToBase64(values.getValue()));
       } else {
-        value = (String) FORMATTERS.get(PubSubFields.VALUE_STRING).format(this, changeJsonParsed);
+        changelogEntryTextBuilder.setValue(convertBytesToString(values.getValue()));
       }
-      if (value == null) {
-        throw new InvalidModException(changeJsonString);
-      }
-      changelogEntryTextBuilder.setValue(value);
     }
 
-    Long timestamp = (Long) FORMATTERS.get(PubSubFields.TIMESTAMP).format(this, changeJsonParsed);
-    if (timestamp != null) {
-      changelogEntryTextBuilder.setTimestamp(timestamp);
+    if (values.getTimestamp() != null) {
+      changelogEntryTextBuilder.setTimestamp(values.getTimestamp());
     }
-    Long timestampFrom =
-        (Long) FORMATTERS.get(PubSubFields.TIMESTAMP_FROM).format(this, changeJsonParsed);
-    if (timestampFrom != null) {
-      changelogEntryTextBuilder.setTimestampFrom(timestampFrom);
+    if (values.getTimestampFrom() != null) {
+      changelogEntryTextBuilder.setTimestampFrom(values.getTimestampFrom());
     }
-    Long timestampTo =
-        (Long) FORMATTERS.get(PubSubFields.TIMESTAMP_TO).format(this, changeJsonParsed);
-    if (timestampTo != null) {
-      changelogEntryTextBuilder.setTimestampTo(timestampTo);
+    if (values.getTimestampTo() != null) {
+      changelogEntryTextBuilder.setTimestampTo(values.getTimestampTo());
     }
 
     ChangelogEntryMessageText.ChangelogEntryText changelogEntryMessageText =
@@ -343,58 +244,41 @@ public class PubSubUtils implements Serializable {
 
   public PubsubMessage mapChangeJsonStringToPubSubMessageAsProto(String changeJsonString)
       throws Exception {
+    return mapChangeToPubSubMessageAsProto(
+        ModValues.fromChangeJson(new JSONObject(changeJsonString)));
+  }
+
+  private PubsubMessage mapChangeToPubSubMessageAsProto(ModValues values) throws Exception {
     MessageEncoding messageEncoding = this.getDestination().getMessageEncoding();
-    JSONObject changeJsonParsed = new JSONObject(changeJsonString);
 
     var changelogEntryProtoBuilder =
         ChangelogEntryMessageProto.ChangelogEntryProto.newBuilder()
-            .setRowKey(
-                ByteString.copyFrom(
-                    (byte[])
-                        FORMATTERS.get(PubSubFields.ROW_KEY_BYTES).format(this, changeJsonParsed)))
+            .setRowKey(values.getRowKey())
             .setModType(
                 ChangelogEntryMessageProto.ChangelogEntryProto.ModType.valueOf(
-                    (String) FORMATTERS.get(PubSubFields.MOD_TYPE).format(this, changeJsonParsed)))
-            .setIsGC((Boolean) FORMATTERS.get(PubSubFields.IS_GC).format(this, changeJsonParsed))
-            .setTieBreaker(
-                (Integer) FORMATTERS.get(PubSubFields.TIEBREAKER).format(this, changeJsonParsed))
-            .setColumnFamily(
-                (String) FORMATTERS.get(PubSubFields.COLUMN_FAMILY).format(this, changeJsonParsed))
-            .setCommitTimestamp(
-                (Long) FORMATTERS.get(PubSubFields.COMMIT_TIMESTAMP).format(this, changeJsonParsed))
-            .setSourceInstance(
-                (String)
-                    FORMATTERS.get(PubSubFields.SOURCE_INSTANCE).format(this, changeJsonParsed))
-            .setSourceCluster(
-                (String) FORMATTERS.get(PubSubFields.SOURCE_CLUSTER).format(this, changeJsonParsed))
-            .setSourceTable(
-                (String) FORMATTERS.get(PubSubFields.SOURCE_TABLE).format(this, changeJsonParsed));
-
-    byte[] columnBytes =
-        (byte[]) FORMATTERS.get(PubSubFields.COLUMN_BYTES).format(this, changeJsonParsed);
-    if (columnBytes != null) {
-      changelogEntryProtoBuilder.setColumn(ByteString.copyFrom(columnBytes));
+                    values.getModType().getCode()))
+            .setIsGC(values.getIsGC())
+            .setTieBreaker(values.getTieBreaker())
+            .setColumnFamily(values.getColumnFamily())
+            .setCommitTimestamp(values.getCommitTimestamp())
+            .setSourceInstance(values.getSourceInstance())
+            .setSourceCluster(values.getSourceCluster())
+            .setSourceTable(values.getSourceTable());
+
+    if (values.getColumn() != null) {
+      changelogEntryProtoBuilder.setColumn(values.getColumn());
     }
-    Long timestamp = (Long) FORMATTERS.get(PubSubFields.TIMESTAMP).format(this, changeJsonParsed);
-    if (timestamp != null) {
-      changelogEntryProtoBuilder.setTimestamp(timestamp);
+    if (values.getTimestamp() != null) {
+      changelogEntryProtoBuilder.setTimestamp(values.getTimestamp());
     }
-    Long timestampFrom =
-        (Long) FORMATTERS.get(PubSubFields.TIMESTAMP_FROM).format(this, changeJsonParsed);
-    if (timestampFrom != null) {
-      changelogEntryProtoBuilder.setTimestampFrom(timestampFrom);
+    if (values.getTimestampFrom() != null) {
+      changelogEntryProtoBuilder.setTimestampFrom(values.getTimestampFrom());
     }
-    Long timestampTo =
-        (Long) FORMATTERS.get(PubSubFields.TIMESTAMP_TO).format(this, changeJsonParsed);
-    if (timestampTo != null) {
-      changelogEntryProtoBuilder.setTimestampTo(timestampTo);
+    if (values.getTimestampTo() != null) {
+      changelogEntryProtoBuilder.setTimestampTo(values.getTimestampTo());
     }
-    if (!destination.getStripValues()) {
-      byte[] valueBytes =
-          (byte[]) FORMATTERS.get(PubSubFields.VALUE_BYTES).format(this, changeJsonParsed);
-      if (valueBytes != null) {
-        changelogEntryProtoBuilder.setValue(ByteString.copyFrom(valueBytes));
-      }
+    if (!destination.getStripValues() && values.getValue() != null) {
+      changelogEntryProtoBuilder.setValue(values.getValue());
     }
 
     ChangelogEntryMessageProto.ChangelogEntryProto changelogEntryMessageProto =
@@ -18,7 +18,6 @@ package com.google.cloud.teleport.v2.templates.spannerchangestreamstobigquery;
 import static org.apache.beam.sdk.util.Preconditions.checkStateNotNull;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.api.gax.grpc.GrpcCallContext;
 import com.google.api.gax.rpc.ApiCallContext;
@@ -42,6 +41,7 @@ import com.google.cloud.teleport.v2.templates.spannerchangestreamstobigquery.sch
 import com.google.cloud.teleport.v2.templates.spannerchangestreamstobigquery.schemautils.SchemaUpdateUtils;
 import com.google.cloud.teleport.v2.templates.spannerchangestreamstobigquery.schemautils.SpannerChangeStreamsUtils;
 import com.google.cloud.teleport.v2.templates.spannerchangestreamstobigquery.schemautils.SpannerToBigQueryUtils;
+import com.google.cloud.teleport.v2.utils.JsonCodecs;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
 import com.google.common.collect.ImmutableSet;
 import io.grpc.CallOptions;
@@ -238,7 +238,7 @@ public final class FailsafeModJsonToTableRowTransformer {
             "check dead letter queue for unprocessed records that failed to be processed";
         ObjectNode modObjectNode = null;
         try {
-          modObjectNode = (ObjectNode) new ObjectMapper().readTree(modJsonString);
+          modObjectNode = (ObjectNode) JsonCodecs.readTree(modJsonString);
         } catch (JsonProcessingException e) {
           String errorMessage =
               String.format(
@@ -16,8 +16,8 @@
 package com.google.cloud.teleport.v2.templates.spannerchangestreamstobigquery.model;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.cloud.Timestamp;
+import com.google.cloud.teleport.v2.utils.JsonCodecs;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.Collections;
@@ -121,7 +121,7 @@ public final class Mod implements Serializable {
   }
 
   public static Mod fromJson(String json) throws IOException {
-    return new ObjectMapper().readValue(json, Mod.class);
+    return JsonCodecs.readValue(json, Mod.class);
   }
 
   /**
@@ -294,6 +294,6 @@ public final class Mod implements Serializable {
   }
 
   public String toJson() throws JsonProcessingException {
-    return new ObjectMapper().writeValueAsString(this);
+    return JsonCodecs.writeValueAsString(this);
   }
 }
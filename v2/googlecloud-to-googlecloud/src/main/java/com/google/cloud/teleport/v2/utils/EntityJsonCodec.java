@@ -0,0 +1,552 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.CharacterEscapes;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.google.datastore.v1.ArrayValue;
+import com.google.datastore.v1.Entity;
+import com.google.datastore.v1.Key;
+import com.google.datastore.v1.Key.PathElement;
+import com.google.datastore.v1.PartitionId;
+import com.google.datastore.v1.Value;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.NullValue;
+import com.google.protobuf.util.JsonFormat;
+import com.google.protobuf.util.JsonFormat.TypeRegistry;
+import com.google.protobuf.util.Timestamps;
+import com.google.type.LatLng;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming JSON codec for Datastore {@link Entity entities}.
+ *
+ * <p>Entities are printed in the protov3 JSON mapping produced by {@link JsonFormat}, byte for
+ * byte, but without going through the descriptors of the messages. Parsing accepts the JSON printed
+ * by the codec (or by {@link JsonFormat}) and falls back to {@link JsonFormat} for any other form
+ * the mapping allows, such as original field names or numbers given as strings.
+ */
+public final class EntityJsonCodec {
+
+  private static final JsonFactory JSON_FACTORY =
+      new JsonFactory().setCharacterEscapes(new GsonCharacterEscapes());
+
+  private static final JsonFormat.Parser FALLBACK_PARSER =
+      JsonFormat.parser()
+          .usingTypeRegistry(TypeRegistry.newBuilder().add(Entity.getDescriptor()).build());
+
+  private EntityJsonCodec() {}
+
+  /**
+   * Prints an Entity as a JSON String.
+   *
+   * @param entity a Datastore Protobuf Entity.
+   * @return Datastore Entity encoded as a JSON String, identical to the output of {@link
+   *     JsonFormat}.
+   */
+  public static String print(Entity entity) {
+    StringWriter writer = new StringWriter();
+    try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+      writeEntity(generator, entity);
+    } catch (IOException e) {
+      // StringWriter does not throw.
+      throw new IllegalStateException(e);
+    }
+    return writer.toString();
+  }
+
+  /**
+   * Parses a JSON String into an Entity.
+   *
+   * @param json Datastore Entity encoded as a JSON String.
+   * @return a Datastore Protobuf Entity.
+   * @throws InvalidProtocolBufferException if the JSON is not a valid Entity.
+   */
+  public static Entity parse(String json) throws InvalidProtocolBufferException {
+    try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+      Entity entity = readEntity(parser, parser.nextToken());
+      if (parser.nextToken() == null) {
+        return entity;
+      }
+    } catch (IOException | UnsupportedJsonException | IllegalArgumentException e) {
+      // Not in the printed form, JsonFormat decides whether the JSON is valid.
+    }
+    Entity.Builder entityBuilder = Entity.newBuilder();
+    FALLBACK_PARSER.merge(json, entityBuilder);
+    return entityBuilder.build();
+  }
+
+  private static void writeEntity(JsonGenerator generator, Entity entity) throws IOException {
+    generator.writeStartObject();
+    if (entity.hasKey()) {
+      generator.writeFieldName("key");
+      writeKey(generator, entity.getKey());
+    }
+    if (entity.getPropertiesCount() > 0) {
+      generator.writeFieldName("properties");
+      generator.writeStartObject();
+      for (Map.Entry<String, Value> property : entity.getPropertiesMap().entrySet()) {
+        generator.writeFieldName(property.getKey());
+        writeValue(generator, property.getValue());
+      }
+      generator.writeEndObject();
+    }
+    generator.writeEndObject();
+  }
+
+  private static void writeKey(JsonGenerator generator, Key key) throws IOException {
+    generator.writeStartObject();
+    if (key.hasPartitionId()) {
+      PartitionId partitionId = key.getPartitionId();
+      generator.writeFieldName("partitionId");
+      generator.writeStartObject();
+      writeNonEmptyString(generator, "projectId", partitionId.getProjectId());
+      writeNonEmptyString(generator, "databaseId", partitionId.getDatabaseId());
+      writeNonEmptyString(generator, "namespaceId", partitionId.getNamespaceId());
+      generator.writeEndObject();
+    }
+    if (key.getPathCount() > 0) {
+      generator.writeFieldName("path");
+      generator.writeStartArray();
+      for (PathElement pathElement : key.getPathList()) {
+        generator.writeStartObject();
+        writeNonEmptyString(generator, "kind", pathElement.getKind());
+        switch (pathElement.getIdTypeCase()) {
+          case ID:
+            generator.writeStringField("id", Long.toString(pathElement.getId()));
+            break;
+          case NAME:
+            generator.writeStringField("name", pathElement.getName());
+            break;
+          default:
+            break;
+        }
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+    }
+    generator.writeEndObject();
+  }
+
+  private static void writeValue(JsonGenerator generator, Value value) throws IOException {
+    // Fields are printed in the order of their numbers, as JsonFormat does. meaning (14) and
+    // excludeFromIndexes (19) go around the value type, whose number depends on the type.
+    generator.writeStartObject();
+    int valueFieldNumber = value.getValueTypeCase().getNumber();
+    if (valueFieldNumber != 0 && valueFieldNumber < Value.MEANING_FIELD_NUMBER) {
+      writeValueType(generator, value);
+    }
+    if (value.getMeaning() != 0) {
+      generator.writeFieldName("meaning");
+      generator.writeNumber(value.getMeaning());
+    }
+    if (valueFieldNumber > Value.MEANING_FIELD_NUMBER) {
+      writeValueType(generator, value);
+    }
+    if (value.getExcludeFromIndexes()) {
+      generator.writeBooleanField("excludeFromIndexes", true);
+    }
+    generator.writeEndObject();
+  }
+
+  private static void writeValueType(JsonGenerator generator, Value value) throws IOException {
+    switch (value.getValueTypeCase()) {
+      case NULL_VALUE:
+        generator.writeNullField("nullValue");
+        break;
+      case BOOLEAN_VALUE:
+        generator.writeBooleanField("booleanValue", value.getBooleanValue());
+        break;
+      case INTEGER_VALUE:
+        generator.writeStringField("integerValue", Long.toString(value.getIntegerValue()));
+        break;
+      case DOUBLE_VALUE:
+        generator.writeFieldName("doubleValue");
+        writeDouble(generator, value.getDoubleValue());
+        break;
+      case TIMESTAMP_VALUE:
+        generator.writeStringField(
+            "timestampValue", Timestamps.toString(value.getTimestampValue()));
+        break;
+      case KEY_VALUE:
+        generator.writeFieldName("keyValue");
+        writeKey(generator, value.getKeyValue());
+        break;
+      case STRING_VALUE:
+        generator.writeStringField("stringValue", value.getStringValue());
+        break;
+      case BLOB_VALUE:
+        generator.writeStringField(
+            "blobValue", Base64.getEncoder().encodeToString(value.getBlobValue().toByteArray()));
+        break;
+      case GEO_POINT_VALUE:
+        LatLng geoPoint = value.getGeoPointValue();
+        generator.writeFieldName("geoPointValue");
+        generator.writeStartObject();
+        if (Double.doubleToRawLongBits(geoPoint.getLatitude()) != 0) {
+          generator.writeFieldName("latitude");
+          writeDouble(generator, geoPoint.getLatitude());
+        }
+        if (Double.doubleToRawLongBits(geoPoint.getLongitude()) != 0) {
+          generator.writeFieldName("longitude");
+          writeDouble(generator, geoPoint.getLongitude());
+        }
+        generator.writeEndObject();
+        break;
+      case ENTITY_VALUE:
+        generator.writeFieldName("entityValue");
+        writeEntity(generator, value.getEntityValue());
+        break;
+      case ARRAY_VALUE:
+        generator.writeFieldName("arrayValue");
+        generator.writeStartObject();
+        if (value.getArrayValue().getValuesCount() > 0) {
+          generator.writeFieldName("values");
+          generator.writeStartArray();
+          for (Value element : value.getArrayValue().getValuesList()) {
+            writeValue(generator, element);
+          }
+          generator.writeEndArray();
+        }
+        generator.writeEndObject();
+        break;
+      default:
+        break;
+    }
+  }
+
+  private static void writeDouble(JsonGenerator generator, double value) throws IOException {
+    if (Double.isNaN(value)) {
+      generator.writeString("NaN");
+    } else if (Double.isInfinite(value)) {
+      generator.writeString(value < 0 ? "-Infinity" : "Infinity");
+    } else {
+      generator.writeNumber(Double.toString(value));
+    }
+  }
+
+  private static void writeNonEmptyString(JsonGenerator generator, String fieldName, String value)
+      throws IOException {
+    if (!value.isEmpty()) {
+      generator.writeStringField(fieldName, value);
+    }
+  }
+
+  private static Entity readEntity(JsonParser parser, JsonToken token) throws IOException {
+    expect(token == JsonToken.START_OBJECT);
+    Entity.Builder entityBuilder = Entity.newBuilder();
+    Set<String> fieldNames = new HashSet<>();
+    while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+      String fieldName = parser.getCurrentName();
+      expect(fieldNames.add(fieldName));
+      token = parser.nextToken();
+      switch (fieldName) {
+        case "key":
+          entityBuilder.setKey(readKey(parser, token));
+          break;
+        case "properties":
+          expect(token == JsonToken.START_OBJECT);
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String propertyName = parser.getCurrentName();
+            expect(!entityBuilder.containsProperties(propertyName));
+            entityBuilder.putProperties(propertyName, readValue(parser, parser.nextToken()));
+          }
+          break;
+        default:
+          throw new UnsupportedJsonException();
+      }
+    }
+    return entityBuilder.build();
+  }
+
+  private static Key readKey(JsonParser parser, JsonToken token) throws IOException {
+    expect(token == JsonToken.START_OBJECT);
+    Key.Builder keyBuilder = Key.newBuilder();
+    Set<String> fieldNames = new HashSet<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String fieldName = parser.getCurrentName();
+      expect(fieldNames.add(fieldName));
+      token = parser.nextToken();
+      switch (fieldName) {
+        case "partitionId":
+          keyBuilder.setPartitionId(readPartitionId(parser, token));
+          break;
+        case "path":
+          expect(token == JsonToken.START_ARRAY);
+          while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            keyBuilder.addPath(readPathElement(parser, token));
+          }
+          break;
+        default:
+          throw new UnsupportedJsonException();
+      }
+    }
+    return keyBuilder.build();
+  }
+
+  private static PartitionId readPartitionId(JsonParser parser, JsonToken token)
+      throws IOException {
+    expect(token == JsonToken.START_OBJECT);
+    PartitionId.Builder partitionIdBuilder = PartitionId.newBuilder();
+    Set<String> fieldNames = new HashSet<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String fieldName = parser.getCurrentName();
+      expect(fieldNames.add(fieldName));
+      expect(parser.nextToken() == JsonToken.VALUE_STRING);
+      switch (fieldName) {
+        case "projectId":
+          partitionIdBuilder.setProjectId(parser.getText());
+          break;
+        case "databaseId":
+          partitionIdBuilder.setDatabaseId(parser.getText());
+          break;
+        case "namespaceId":
+          partitionIdBuilder.setNamespaceId(parser.getText());
+          break;
+        default:
+          throw new UnsupportedJsonException();
+      }
+    }
+    return partitionIdBuilder.build();
+  }
+
+  private static PathElement readPathElement(JsonParser parser, JsonToken token)
+      throws IOException {
+    expect(token == JsonToken.START_OBJECT);
+    PathElement.Builder pathElementBuilder = PathElement.newBuilder();
+    Set<String> fieldNames = new HashSet<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String fieldName = parser.getCurrentName();
+      expect(fieldNames.add(fieldName));
+      token = parser.nextToken();
+      switch (fieldName) {
+        case "kind":
+          expect(token == JsonToken.VALUE_STRING);
+          pathElementBuilder.setKind(parser.getText());
+          break;
+        case "id":
+          expect(pathElementBuilder.getIdTypeCase() == PathElement.IdTypeCase.IDTYPE_NOT_SET);
+          pathElementBuilder.setId(readInt64(parser, token));
+          break;
+        case "name":
+          expect(pathElementBuilder.getIdTypeCase() == PathElement.IdTypeCase.IDTYPE_NOT_SET);
+          expect(token == JsonToken.VALUE_STRING);
+          pathElementBuilder.setName(parser.getText());
+          break;
+        default:
+          throw new UnsupportedJsonException();
+      }
+    }
+    return pathElementBuilder.build();
+  }
+
+  private static Value readValue(JsonParser parser, JsonToken token) throws IOException {
+    expect(token == JsonToken.START_OBJECT);
+    Value.Builder valueBuilder = Value.newBuilder();
+    Set<String> fieldNames = new HashSet<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String fieldName = parser.getCurrentName();
+      expect(fieldNames.add(fieldName));
+      token = parser.nextToken();
+      if (fieldName.equals("meaning")) {
+        expect(token == JsonToken.VALUE_NUMBER_INT);
+        valueBuilder.setMeaning(parser.getIntValue());
+        continue;
+      }
+      if (fieldName.equals("excludeFromIndexes")) {
+        expect(token.isBoolean());
+        valueBuilder.setExcludeFromIndexes(token == JsonToken.VALUE_TRUE);
+        continue;
+      }
+      expect(valueBuilder.getValueTypeCase() == Value.ValueTypeCase.VALUETYPE_NOT_SET);
+      switch (fieldName) {
+        case "nullValue":
+          expect(token == JsonToken.VALUE_NULL);
+          valueBuilder.setNullValue(NullValue.NULL_VALUE);
+          break;
+        case "booleanValue":
+          expect(token.isBoolean());
+          valueBuilder.setBooleanValue(token == JsonToken.VALUE_TRUE);
+          break;
+        case "integerValue":
+          valueBuilder.setIntegerValue(readInt64(parser, token));
+          break;
+        case "doubleValue":
+          valueBuilder.setDoubleValue(readDouble(parser, token));
+          break;
+        case "timestampValue":
+          expect(token == JsonToken.VALUE_STRING);
+          try {
+            valueBuilder.setTimestampValue(Timestamps.parse(parser.getText()));
+          } catch (java.text.ParseException e) {
+            throw new UnsupportedJsonException();
+          }
+          break;
+        case "keyValue":
+          valueBuilder.setKeyValue(readKey(parser, token));
+          break;
+        case "stringValue":
+          expect(token == JsonToken.VALUE_STRING);
+          valueBuilder.setStringValue(parser.getText());
+          break;
+        case "blobValue":
+          expect(token == JsonToken.VALUE_STRING && parser.getTextLength() % 4 == 0);
+          valueBuilder.setBlobValue(
+              ByteString.copyFrom(Base64.getDecoder().decode(parser.getText())));
+          break;
+        case "geoPointValue":
+          valueBuilder.setGeoPointValue(readLatLng(parser, token));
+          break;
+        case "entityValue":
+          valueBuilder.setEntityValue(readEntity(parser, token));
+          break;
+        case "arrayValue":
+          valueBuilder.setArrayValue(readArrayValue(parser, token));
+          break;
+        default:
+          throw new UnsupportedJsonException();
+      }
+    }
+    return valueBuilder.build();
+  }
+
+  private static ArrayValue readArrayValue(JsonParser parser, JsonToken token) throws IOException {
+    expect(token == JsonToken.START_OBJECT);
+    ArrayValue.Builder arrayValueBuilder = ArrayValue.newBuilder();
+    if ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+      expect(parser.getCurrentName().equals("values"));
+      expect(parser.nextToken() == JsonToken.START_ARRAY);
+      while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+        arrayValueBuilder.addValues(readValue(parser, token));
+      }
+      token = parser.nextToken();
+    }
+    expect(token == JsonToken.END_OBJECT);
+    return arrayValueBuilder.build();
+  }
+
+  private static LatLng readLatLng(JsonParser parser, JsonToken token) throws IOException {
+    expect(token == JsonToken.START_OBJECT);
+    LatLng.Builder latLngBuilder = LatLng.newBuilder();
+    Set<String> fieldNames = new HashSet<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String fieldName = parser.getCurrentName();
+      expect(fieldNames.add(fieldName));
+      token = parser.nextToken();
+      switch (fieldName) {
+        case "latitude":
+          latLngBuilder.setLatitude(readDouble(parser, token));
+          break;
+        case "longitude":
+          latLngBuilder.setLongitude(readDouble(parser, token));
+          break;
+        default:
+          throw new UnsupportedJsonException();
+      }
+    }
+    return latLngBuilder.build();
+  }
+
+  private static long readInt64(JsonParser parser, JsonToken token) throws IOException {
+    if (token == JsonToken.VALUE_STRING) {
+      return Long.parseLong(parser.getText());
+    }
+    expect(token == JsonToken.VALUE_NUMBER_INT);
+    return parser.getLongValue();
+  }
+
+  private static double readDouble(JsonParser parser, JsonToken token) throws IOException {
+    if (token == JsonToken.VALUE_STRING) {
+      switch (parser.getText()) {
+        case "NaN":
+          return Double.NaN;
+        case "Infinity":
+          return Double.POSITIVE_INFINITY;
+        case "-Infinity":
+          return Double.NEGATIVE_INFINITY;
+        default:
+          throw new UnsupportedJsonException();
+      }
+    }
+    expect(token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT);
+    double value = parser.getDoubleValue();
+    expect(!Double.isInfinite(value));
+    return value;
+  }
+
+  private static void expect(boolean condition) {
+    if (!condition) {
+      throw new UnsupportedJsonException();
+    }
+  }
+
+  /** Signals JSON outside the printed form, which is left to {@link JsonFormat}. */
+  private static class UnsupportedJsonException extends RuntimeException {
+    UnsupportedJsonException() {
+      super(null, null, false, false);
+    }
+  }
+
+  /**
+   * Escapes strings the way {@link JsonFormat} does through Gson: HTML characters, U+2028 and
+   * U+2029 are escaped, and control characters use lower case hex digits.
+   */
+  private static class GsonCharacterEscapes extends CharacterEscapes {
+
+    private static final int LINE_SEPARATOR = 0x2028;
+    private static final int PARAGRAPH_SEPARATOR = 0x2029;
+
+    private final int[] asciiEscapes;
+
+    GsonCharacterEscapes() {
+      asciiEscapes = standardAsciiEscapesForJSON();
+      for (int c = 0; c < 0x20; c++) {
+        if (asciiEscapes[c] == ESCAPE_STANDARD) {
+          asciiEscapes[c] = ESCAPE_CUSTOM;
+        }
+      }
+      for (char c : new char[] {'<', '>', '&', '=', '\''}) {
+        asciiEscapes[c] = ESCAPE_CUSTOM;
+      }
+    }
+
+    @Override
+    public int[] getEscapeCodesForAscii() {
+      return asciiEscapes;
+    }
+
+    @Override
+    public SerializableString getEscapeSequence(int ch) {
+      if (ch < asciiEscapes.length
+          ? asciiEscapes[ch] == ESCAPE_CUSTOM
+          : ch == LINE_SEPARATOR || ch == PARAGRAPH_SEPARATOR) {
+        return new SerializedString(String.format("\\u%04x", ch));
+      }
+      return null;
+    }
+  }
+}
@@ -18,7 +18,6 @@ package com.google.cloud.teleport.v2.utils;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
 import com.google.auto.value.AutoValue;
@@ -32,8 +31,6 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
-import com.google.protobuf.util.JsonFormat;
-import com.google.protobuf.util.JsonFormat.TypeRegistry;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.HashSet;
@@ -779,15 +776,6 @@ public class FirestoreConverters {
   /** Converts an Entity to a JSON String. */
   public static class EntityJsonPrinter {
 
-    // A cached jsonPrinter
-    private JsonFormat.Printer jsonPrinter;
-
-    public EntityJsonPrinter() {
-      TypeRegistry typeRegistry = TypeRegistry.newBuilder().add(Entity.getDescriptor()).build();
-      jsonPrinter =
-          JsonFormat.printer().usingTypeRegistry(typeRegistry).omittingInsignificantWhitespace();
-    }
-
     /**
      * Prints an Entity as a JSON String.
      *
@@ -796,31 +784,20 @@ public class FirestoreConverters {
      * @throws InvalidProtocolBufferException
      */
     public String print(Entity entity) throws InvalidProtocolBufferException {
-      return jsonPrinter.print(entity);
+      return EntityJsonCodec.print(entity);
     }
   }
 
   /** Converts a JSON String to an Entity. */
   public static class EntityJsonParser {
 
-    // A cached jsonParser
-    private JsonFormat.Parser jsonParser;
-
-    public EntityJsonParser() {
-      TypeRegistry typeRegistry = TypeRegistry.newBuilder().add(Entity.getDescriptor()).build();
-
-      jsonParser = JsonFormat.parser().usingTypeRegistry(typeRegistry);
-    }
-
     public void merge(String json, Entity.Builder entityBuilder)
         throws InvalidProtocolBufferException {
-      jsonParser.merge(json, entityBuilder);
+      entityBuilder.mergeFrom(EntityJsonCodec.parse(json));
     }
 
     public Entity parse(String json) throws InvalidProtocolBufferException {
-      Entity.Builder entityBuilder = Entity.newBuilder();
-      merge(json, entityBuilder);
-      return entityBuilder.build();
+      return EntityJsonCodec.parse(json);
     }
   }
 
@@ -943,7 +920,7 @@ public class FirestoreConverters {
     }
 
     public static ErrorMessage fromJson(String json) throws IOException {
-      return new ObjectMapper().readValue(json, ErrorMessage.class);
+      return JsonCodecs.readValue(json, ErrorMessage.class);
     }
 
     @JsonProperty
@@ -956,7 +933,7 @@ public class FirestoreConverters {
     public abstract T data();
 
     public String toJson() throws JsonProcessingException {
-      return new ObjectMapper().writeValueAsString(this);
+      return JsonCodecs.writeValueAsString(this);
     }
 
     /** Builder for {@link ErrorMessage}. */
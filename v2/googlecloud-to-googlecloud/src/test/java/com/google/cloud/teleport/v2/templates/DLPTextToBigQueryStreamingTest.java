@@ -21,13 +21,19 @@ import static org.junit.Assert.assertThat;
 
 import com.google.api.services.bigquery.model.TableRow;
 import com.google.cloud.teleport.v2.templates.DLPTextToBigQueryStreaming.CSVReader;
+import com.google.cloud.teleport.v2.templates.DLPTextToBigQueryStreaming.CsvBatchReader;
 import com.google.cloud.teleport.v2.templates.DLPTextToBigQueryStreaming.TableRowProcessorDoFn;
+import com.google.privacy.dlp.v2.FieldId;
 import com.google.privacy.dlp.v2.Table;
+import com.google.protobuf.CodedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import org.apache.beam.sdk.coders.KvCoder;
 import org.apache.beam.sdk.coders.StringUtf8Coder;
@@ -143,4 +149,118 @@ public class DLPTextToBigQueryStreamingTest {
             });
     p.run();
   }
+
+  /**
+   * Tests that batches are capped by rows and by the size of their DLP table, and keep quoted line
+   * breaks in a record.
+   */
+  @Test
+  public void testCsvBatchReader() throws IOException {
+    String longRow = "x".repeat(40) + ",e\n";
+    String csv = "a,b\r\n\"multi\nline\",\"quoted \"\"\nquote\"\"\"\nc,d\n" + longRow + "f,g";
+    CsvBatchReader batchReader =
+        new CsvBatchReader(
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), 0L, 2, 60);
+    List<Table.Row> batch = new ArrayList<>();
+
+    assertThat(batchReader.readBatch(Collections.emptyList(), batch), is(true));
+    assertThat(firstValues(batch), is(equalTo(Arrays.asList("a", "multi\nline"))));
+    assertThat(batch.get(1).getValues(1).getStringValue(), is(equalTo("quoted \"\nquote\"")));
+    assertThat(
+        batchReader.position(),
+        is(equalTo((long) "a,b\r\n\"multi\nline\",\"quoted \"\"\nquote\"\"\"\n".length())));
+
+    // Capped by bytes, the long row does not fit in the same table as another row.
+    assertThat(batchReader.readBatch(Collections.emptyList(), batch), is(true));
+    assertThat(firstValues(batch), is(equalTo(Arrays.asList("c"))));
+    assertThat(batchReader.readBatch(Collections.emptyList(), batch), is(true));
+    assertThat(firstValues(batch), is(equalTo(Arrays.asList("x".repeat(40)))));
+    assertThat(batchReader.readBatch(Collections.emptyList(), batch), is(true));
+    assertThat(firstValues(batch), is(equalTo(Arrays.asList("f"))));
+    assertThat(batchReader.position(), is(equalTo((long) csv.length())));
+
+    assertThat(batchReader.readBatch(Collections.emptyList(), batch), is(false));
+  }
+
+  /**
+   * Tests that rows of narrow cells, whose DLP table is much larger than their CSV bytes, are
+   * batched by the serialized size of the table.
+   */
+  @Test
+  public void testCsvBatchReaderNarrowCells() throws IOException {
+    int columns = 200;
+    List<FieldId> headers = new ArrayList<>();
+    for (int column = 0; column < columns; column++) {
+      headers.add(FieldId.newBuilder().setName("c" + column).build());
+    }
+    String row = String.join(",", Collections.nCopies(columns, "a")) + "\n";
+    int rowCount = 1500;
+    String csv = row.repeat(rowCount);
+    CsvBatchReader batchReader =
+        new CsvBatchReader(
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+            0L,
+            Integer.MAX_VALUE,
+            CSVReader.MAX_BATCH_BYTES);
+    List<Table.Row> batch = new ArrayList<>();
+
+    int rowsRead = 0;
+    long previousPosition = 0;
+    while (batchReader.readBatch(headers, batch)) {
+      Table table = Table.newBuilder().addAllHeaders(headers).addAllRows(batch).build();
+      int rowBytes = CodedOutputStream.computeMessageSize(Table.ROWS_FIELD_NUMBER, batch.get(0));
+      assertThat(table.getSerializedSize() <= CSVReader.MAX_BATCH_BYTES, is(true));
+      rowsRead += batch.size();
+      if (rowsRead < rowCount) {
+        // The batch is full: one more row would not fit in the request.
+        assertThat(table.getSerializedSize() + rowBytes > CSVReader.MAX_BATCH_BYTES, is(true));
+        // The CSV bytes of the batch are far below the limit, so they can not be used as its size.
+        assertThat(
+            batchReader.position() - previousPosition < CSVReader.MAX_BATCH_BYTES / 2, is(true));
+      }
+      previousPosition = batchReader.position();
+    }
+    assertThat(rowsRead, is(equalTo(rowCount)));
+  }
+
+  private static List<String> firstValues(List<Table.Row> rows) {
+    List<String> values = new ArrayList<>();
+    for (Table.Row row : rows) {
+      values.add(row.getValues(0).getStringValue());
+    }
+    return values;
+  }
+
+  /** Tests that a file is read in batches of rows, each with the headers of the file. */
+  @Test
+  public void testCsvReaderBatches() throws IOException {
+    File file = tempFolder.newFile("batches.csv");
+    StringBuilder contents = new StringBuilder(HEADER_ROW + "\n");
+    for (int row = 0; row < 25; row++) {
+      contents.append(row % 5 == 0 ? "\"Multi\nLine\"" : "MC").append(CONTENTS_ROW.substring(2));
+      contents.append("\n");
+    }
+    Files.write(file.toPath(), contents.toString().getBytes(StandardCharsets.UTF_8));
+
+    PCollection<KV<String, Table>> dlpTable =
+        p.apply("Match", FileIO.match().filepattern(file.getAbsolutePath()))
+            .apply("Read File", FileIO.readMatches().withCompression(Compression.AUTO))
+            .apply("Add Keys", WithKeys.of(key -> "batches"))
+            .setCoder(KvCoder.of(StringUtf8Coder.of(), ReadableFileCoder.of()))
+            .apply("Create DLP Table", ParDo.of(new CSVReader(10)));
+
+    PAssert.that(dlpTable)
+        .satisfies(
+            collection -> {
+              List<Integer> rowCounts = new ArrayList<>();
+              for (KV<String, Table> tableData : collection) {
+                assertThat(tableData.getValue().getHeadersCount(), is(equalTo(12)));
+                rowCounts.add(tableData.getValue().getRowsCount());
+              }
+              Collections.sort(rowCounts);
+              assertThat(rowCounts, is(equalTo(Arrays.asList(5, 10, 10))));
+              return null;
+            });
+    p.run();
+  }
 }
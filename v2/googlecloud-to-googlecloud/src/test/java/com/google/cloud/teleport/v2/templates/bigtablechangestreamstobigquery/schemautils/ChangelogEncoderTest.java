@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates.bigtablechangestreamstobigquery.schemautils;
+
+import com.google.cloud.bigtable.data.v2.models.ChangeStreamMutation;
+import com.google.cloud.bigtable.data.v2.models.ChangeStreamMutation.MutationType;
+import com.google.cloud.bigtable.data.v2.models.DeleteCells;
+import com.google.cloud.bigtable.data.v2.models.DeleteFamily;
+import com.google.cloud.bigtable.data.v2.models.Entry;
+import com.google.cloud.bigtable.data.v2.models.Range.TimestampRange;
+import com.google.cloud.bigtable.data.v2.models.SetCell;
+import com.google.cloud.teleport.v2.templates.bigtablechangestreamstobigquery.TestUtil;
+import com.google.cloud.teleport.v2.templates.bigtablechangestreamstobigquery.model.BigQueryDestination;
+import com.google.cloud.teleport.v2.templates.bigtablechangestreamstobigquery.model.ChangelogColumn;
+import com.google.cloud.teleport.v2.templates.bigtablechangestreamstobigquery.model.ModType;
+import com.google.cloud.teleport.v2.utils.BigtableSource;
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.ByteString;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mockito;
+import org.threeten.bp.Instant;
+
+/** Tests ChangelogEncoder. */
+@RunWith(JUnit4.class)
+public class ChangelogEncoderTest {
+
+  @Test
+  public void testDefaultConfigurationSchema() {
+    Schema schema =
+        new ChangelogEncoder(getDefaultSourceInfo(), getDefaultDestinationInfo()).getSchema();
+
+    List<String> fieldNames = new ArrayList<>();
+    for (Schema.Field field : schema.getFields()) {
+      fieldNames.add(field.name());
+    }
+    Assert.assertEquals(
+        ImmutableList.of(
+            "row_key",
+            "mod_type",
+            "commit_timestamp",
+            "column_family",
+            "column",
+            "timestamp",
+            "value",
+            "timestamp_from",
+            "timestamp_to",
+            "is_gc",
+            "source_instance",
+            "source_cluster",
+            "source_table",
+            "tiebreaker"),
+        fieldNames);
+    Assert.assertEquals(
+        LogicalTypes.timestampMicros(),
+        schema.getField("commit_timestamp").schema().getLogicalType());
+    Assert.assertTrue(schema.getField("timestamp").schema().isNullable());
+    Assert.assertFalse(schema.getField("row_key").schema().isNullable());
+  }
+
+  @Test
+  public void testDefaultConfigurationEncodesEveryEntry() throws Exception {
+    ChangelogEncoder encoder =
+        new ChangelogEncoder(getDefaultSourceInfo(), getDefaultDestinationInfo());
+    SetCell setCell =
+        SetCell.create(
+            TestUtil.TEST_GOOD_COLUMN_FAMILY,
+            getBytesString(TestUtil.TEST_GOOD_COLUMN),
+            TestUtil.TEST_TIMESTAMP,
+            getBytesString(TestUtil.TEST_GOOD_VALUE));
+    DeleteCells deleteCells =
+        DeleteCells.create(
+            TestUtil.TEST_GOOD_COLUMN_FAMILY,
+            getBytesString(TestUtil.TEST_GOOD_COLUMN),
+            TimestampRange.unbounded().startClosed(-1L));
+    DeleteFamily deleteFamily = DeleteFamily.create(TestUtil.TEST_GOOD_COLUMN_FAMILY);
+
+    List<GenericRecord> records = encode(encoder, setCell, deleteCells, deleteFamily);
+
+    Assert.assertEquals(3, records.size());
+    for (GenericRecord record : records) {
+      Assert.assertEquals(
+          TestUtil.TEST_ROWKEY, get(record, ChangelogColumn.ROW_KEY_STRING).toString());
+      Assert.assertEquals(
+          TestUtil.TEST_COMMIT_TIMESTAMP * 1000, get(record, ChangelogColumn.COMMIT_TIMESTAMP));
+      Assert.assertEquals(false, get(record, ChangelogColumn.IS_GC));
+      Assert.assertEquals(TestUtil.TEST_CBT_INSTANCE, get(record, ChangelogColumn.SOURCE_INSTANCE));
+      Assert.assertEquals(TestUtil.TEST_CBT_CLUSTER, get(record, ChangelogColumn.SOURCE_CLUSTER));
+      Assert.assertEquals(TestUtil.TEST_CBT_TABLE, get(record, ChangelogColumn.SOURCE_TABLE));
+      Assert.assertEquals((long) TestUtil.TEST_TIEBREAKER, get(record, ChangelogColumn.TIEBREAKER));
+      Assert.assertEquals(
+          TestUtil.TEST_GOOD_COLUMN_FAMILY, get(record, ChangelogColumn.COLUMN_FAMILY));
+    }
+
+    GenericRecord setCellRecord = records.get(0);
+    Assert.assertEquals(ModType.SET_CELL.getCode(), get(setCellRecord, ChangelogColumn.MOD_TYPE));
+    Assert.assertEquals(TestUtil.TEST_GOOD_COLUMN, get(setCellRecord, ChangelogColumn.COLUMN));
+    Assert.assertEquals(TestUtil.TEST_TIMESTAMP, get(setCellRecord, ChangelogColumn.TIMESTAMP));
+    Assert.assertEquals(TestUtil.TEST_GOOD_VALUE, get(setCellRecord, ChangelogColumn.VALUE_STRING));
+    Assert.assertNull(get(setCellRecord, ChangelogColumn.TIMESTAMP_FROM));
+
+    GenericRecord deleteCellsRecord = records.get(1);
+    Assert.assertEquals(
+        ModType.DELETE_CELLS.getCode(), get(deleteCellsRecord, ChangelogColumn.MOD_TYPE));
+    Assert.assertEquals(TestUtil.TEST_GOOD_COLUMN, get(deleteCellsRecord, ChangelogColumn.COLUMN));
+    Assert.assertEquals(-1L, get(deleteCellsRecord, ChangelogColumn.TIMESTAMP_FROM));
+    Assert.assertNull(get(deleteCellsRecord, ChangelogColumn.TIMESTAMP_TO));
+    Assert.assertNull(get(deleteCellsRecord, ChangelogColumn.VALUE_STRING));
+
+    GenericRecord deleteFamilyRecord = records.get(2);
+    Assert.assertEquals(
+        ModType.DELETE_FAMILY.getCode(), get(deleteFamilyRecord, ChangelogColumn.MOD_TYPE));
+    Assert.assertNull(get(deleteFamilyRecord, ChangelogColumn.COLUMN));
+    Assert.assertNull(get(deleteFamilyRecord, ChangelogColumn.TIMESTAMP));
+  }
+
+  @Test
+  public void testNonDefaultConfigurationSkipsIgnoredEntries() throws Exception {
+    ChangelogEncoder encoder =
+        new ChangelogEncoder(getNonDefaultSourceInfo(), getNonDefaultDestinationInfo());
+    SetCell ignoredColumn =
+        SetCell.create(
+            TestUtil.TEST_SPECIFIC_COL_TO_IGNORE_FAMILY,
+            getBytesString(TestUtil.TEST_SPECIFIC_COL_TO_IGNORE),
+            TestUtil.TEST_TIMESTAMP,
+            getBytesString(TestUtil.TEST_GOOD_VALUE));
+    SetCell ignoredColumnFamily =
+        SetCell.create(
+            TestUtil.TEST_IGNORED_COLUMN_FAMILY,
+            getBytesString(TestUtil.TEST_GOOD_COLUMN),
+            TestUtil.TEST_TIMESTAMP,
+            getBytesString(TestUtil.TEST_GOOD_VALUE));
+    SetCell writtenColumn =
+        SetCell.create(
+            TestUtil.TEST_SPECIFIC_COL_TO_IGNORE_FAMILY,
+            TestUtil.TEST_NON_UTF_COLUMN,
+            TestUtil.TEST_TIMESTAMP,
+            TestUtil.TEST_NON_UTF_VALUE);
+    DeleteFamily ignoredDeleteFamily = DeleteFamily.create(TestUtil.TEST_IGNORED_COLUMN_FAMILY);
+
+    List<GenericRecord> records =
+        encode(encoder, ignoredColumn, ignoredColumnFamily, writtenColumn, ignoredDeleteFamily);
+
+    Assert.assertEquals(1, records.size());
+    GenericRecord record = records.get(0);
+    Assert.assertNull(record.getSchema().getField(ChangelogColumn.IS_GC.getBqColumnName()));
+    Assert.assertEquals(
+        ByteBuffer.wrap(TestUtil.TEST_ROWKEY.getBytes(Charset.defaultCharset())),
+        get(record, ChangelogColumn.ROW_KEY_BYTES));
+    Assert.assertEquals("\u0411", get(record, ChangelogColumn.COLUMN));
+    Assert.assertEquals(
+        TestUtil.TEST_NON_UTF_VALUE.asReadOnlyByteBuffer(),
+        get(record, ChangelogColumn.VALUE_BYTES));
+    Assert.assertEquals(TestUtil.TEST_TIMESTAMP, get(record, ChangelogColumn.TIMESTAMP_NUM));
+  }
+
+  private static Object get(GenericRecord record, ChangelogColumn column) {
+    return record.get(column.getBqColumnName());
+  }
+
+  private List<GenericRecord> encode(ChangelogEncoder encoder, Entry... entries) throws Exception {
+    ChangeStreamMutation mutation = Mockito.mock(ChangeStreamMutation.class);
+    Mockito.when(mutation.getEntries()).thenReturn(ImmutableList.copyOf(entries));
+    Mockito.when(mutation.getSourceClusterId()).thenReturn(TestUtil.TEST_CBT_CLUSTER);
+    Mockito.when(mutation.getCommitTimestamp())
+        .thenReturn(Instant.ofEpochMilli(TestUtil.TEST_COMMIT_TIMESTAMP));
+    Mockito.when(mutation.getRowKey()).thenReturn(getBytesString(TestUtil.TEST_ROWKEY));
+    Mockito.when(mutation.getTieBreaker()).thenReturn(TestUtil.TEST_TIEBREAKER);
+    Mockito.when(mutation.getToken()).thenReturn("token");
+    Mockito.when(mutation.getType()).thenReturn(MutationType.USER);
+
+    List<GenericRecord> records = new ArrayList<>();
+    encoder.encode(mutation, records::add);
+    return records;
+  }
+
+  private ByteString getBytesString(String val) {
+    return ByteString.copyFrom(val.getBytes(Charset.defaultCharset()));
+  }
+
+  private BigQueryDestination getDefaultDestinationInfo() {
+    return new BigQueryDestination(
+        TestUtil.TEST_BIG_QUERY_PROJECT,
+        TestUtil.TEST_BIG_QUERY_DATESET,
+        TestUtil.TEST_BIG_QUERY_TABLENAME,
+        false,
+        false,
+        false,
+        null,
+        null,
+        null);
+  }
+
+  private BigtableSource getDefaultSourceInfo() {
+    return new BigtableSource(
+        TestUtil.TEST_CBT_INSTANCE,
+        TestUtil.TEST_CBT_TABLE,
+        "UTF-8",
+        null,
+        null,
+        org.joda.time.Instant.now());
+  }
+
+  private BigtableSource getNonDefaultSourceInfo() {
+    return new BigtableSource(
+        TestUtil.TEST_CBT_INSTANCE,
+        TestUtil.TEST_CBT_TABLE,
+        "KOI8-R",
+        "cf",
+        "*:col,*:badcol,specific:col_to_ignore",
+        org.joda.time.Instant.now());
+  }
+
+  private BigQueryDestination getNonDefaultDestinationInfo() {
+    return new BigQueryDestination(
+        TestUtil.TEST_BIG_QUERY_PROJECT,
+        TestUtil.TEST_BIG_QUERY_DATESET,
+        TestUtil.TEST_BIG_QUERY_TABLENAME,
+        true,
+        true,
+        true,
+        "HOUR",
+        1000000000L,
+        "is_gc");
+  }
+}
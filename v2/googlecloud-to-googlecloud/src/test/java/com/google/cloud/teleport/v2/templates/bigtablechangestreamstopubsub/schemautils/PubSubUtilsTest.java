@@ -15,15 +15,21 @@
  */
 package com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.schemautils;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThrows;
 
 import com.google.cloud.bigtable.data.v2.models.ChangeStreamMutation.MutationType;
+import com.google.cloud.bigtable.data.v2.models.DeleteCells;
+import com.google.cloud.bigtable.data.v2.models.DeleteFamily;
+import com.google.cloud.bigtable.data.v2.models.Entry;
+import com.google.cloud.bigtable.data.v2.models.Range.TimestampRange;
 import com.google.cloud.bigtable.data.v2.models.SetCell;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.InvalidModException;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.MessageEncoding;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.MessageFormat;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.Mod;
+import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.ModValues;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.PubSubDestination;
 import com.google.cloud.teleport.v2.templates.bigtablechangestreamstopubsub.model.TestChangeStreamMutation;
 import com.google.cloud.teleport.v2.utils.BigtableSource;
@@ -33,6 +39,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import org.joda.time.Instant;
+import org.json.JSONObject;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -117,7 +124,97 @@ public class PubSubUtilsTest {
         });
   }
 
+  @Test
+  public void testMapChangeToPubSubMessageMatchesChangeJson() throws Exception {
+    SetCell setCell =
+        SetCell.create(
+            "test_column_family",
+            ByteString.copyFrom("test_column", CHARSET),
+            1000L, // timestamp
+            ByteString.copyFrom("test_value", CHARSET));
+    DeleteCells deleteCells =
+        DeleteCells.create(
+            "test_column_family",
+            ByteString.copyFrom("test_column", CHARSET),
+            TimestampRange.unbounded());
+    DeleteFamily deleteFamily = DeleteFamily.create("test_column_family");
+
+    PubSubUtils jsonUtils = initPubSubUtils();
+    PubSubUtils protoUtils =
+        initPubSubUtils(MessageFormat.PROTOCOL_BUFFERS, MessageEncoding.BINARY);
+    PubSubUtils avroUtils = initPubSubUtils(MessageFormat.AVRO, MessageEncoding.BINARY);
+
+    TestChangeStreamMutation setCellMutation = newMutation(setCell);
+    for (PubSubUtils utils : new PubSubUtils[] {jsonUtils, protoUtils, avroUtils}) {
+      assertEquals(
+          utils.mapChangeJsonStringToPubSubMessage(
+              new Mod(utils.getSource(), setCellMutation, setCell).getChangeJson()),
+          utils.mapChangeToPubSubMessage(
+              ModValues.of(utils.getSource(), setCellMutation, setCell)));
+    }
+
+    // An unbounded range has a null TIMESTAMP_TO, which is left unset in both cases.
+    TestChangeStreamMutation deleteCellsMutation = newMutation(deleteCells);
+    TestChangeStreamMutation deleteFamilyMutation = newMutation(deleteFamily);
+    for (PubSubUtils utils : new PubSubUtils[] {protoUtils, avroUtils}) {
+      assertEquals(
+          utils.mapChangeJsonStringToPubSubMessage(
+              new Mod(utils.getSource(), deleteCellsMutation, deleteCells).getChangeJson()),
+          utils.mapChangeToPubSubMessage(
+              ModValues.of(utils.getSource(), deleteCellsMutation, deleteCells)));
+      assertEquals(
+          utils.mapChangeJsonStringToPubSubMessage(
+              new Mod(utils.getSource(), deleteFamilyMutation, deleteFamily).getChangeJson()),
+          utils.mapChangeToPubSubMessage(
+              ModValues.of(utils.getSource(), deleteFamilyMutation, deleteFamily)));
+    }
+  }
+
+  @Test
+  public void testModValuesFromChangeJson() {
+    SetCell setCell =
+        SetCell.create(
+            "test_column_family",
+            ByteString.copyFrom(new byte[] {0, 1, (byte) 0xff}),
+            1000L, // timestamp
+            ByteString.copyFrom(new byte[] {(byte) 0xfe, 0}));
+    DeleteCells deleteCells =
+        DeleteCells.create(
+            "test_column_family",
+            ByteString.copyFrom("test_column", CHARSET),
+            TimestampRange.create(10L, 20L));
+    BigtableSource source = initPubSubUtils().getSource();
+
+    TestChangeStreamMutation setCellMutation = newMutation(setCell);
+    assertEquals(
+        ModValues.of(source, setCellMutation, setCell),
+        ModValues.fromChangeJson(
+            new JSONObject(new Mod(source, setCellMutation, setCell).getChangeJson())));
+    TestChangeStreamMutation deleteCellsMutation = newMutation(deleteCells);
+    assertEquals(
+        ModValues.of(source, deleteCellsMutation, deleteCells),
+        ModValues.fromChangeJson(
+            new JSONObject(new Mod(source, deleteCellsMutation, deleteCells).getChangeJson())));
+  }
+
+  private static TestChangeStreamMutation newMutation(Entry entry) {
+    return new TestChangeStreamMutation(
+        "test_rowkey",
+        MutationType.USER,
+        "source_cluster",
+        java.time.Instant.ofEpochSecond(1700000000L, 123456000L), // commit timestamp
+        1, // tiebreaker
+        "token",
+        java.time.Instant.ofEpochSecond(1700000000L), // low watermark
+        entry);
+  }
+
   private PubSubUtils initPubSubUtils() {
+    return initPubSubUtils(MessageFormat.JSON, MessageEncoding.JSON);
+  }
+
+  private PubSubUtils initPubSubUtils(
+      MessageFormat messageFormat, MessageEncoding messageEncoding) {
     BigtableSource source =
         new BigtableSource(
             FAKE_INSTANCE_ID, FAKE_TABLE_ID, CHARSET.toString(), "", "", Instant.now());
@@ -127,8 +224,8 @@ public class PubSubUtilsTest {
             FAKE_PROJECT_ID,
             FAKE_TOPIC,
             null,
-            MessageFormat.JSON,
-            MessageEncoding.JSON,
+            messageFormat,
+            messageEncoding,
             false,
             false,
             false,
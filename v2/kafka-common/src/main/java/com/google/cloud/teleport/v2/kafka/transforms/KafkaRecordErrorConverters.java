@@ -15,12 +15,12 @@
  */
 package com.google.cloud.teleport.v2.kafka.transforms;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.google.auto.value.AutoValue;
 import com.google.cloud.teleport.v2.transforms.ErrorConverters;
 import com.google.cloud.teleport.v2.transforms.ErrorConverters.PayloadExtractor;
 import com.google.cloud.teleport.v2.transforms.ErrorConverters.WriteAbstractMessageErrors;
+import com.google.cloud.teleport.v2.utils.JsonCodecs;
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
 import org.apache.beam.sdk.io.kafka.KafkaRecord;
@@ -63,7 +63,7 @@ public class KafkaRecordErrorConverters {
 
     @Override
     public String getPayloadString(KafkaRecord<String, String> message) {
-      ObjectWriter objectWriter = new ObjectMapper().writer().withDefaultPrettyPrinter();
+      ObjectWriter objectWriter = JsonCodecs.writer().withDefaultPrettyPrinter();
       String payloadString = "";
       try {
         payloadString = objectWriter.writeValueAsString(message);
@@ -26,10 +26,15 @@ import org.apache.beam.sdk.io.gcp.bigquery.DynamicDestinations;
 import org.apache.beam.sdk.io.gcp.bigquery.TableDestination;
 import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.ValueInSingleWindow;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.cache.CacheBuilder;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.cache.CacheLoader;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.cache.LoadingCache;
 
 public class BigQueryDynamicDestination
     extends DynamicDestinations<KV<GenericRecord, TableRow>, String> {
 
+  private static final int MAX_CACHED_SCHEMAS = 1000;
+
   private String projectName;
 
   private String datasetName;
@@ -52,9 +57,20 @@ public class BigQueryDynamicDestination
     this.persistKafkaKey = persistKafkaKey;
   }
 
+  // Records decoded with the same registry schema id share their Schema instance, which saves
+  // calling Schema#toString() for each record.
+  private transient LoadingCache<Schema, String> schemaStringCache;
+
   @Override
   public String getDestination(ValueInSingleWindow<KV<GenericRecord, TableRow>> element) {
-    return element.getValue().getKey().getSchema().toString();
+    if (schemaStringCache == null) {
+      schemaStringCache =
+          CacheBuilder.newBuilder()
+              .weakKeys()
+              .maximumSize(MAX_CACHED_SCHEMAS)
+              .build(CacheLoader.from(Schema::toString));
+    }
+    return schemaStringCache.getUnchecked(element.getValue().getKey().getSchema());
   }
 
   @Override
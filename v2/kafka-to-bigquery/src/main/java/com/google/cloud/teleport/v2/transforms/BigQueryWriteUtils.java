@@ -16,6 +16,7 @@
 package com.google.cloud.teleport.v2.transforms;
 
 import com.google.api.services.bigquery.model.TableRow;
+import com.google.api.services.bigquery.model.TableSchema;
 import com.google.cloud.teleport.v2.coders.FailsafeElementCoder;
 import com.google.cloud.teleport.v2.coders.GenericRecordCoder;
 import com.google.cloud.teleport.v2.kafka.transforms.AvroTransform;
@@ -23,12 +24,15 @@ import com.google.cloud.teleport.v2.utils.BigQueryAvroUtils;
 import com.google.cloud.teleport.v2.utils.BigQueryConstants;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.beam.sdk.coders.ByteArrayCoder;
 import org.apache.beam.sdk.coders.KvCoder;
 import org.apache.beam.sdk.coders.NullableCoder;
 import org.apache.beam.sdk.extensions.avro.schemas.utils.AvroUtils;
+import org.apache.beam.sdk.io.gcp.bigquery.AvroWriteRequest;
 import org.apache.beam.sdk.io.gcp.bigquery.BigQueryIO;
 import org.apache.beam.sdk.io.gcp.bigquery.BigQueryUtils;
 import org.apache.beam.sdk.io.gcp.bigquery.InsertRetryPolicy;
@@ -39,10 +43,15 @@ import org.apache.beam.sdk.io.kafka.KafkaRecordCoder;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.SerializableFunction;
 import org.apache.beam.sdk.transforms.errorhandling.BadRecord;
 import org.apache.beam.sdk.transforms.errorhandling.ErrorHandler;
 import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.annotations.VisibleForTesting;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.cache.CacheBuilder;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.cache.CacheLoader;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.cache.LoadingCache;
 import org.joda.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,6 +59,8 @@ import org.slf4j.LoggerFactory;
 // TODO: Remove KafkaRecord and support KV.
 public class BigQueryWriteUtils {
 
+  private static final int MAX_CACHED_SCHEMAS = 1000;
+
   // Writes to BigQuery when a schema file is provided.
   public static class BigQueryWrite
       extends PTransform<
@@ -158,60 +169,64 @@ public class BigQueryWriteUtils {
           errorHandler);
     }
 
-    private static class GenericRecordToTableRowFn
-        extends DoFn<
-            FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>,
-            FailsafeElement<KafkaRecord<byte[], byte[]>, TableRow>>
-        implements Serializable {
+    // Formats the decoded records for the Storage Write API, which converts them into protos
+    // without going through a TableRow.
+    @VisibleForTesting
+    static class GenericRecordFormatFn
+        implements SerializableFunction<
+            AvroWriteRequest<FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>>,
+            GenericRecord> {
 
       private boolean persistKafkaKey;
 
-      GenericRecordToTableRowFn(boolean persistKafkaKey) {
+      GenericRecordFormatFn(boolean persistKafkaKey) {
         this.persistKafkaKey = persistKafkaKey;
       }
 
-      @ProcessElement
-      public void processElement(ProcessContext context) {
-        FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord> element = context.element();
-        TableRow row =
-            BigQueryAvroUtils.convertGenericRecordToTableRow(
-                element.getPayload(),
-                BigQueryUtils.toTableSchema(
-                    AvroUtils.toBeamSchema(element.getPayload().getSchema())));
-        if (this.persistKafkaKey) {
-          row.set(BigQueryConstants.KAFKA_KEY_FIELD, element.getOriginalPayload().getKV().getKey());
+      @Override
+      public GenericRecord apply(
+          AvroWriteRequest<FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>> request) {
+        GenericRecord payload = request.getElement().getPayload();
+        if (!this.persistKafkaKey) {
+          return payload;
         }
-        context.output(FailsafeElement.of(element.getOriginalPayload(), row));
-      }
-    }
-
-    private static class FailsafeElementGetPayloadFn
-        extends DoFn<FailsafeElement<KafkaRecord<byte[], byte[]>, TableRow>, TableRow> {
-
-      @ProcessElement
-      public void processElement(ProcessContext context) {
-        context.output(context.element().getPayload());
+        // The write schema is the record schema followed by the Kafka key field.
+        GenericRecord record = new GenericData.Record(request.getSchema());
+        int numFields = payload.getSchema().getFields().size();
+        for (int i = 0; i < numFields; i++) {
+          record.put(i, payload.get(i));
+        }
+        byte[] key = request.getElement().getOriginalPayload().getKV().getKey();
+        record.put(numFields, key == null ? null : ByteBuffer.wrap(key));
+        return record;
       }
     }
 
     public WriteResult expand(
         PCollection<FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>> input) {
-      BigQueryIO.Write<TableRow> writeToBigQuery =
-          BigQueryIO.<TableRow>write()
-              .withSchema(
-                  BigQueryAvroUtils.convertAvroSchemaToTableSchema(
-                      avroSchema, this.persistKafkaKey))
-              .withWriteDisposition(
-                  BigQueryIO.Write.WriteDisposition.valueOf(this.writeDisposition))
-              .withCreateDisposition(
-                  BigQueryIO.Write.CreateDisposition.valueOf(this.createDisposition))
-              .withFailedInsertRetryPolicy(InsertRetryPolicy.retryTransientErrors())
-              .withFormatFunction(row -> row)
-              .withExtendedErrorInfo()
-              .withMethod(BigQueryIO.Write.Method.STORAGE_WRITE_API)
-              .withNumStorageWriteApiStreams(this.numStorageWriteApiStreams)
-              .withTriggeringFrequency(
-                  Duration.standardSeconds(this.storageWriteApiTriggeringFrequencySec.longValue()));
+      // Avro schemas are serializable, so the write schema is built once here rather than
+      // parsed for every destination.
+      Schema writeSchema =
+          BigQueryAvroUtils.convertAvroSchemaToWriteSchema(avroSchema, this.persistKafkaKey);
+      BigQueryIO.Write<FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>>
+          writeToBigQuery =
+              BigQueryIO.<FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>>write()
+                  .withSchema(
+                      BigQueryAvroUtils.convertAvroSchemaToTableSchema(
+                          avroSchema, this.persistKafkaKey))
+                  .withWriteDisposition(
+                      BigQueryIO.Write.WriteDisposition.valueOf(this.writeDisposition))
+                  .withCreateDisposition(
+                      BigQueryIO.Write.CreateDisposition.valueOf(this.createDisposition))
+                  .withFailedInsertRetryPolicy(InsertRetryPolicy.retryTransientErrors())
+                  .withAvroFormatFunction(new GenericRecordFormatFn(this.persistKafkaKey))
+                  .withAvroSchemaFactory(tableSchema -> writeSchema)
+                  .withExtendedErrorInfo()
+                  .withMethod(BigQueryIO.Write.Method.STORAGE_WRITE_API)
+                  .withNumStorageWriteApiStreams(this.numStorageWriteApiStreams)
+                  .withTriggeringFrequency(
+                      Duration.standardSeconds(
+                          this.storageWriteApiTriggeringFrequencySec.longValue()));
 
       if (!(errorHandler instanceof ErrorHandler.DefaultErrorHandler)) {
         writeToBigQuery = writeToBigQuery.withErrorHandler(errorHandler);
@@ -224,20 +239,7 @@ public class BigQueryWriteUtils {
       if (this.outputTableSpec != null) {
         writeToBigQuery = writeToBigQuery.to(this.outputTableSpec);
       }
-      WriteResult writeResult;
-      writeResult =
-          input
-              .apply(
-                  "ConvertGenericRecordToTableRow",
-                  ParDo.of(new GenericRecordToTableRowFn(this.persistKafkaKey)))
-              .setCoder(
-                  FailsafeElementCoder.of(
-                      KafkaRecordCoder.of(
-                          NullableCoder.of(ByteArrayCoder.of()), ByteArrayCoder.of()),
-                      TableRowJsonCoder.of()))
-              .apply(ParDo.of(new FailsafeElementGetPayloadFn()))
-              .apply(writeToBigQuery);
-      return writeResult;
+      return input.apply(writeToBigQuery);
     }
   }
 
@@ -396,6 +398,9 @@ public class BigQueryWriteUtils {
                   FailsafeElementCoder.of(
                       KafkaRecordCoder.of(
                           NullableCoder.of(ByteArrayCoder.of()), ByteArrayCoder.of()),
+                      // TODO: GenericRecordCoder writes the full schema JSON with every record.
+                      // Encode the schema registry id instead once the id is kept with the
+                      // decoded record and the coder can resolve it on the reading side.
                       KvCoder.of(GenericRecordCoder.of(), TableRowJsonCoder.of())))
               .apply(ParDo.of(new FailsafeElementGetPayloadFn()))
               .apply(writeToBigQuery);
@@ -410,18 +415,31 @@ public class BigQueryWriteUtils {
 
       private boolean persistKafkaKey;
 
+      // Records decoded with the same registry schema id share their Schema instance.
+      private transient LoadingCache<Schema, TableSchema> tableSchemaCache;
+
       GenericRecordToTableRowFn(boolean persistKafkaKey) {
         this.persistKafkaKey = persistKafkaKey;
       }
 
+      @Setup
+      public void setup() {
+        tableSchemaCache =
+            CacheBuilder.newBuilder()
+                .weakKeys()
+                .maximumSize(MAX_CACHED_SCHEMAS)
+                .build(
+                    CacheLoader.from(
+                        schema -> BigQueryUtils.toTableSchema(AvroUtils.toBeamSchema(schema))));
+      }
+
       @ProcessElement
       public void processElement(ProcessContext context) {
         FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord> element = context.element();
         TableRow row =
             BigQueryAvroUtils.convertGenericRecordToTableRow(
                 element.getPayload(),
-                BigQueryUtils.toTableSchema(
-                    AvroUtils.toBeamSchema(element.getPayload().getSchema())));
+                tableSchemaCache.getUnchecked(element.getPayload().getSchema()));
         if (this.persistKafkaKey) {
           row.set(BigQueryConstants.KAFKA_KEY_FIELD, element.getOriginalPayload().getKV().getKey());
         }
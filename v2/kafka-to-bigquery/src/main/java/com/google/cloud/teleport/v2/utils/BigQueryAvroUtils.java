@@ -560,6 +560,29 @@ public class BigQueryAvroUtils {
     return tableSchema;
   }
 
+  /**
+   * Returns the Avro schema of the records written to a table with the schema returned by {@link
+   * #convertAvroSchemaToTableSchema(Schema, Boolean)}, which ends with a nullable bytes field for
+   * the Kafka key when {@code persistKafkaKey} is set.
+   */
+  public static Schema convertAvroSchemaToWriteSchema(Schema schema, Boolean persistKafkaKey) {
+    if (!persistKafkaKey) {
+      return schema;
+    }
+    List<Field> fields = new ArrayList<>();
+    for (Field field : schema.getFields()) {
+      fields.add(new Field(field, field.schema()));
+    }
+    fields.add(
+        new Field(
+            BigQueryConstants.KAFKA_KEY_FIELD,
+            Schema.createUnion(Schema.create(Type.NULL), Schema.create(Type.BYTES)),
+            null,
+            Field.NULL_DEFAULT_VALUE));
+    return Schema.createRecord(
+        schema.getName(), schema.getDoc(), schema.getNamespace(), schema.isError(), fields);
+  }
+
   public static String sanitizeString(String value) {
     return SANITIZE_PATTERN.matcher(value).replaceAll("-");
   }
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.cloud.teleport.v2.transforms.BigQueryWriteUtils.BigQueryWrite.GenericRecordFormatFn;
+import com.google.cloud.teleport.v2.utils.BigQueryAvroUtils;
+import com.google.cloud.teleport.v2.utils.BigQueryConstants;
+import com.google.cloud.teleport.v2.values.FailsafeElement;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.apache.avro.Conversions;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.GenericRecordBuilder;
+import org.apache.beam.sdk.io.gcp.bigquery.AvroWriteRequest;
+import org.apache.beam.sdk.io.kafka.KafkaRecord;
+import org.apache.beam.sdk.io.kafka.KafkaTimestampType;
+import org.apache.beam.sdk.values.KV;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Test cases for the {@link BigQueryWriteUtils} class. */
+@RunWith(JUnit4.class)
+public class BigQueryWriteUtilsTest {
+
+  private static final Schema DECIMAL_SCHEMA =
+      LogicalTypes.decimal(10, 2).addToSchema(Schema.create(Schema.Type.BYTES));
+
+  private static final Schema SCHEMA =
+      SchemaBuilder.record("Order")
+          .namespace("com.example")
+          .fields()
+          .requiredString("id")
+          .name("amount")
+          .type(DECIMAL_SCHEMA)
+          .noDefault()
+          .name("day")
+          .type(LogicalTypes.date().addToSchema(Schema.create(Schema.Type.INT)))
+          .noDefault()
+          .name("updated")
+          .type(LogicalTypes.timestampMicros().addToSchema(Schema.create(Schema.Type.LONG)))
+          .noDefault()
+          .optionalLong("quantity")
+          .endRecord();
+
+  private static final GenericRecord PAYLOAD =
+      new GenericRecordBuilder(SCHEMA)
+          .set("id", "order-1")
+          .set(
+              "amount",
+              new Conversions.DecimalConversion()
+                  .toBytes(new BigDecimal("1234.56"), DECIMAL_SCHEMA, LogicalTypes.decimal(10, 2)))
+          .set("day", 19000)
+          .set("updated", 1641600000000000L)
+          .set("quantity", null)
+          .build();
+
+  @Test
+  public void testGenericRecordFormatFnWithoutKafkaKey() {
+    Schema writeSchema = BigQueryAvroUtils.convertAvroSchemaToWriteSchema(SCHEMA, false);
+
+    GenericRecord record =
+        new GenericRecordFormatFn(false)
+            .apply(writeRequest("key".getBytes(StandardCharsets.UTF_8), writeSchema));
+
+    assertThat(record).isSameInstanceAs(PAYLOAD);
+  }
+
+  @Test
+  public void testGenericRecordFormatFnWithKafkaKey() {
+    Schema writeSchema = BigQueryAvroUtils.convertAvroSchemaToWriteSchema(SCHEMA, true);
+    byte[] key = "key".getBytes(StandardCharsets.UTF_8);
+
+    GenericRecord record = new GenericRecordFormatFn(true).apply(writeRequest(key, writeSchema));
+
+    assertThat(record.getSchema()).isSameInstanceAs(writeSchema);
+    assertThat(GenericData.get().validate(writeSchema, record)).isTrue();
+    for (Schema.Field field : SCHEMA.getFields()) {
+      assertThat(record.get(field.name())).isEqualTo(PAYLOAD.get(field.name()));
+    }
+    assertThat(
+            new Conversions.DecimalConversion()
+                .fromBytes(
+                    (ByteBuffer) record.get("amount"), DECIMAL_SCHEMA, LogicalTypes.decimal(10, 2)))
+        .isEqualTo(new BigDecimal("1234.56"));
+    assertThat(record.get(BigQueryConstants.KAFKA_KEY_FIELD)).isEqualTo(ByteBuffer.wrap(key));
+  }
+
+  @Test
+  public void testGenericRecordFormatFnWithNullKafkaKey() {
+    Schema writeSchema = BigQueryAvroUtils.convertAvroSchemaToWriteSchema(SCHEMA, true);
+
+    GenericRecord record = new GenericRecordFormatFn(true).apply(writeRequest(null, writeSchema));
+
+    assertThat(GenericData.get().validate(writeSchema, record)).isTrue();
+    assertThat(record.get(BigQueryConstants.KAFKA_KEY_FIELD)).isNull();
+  }
+
+  private static AvroWriteRequest<FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>>
+      writeRequest(byte[] key, Schema writeSchema) {
+    KafkaRecord<byte[], byte[]> kafkaRecord =
+        new KafkaRecord<>(
+            "topic",
+            0,
+            0,
+            0,
+            KafkaTimestampType.CREATE_TIME,
+            null,
+            KV.of(key, "value".getBytes(StandardCharsets.UTF_8)));
+    return new AvroWriteRequest<>(FailsafeElement.of(kafkaRecord, PAYLOAD), writeSchema);
+  }
+}
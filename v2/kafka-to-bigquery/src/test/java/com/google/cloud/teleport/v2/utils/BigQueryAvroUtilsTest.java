@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.utils;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.services.bigquery.model.TableFieldSchema;
+import java.util.stream.Collectors;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.Schema.Field;
+import org.apache.avro.SchemaBuilder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Test cases for the {@link BigQueryAvroUtils} class. */
+@RunWith(JUnit4.class)
+public class BigQueryAvroUtilsTest {
+
+  private static final Schema SCHEMA =
+      SchemaBuilder.record("Order")
+          .namespace("com.example")
+          .fields()
+          .requiredString("id")
+          .name("amount")
+          .type(LogicalTypes.decimal(10, 2).addToSchema(Schema.create(Schema.Type.BYTES)))
+          .noDefault()
+          .name("day")
+          .type(LogicalTypes.date().addToSchema(Schema.create(Schema.Type.INT)))
+          .noDefault()
+          .optionalLong("quantity")
+          .endRecord();
+
+  @Test
+  public void testConvertAvroSchemaToWriteSchemaWithoutKafkaKey() {
+    assertThat(BigQueryAvroUtils.convertAvroSchemaToWriteSchema(SCHEMA, false))
+        .isSameInstanceAs(SCHEMA);
+  }
+
+  @Test
+  public void testConvertAvroSchemaToWriteSchemaWithKafkaKey() {
+    Schema writeSchema = BigQueryAvroUtils.convertAvroSchemaToWriteSchema(SCHEMA, true);
+
+    assertThat(writeSchema.getFullName()).isEqualTo(SCHEMA.getFullName());
+    assertThat(writeSchema.getFields()).hasSize(SCHEMA.getFields().size() + 1);
+    for (Field field : SCHEMA.getFields()) {
+      Field writeField = writeSchema.getField(field.name());
+      assertThat(writeField.pos()).isEqualTo(field.pos());
+      assertThat(writeField.schema()).isEqualTo(field.schema());
+    }
+    assertThat(writeSchema.getField("amount").schema().getLogicalType())
+        .isEqualTo(LogicalTypes.decimal(10, 2));
+    assertThat(writeSchema.getField("day").schema().getLogicalType())
+        .isEqualTo(LogicalTypes.date());
+
+    Field keyField = writeSchema.getFields().get(SCHEMA.getFields().size());
+    assertThat(keyField.name()).isEqualTo(BigQueryConstants.KAFKA_KEY_FIELD);
+    assertThat(keyField.schema())
+        .isEqualTo(
+            Schema.createUnion(Schema.create(Schema.Type.NULL), Schema.create(Schema.Type.BYTES)));
+    assertThat(keyField.defaultVal()).isEqualTo(Field.NULL_DEFAULT_VALUE);
+  }
+
+  @Test
+  public void testWriteSchemaMatchesTableSchema() {
+    for (boolean persistKafkaKey : new boolean[] {false, true}) {
+      assertThat(
+              BigQueryAvroUtils.convertAvroSchemaToWriteSchema(SCHEMA, persistKafkaKey)
+                  .getFields()
+                  .stream()
+                  .map(Field::name)
+                  .collect(Collectors.toList()))
+          .containsExactlyElementsIn(
+              BigQueryAvroUtils.convertAvroSchemaToTableSchema(SCHEMA, persistKafkaKey)
+                  .getFields()
+                  .stream()
+                  .map(TableFieldSchema::getName)
+                  .collect(Collectors.toList()))
+          .inOrder();
+    }
+  }
+}
@@ -37,4 +37,10 @@ public class MetricCounters {
 
   // Counter for the number of tables completed.
   public static final String TABLES_COMPLETED = "tables_completed";
+
+  // Counter for the number of tables skipped as the completion ledger records them as completed.
+  public static final String TABLES_SKIPPED = "tables_skipped";
+
+  // Counter for the number of tables that are yet to be completed when using a completion ledger.
+  public static final String TABLES_REMAINING = "tables_remaining";
 }
@@ -364,4 +364,16 @@ public interface SourceDbToSpannerOptions extends CommonTemplateOptions {
   String getGcsOutputDirectory();
 
   void setGcsOutputDirectory(String value);
+
+  @TemplateParameter.GcsWriteFolder(
+      order = 28,
+      optional = true,
+      description = "GCS directory for the completion ledger",
+      helpText =
+          "This directory is used to record the tables whose rows have all been written to Spanner. When a migration is rerun with the same directory, for example after a failure, the tables recorded as completed are not migrated again. Defaults to empty, which migrates all the tables.",
+      example = "gs://your-bucket/your-path/ledger")
+  @Default.String("")
+  String getCompletionLedgerDirectory();
+
+  void setCompletionLedgerDirectory(String value);
 }
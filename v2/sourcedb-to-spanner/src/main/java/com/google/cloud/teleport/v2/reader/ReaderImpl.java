@@ -31,7 +31,8 @@ public abstract class ReaderImpl implements Reader, Serializable {
 
   public static ReaderImpl of(IoWrapper ioWrapper) {
     ImmutableList<SourceSchema> sourceSchema = ioWrapper.discoverTableSchema();
-    ReaderTransform.Builder readerTransformBuilder = ReaderTransform.builder();
+    ReaderTransform.Builder readerTransformBuilder =
+        ReaderTransform.builder().withSourceSchemas(sourceSchema);
     ioWrapper
         .getTableReaders()
         .entrySet()
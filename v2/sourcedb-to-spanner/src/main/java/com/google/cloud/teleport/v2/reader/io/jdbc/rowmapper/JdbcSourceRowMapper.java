@@ -20,11 +20,13 @@ import com.google.cloud.teleport.v2.reader.io.exception.ValueMappingException;
 import com.google.cloud.teleport.v2.reader.io.row.SourceRow;
 import com.google.cloud.teleport.v2.reader.io.schema.SourceSchemaReference;
 import com.google.cloud.teleport.v2.reader.io.schema.SourceTableSchema;
+import com.google.common.collect.ImmutableMap;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.concurrent.TimeUnit;
 import org.apache.avro.Schema;
+import org.apache.avro.Schema.Field;
 import org.apache.beam.sdk.io.jdbc.JdbcIO;
 import org.apache.beam.sdk.metrics.Counter;
 import org.apache.beam.sdk.metrics.Metrics;
@@ -47,6 +49,9 @@ public final class JdbcSourceRowMapper implements JdbcIO.RowMapper<SourceRow> {
 
   private static final Logger logger = LoggerFactory.getLogger(JdbcSourceRowMapper.class);
 
+  // Compiled lazily on the workers, once per table.
+  private transient ColumnMapper[] columnMappers;
+
   private final Counter mapperErrors =
       Metrics.counter(JdbcSourceRowMapper.class, MetricCounters.READER_MAPPING_ERRORS);
 
@@ -85,36 +90,66 @@ public final class JdbcSourceRowMapper implements JdbcIO.RowMapper<SourceRow> {
     var builder =
         SourceRow.builder(
             sourceSchemaReference, sourceTableSchema, shardId, getCurrentTimeMicros());
-    this.sourceTableSchema
-        .sourceColumnNameToSourceColumnType()
-        .entrySet()
-        .forEach(
-            entry -> {
-              try {
-                Schema schema =
-                    this.sourceTableSchema.getAvroPayload().getField(entry.getKey()).schema();
-                // The Unified avro mapping produces a union of the mapped type with null type
-                // except for "Unsupported" case.
-                if (schema.isUnion()) {
-                  schema = schema.getTypes().get(1);
-                }
-                builder.setField(
-                    entry.getKey(),
-                    this.mappingsProvider
-                        .getMappings()
-                        .getOrDefault(
-                            entry.getValue().getName().toUpperCase(), JdbcValueMapper.UNSUPPORTED)
-                        .mapValue(resultSet, entry.getKey(), schema));
-              } catch (SQLException e) {
-                mapperErrors.inc();
-                logger.error(
-                    "Exception while mapping jdbc ResultSet to avro. Check for potential schema changes or unexpected inaccuracy in schema discovery logs. SourceSchemaReference: {},  SourceTableSchema: {}. Exception: {}",
-                    sourceSchemaReference,
-                    sourceTableSchema,
-                    e);
-                throw new ValueMappingException(e);
-              }
-            });
+    for (ColumnMapper column : getColumnMappers()) {
+      try {
+        builder.setField(
+            column.field, column.valueMapper.mapValue(resultSet, column.name, column.schema));
+      } catch (SQLException e) {
+        mapperErrors.inc();
+        logger.error(
+            "Exception while mapping jdbc ResultSet to avro. Check for potential schema changes or unexpected inaccuracy in schema discovery logs. SourceSchemaReference: {},  SourceTableSchema: {}. Exception: {}",
+            sourceSchemaReference,
+            sourceTableSchema,
+            e);
+        throw new ValueMappingException(e);
+      }
+    }
     return builder.build();
   }
+
+  /**
+   * Resolves the avro field, the avro schema and the {@link JdbcValueMapper} of every column once
+   * per table, instead of once per row.
+   */
+  private ColumnMapper[] getColumnMappers() {
+    if (columnMappers == null) {
+      Schema payloadSchema = this.sourceTableSchema.getAvroPayload();
+      ImmutableMap<String, JdbcValueMapper<?>> mappings = this.mappingsProvider.getMappings();
+      columnMappers =
+          this.sourceTableSchema.sourceColumnNameToSourceColumnType().entrySet().stream()
+              .map(
+                  entry -> {
+                    Field field = payloadSchema.getField(entry.getKey());
+                    Schema schema = field.schema();
+                    // The Unified avro mapping produces a union of the mapped type with null type
+                    // except for "Unsupported" case.
+                    if (schema.isUnion()) {
+                      schema = schema.getTypes().get(1);
+                    }
+                    return new ColumnMapper(
+                        entry.getKey(),
+                        field,
+                        schema,
+                        mappings.getOrDefault(
+                            entry.getValue().getName().toUpperCase(), JdbcValueMapper.UNSUPPORTED));
+                  })
+              .toArray(ColumnMapper[]::new);
+    }
+    return columnMappers;
+  }
+
+  /** The mapping of a source column to its avro field. */
+  private static final class ColumnMapper {
+    private final String name;
+    private final Field field;
+    private final Schema schema;
+    private final JdbcValueMapper<?> valueMapper;
+
+    private ColumnMapper(String name, Field field, Schema schema, JdbcValueMapper<?> valueMapper) {
+      this.name = name;
+      this.field = field;
+      this.schema = schema;
+      this.valueMapper = valueMapper;
+    }
+  }
 }
@@ -25,6 +25,7 @@ import java.time.Duration;
 import java.time.LocalTime;
 import java.time.OffsetTime;
 import java.util.List;
+import javax.annotation.Nullable;
 
 /** Helper Interface to help uniform splitter adapt to the source database. */
 public interface UniformSplitterDBAdapter extends Serializable {
@@ -83,6 +84,68 @@ public interface UniformSplitterDBAdapter extends Serializable {
    */
   String getCollationsOrderQuery(String dbCharset, String dbCollation, boolean padSpace);
 
+  /**
+   * Get a query that returns the bucket bounds of the histogram the database maintains for a
+   * column. The query takes the unquoted table name and column name as its two parameters and must
+   * return the bounds of an equi-depth histogram in increasing order, one per row, including the
+   * lower bound of the first bucket. The bounds seed the initial split of the column so that only
+   * skewed buckets need to be counted.
+   *
+   * @return query statement, or null if the database does not provide equi-depth histograms.
+   */
+  @Nullable
+  default String getHistogramQuery() {
+    return null;
+  }
+
+  /**
+   * Extract the histogram bounds returned by the {@link #getHistogramQuery() histogram query}.
+   *
+   * @param rs result set of the histogram query.
+   * @return bucket bounds in increasing order.
+   */
+  default ImmutableList<String> extractHistogramBounds(ResultSet rs) throws SQLException {
+    ImmutableList.Builder<String> bounds = ImmutableList.builder();
+    while (rs.next()) {
+      String bound = rs.getString(1);
+      if (bound != null) {
+        bounds.add(bound);
+      }
+    }
+    return bounds.build();
+  }
+
+  /**
+   * Get a query that returns the most common values of a column, for databases that leave them out
+   * of the {@link #getHistogramQuery() histogram}. The query takes the unquoted table name and
+   * column name as its two parameters and must return one value per row. The ranges that hold these
+   * values are counted rather than estimated from the histogram.
+   *
+   * @return query statement, or null if the histogram accounts for the most common values.
+   */
+  @Nullable
+  default String getMostCommonValuesQuery() {
+    return null;
+  }
+
+  /**
+   * Extract the values returned by the {@link #getMostCommonValuesQuery() most common values
+   * query}.
+   *
+   * @param rs result set of the most common values query.
+   * @return most common values.
+   */
+  default ImmutableList<String> extractMostCommonValues(ResultSet rs) throws SQLException {
+    ImmutableList.Builder<String> values = ImmutableList.builder();
+    while (rs.next()) {
+      String value = rs.getString(1);
+      if (value != null) {
+        values.add(value);
+      }
+    }
+    return values.build();
+  }
+
   default Duration extractBoundaryDuration(ResultSet rs, int index) throws SQLException {
     return BoundaryExtractorFactory.parseTimeStringToDuration(rs.getString(index));
   }
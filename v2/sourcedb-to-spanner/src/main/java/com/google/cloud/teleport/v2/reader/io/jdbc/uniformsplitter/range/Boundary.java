@@ -20,8 +20,10 @@ import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.stringmapper.
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.util.List;
 import javax.annotation.Nullable;
 import org.apache.beam.sdk.transforms.DoFn.ProcessContext;
 import org.apache.commons.lang3.tuple.Pair;
@@ -261,6 +263,32 @@ public abstract class Boundary<T extends Serializable>
         toBuilder().setStart(splitPoint).setSplitIndex(splitIndex() + "-2").build());
   }
 
+  /**
+   * Split a given boundary at the given points. The caller must ensure that the split points are
+   * strictly increasing and lie strictly within the boundary.
+   *
+   * <p>The split index of each resulting boundary is suffixed with its zero padded position, so
+   * that the boundaries sort in order irrespective of the number of split points.
+   *
+   * @param splitPoints points to split the boundary at.
+   * @return {@code splitPoints.size() + 1} boundaries in order.
+   */
+  public ImmutableList<Boundary<T>> splitAt(List<T> splitPoints) {
+    ImmutableList.Builder<Boundary<T>> boundaries = ImmutableList.builder();
+    T start = start();
+    for (int i = 0; i <= splitPoints.size(); i++) {
+      T end = (i < splitPoints.size()) ? splitPoints.get(i) : end();
+      boundaries.add(
+          toBuilder()
+              .setStart(start)
+              .setEnd(end)
+              .setSplitIndex(String.format("%s-%06d", splitIndex(), i + 1))
+              .build());
+      start = end;
+    }
+    return boundaries.build();
+  }
+
   /**
    * Build a {@link Range} {@link Range#childRange()} from this {@link Boundary}.
    *
@@ -19,7 +19,9 @@ import com.google.auto.value.AutoValue;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import java.io.Serializable;
+import java.util.List;
 import javax.annotation.Nullable;
 import org.apache.beam.sdk.transforms.DoFn.ProcessContext;
 import org.apache.commons.lang3.tuple.Pair;
@@ -239,6 +241,36 @@ public abstract class Range implements Serializable, Comparable<Range> {
             .build());
   }
 
+  /**
+   * Split a given range at the given points of its column, for example the bucket bounds of a
+   * histogram maintained by the database. Unlike {@link Range#split(ProcessContext)}, the split is
+   * not limited to halving the range. The caller must ensure that the split points are strictly
+   * increasing and lie strictly within the range.
+   *
+   * @param splitPoints points to split the range at. The points must be of the column class.
+   * @return {@code splitPoints.size() + 1} uncounted ranges in order.
+   * @throws IllegalStateException if the range has a child range. This indicates a programming
+   *     error and should not be seen in production.
+   */
+  public ImmutableList<Range> splitAt(List<? extends Serializable> splitPoints) {
+    Preconditions.checkState(
+        !hasChildRange(),
+        "Only ranges without a childRange can be split at points. Range: " + this);
+    ImmutableList<? extends Boundary<?>> boundaries =
+        ((Boundary<Serializable>) boundary()).splitAt((List<Serializable>) splitPoints);
+    ImmutableList.Builder<Range> ranges = ImmutableList.builder();
+    for (int i = 0; i < boundaries.size(); i++) {
+      ranges.add(
+          this.toBuilder()
+              .setBoundary(boundaries.get(i))
+              .setCount(INDETERMINATE_COUNT)
+              .setIsFirst(isFirst() && i == 0)
+              .setIsLast(isLast() && i == boundaries.size() - 1)
+              .build());
+    }
+    return ranges.build();
+  }
+
   /**
    * Checks if two ranges can be merged with each other.
    *
@@ -494,15 +494,35 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
         initialRangesList.apply(
             getTransformName("FlattenInitialRanges", null, null), Flatten.pCollections());
 
-    PCollection<ImmutableList<Range>> splitRangesAsList =
+    // Seed the split from the histograms of the database where available, so that only the skewed
+    // buckets need to be counted.
+    PCollectionTuple statisticsSplitRanges =
         initialRanges.apply(
-            getTransformName("InitialRangeSplit", null, null),
+            getTransformName("StatisticsRangeSplit", null, null),
             ParDo.of(
-                    InitialSplitRangeDoFn.builder()
-                        .setTableSplitSpecifications(tableSplitSpecifications())
-                        .build())
+                    new StatisticsSplitRangeDoFn(
+                        dataSourceProvider(), dbAdapter(), tableSplitSpecifications()))
+                .withOutputTags(
+                    StatisticsSplitRangeDoFn.UNSEEDED_TAG,
+                    TupleTagList.of(StatisticsSplitRangeDoFn.SEEDED_TAG))
                 .withSideInputs(typeMapper.getCollationMapperView()));
 
+    PCollection<ImmutableList<Range>> uniformSplitRangesAsList =
+        statisticsSplitRanges
+            .get(StatisticsSplitRangeDoFn.UNSEEDED_TAG)
+            .apply(
+                getTransformName("InitialRangeSplit", null, null),
+                ParDo.of(
+                        InitialSplitRangeDoFn.builder()
+                            .setTableSplitSpecifications(tableSplitSpecifications())
+                            .build())
+                    .withSideInputs(typeMapper.getCollationMapperView()));
+
+    PCollection<ImmutableList<Range>> splitRangesAsList =
+        PCollectionList.of(statisticsSplitRanges.get(StatisticsSplitRangeDoFn.SEEDED_TAG))
+            .and(uniformSplitRangesAsList)
+            .apply(getTransformName("FlattenInitialSplit", null, null), Flatten.pCollections());
+
     PCollection<Range> splitRanges =
         splitRangesAsList.apply(
             getTransformName("UnflattenInitialSplit", null, null),
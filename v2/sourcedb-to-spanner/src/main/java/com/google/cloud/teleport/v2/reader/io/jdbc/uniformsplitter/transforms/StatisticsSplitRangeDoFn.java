@@ -0,0 +1,404 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.transforms;
+
+import static org.apache.beam.sdk.util.Preconditions.checkStateNotNull;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.DataSourceProvider;
+import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.UniformSplitterDBAdapter;
+import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.Range;
+import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableIdentifier;
+import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableSplitSpecification;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.values.TupleTag;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Seeds the initial split of the first partition column from the histogram that the database
+ * maintains for the column.
+ *
+ * <p>The bucket bounds of an equi-depth histogram split the initial range into ranges of roughly
+ * equal population. Each such range is assigned an estimated count, and ranges that are still
+ * larger than the target partition size are split further assuming uniform density within the
+ * bucket. The {@link RangeClassifierDoFn} trusts the estimated counts, so these ranges are not
+ * counted before reading.
+ *
+ * <p>Only the ranges the histogram can not estimate are left uncounted, for the classifier to count
+ * and split as for the regular initial split:
+ *
+ * <ul>
+ *   <li>Ranges which hold a bound that repeats in the histogram, as they hold a frequent value.
+ *   <li>Ranges which hold one of the most common values of the column, for databases that leave
+ *       these values out of the histogram, such as PostgreSQL.
+ *   <li>Ranges outside of the histogram, such as the rows added since it was built.
+ * </ul>
+ *
+ * <p>Ranges for which the database provides no usable histogram, or whose column is not numeric,
+ * are output on {@link #UNSEEDED_TAG} for the regular {@link InitialSplitRangeDoFn initial split}.
+ */
+final class StatisticsSplitRangeDoFn extends DoFn<Range, Range> implements Serializable {
+
+  private static final Logger logger = LoggerFactory.getLogger(StatisticsSplitRangeDoFn.class);
+
+  // Note it is necessary to retain `new TupleTag<Range>() {}` for coder inference of beam.
+  public static final TupleTag<Range> UNSEEDED_TAG = new TupleTag<Range>() {};
+
+  // Note it is necessary to retain `new TupleTag<ImmutableList<Range>>() {}` for coder inference
+  // of beam.
+  public static final TupleTag<ImmutableList<Range>> SEEDED_TAG =
+      new TupleTag<ImmutableList<Range>>() {};
+
+  /* Matches the last, double-quote delimited, segment of an identifier. */
+  private static final Pattern DELIMITED_IDENTIFIER = Pattern.compile("\"((?:[^\"]|\"\")*)\"$");
+
+  private final DataSourceProvider dataSourceProvider;
+
+  private final UniformSplitterDBAdapter dbAdapter;
+
+  private final ImmutableList<TableSplitSpecification> tableSplitSpecifications;
+
+  private transient DataSourceManager dataSourceManager;
+
+  @JsonIgnore
+  private transient @Nullable Map<TableIdentifier, TableSplitSpecification>
+      tableSplitSpecificationMap;
+
+  StatisticsSplitRangeDoFn(
+      DataSourceProvider dataSourceProvider,
+      UniformSplitterDBAdapter dbAdapter,
+      ImmutableList<TableSplitSpecification> tableSplitSpecifications) {
+    this.dataSourceProvider = dataSourceProvider;
+    this.dbAdapter = dbAdapter;
+    this.tableSplitSpecifications = tableSplitSpecifications;
+  }
+
+  @Setup
+  public void setup() throws Exception {
+    this.tableSplitSpecificationMap =
+        this.tableSplitSpecifications.stream()
+            .collect(
+                Collectors.toMap(TableSplitSpecification::tableIdentifier, Function.identity()));
+  }
+
+  @StartBundle
+  public void startBundle() {
+    this.dataSourceManager =
+        DataSourceManagerImpl.builder().setDataSourceProvider(dataSourceProvider).build();
+  }
+
+  /**
+   * Splits the initial range of a table at the bounds of the histogram of its first partition
+   * column.
+   *
+   * @param input the initial range for a table.
+   * @param c process context.
+   */
+  @ProcessElement
+  public void processElement(@Element Range input, ProcessContext c) {
+    TableSplitSpecification tableSplitSpecification =
+        checkStateNotNull(this.tableSplitSpecificationMap).get(input.tableIdentifier());
+    if (tableSplitSpecification == null) {
+      logger.error(
+          "Got Range {} for unknown tableIdentifier. Known Identifiers are {}",
+          input,
+          tableSplitSpecificationMap.keySet());
+      throw new RuntimeException("Invalid Range");
+    }
+    String histogramQuery = dbAdapter.getHistogramQuery();
+    if (histogramQuery == null
+        || input.hasChildRange()
+        || tableSplitSpecification.approxRowCount() <= 0
+        || toDecimal(input.start()) == null
+        || toDecimal(input.end()) == null) {
+      c.output(UNSEEDED_TAG, input);
+      return;
+    }
+
+    ImmutableList<String> histogramBounds;
+    ImmutableList<String> mostCommonValues = ImmutableList.of();
+    String mostCommonValuesQuery = dbAdapter.getMostCommonValuesQuery();
+    DataSource dataSource = dataSourceManager.getDatasource(input.tableIdentifier().dataSourceId());
+    try (Connection conn = dataSource.getConnection()) {
+      try (PreparedStatement stmt = prepareStatisticsQuery(conn, histogramQuery, input);
+          ResultSet rs = stmt.executeQuery()) {
+        histogramBounds = dbAdapter.extractHistogramBounds(rs);
+      }
+      if (mostCommonValuesQuery != null) {
+        try (PreparedStatement stmt = prepareStatisticsQuery(conn, mostCommonValuesQuery, input);
+            ResultSet rs = stmt.executeQuery()) {
+          mostCommonValues = dbAdapter.extractMostCommonValues(rs);
+        }
+      }
+    } catch (SQLException e) {
+      // Statistics are an optimization, counting the ranges is always possible.
+      logger.warn(
+          "RWUPT - SQL Exception = {} while getting histogram for range {}, Query = {}. Falling back to counting the ranges.",
+          e,
+          input,
+          histogramQuery);
+      c.output(UNSEEDED_TAG, input);
+      return;
+    }
+
+    ImmutableList<Range> seededRanges =
+        seedRanges(
+            input,
+            histogramBounds,
+            mostCommonValues,
+            tableSplitSpecification.approxRowCount(),
+            tableSplitSpecification.maxPartitionsHint(),
+            c);
+    if (seededRanges.size() <= 1) {
+      logger.info(
+          "RWUPT - No usable histogram for table {}, column {}. Falling back to counting the ranges.",
+          input.tableIdentifier(),
+          input.colName());
+      c.output(UNSEEDED_TAG, input);
+      return;
+    }
+    logger.info(
+        "RWUPT - Seeded initial split for table {} with initial range as {}, from {} histogram bounds into {} split ranges",
+        input.tableIdentifier(),
+        input,
+        histogramBounds.size(),
+        seededRanges.size());
+    c.output(SEEDED_TAG, seededRanges);
+  }
+
+  /*
+   * Prepares a statistics query, which takes the plain table and column names as parameters.
+   */
+  private static PreparedStatement prepareStatisticsQuery(
+      Connection conn, String query, Range input) throws SQLException {
+    PreparedStatement stmt =
+        conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    stmt.setString(1, undelimitIdentifier(input.tableIdentifier().tableName()));
+    stmt.setString(2, undelimitIdentifier(input.colName()));
+    return stmt;
+  }
+
+  /**
+   * Splits a range at the histogram bounds that lie strictly within it, estimates the count of each
+   * split range from the buckets it holds, and further splits the ranges whose estimated count
+   * exceeds the target partition size. Ranges that hold a frequent value, or no bucket at all, are
+   * left uncounted.
+   *
+   * @param range range to split.
+   * @param histogramBounds bucket bounds of an equi-depth histogram.
+   * @param mostCommonValues most common values of the column that the histogram leaves out.
+   * @param approxRowCount approximate row count of the table.
+   * @param maxPartitions target number of partitions of the table.
+   * @param c process context.
+   * @return split ranges in order. A list with only the input range if no bound is usable.
+   */
+  @VisibleForTesting
+  static ImmutableList<Range> seedRanges(
+      Range range,
+      List<String> histogramBounds,
+      List<String> mostCommonValues,
+      long approxRowCount,
+      long maxPartitions,
+      @Nullable ProcessContext c) {
+    BigDecimal start = toDecimal(range.start());
+    BigDecimal end = toDecimal(range.end());
+    List<BigDecimal> bounds = new ArrayList<>();
+    for (String histogramBound : histogramBounds) {
+      BigDecimal bound = parseDecimal(histogramBound);
+      if (bound == null) {
+        return ImmutableList.of(range);
+      }
+      bounds.add(bound);
+    }
+
+    // Distinct bounds strictly within the range, in the order of the column.
+    List<BigDecimal> splitDecimals = new ArrayList<>();
+    List<Serializable> splitPoints = new ArrayList<>();
+    for (BigDecimal bound : new TreeSet<>(bounds)) {
+      if (bound.compareTo(start) <= 0 || bound.compareTo(end) >= 0) {
+        continue;
+      }
+      Serializable splitPoint = fromDecimal(bound, range.start().getClass());
+      if (splitPoint == null) {
+        // Not representable in the column, for example a fractional bound of an integer column.
+        continue;
+      }
+      splitDecimals.add(bound);
+      splitPoints.add(splitPoint);
+    }
+    if (splitPoints.isEmpty()) {
+      return ImmutableList.of(range);
+    }
+
+    // N bounds delimit N - 1 buckets of equal population. Each bucket adds its count to the range
+    // that holds its lower bound.
+    long bucketCount = Math.max(1, approxRowCount / Math.max(1, bounds.size() - 1));
+    long[] estimatedCounts = new long[splitPoints.size() + 1];
+    boolean[] skewed = new boolean[splitPoints.size() + 1];
+    for (int i = 0; i + 1 < bounds.size(); i++) {
+      BigDecimal lower = bounds.get(i);
+      BigDecimal upper = bounds.get(i + 1);
+      if (upper.compareTo(start) < 0 || lower.compareTo(end) > 0) {
+        continue;
+      }
+      int rangeIndex = rangeIndex(splitDecimals, lower.max(start));
+      estimatedCounts[rangeIndex] += bucketCount;
+      if (lower.compareTo(upper) == 0) {
+        // A bucket of a single value, that is a bound repeated in the histogram, is a frequent
+        // value.
+        skewed[rangeIndex] = true;
+      }
+    }
+    for (String mostCommonValue : mostCommonValues) {
+      BigDecimal value = parseDecimal(mostCommonValue);
+      if (value != null && value.compareTo(start) >= 0 && value.compareTo(end) <= 0) {
+        skewed[rangeIndex(splitDecimals, value)] = true;
+      }
+    }
+
+    long mean = Math.max(1, approxRowCount / Math.max(1, maxPartitions));
+    double maxCount = (1 + TableSplitSpecification.SPLITTER_MAX_RELATIVE_DEVIATION) * mean;
+    ImmutableList<Range> bucketRanges = range.splitAt(splitPoints);
+    ImmutableList.Builder<Range> seededRanges = ImmutableList.builder();
+    for (int i = 0; i < bucketRanges.size(); i++) {
+      if (skewed[i] || estimatedCounts[i] == 0) {
+        // Frequent values, and rows outside of the histogram such as rows added since it was built,
+        // can not be estimated and are counted.
+        seededRanges.add(bucketRanges.get(i));
+      } else {
+        splitToMaxCount(
+            bucketRanges.get(i).withCount(estimatedCounts[i], c), maxCount, c, seededRanges);
+      }
+    }
+    return seededRanges.build();
+  }
+
+  /* Index of the range, of the ranges split at the given points, that holds a value. */
+  private static int rangeIndex(List<BigDecimal> splitPoints, BigDecimal value) {
+    int index = Collections.binarySearch(splitPoints, value);
+    return index >= 0 ? index + 1 : -index - 1;
+  }
+
+  @Nullable
+  private static BigDecimal parseDecimal(String value) {
+    try {
+      return new BigDecimal(value.trim());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /*
+   * Splits a range with an estimated count in halves, assuming uniform density, until each range is
+   * within the max count.
+   */
+  private static void splitToMaxCount(
+      Range range, double maxCount, @Nullable ProcessContext c, ImmutableList.Builder<Range> out) {
+    if (range.count() <= maxCount || !range.isSplittable(c)) {
+      out.add(range);
+      return;
+    }
+    Pair<Range, Range> splitPair = range.split(c);
+    long leftCount = range.count() / 2;
+    splitToMaxCount(splitPair.getLeft().withCount(leftCount, c), maxCount, c, out);
+    splitToMaxCount(splitPair.getRight().withCount(range.count() - leftCount, c), maxCount, c, out);
+  }
+
+  @Nullable
+  private static BigDecimal toDecimal(@Nullable Object value) {
+    if (value instanceof Long || value instanceof Integer) {
+      return BigDecimal.valueOf(((Number) value).longValue());
+    }
+    if (value instanceof BigInteger) {
+      return new BigDecimal((BigInteger) value);
+    }
+    if (value instanceof BigDecimal) {
+      return (BigDecimal) value;
+    }
+    return null;
+  }
+
+  @Nullable
+  private static Serializable fromDecimal(BigDecimal value, Class<?> columnClass) {
+    try {
+      if (columnClass == Long.class) {
+        return value.longValueExact();
+      }
+      if (columnClass == Integer.class) {
+        return value.intValueExact();
+      }
+      if (columnClass == BigInteger.class) {
+        return value.toBigIntegerExact();
+      }
+    } catch (ArithmeticException e) {
+      return null;
+    }
+    return value;
+  }
+
+  /**
+   * Removes the delimiters and schema qualifier from an identifier, as the statistics views of the
+   * database hold plain names.
+   */
+  @VisibleForTesting
+  static String undelimitIdentifier(String identifier) {
+    Matcher matcher = DELIMITED_IDENTIFIER.matcher(identifier);
+    if (matcher.find()) {
+      return matcher.group(1).replace("\"\"", "\"");
+    }
+    return identifier.substring(identifier.lastIndexOf('.') + 1);
+  }
+
+  @FinishBundle
+  public void finishBundle() throws Exception {
+    cleanupDataSource();
+  }
+
+  @Teardown
+  public void tearDown() throws Exception {
+    cleanupDataSource();
+  }
+
+  /** Closes all active data source connections. */
+  void cleanupDataSource() {
+    if (this.dataSourceManager != null) {
+      this.dataSourceManager.closeAll();
+      this.dataSourceManager = null;
+    }
+  }
+}
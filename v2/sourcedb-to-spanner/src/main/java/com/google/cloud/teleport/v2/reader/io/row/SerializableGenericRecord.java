@@ -38,8 +38,8 @@ import org.apache.avro.io.EncoderFactory;
  * <p><b>Note:</b>
  *
  * <ol>
- *   <li>Based on benchmarking results, this can be further enhanced to have a singleton schema
- *       registry and encode only the hash of the schema in the serialization.
+ *   <li>This serialization encodes the complete schema with every record. Pipelines encode {@link
+ *       SourceRow}s with {@link SourceRowCoder}, which encodes only the fingerprint of the schema.
  *   <li>This can't be made as an {@link com.google.auto.value.AutoValue} class, as they are not
  *       mutable and do not support custom serializations.
  * </ol>
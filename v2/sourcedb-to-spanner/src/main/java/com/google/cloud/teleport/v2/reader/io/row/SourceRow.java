@@ -22,15 +22,18 @@ import com.google.common.collect.ImmutableList;
 import java.io.Serializable;
 import javax.annotation.Nullable;
 import org.apache.avro.Schema;
+import org.apache.avro.Schema.Field;
 import org.apache.avro.SchemaBuilder;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.generic.GenericRecordBuilder;
+import org.apache.beam.sdk.coders.DefaultCoder;
 
 /**
  * Encapsulates the SourceRow that is generated as a part of reading the source database tables.
  * Provides convenience methods to get the {@code readTime} and the {@code payload}
  */
 @AutoValue
+@DefaultCoder(SourceRowCoder.class)
 public abstract class SourceRow implements Serializable {
 
   /**
@@ -155,6 +158,27 @@ public abstract class SourceRow implements Serializable {
     return builder;
   }
 
+  /**
+   * Creates a SourceRow from an already built record. Used by {@link SourceRowCoder} while
+   * decoding.
+   */
+  static SourceRow create(
+      SourceSchemaReference sourceSchemaReference,
+      String tableSchemaUUID,
+      String tableName,
+      @Nullable String shardId,
+      ImmutableList<String> primaryKeyColumns,
+      GenericRecord record) {
+    return new AutoValue_SourceRow.Builder()
+        .setSourceSchemaReference(sourceSchemaReference)
+        .setTableSchemaUUID(tableSchemaUUID)
+        .setTableName(tableName)
+        .setShardId(shardId)
+        .setPrimaryKeyColumns(primaryKeyColumns)
+        .setRecord(new SerializableGenericRecord(record))
+        .autoBuild();
+  }
+
   @AutoValue.Builder
   public abstract static class Builder {
     @SuppressWarnings("CheckReturnValue")
@@ -211,5 +235,14 @@ public abstract class SourceRow implements Serializable {
       this.payloadBuilder.set(fieldName, value);
       return this;
     }
+
+    /**
+     * Set a field of the payload. Prefer this over {@link #setField(String, Object)} when the
+     * {@link Field} is already resolved, as it avoids looking up the field by name for every row.
+     */
+    public Builder setField(Field field, Object value) {
+      this.payloadBuilder.set(field, value);
+      return this;
+    }
   }
 }
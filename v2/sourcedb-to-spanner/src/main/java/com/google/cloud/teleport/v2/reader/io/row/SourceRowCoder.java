@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.reader.io.row;
+
+import com.google.cloud.teleport.v2.reader.io.schema.SourceSchema;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceSchemaReference;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceTableSchema;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.beam.sdk.coders.BigEndianLongCoder;
+import org.apache.beam.sdk.coders.ByteCoder;
+import org.apache.beam.sdk.coders.CoderException;
+import org.apache.beam.sdk.coders.CustomCoder;
+import org.apache.beam.sdk.coders.LengthPrefixCoder;
+import org.apache.beam.sdk.coders.ListCoder;
+import org.apache.beam.sdk.coders.NullableCoder;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.coders.VarIntCoder;
+
+/**
+ * A {@link org.apache.beam.sdk.coders.Coder} for {@link SourceRow}.
+ *
+ * <p>Java serialization of a {@link SourceRow} (via {@link SerializableGenericRecord}) carries the
+ * complete Avro schema of the table along with every row. This coder instead encodes the 64-bit
+ * parsing fingerprint of the row's schema followed by the Avro binary encoding of the record. The
+ * schemas are resolved from the {@link SourceSchema}s discovered at pipeline construction, which
+ * are serialized once with the coder and cached on each worker.
+ *
+ * <p>Rows whose schema or schema reference is not known to the coder are still encoded, by inlining
+ * the schema JSON or the serialized reference. Hence {@link #of()}, which knows no schemas, can
+ * always be used as a fallback.
+ */
+public final class SourceRowCoder extends CustomCoder<SourceRow> {
+
+  private static final byte SCHEMA_BY_FINGERPRINT = 0;
+  private static final byte SCHEMA_INLINE = 1;
+
+  /* Index 0 marks a schema reference that is serialized inline. */
+  private static final int INLINE_REFERENCE_INDEX = 0;
+
+  private static final StringUtf8Coder STRING_CODER = StringUtf8Coder.of();
+  private static final NullableCoder<String> NULLABLE_STRING_CODER =
+      NullableCoder.of(StringUtf8Coder.of());
+  private static final ListCoder<String> STRING_LIST_CODER = ListCoder.of(StringUtf8Coder.of());
+  private static final LengthPrefixCoder<SourceSchemaReference> REFERENCE_CODER =
+      LengthPrefixCoder.of(SerializableCoder.of(SourceSchemaReference.class));
+
+  private final ImmutableList<SourceSchemaReference> schemaReferences;
+  private final ImmutableList<Schema> schemas;
+
+  // Per worker caches, rebuilt after deserialization.
+  private transient ImmutableMap<Long, Schema> schemasByFingerprint;
+  private transient Map<Schema, Long> fingerprints;
+  private transient Map<String, Schema> inlineSchemas;
+  private transient Map<Schema, GenericDatumWriter<GenericRecord>> writers;
+  private transient Map<Schema, GenericDatumReader<GenericRecord>> readers;
+
+  private SourceRowCoder(
+      ImmutableList<SourceSchemaReference> schemaReferences, ImmutableList<Schema> schemas) {
+    this.schemaReferences = schemaReferences;
+    this.schemas = schemas;
+    initializeCaches();
+  }
+
+  private void initializeCaches() {
+    Map<Long, Schema> byFingerprint = new LinkedHashMap<>();
+    for (Schema schema : schemas) {
+      byFingerprint.put(SchemaNormalization.parsingFingerprint64(schema), schema);
+    }
+    this.schemasByFingerprint = ImmutableMap.copyOf(byFingerprint);
+    this.fingerprints = new ConcurrentHashMap<>();
+    this.inlineSchemas = new ConcurrentHashMap<>();
+    this.writers = new ConcurrentHashMap<>();
+    this.readers = new ConcurrentHashMap<>();
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    initializeCaches();
+  }
+
+  /** Returns a {@link SourceRowCoder} which inlines the schema of every row. */
+  public static SourceRowCoder of() {
+    return new SourceRowCoder(ImmutableList.of(), ImmutableList.of());
+  }
+
+  /**
+   * Returns a {@link SourceRowCoder} which encodes only the fingerprint of the schemas of the given
+   * sources.
+   *
+   * @param sourceSchemas schemas discovered for the sources being read.
+   * @return coder.
+   */
+  public static SourceRowCoder of(Iterable<SourceSchema> sourceSchemas) {
+    Set<SourceSchemaReference> schemaReferences = new LinkedHashSet<>();
+    Set<Schema> schemas = new LinkedHashSet<>();
+    for (SourceSchema sourceSchema : sourceSchemas) {
+      schemaReferences.add(sourceSchema.schemaReference());
+      for (SourceTableSchema tableSchema : sourceSchema.tableSchemas()) {
+        schemas.add(tableSchema.avroSchema());
+      }
+    }
+    return new SourceRowCoder(
+        ImmutableList.copyOf(schemaReferences), ImmutableList.copyOf(schemas));
+  }
+
+  @Override
+  public void encode(SourceRow value, OutputStream outStream) throws IOException {
+    if (value == null) {
+      throw new CoderException("cannot encode a null SourceRow");
+    }
+    int referenceIndex = schemaReferences.indexOf(value.sourceSchemaReference()) + 1;
+    VarIntCoder.of().encode(referenceIndex, outStream);
+    if (referenceIndex == INLINE_REFERENCE_INDEX) {
+      REFERENCE_CODER.encode(value.sourceSchemaReference(), outStream);
+    }
+    STRING_CODER.encode(value.tableSchemaUUID(), outStream);
+    STRING_CODER.encode(value.tableName(), outStream);
+    NULLABLE_STRING_CODER.encode(value.shardId(), outStream);
+    STRING_LIST_CODER.encode(value.primaryKeyColumns(), outStream);
+
+    GenericRecord record = value.record().getRecord();
+    Schema schema = record.getSchema();
+    long fingerprint = fingerprint(schema);
+    if (schemasByFingerprint.containsKey(fingerprint)) {
+      ByteCoder.of().encode(SCHEMA_BY_FINGERPRINT, outStream);
+      BigEndianLongCoder.of().encode(fingerprint, outStream);
+    } else {
+      ByteCoder.of().encode(SCHEMA_INLINE, outStream);
+      STRING_CODER.encode(schema.toString(), outStream);
+    }
+
+    BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(outStream, null);
+    writer(schema).write(record, encoder);
+    encoder.flush();
+  }
+
+  @Override
+  public SourceRow decode(InputStream inStream) throws IOException {
+    int referenceIndex = VarIntCoder.of().decode(inStream);
+    SourceSchemaReference schemaReference;
+    if (referenceIndex == INLINE_REFERENCE_INDEX) {
+      schemaReference = REFERENCE_CODER.decode(inStream);
+    } else if (referenceIndex <= schemaReferences.size()) {
+      schemaReference = schemaReferences.get(referenceIndex - 1);
+    } else {
+      throw new CoderException("Unknown schema reference index " + referenceIndex);
+    }
+    String tableSchemaUUID = STRING_CODER.decode(inStream);
+    String tableName = STRING_CODER.decode(inStream);
+    String shardId = NULLABLE_STRING_CODER.decode(inStream);
+    ImmutableList<String> primaryKeyColumns =
+        ImmutableList.copyOf(STRING_LIST_CODER.decode(inStream));
+
+    Schema schema;
+    byte schemaEncoding = ByteCoder.of().decode(inStream);
+    if (schemaEncoding == SCHEMA_BY_FINGERPRINT) {
+      long fingerprint = BigEndianLongCoder.of().decode(inStream);
+      schema = schemasByFingerprint.get(fingerprint);
+      if (schema == null) {
+        throw new CoderException("Unknown schema fingerprint " + fingerprint);
+      }
+    } else {
+      schema = inlineSchema(STRING_CODER.decode(inStream));
+    }
+
+    // Do not buffer ahead, the stream may be shared with the elements that follow.
+    BinaryDecoder decoder = DecoderFactory.get().directBinaryDecoder(inStream, null);
+    GenericRecord record = reader(schema).read(null, decoder);
+    return SourceRow.create(
+        schemaReference, tableSchemaUUID, tableName, shardId, primaryKeyColumns, record);
+  }
+
+  private long fingerprint(Schema schema) {
+    return fingerprints.computeIfAbsent(schema, SchemaNormalization::parsingFingerprint64);
+  }
+
+  private Schema inlineSchema(String schemaJson) {
+    return inlineSchemas.computeIfAbsent(schemaJson, json -> new Schema.Parser().parse(json));
+  }
+
+  private GenericDatumWriter<GenericRecord> writer(Schema schema) {
+    return writers.computeIfAbsent(schema, GenericDatumWriter::new);
+  }
+
+  private GenericDatumReader<GenericRecord> reader(Schema schema) {
+    return readers.computeIfAbsent(schema, GenericDatumReader::new);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof SourceRowCoder)) {
+      return false;
+    }
+    SourceRowCoder that = (SourceRowCoder) o;
+    return schemaReferences.equals(that.schemaReferences) && schemas.equals(that.schemas);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(schemaReferences, schemas);
+  }
+}
@@ -17,6 +17,7 @@ package com.google.cloud.teleport.v2.reader.io.transform;
 
 import com.google.auto.value.AutoValue;
 import com.google.cloud.teleport.v2.reader.io.row.SourceRow;
+import com.google.cloud.teleport.v2.reader.io.row.SourceRowCoder;
 import com.google.cloud.teleport.v2.reader.io.schema.SourceTableReference;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
@@ -56,6 +57,8 @@ abstract class AccumulatingTableReader extends PTransform<PBegin, PCollectionTup
 
   public abstract TupleTag<SourceTableReference> sourceTableReferenceTag();
 
+  public abstract SourceRowCoder sourceRowCoder();
+
   private AccumulatingTableReader setTableTransforms(
       ImmutableMap<ImmutableList<SourceTableReference>, PTransform<PBegin, PCollection<SourceRow>>>
           tableTransforms) {
@@ -65,6 +68,9 @@ abstract class AccumulatingTableReader extends PTransform<PBegin, PCollectionTup
 
   @Override
   public PCollectionTuple expand(PBegin input) {
+    // Register the coder before expanding the table readers, so that the readers which infer their
+    // coder (and shuffle the rows they read) encode only the schema fingerprint of each row.
+    input.getPipeline().getCoderRegistry().registerCoderForClass(SourceRow.class, sourceRowCoder());
     ImmutableMap<ImmutableList<SourceTableReference>, PCollection<SourceRow>> tablePCollections =
         this.tableTransforms.entrySet().stream()
             .collect(
@@ -72,12 +78,15 @@ abstract class AccumulatingTableReader extends PTransform<PBegin, PCollectionTup
                     Entry::getKey,
                     e -> {
                       String groupName = getTableGroupName(e.getKey());
-                      return input.apply("SourceRowReader." + groupName, e.getValue());
+                      return input
+                          .apply("SourceRowReader." + groupName, e.getValue())
+                          .setCoder(sourceRowCoder());
                     }));
     PCollection<SourceRow> sourceRowPCollection =
         PCollectionList.of(tablePCollections.values())
             /* Flatten SourceRows read from all the tables into a single PCollection */
-            .apply("SourceRowCollector", Flatten.<SourceRow>pCollections());
+            .apply("SourceRowCollector", Flatten.<SourceRow>pCollections())
+            .setCoder(sourceRowCoder());
 
     PCollection<SourceTableReference> tableCompletions =
         PCollectionList.of(
@@ -149,7 +158,10 @@ abstract class AccumulatingTableReader extends PTransform<PBegin, PCollectionTup
   static Builder builder(
       TupleTag<SourceRow> sourceRowTag, TupleTag<SourceTableReference> sourceTableReferenceTag) {
     Builder builder = new AutoValue_AccumulatingTableReader.Builder();
-    builder.setSourceRowTag(sourceRowTag).setSourceTableReferenceTag(sourceTableReferenceTag);
+    builder
+        .setSourceRowTag(sourceRowTag)
+        .setSourceTableReferenceTag(sourceTableReferenceTag)
+        .setSourceRowCoder(SourceRowCoder.of());
     return builder;
   }
 
@@ -164,6 +176,8 @@ abstract class AccumulatingTableReader extends PTransform<PBegin, PCollectionTup
 
     abstract Builder setSourceTableReferenceTag(TupleTag<SourceTableReference> sourceRowTag);
 
+    abstract Builder setSourceRowCoder(SourceRowCoder sourceRowCoder);
+
     Builder withTableReader(
         ImmutableList<SourceTableReference> sourceTableReferences,
         PTransform<PBegin, PCollection<SourceRow>> tableReader) {
@@ -17,6 +17,8 @@ package com.google.cloud.teleport.v2.reader.io.transform;
 
 import com.google.auto.value.AutoValue;
 import com.google.cloud.teleport.v2.reader.io.row.SourceRow;
+import com.google.cloud.teleport.v2.reader.io.row.SourceRowCoder;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceSchema;
 import com.google.cloud.teleport.v2.reader.io.schema.SourceTableReference;
 import com.google.common.collect.ImmutableList;
 import java.io.Serializable;
@@ -99,6 +101,15 @@ public abstract class ReaderTransform implements Serializable {
       this.readTransformBuilder.withTableReader(sourceTableReferences, tableReader);
     }
 
+    /**
+     * Encode the rows read with a {@link SourceRowCoder} that knows the discovered schemas, so that
+     * only a fingerprint of the schema is encoded with each row.
+     */
+    public Builder withSourceSchemas(ImmutableList<SourceSchema> sourceSchemas) {
+      this.readTransformBuilder.setSourceRowCoder(SourceRowCoder.of(sourceSchemas));
+      return this;
+    }
+
     public ReaderTransform build() {
       this.setReadTransform(readTransformBuilder.build());
       return autoBuild();
@@ -19,6 +19,7 @@ import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.config.TypedDriverOption;
 import com.google.cloud.teleport.v2.reader.io.row.SourceRow;
+import com.google.cloud.teleport.v2.reader.io.row.SourceRowCoder;
 import com.google.cloud.teleport.v2.reader.io.schema.SourceSchemaReference;
 import com.google.cloud.teleport.v2.reader.io.schema.SourceTableSchema;
 import com.google.cloud.teleport.v2.source.cassandra.reader.io.cassandra.rowmapper.AstraDbSourceRowMapper;
@@ -27,7 +28,6 @@ import com.google.cloud.teleport.v2.source.cassandra.reader.io.cassandra.rowmapp
 import com.google.cloud.teleport.v2.source.cassandra.reader.io.cassandra.rowmapper.CassandraSourceRowMapperFactoryFn;
 import com.google.common.annotations.VisibleForTesting;
 import java.util.stream.Collectors;
-import org.apache.beam.sdk.coders.SerializableCoder;
 import org.apache.beam.sdk.io.astra.db.AstraDbIO;
 import org.apache.beam.sdk.io.localcassandra.CassandraIO;
 import org.apache.beam.sdk.io.localcassandra.CassandraIO.Read;
@@ -53,6 +53,10 @@ public class CassandraTableReaderFactoryCassandraIoImpl implements CassandraTabl
   /* Default Read timeout. */
   @VisibleForTesting protected static final Integer DEFAULT_READ_TIMEOUT_MILLIS = 3600 * 1000;
 
+  /* Default approximate size of a split, to derive the number of splits from the table size. */
+  @VisibleForTesting
+  protected static final Long DEFAULT_TARGET_SPLIT_SIZE_BYTES = 1024L * 1024 * 1024;
+
   @VisibleForTesting
   protected static final String DEFAULT_CONSISTENCY = ConsistencyLevel.QUORUM.name();
 
@@ -94,7 +98,7 @@ public class CassandraTableReaderFactoryCassandraIoImpl implements CassandraTabl
             .withTable(delimitIdentifier(sourceTableSchema.tableName()))
             // .withMinNumberOfSplits(minimalTokenRangesCount)
             .withMapperFactoryFn(AstraDbSourceRowMapperFactoryFn.create(astraDbSourceRowMapper))
-            .withCoder(SerializableCoder.of(SourceRow.class))
+            .withCoder(SourceRowCoder.of())
             .withEntity(SourceRow.class);
     return setNumPartitionsAstra(astraSource, astraDbDataSource, sourceTableSchema.tableName());
   }
@@ -121,8 +125,9 @@ public class CassandraTableReaderFactoryCassandraIoImpl implements CassandraTabl
                 profile.getString(TypedDriverOption.REQUEST_CONSISTENCY.getRawOption()))
             .withConnectTimeout(getConnectionTimeout(profile))
             .withReadTimeout(getReadTimeout(profile))
+            .withTargetSplitSizeBytes(DEFAULT_TARGET_SPLIT_SIZE_BYTES)
             .withEntity(SourceRow.class)
-            .withCoder(SerializableCoder.of(SourceRow.class))
+            .withCoder(SourceRowCoder.of())
             .withMapperFactoryFn(
                 CassandraSourceRowMapperFactoryFn.create(cassandraSourceRowMapper));
     return setSslOptions(
@@ -189,7 +194,7 @@ public class CassandraTableReaderFactoryCassandraIoImpl implements CassandraTabl
       return tableReader.withMinNumberOfSplits(numPartitions);
     } else {
       LOG.info(
-          "numPartitions would be auto Inferred to number of hosts, for DataSource {}, tableName {}",
+          "numPartitions would be auto Inferred from the table size and number of hosts, for DataSource {}, tableName {}",
           dataSource,
           tableName);
       return tableReader;
@@ -781,6 +781,55 @@ public final class MysqlDialectAdapter implements DialectAdapter {
         partitionColumns);
   }
 
+  /**
+   * Get query that returns the lower and upper bounds of the buckets of the equi-height histogram
+   * of a column from {@code INFORMATION_SCHEMA.COLUMN_STATISTICS}. Histograms are available from
+   * MySQL 8.0 once {@code ANALYZE TABLE ... UPDATE HISTOGRAM} has been run for the column.
+   * Singleton histograms are not used as they are built only for columns with few distinct values.
+   *
+   * @return histogram query, or null for MySQL 5.7.
+   */
+  @Override
+  @Nullable
+  public String getHistogramQuery() {
+    if (mySqlVersion == MySqlVersion.MYSQL_5_7) {
+      return null;
+    }
+    return "SELECT b.lower_bound, b.upper_bound FROM INFORMATION_SCHEMA.COLUMN_STATISTICS s, "
+        + "JSON_TABLE(s.HISTOGRAM, '$.buckets[*]' COLUMNS ("
+        + "idx FOR ORDINALITY, lower_bound VARCHAR(255) PATH '$[0]', "
+        + "upper_bound VARCHAR(255) PATH '$[1]')) b "
+        + "WHERE s.SCHEMA_NAME = DATABASE() AND s.TABLE_NAME = ? AND s.COLUMN_NAME = ? "
+        + "AND JSON_UNQUOTE(JSON_EXTRACT(s.HISTOGRAM, '$.\"histogram-type\"')) = 'equi-height' "
+        + "ORDER BY b.idx";
+  }
+
+  /**
+   * Extract the histogram bounds from the buckets returned by the {@link #getHistogramQuery()
+   * histogram query}. These are the lower bound of the first bucket, followed by the upper bound of
+   * every bucket.
+   *
+   * @param rs result set of the histogram query.
+   * @return bucket bounds in increasing order.
+   */
+  @Override
+  public ImmutableList<String> extractHistogramBounds(ResultSet rs) throws SQLException {
+    ImmutableList.Builder<String> bounds = ImmutableList.builder();
+    boolean first = true;
+    while (rs.next()) {
+      String lowerBound = rs.getString(1);
+      String upperBound = rs.getString(2);
+      if (first && lowerBound != null) {
+        bounds.add(lowerBound);
+      }
+      first = false;
+      if (upperBound != null) {
+        bounds.add(upperBound);
+      }
+    }
+    return bounds.build();
+  }
+
   /**
    * Check if a given {@link SQLException} is a timeout. The implementation needs to check for
    * dialect specific {@link SQLException#getSQLState() SqlState} and {@link
@@ -96,6 +96,24 @@ public class OracleDialectAdapter implements DialectAdapter {
         partitionColumns);
   }
 
+  /**
+   * Get query that returns the endpoints of the height balanced or hybrid histogram of a column.
+   * {@code ALL_TAB_HISTOGRAMS} is used instead of {@code DBA_TAB_HISTOGRAMS} as it needs no
+   * privileges beyond reading the table. Frequency and top-frequency histograms are not used as
+   * their endpoints are distinct values rather than bucket bounds.
+   *
+   * @return histogram query.
+   */
+  @Override
+  public String getHistogramQuery() {
+    return "SELECT TO_CHAR(h.ENDPOINT_VALUE) FROM ALL_TAB_HISTOGRAMS h "
+        + "JOIN ALL_TAB_COL_STATISTICS c ON c.OWNER = h.OWNER AND c.TABLE_NAME = h.TABLE_NAME "
+        + "AND c.COLUMN_NAME = h.COLUMN_NAME "
+        + "WHERE h.OWNER = SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA') AND h.TABLE_NAME = ? "
+        + "AND h.COLUMN_NAME = ? AND c.HISTOGRAM IN ('HEIGHT BALANCED', 'HYBRID') "
+        + "ORDER BY h.ENDPOINT_NUMBER";
+  }
+
   @Override
   public boolean checkForTimeout(SQLException exception) {
     if (exception instanceof java.sql.SQLTimeoutException) {
@@ -682,6 +682,37 @@ public class PostgreSQLDialectAdapter implements DialectAdapter {
         colName, tableName, whereClause, selectClause);
   }
 
+  /**
+   * Get query that returns the {@code histogram_bounds} of a column from {@code pg_stats}. The
+   * bounds divide the values of the column, other than the most common values, into buckets of
+   * equal population. Statistics of the table itself are preferred over the statistics gathered
+   * over its inheritance tree, which are the only ones maintained for partitioned tables.
+   *
+   * @return histogram query.
+   */
+  @Override
+  public String getHistogramQuery() {
+    return "SELECT u.bound FROM (SELECT histogram_bounds FROM pg_stats "
+        + "WHERE schemaname = current_schema() AND tablename = ? AND attname = ? "
+        + "ORDER BY inherited LIMIT 1) s, "
+        + "unnest(s.histogram_bounds::text::text[]) WITH ORDINALITY AS u(bound, idx) "
+        + "ORDER BY u.idx";
+  }
+
+  /**
+   * Get query that returns the {@code most_common_vals} of a column from {@code pg_stats}. These
+   * values are left out of the {@code histogram_bounds}, so the ranges holding them are counted.
+   *
+   * @return most common values query.
+   */
+  @Override
+  public String getMostCommonValuesQuery() {
+    return "SELECT u.value FROM (SELECT most_common_vals FROM pg_stats "
+        + "WHERE schemaname = current_schema() AND tablename = ? AND attname = ? "
+        + "ORDER BY inherited LIMIT 1) s, "
+        + "unnest(s.most_common_vals::text::text[]) AS u(value)";
+  }
+
   /**
    * Check if a given {@link SQLException} is a timeout. The implementation needs to check for
    * dialect specific {@link SQLException#getSQLState() SqlState} to check if the exception
@@ -16,9 +16,11 @@
 package com.google.cloud.teleport.v2.templates;
 
 import com.google.cloud.teleport.v2.constants.MetricCounters;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import javax.annotation.Nullable;
 import org.apache.beam.repackaged.core.org.apache.commons.lang3.StringUtils;
 import org.apache.beam.sdk.metrics.Counter;
 import org.apache.beam.sdk.metrics.Metrics;
@@ -36,7 +38,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * A {@link PTransform} that waits for the completion of table migrations (represented by {@link
- * Wait.OnSignal} objects) and increments a counter for each completed table.
+ * Wait.OnSignal} objects) and increments a counter for each completed table. Completed tables are
+ * also recorded in the {@link MigrationLedger} if one is kept.
  */
 public class IncrementTableCounter extends PTransform<PBegin, PCollection<Void>> {
 
@@ -51,6 +54,8 @@ public class IncrementTableCounter extends PTransform<PBegin, PCollection<Void>>
 
   private final Map<Integer, List<String>> levelToSpannerTables;
 
+  @Nullable private final MigrationLedger ledger;
+
   /**
    * @param levelWaits Map of src table name to Wait.OnSignals, denoting which pcollection should a
    *     table wait on to signal completion.
@@ -61,9 +66,25 @@ public class IncrementTableCounter extends PTransform<PBegin, PCollection<Void>>
       Map<Integer, Wait.OnSignal<?>> levelWaits,
       String shardId,
       Map<Integer, List<String>> levelToSpannerTables) {
+    this(levelWaits, shardId, levelToSpannerTables, null);
+  }
+
+  /**
+   * @param levelWaits Map of src table name to Wait.OnSignals, denoting which pcollection should a
+   *     table wait on to signal completion.
+   * @param shardId logical shard id for the set of tables.
+   * @param levelToSpannerTables level wise list of spanner Tables.
+   * @param ledger ledger to record the completed tables in. Null if no ledger is kept.
+   */
+  public IncrementTableCounter(
+      Map<Integer, Wait.OnSignal<?>> levelWaits,
+      String shardId,
+      Map<Integer, List<String>> levelToSpannerTables,
+      @Nullable MigrationLedger ledger) {
     this.levelWaits = levelWaits;
     this.shardId = shardId;
     this.levelToSpannerTables = levelToSpannerTables;
+    this.ledger = ledger;
   }
 
   @Override
@@ -87,7 +108,7 @@ public class IncrementTableCounter extends PTransform<PBegin, PCollection<Void>>
         ParDo.of(
             new DoFn<Integer, Void>() {
               @ProcessElement
-              public void processElement(ProcessContext c) {
+              public void processElement(ProcessContext c) throws IOException {
                 List<String> spannerTables = levelToSpannerTables.get(c.element());
                 for (String table : spannerTables) {
                   String msg = String.format("Completed spanner table: %s", table);
@@ -96,6 +117,9 @@ public class IncrementTableCounter extends PTransform<PBegin, PCollection<Void>>
                   }
                   LOG.info(msg);
                   tablesCompleted.inc();
+                  if (ledger != null) {
+                    ledger.recordCompleted(table);
+                  }
                 }
               }
             }));
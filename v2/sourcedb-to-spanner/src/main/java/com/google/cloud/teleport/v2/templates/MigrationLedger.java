@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates;
+
+import com.google.cloud.teleport.v2.constants.MetricCounters;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import org.apache.beam.sdk.io.FileSystems;
+import org.apache.beam.sdk.io.fs.EmptyMatchTreatment;
+import org.apache.beam.sdk.io.fs.MatchResult;
+import org.apache.beam.sdk.io.fs.MatchResult.Metadata;
+import org.apache.beam.sdk.io.fs.ResolveOptions.StandardResolveOptions;
+import org.apache.beam.sdk.io.fs.ResourceId;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.PTransform;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.util.MimeTypes;
+import org.apache.beam.sdk.values.PBegin;
+import org.apache.beam.sdk.values.PCollection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ledger of the Spanner tables whose migration has completed, which allows a failed migration to be
+ * resumed without reading the completed tables again.
+ *
+ * <p>The ledger is a directory with an empty marker file per completed table. A table is recorded
+ * only once all the rows of its level are written to Spanner, so that a table in the ledger never
+ * needs to be read again. Marker files are used instead of a single manifest so that tables
+ * completing in parallel do not contend on the same file.
+ */
+public class MigrationLedger implements Serializable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MigrationLedger.class);
+
+  private static final String COMPLETED_SUFFIX = ".completed";
+
+  private static final Counter tablesRemaining =
+      Metrics.counter(MigrationLedger.class, MetricCounters.TABLES_REMAINING);
+
+  private final String directory;
+
+  private MigrationLedger(String directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * Creates a ledger in the given directory.
+   *
+   * @param directory directory of the ledger. It's created with the first completed table.
+   * @return ledger.
+   */
+  public static MigrationLedger of(String directory) {
+    return new MigrationLedger(directory);
+  }
+
+  /**
+   * Lists the tables recorded as completed in the ledger.
+   *
+   * @return names of the completed Spanner tables.
+   * @throws RuntimeException if the ledger directory can not be listed.
+   */
+  public ImmutableSet<String> completedTables() {
+    String pattern =
+        directoryId()
+            .resolve("*" + COMPLETED_SUFFIX, StandardResolveOptions.RESOLVE_FILE)
+            .toString();
+    try {
+      MatchResult matchResult = FileSystems.match(pattern, EmptyMatchTreatment.ALLOW);
+      ImmutableSet.Builder<String> completedTables = ImmutableSet.builder();
+      for (Metadata metadata : matchResult.metadata()) {
+        String fileName = metadata.resourceId().getFilename();
+        completedTables.add(
+            URLDecoder.decode(
+                fileName.substring(0, fileName.length() - COMPLETED_SUFFIX.length()),
+                StandardCharsets.UTF_8));
+      }
+      return completedTables.build();
+    } catch (IOException e) {
+      throw new RuntimeException("Unable to read the completion ledger at " + directory, e);
+    }
+  }
+
+  /**
+   * Records a table as completed. Recording a table more than once has no further effect.
+   *
+   * @param spannerTable name of the Spanner table.
+   * @throws IOException if the marker of the table can not be written.
+   */
+  public void recordCompleted(String spannerTable) throws IOException {
+    ResourceId marker =
+        directoryId()
+            .resolve(
+                URLEncoder.encode(spannerTable, StandardCharsets.UTF_8) + COMPLETED_SUFFIX,
+                StandardResolveOptions.RESOLVE_FILE);
+    try (WritableByteChannel channel = FileSystems.create(marker, MimeTypes.BINARY)) {
+      LOG.info("Recorded spanner table: {} as completed at {}", spannerTable, marker);
+    }
+    tablesRemaining.dec();
+  }
+
+  /**
+   * Reports the number of tables skipped as completed and the number of tables that remain to be
+   * migrated. The remaining count goes down as tables are {@link #recordCompleted(String)
+   * recorded}.
+   *
+   * @param skippedTables number of tables skipped.
+   * @param remainingTables number of tables to migrate.
+   * @return transform reporting the counts.
+   */
+  public static PTransform<PBegin, PCollection<Void>> reportTables(
+      long skippedTables, long remainingTables) {
+    return new PTransform<PBegin, PCollection<Void>>() {
+      @Override
+      public PCollection<Void> expand(PBegin input) {
+        return input
+            .apply("Create_ledger_counts", Create.of(skippedTables))
+            .apply(
+                "Report_ledger_counts",
+                ParDo.of(
+                    new DoFn<Long, Void>() {
+                      private final Counter tablesSkipped =
+                          Metrics.counter(MigrationLedger.class, MetricCounters.TABLES_SKIPPED);
+
+                      @ProcessElement
+                      public void processElement(ProcessContext c) {
+                        tablesSkipped.inc(c.element());
+                        tablesRemaining.inc(remainingTables);
+                      }
+                    }));
+      }
+    };
+  }
+
+  private ResourceId directoryId() {
+    return FileSystems.matchNewResource(directory, true);
+  }
+}
@@ -33,6 +33,7 @@ import com.google.common.annotations.VisibleForTesting;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.beam.repackaged.core.org.apache.commons.lang3.StringUtils;
 import org.apache.beam.sdk.Pipeline;
@@ -87,29 +88,59 @@ public class PipelineController {
       Map<Integer, List<String>> levelToSpannerTableList,
       DbConfigContainer configContainer) {
 
+    MigrationLedger ledger =
+        StringUtils.isEmpty(options.getCompletionLedgerDirectory())
+            ? null
+            : MigrationLedger.of(options.getCompletionLedgerDirectory());
+    Set<String> completedTables = (ledger == null) ? Set.of() : ledger.completedTables();
+    long skippedTables = 0;
+
     Map<Integer, PCollection<Void>> levelVsOutputMap = new HashMap<>();
+    Map<Integer, List<String>> levelToMigratedSpannerTables = new HashMap<>();
+    // Output of the nearest lower level that migrates any table. Levels without an output are
+    // passed over, so that a level never starts before the tables of its ancestor levels are
+    // written.
+    PCollection<Void> previousLevelPCollection = null;
+    boolean lowerLevelHasTables = false;
     for (int currentLevel = 0; currentLevel < levelToSpannerTableList.size(); currentLevel++) {
-      List<String> spannerTables = levelToSpannerTableList.get(currentLevel);
+      List<String> spannerTables =
+          levelToSpannerTableList.get(currentLevel).stream()
+              .filter(t -> !completedTables.contains(t))
+              .collect(Collectors.toList());
+      levelToMigratedSpannerTables.put(currentLevel, spannerTables);
+      if (spannerTables.size() < levelToSpannerTableList.get(currentLevel).size()) {
+        skippedTables += levelToSpannerTableList.get(currentLevel).size() - spannerTables.size();
+        LOG.info(
+            "level: {} skipping spanner tables completed as per the ledger: {}",
+            currentLevel,
+            levelToSpannerTableList.get(currentLevel).stream()
+                .filter(completedTables::contains)
+                .collect(Collectors.toList()));
+      }
+      if (spannerTables.isEmpty()) {
+        // All the tables of the level are completed, the next level waits on the level before.
+        continue;
+      }
       LOG.info("processing level: {} spanner tables: {}", currentLevel, spannerTables);
       List<String> sourceTables =
           spannerTables.stream()
               .map(t -> tableSelector.getSchemaMapper().getSourceTableName("", t))
               .collect(Collectors.toList());
       LOG.info("level: {} source tables: {}", currentLevel, sourceTables);
-      PCollection<Void> previousLevelPCollection = levelVsOutputMap.get(currentLevel - 1);
-      if (currentLevel > 0 && previousLevelPCollection == null) {
+      if (previousLevelPCollection == null && lowerLevelHasTables) {
         LOG.warn(
             "proceeding without waiting for parent. current level: {}  tables: {}",
             currentLevel,
             spannerTables);
       }
+      lowerLevelHasTables = true;
       OnSignal<@UnknownKeyFor @Nullable @Initialized Object> waitOnSignal =
           previousLevelPCollection != null ? Wait.on(previousLevelPCollection) : null;
       IoWrapper ioWrapper = configContainer.getIOWrapper(sourceTables, waitOnSignal);
       if (ioWrapper.getTableReaders().isEmpty()) {
         LOG.info("not creating reader as tables are not found at source: {}", sourceTables);
-        // If tables of 1 level are ignored in middle, then the subsequent level will not wait to
-        // begin processing.
+        // If tables of 1 level are ignored in middle, then the subsequent level waits on the level
+        // before.
         continue;
       }
       ReaderImpl reader = ReaderImpl.of(ioWrapper);
@@ -132,6 +163,7 @@ public class PipelineController {
                   tableSelector.getSchemaMapper(),
                   reader));
       levelVsOutputMap.put(currentLevel, output);
+      previousLevelPCollection = output;
     }
 
     // Add transform to increment table counter
@@ -140,7 +172,20 @@ public class PipelineController {
             .collect(Collectors.toMap(e -> e.getKey(), e -> Wait.on(e.getValue())));
     pipeline.apply(
         "Increment_table_counters",
-        new IncrementTableCounter(tableCompletionMap, "", levelToSpannerTableList));
+        new IncrementTableCounter(tableCompletionMap, "", levelToMigratedSpannerTables, ledger));
+
+    if (ledger != null) {
+      long remainingTables =
+          levelVsOutputMap.keySet().stream()
+              .mapToLong(level -> levelToMigratedSpannerTables.get(level).size())
+              .sum();
+      LOG.info(
+          "completion ledger: {} tables skipped, {} tables remaining",
+          skippedTables,
+          remainingTables);
+      pipeline.apply(
+          "Report_ledger_tables", MigrationLedger.reportTables(skippedTables, remainingTables));
+    }
   }
 
   /**
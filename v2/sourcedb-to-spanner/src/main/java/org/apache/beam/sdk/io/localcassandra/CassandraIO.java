@@ -24,16 +24,21 @@ import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.PlainTextAuthProvider;
 import com.datastax.driver.core.QueryOptions;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
 import com.datastax.driver.core.SSLOptions;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.SocketOptions;
+import com.datastax.driver.core.TableMetadata;
 import com.datastax.driver.core.policies.DCAwareRoundRobinPolicy;
 import com.datastax.driver.core.policies.TokenAwarePolicy;
 import com.google.auto.value.AutoValue;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
@@ -185,6 +190,8 @@ public class CassandraIO {
 
     abstract @Nullable ValueProvider<Integer> minNumberOfSplits();
 
+    abstract @Nullable ValueProvider<Long> targetSplitSizeBytes();
+
     abstract @Nullable ValueProvider<Integer> connectTimeout();
 
     abstract @Nullable ValueProvider<Integer> readTimeout();
@@ -335,6 +342,28 @@ public class CassandraIO {
       return builder().setMinNumberOfSplits(minNumberOfSplits).build();
     }
 
+    /**
+     * Specify the approximate size in bytes of each split. The size of the table is estimated from
+     * system.size_estimates, and the table is read in as many splits as needed to stay around this
+     * size. The minimum number of splits still applies when the table is small or the estimates are
+     * not populated.
+     */
+    public Read<T> withTargetSplitSizeBytes(Long targetSplitSizeBytes) {
+      checkArgument(targetSplitSizeBytes != null, "targetSplitSizeBytes can not be null");
+      checkArgument(targetSplitSizeBytes > 0, "targetSplitSizeBytes must be greater than 0");
+      return withTargetSplitSizeBytes(ValueProvider.StaticValueProvider.of(targetSplitSizeBytes));
+    }
+
+    /**
+     * Specify the approximate size in bytes of each split. The size of the table is estimated from
+     * system.size_estimates, and the table is read in as many splits as needed to stay around this
+     * size. The minimum number of splits still applies when the table is small or the estimates are
+     * not populated.
+     */
+    public Read<T> withTargetSplitSizeBytes(ValueProvider<Long> targetSplitSizeBytes) {
+      return builder().setTargetSplitSizeBytes(targetSplitSizeBytes).build();
+    }
+
     /**
      * Specify the Cassandra client connect timeout in ms. See
      * https://docs.datastax.com/en/drivers/java/3.8/com/datastax/driver/core/SocketOptions.html#setConnectTimeoutMillis-int-
@@ -447,7 +476,7 @@ public class CassandraIO {
                 read.sslOptions())) {
           if (isMurmur3Partitioner(cluster)) {
             LOG.info("Murmur3Partitioner detected, splitting");
-            Integer splitCount;
+            long splitCount;
             if (read.minNumberOfSplits() != null && read.minNumberOfSplits().get() != null) {
               splitCount = read.minNumberOfSplits().get();
             } else {
@@ -459,6 +488,19 @@ public class CassandraIO {
                     .collect(Collectors.toList());
             SplitGenerator splitGenerator =
                 new SplitGenerator(cluster.getMetadata().getPartitioner());
+            if (read.targetSplitSizeBytes() != null && read.targetSplitSizeBytes().get() != null) {
+              long sizeSplitCount =
+                  splitGenerator.getSplitCountForSize(
+                      getSizeEstimates(cluster, read), read.targetSplitSizeBytes().get());
+              LOG.info(
+                  "Estimated {} splits of {} bytes for table {}.{}, minimum is {} splits",
+                  sizeSplitCount,
+                  read.targetSplitSizeBytes().get(),
+                  read.keyspace().get(),
+                  read.table().get(),
+                  splitCount);
+              splitCount = Math.max(splitCount, sizeSplitCount);
+            }
 
             return splitGenerator.generateSplits(splitCount, tokens).stream()
                 .flatMap(List::stream)
@@ -477,6 +519,42 @@ public class CassandraIO {
           }
         }
       }
+
+      /**
+       * Reads the estimated size in bytes of the token ranges of the table from
+       * system.size_estimates. The estimates are local to the coordinator, so they cover only the
+       * token ranges it owns.
+       *
+       * @return estimated bytes per token range, empty if the estimates can not be read.
+       */
+      private static <T> Map<RingRange, Long> getSizeEstimates(Cluster cluster, Read<T> read) {
+        Map<RingRange, Long> sizeEstimates = new HashMap<>();
+        try (Session session = cluster.newSession()) {
+          TableMetadata tableMetadata =
+              cluster.getMetadata().getKeyspace(read.keyspace().get()).getTable(read.table().get());
+          ResultSet resultSet =
+              session.execute(
+                  "SELECT range_start, range_end, partitions_count, mean_partition_size FROM "
+                      + "system.size_estimates WHERE keyspace_name = ? AND table_name = ?",
+                  tableMetadata.getKeyspace().getName(),
+                  tableMetadata.getName());
+          for (Row row : resultSet) {
+            sizeEstimates.put(
+                RingRange.of(
+                    new BigInteger(row.getString("range_start")),
+                    new BigInteger(row.getString("range_end"))),
+                row.getLong("partitions_count") * row.getLong("mean_partition_size"));
+          }
+        } catch (Exception e) {
+          LOG.warn(
+              "Unable to read system.size_estimates for table {}.{}, splitting without estimates",
+              read.keyspace().get(),
+              read.table().get(),
+              e);
+          return Collections.emptyMap();
+        }
+        return sizeEstimates;
+      }
     }
 
     @AutoValue.Builder
@@ -507,6 +585,8 @@ public class CassandraIO {
 
       abstract Builder<T> setMinNumberOfSplits(ValueProvider<Integer> minNumberOfSplits);
 
+      abstract Builder<T> setTargetSplitSizeBytes(ValueProvider<Long> targetSplitSizeBytes);
+
       abstract Builder<T> setConnectTimeout(ValueProvider<Integer> timeout);
 
       abstract Builder<T> setReadTimeout(ValueProvider<Integer> timeout);
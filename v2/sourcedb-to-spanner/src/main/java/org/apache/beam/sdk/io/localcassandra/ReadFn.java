@@ -80,9 +80,15 @@ class ReadFn<T> extends DoFn<Read<T>, T> {
               receiver,
               mapper);
         } else {
+          // Route the range query by its end token so that the token aware policy sends it to a
+          // replica of the range instead of a random coordinator.
           ResultSet rs =
               session.execute(
-                  preparedStatement.bind().setToken(0, startToken).setToken(1, endToken));
+                  preparedStatement
+                      .bind()
+                      .setToken(0, startToken)
+                      .setToken(1, endToken)
+                      .setRoutingToken(endToken));
           outputResults(rs, receiver, mapper);
         }
       }
@@ -20,6 +20,7 @@ package org.apache.beam.sdk.io.localcassandra;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -144,6 +145,41 @@ final class SplitGenerator {
     return coalesceSplits(getTargetSplitSize(totalSplitCount), splits);
   }
 
+  /**
+   * Computes the number of splits needed to read a table in splits of about {@code
+   * targetSplitSizeBytes}. The size estimates of a node only cover the token ranges it owns, so the
+   * size of the whole table is extrapolated from the fraction of the ring they cover.
+   *
+   * @param sizeEstimates estimated bytes per token range, as reported by system.size_estimates.
+   * @param targetSplitSizeBytes approximate size of each split.
+   * @return number of splits, 0 if there are no usable estimates.
+   */
+  long getSplitCountForSize(Map<RingRange, Long> sizeEstimates, long targetSplitSizeBytes) {
+    BigInteger estimatedTokens = BigInteger.ZERO;
+    BigInteger estimatedBytes = BigInteger.ZERO;
+    for (Map.Entry<RingRange, Long> sizeEstimate : sizeEstimates.entrySet()) {
+      estimatedTokens = estimatedTokens.add(sizeEstimate.getKey().span(rangeSize));
+      estimatedBytes = estimatedBytes.add(BigInteger.valueOf(sizeEstimate.getValue()));
+    }
+    if (estimatedTokens.signum() == 0 || estimatedBytes.signum() <= 0) {
+      return 0;
+    }
+    // splitCount = ceiling((estimatedBytes * rangeSize / estimatedTokens) / targetSplitSizeBytes)
+    BigInteger[] splitCountAndRemainder =
+        estimatedBytes
+            .multiply(rangeSize)
+            .divideAndRemainder(estimatedTokens.multiply(BigInteger.valueOf(targetSplitSizeBytes)));
+    BigInteger splitCount =
+        splitCountAndRemainder[0].add(
+            splitCountAndRemainder[1].equals(BigInteger.ZERO) ? BigInteger.ZERO : BigInteger.ONE);
+    LOG.debug(
+        "Estimated {} bytes over {} tokens, needing {} splits",
+        estimatedBytes,
+        estimatedTokens,
+        splitCount);
+    return splitCount.min(BigInteger.valueOf(Integer.MAX_VALUE)).longValue();
+  }
+
   private boolean isInRange(BigInteger token) {
     return !(token.compareTo(rangeMin) < 0 || token.compareTo(rangeMax) > 0);
   }
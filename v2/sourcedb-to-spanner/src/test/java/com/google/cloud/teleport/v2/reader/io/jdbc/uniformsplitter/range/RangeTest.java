@@ -18,6 +18,8 @@ package com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertThrows;
 
+import com.google.common.collect.ImmutableList;
+import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -212,6 +214,61 @@ public class RangeTest {
     assertThrows(IllegalArgumentException.class, () -> rangeBase.split(null));
   }
 
+  @Test
+  public void testRangeSplitAt() {
+    Range range =
+        Range.builder()
+            .setColumnTypeName("dummy")
+            .setTableIdentifier(
+                TableIdentifier.builder()
+                    .setDataSourceId("b1a1ec3b-195d-4755-b04b-02bc64dc4458")
+                    .setTableName("testTable")
+                    .build())
+            .setBoundarySplitter(BoundarySplitterFactory.create(Long.class))
+            .setColName("long_col_1")
+            .setColClass(Long.class)
+            .setStart(0L)
+            .setEnd(100L)
+            .setCount(100L)
+            .setIsFirst(true)
+            .setIsLast(true)
+            .build();
+
+    ImmutableList<Range> splitRanges = range.splitAt(ImmutableList.of(10L, 20L, 90L));
+
+    assertThat(splitRanges).hasSize(4);
+    assertThat(splitRanges).isInOrder();
+    assertThat(splitRanges.stream().map(Range::start).collect(Collectors.toList()))
+        .containsExactly(0L, 10L, 20L, 90L)
+        .inOrder();
+    assertThat(splitRanges.stream().map(Range::end).collect(Collectors.toList()))
+        .containsExactly(10L, 20L, 90L, 100L)
+        .inOrder();
+    assertThat(splitRanges.stream().allMatch(Range::isUncounted)).isTrue();
+    assertThat(splitRanges.get(0).isFirst()).isTrue();
+    assertThat(splitRanges.get(0).isLast()).isFalse();
+    assertThat(splitRanges.get(3).isFirst()).isFalse();
+    assertThat(splitRanges.get(3).isLast()).isTrue();
+    // Ranges split further keep their order with respect to the other ranges.
+    Pair<Range, Range> splitSecond = splitRanges.get(1).split(null);
+    assertThat(
+            ImmutableList.of(
+                splitRanges.get(0),
+                splitSecond.getLeft(),
+                splitSecond.getRight(),
+                splitRanges.get(2)))
+        .isInOrder();
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            range.toBuilder()
+                .setStart(42L)
+                .setEnd(43L)
+                .build()
+                .withChildRange(range.toBuilder().setColName("long_col_2").build(), null)
+                .splitAt(ImmutableList.of(50L)));
+  }
+
   @Test
   public void testAccumulateCount() {
     Range uncountedRange =
@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.transforms;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.DataSourceProviderImpl;
+import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.BoundarySplitterFactory;
+import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.PartitionColumn;
+import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.Range;
+import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableIdentifier;
+import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableSplitSpecification;
+import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter;
+import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter.MySqlVersion;
+import com.google.common.collect.ImmutableList;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.SerializableFunction;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/** Test class for {@link StatisticsSplitRangeDoFn}. */
+@RunWith(MockitoJUnitRunner.class)
+public class StatisticsSplitRangeDoFnTest {
+
+  private static final TableIdentifier TABLE_IDENTIFIER =
+      TableIdentifier.builder()
+          .setDataSourceId("b1a1ec3b-195d-4755-b04b-02bc64dc4458")
+          .setTableName("\"testTable\"")
+          .build();
+
+  SerializableFunction<Void, DataSource> mockDataSourceProviderFn =
+      Mockito.mock(SerializableFunction.class, withSettings().serializable());
+  DataSource mockDataSource = Mockito.mock(DataSource.class, withSettings().serializable());
+
+  Connection mockConnection = Mockito.mock(Connection.class, withSettings().serializable());
+
+  @Mock PreparedStatement mockPreparedStatemet;
+
+  @Mock ResultSet mockResultSet;
+
+  @Mock DoFn.ProcessContext mockProcessContext;
+  @Captor ArgumentCaptor<ImmutableList<Range>> rangesCaptor;
+
+  @Test
+  public void testSeedRanges() {
+    ImmutableList<Range> seededRanges =
+        StatisticsSplitRangeDoFn.seedRanges(
+            initialRange(0L, 1000L),
+            ImmutableList.of("0", "250", "500", "500", "750", "1000"),
+            ImmutableList.of(),
+            1000L,
+            20L,
+            null);
+
+    // Six bounds make five buckets of 200 rows, which are split to the max count of 100 rows. The
+    // range holding the repeated bound holds a frequent value, so it is not estimated but counted.
+    assertThat(seededRanges.stream().map(Range::start).collect(Collectors.toList()))
+        .containsExactly(0L, 125L, 250L, 375L, 500L, 750L, 875L)
+        .inOrder();
+    assertThat(seededRanges.stream().map(Range::count).collect(Collectors.toList()))
+        .containsExactly(100L, 100L, 100L, 100L, Range.INDETERMINATE_COUNT, 100L, 100L)
+        .inOrder();
+    assertThat(seededRanges).isInOrder();
+    assertThat(seededRanges.get(0).isFirst()).isTrue();
+    assertThat(seededRanges.get(6).isLast()).isTrue();
+    assertThat(seededRanges.get(6).end()).isEqualTo(1000L);
+  }
+
+  @Test
+  public void testSeedRangesCountsMostCommonValues() {
+    ImmutableList<Range> seededRanges =
+        StatisticsSplitRangeDoFn.seedRanges(
+            initialRange(0L, 1000L),
+            ImmutableList.of("0", "250", "500", "750", "1000"),
+            ImmutableList.of("600", "abc"),
+            1000L,
+            8L,
+            null);
+
+    // The most common value 600 is left out of the histogram, the range holding it is counted.
+    assertThat(seededRanges.stream().map(Range::start).collect(Collectors.toList()))
+        .containsExactly(0L, 250L, 500L, 750L)
+        .inOrder();
+    assertThat(seededRanges.stream().map(Range::count).collect(Collectors.toList()))
+        .containsExactly(250L, 250L, Range.INDETERMINATE_COUNT, 250L)
+        .inOrder();
+  }
+
+  @Test
+  public void testSeedRangesCountsRangesOutsideHistogram() {
+    ImmutableList<Range> seededRanges =
+        StatisticsSplitRangeDoFn.seedRanges(
+            initialRange(0L, 1000L),
+            ImmutableList.of("100", "500", "900"),
+            ImmutableList.of(),
+            1000L,
+            4L,
+            null);
+
+    // Rows below and above the histogram, such as rows added since it was built, are counted.
+    assertThat(seededRanges.stream().map(Range::start).collect(Collectors.toList()))
+        .containsExactly(0L, 100L, 500L, 900L)
+        .inOrder();
+    assertThat(seededRanges.stream().map(Range::count).collect(Collectors.toList()))
+        .containsExactly(Range.INDETERMINATE_COUNT, 500L, 500L, Range.INDETERMINATE_COUNT)
+        .inOrder();
+  }
+
+  @Test
+  public void testSeedRangesUnusableHistogram() {
+    Range range = initialRange(0L, 1000L);
+
+    assertThat(
+            StatisticsSplitRangeDoFn.seedRanges(
+                range, ImmutableList.of(), ImmutableList.of(), 1000L, 20L, null))
+        .containsExactly(range);
+    assertThat(
+            StatisticsSplitRangeDoFn.seedRanges(
+                range, ImmutableList.of("2000", "3000"), ImmutableList.of(), 1000L, 20L, null))
+        .containsExactly(range);
+    assertThat(
+            StatisticsSplitRangeDoFn.seedRanges(
+                range,
+                ImmutableList.of("base64:type254:YWJj"),
+                ImmutableList.of(),
+                1000L,
+                20L,
+                null))
+        .containsExactly(range);
+  }
+
+  @Test
+  public void testStatisticsSplitRangeDoFnBasic() throws Exception {
+    when(mockDataSourceProviderFn.apply(any())).thenReturn(mockDataSource);
+    when(mockDataSource.getConnection()).thenReturn(mockConnection);
+    when(mockConnection.prepareStatement(anyString(), anyInt(), anyInt()))
+        .thenReturn(mockPreparedStatemet);
+    when(mockPreparedStatemet.executeQuery()).thenReturn(mockResultSet);
+    when(mockResultSet.next()).thenReturn(true, true, true, false);
+    when(mockResultSet.getString(1)).thenReturn("10", "21", "31");
+    when(mockResultSet.getString(2)).thenReturn("20", "30", "40");
+    StatisticsSplitRangeDoFn statisticsSplitRangeDoFn =
+        statisticsSplitRangeDoFn(MySqlVersion.DEFAULT);
+    Range input = initialRange(0L, 42L);
+
+    statisticsSplitRangeDoFn.setup();
+    statisticsSplitRangeDoFn.startBundle();
+    statisticsSplitRangeDoFn.processElement(input, mockProcessContext);
+    statisticsSplitRangeDoFn.finishBundle();
+
+    verify(mockPreparedStatemet).setString(1, "testTable");
+    verify(mockPreparedStatemet).setString(2, "col1");
+    verify(mockProcessContext)
+        .output(eq(StatisticsSplitRangeDoFn.SEEDED_TAG), rangesCaptor.capture());
+    assertThat(rangesCaptor.getValue().stream().map(Range::start).collect(Collectors.toList()))
+        .containsExactly(0L, 10L, 20L, 30L, 40L)
+        .inOrder();
+    assertThat(rangesCaptor.getValue().stream().map(Range::count).collect(Collectors.toList()))
+        .containsExactly(Range.INDETERMINATE_COUNT, 33L, 33L, 33L, Range.INDETERMINATE_COUNT)
+        .inOrder();
+  }
+
+  @Test
+  public void testStatisticsSplitRangeDoFnNoHistogramQuery() throws Exception {
+    StatisticsSplitRangeDoFn statisticsSplitRangeDoFn =
+        statisticsSplitRangeDoFn(MySqlVersion.MYSQL_5_7);
+    Range input = initialRange(0L, 42L);
+
+    statisticsSplitRangeDoFn.setup();
+    statisticsSplitRangeDoFn.startBundle();
+    statisticsSplitRangeDoFn.processElement(input, mockProcessContext);
+    statisticsSplitRangeDoFn.tearDown();
+
+    verify(mockProcessContext).output(StatisticsSplitRangeDoFn.UNSEEDED_TAG, input);
+    verify(mockDataSource, never()).getConnection();
+  }
+
+  @Test
+  public void testStatisticsSplitRangeDoFnSqlException() throws Exception {
+    when(mockDataSourceProviderFn.apply(any())).thenReturn(mockDataSource);
+    when(mockDataSource.getConnection()).thenReturn(mockConnection);
+    when(mockConnection.prepareStatement(anyString(), anyInt(), anyInt()))
+        .thenReturn(mockPreparedStatemet);
+    when(mockPreparedStatemet.executeQuery()).thenThrow(new SQLException("test"));
+    StatisticsSplitRangeDoFn statisticsSplitRangeDoFn =
+        statisticsSplitRangeDoFn(MySqlVersion.DEFAULT);
+    Range input = initialRange(0L, 42L);
+
+    statisticsSplitRangeDoFn.setup();
+    statisticsSplitRangeDoFn.startBundle();
+    statisticsSplitRangeDoFn.processElement(input, mockProcessContext);
+
+    verify(mockProcessContext).output(StatisticsSplitRangeDoFn.UNSEEDED_TAG, input);
+  }
+
+  @Test
+  public void testUndelimitIdentifier() {
+    assertThat(StatisticsSplitRangeDoFn.undelimitIdentifier("testTable")).isEqualTo("testTable");
+    assertThat(StatisticsSplitRangeDoFn.undelimitIdentifier("\"testTable\""))
+        .isEqualTo("testTable");
+    assertThat(StatisticsSplitRangeDoFn.undelimitIdentifier("\"public\".\"test\"\"Table\""))
+        .isEqualTo("test\"Table");
+    assertThat(StatisticsSplitRangeDoFn.undelimitIdentifier("public.testTable"))
+        .isEqualTo("testTable");
+  }
+
+  private StatisticsSplitRangeDoFn statisticsSplitRangeDoFn(MySqlVersion mySqlVersion) {
+    return new StatisticsSplitRangeDoFn(
+        DataSourceProviderImpl.builder()
+            .addDataSource("b1a1ec3b-195d-4755-b04b-02bc64dc4458", mockDataSourceProviderFn)
+            .build(),
+        new MysqlDialectAdapter(mySqlVersion),
+        ImmutableList.of(
+            TableSplitSpecification.builder()
+                .setTableIdentifier(TABLE_IDENTIFIER)
+                .setPartitionColumns(
+                    ImmutableList.of(
+                        PartitionColumn.builder()
+                            .setColumnTypeName("dummy")
+                            .setColumnName("col1")
+                            .setColumnClass(Long.class)
+                            .build()))
+                .setApproxRowCount(100L)
+                .setMaxPartitionsHint(2L)
+                .setInitialSplitHeight(5L)
+                .setSplitStagesCount(1L)
+                .build()));
+  }
+
+  private static Range initialRange(long start, long end) {
+    return Range.builder()
+        .setColumnTypeName("dummy")
+        .setTableIdentifier(TABLE_IDENTIFIER)
+        .setBoundarySplitter(BoundarySplitterFactory.create(Long.class))
+        .setColName("col1")
+        .setColClass(Long.class)
+        .setStart(start)
+        .setEnd(end)
+        .setIsFirst(true)
+        .setIsLast(true)
+        .build();
+  }
+}
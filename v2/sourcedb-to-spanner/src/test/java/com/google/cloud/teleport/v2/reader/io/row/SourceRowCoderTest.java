@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.reader.io.row;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.cloud.teleport.v2.reader.io.schema.SchemaTestUtils;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceSchema;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceSchemaReference;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceTableSchema;
+import com.google.common.collect.ImmutableList;
+import java.nio.charset.StandardCharsets;
+import org.apache.beam.sdk.coders.CoderException;
+import org.apache.beam.sdk.coders.CoderRegistry;
+import org.apache.beam.sdk.testing.CoderProperties;
+import org.apache.beam.sdk.util.CoderUtils;
+import org.apache.beam.sdk.util.SerializableUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Test class for {@link SourceRowCoder}. */
+@RunWith(JUnit4.class)
+public class SourceRowCoderTest {
+
+  private static final SourceSchemaReference SCHEMA_REFERENCE =
+      SchemaTestUtils.generateSchemaReference("public", "mydb");
+  private static final SourceTableSchema TABLE_SCHEMA =
+      SchemaTestUtils.generateTestTableSchemaBuilder("testTable")
+          .setPrimaryKeyColumns(ImmutableList.of(SchemaTestUtils.TEST_FIELD_NAME_1))
+          .build();
+
+  private static SourceRow testRow(String shardId) {
+    return SourceRow.builder(SCHEMA_REFERENCE, TABLE_SCHEMA, shardId, 1712751118L)
+        .setField(SchemaTestUtils.TEST_FIELD_NAME_1, "abc")
+        .setField(SchemaTestUtils.TEST_FIELD_NAME_2, "def")
+        .build();
+  }
+
+  private static SourceRowCoder coderWithSchemas() {
+    return SourceRowCoder.of(
+        ImmutableList.of(
+            SourceSchema.builder()
+                .setSchemaReference(SCHEMA_REFERENCE)
+                .addTableSchema(TABLE_SCHEMA)
+                .build()));
+  }
+
+  @Test
+  public void testDecodeEncodeEqual() throws Exception {
+    for (SourceRowCoder coder : ImmutableList.of(SourceRowCoder.of(), coderWithSchemas())) {
+      CoderProperties.coderDecodeEncodeEqual(coder, testRow("id1"));
+      CoderProperties.coderDecodeEncodeEqual(coder, testRow(null));
+    }
+  }
+
+  @Test
+  public void testCoderSerializable() throws Exception {
+    SourceRowCoder coder = SerializableUtils.clone(coderWithSchemas());
+
+    assertThat(coder).isEqualTo(coderWithSchemas());
+    CoderProperties.coderDecodeEncodeEqual(coder, testRow("id1"));
+  }
+
+  @Test
+  public void testKnownSchemaEncodesFingerprint() throws Exception {
+    SourceRow row = testRow("id1");
+
+    byte[] inlined = CoderUtils.encodeToByteArray(SourceRowCoder.of(), row);
+    byte[] fingerprinted = CoderUtils.encodeToByteArray(coderWithSchemas(), row);
+
+    assertThat(fingerprinted.length).isLessThan(inlined.length);
+    assertThat(new String(fingerprinted, StandardCharsets.UTF_8))
+        .doesNotContain(TABLE_SCHEMA.avroSchema().getName());
+  }
+
+  @Test
+  public void testUnknownSchemaThrows() throws Exception {
+    byte[] fingerprinted = CoderUtils.encodeToByteArray(coderWithSchemas(), testRow("id1"));
+
+    Assert.assertThrows(
+        CoderException.class,
+        () -> CoderUtils.decodeFromByteArray(SourceRowCoder.of(), fingerprinted));
+  }
+
+  @Test
+  public void testDefaultCoder() throws Exception {
+    assertThat(CoderRegistry.createDefault().getCoder(SourceRow.class))
+        .isEqualTo(SourceRowCoder.of());
+  }
+}
@@ -1486,4 +1486,16 @@ abstract class MockInformationSchema {
 
     public abstract MockInformationSchema build();
   }
+
+  @Test
+  public void testExtractHistogramBounds() throws SQLException {
+    ResultSet mockResultSet = mock(ResultSet.class);
+    when(mockResultSet.next()).thenReturn(true, true, false);
+    when(mockResultSet.getString(1)).thenReturn("1", "11");
+    when(mockResultSet.getString(2)).thenReturn("10", "20");
+
+    assertThat(new MysqlDialectAdapter(MySqlVersion.DEFAULT).extractHistogramBounds(mockResultSet))
+        .containsExactly("1", "10", "20")
+        .inOrder();
+  }
 }
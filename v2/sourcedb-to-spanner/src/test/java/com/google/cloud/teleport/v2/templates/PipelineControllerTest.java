@@ -20,7 +20,13 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.cloud.teleport.v2.options.SourceDbToSpannerOptions;
@@ -523,6 +529,65 @@ public class PipelineControllerTest {
     org.mockito.Mockito.verifyNoInteractions(mockConfigContainer);
   }
 
+  @Test
+  public void testSetupLogicalDbMigration_WaitsAcrossCompletedLevel() throws IOException {
+    SourceDbToSpannerOptions mockOptions =
+        PipelineOptionsFactory.as(SourceDbToSpannerOptions.class);
+    mockOptions.setSourceDbDialect(SQLDialect.MYSQL.name());
+    String ledgerDirectory = temporaryFolder.newFolder("ledger").getAbsolutePath();
+    mockOptions.setCompletionLedgerDirectory(ledgerDirectory);
+    // The only table of the middle level is already migrated.
+    MigrationLedger.of(ledgerDirectory).recordCompleted("new_cart");
+
+    SpannerConfig spannerConfig = mock(SpannerConfig.class);
+    org.apache.beam.sdk.Pipeline mockPipeline = mock(org.apache.beam.sdk.Pipeline.class);
+    PCollection<Void> levelOutput = mock(PCollection.class);
+    when(mockPipeline.apply(anyString(), any(MigrateTableTransform.class))).thenReturn(levelOutput);
+
+    ISchemaMapper mockSchemaMapper = mock(ISchemaMapper.class);
+    when(mockSchemaMapper.getSourceTableName(any(), any()))
+        .thenAnswer(invocation -> invocation.getArgument(1));
+
+    TableSelector mockTableSelector = mock(TableSelector.class);
+    when(mockTableSelector.getDdl()).thenReturn(spannerDdl);
+    when(mockTableSelector.getSchemaMapper()).thenReturn(mockSchemaMapper);
+
+    SourceTableReference tableRef =
+        SourceTableReference.builder()
+            .setSourceTableName("people")
+            .setSourceTableSchemaUUID("uuid-1")
+            .setSourceSchemaReference(
+                SourceSchemaReference.ofJdbc(
+                    JdbcSchemaReference.builder().setDbName("db1").build()))
+            .build();
+    when(mockJdbcIoWrapper.getTableReaders())
+        .thenReturn(
+            com.google.common.collect.ImmutableMap.of(
+                com.google.common.collect.ImmutableList.of(tableRef), new DummyTransform()));
+    when(mockJdbcIoWrapper.discoverTableSchema())
+        .thenReturn(com.google.common.collect.ImmutableList.of());
+    DbConfigContainer mockConfigContainer = mock(DbConfigContainer.class);
+    when(mockConfigContainer.getIOWrapper(any(), any())).thenReturn(mockJdbcIoWrapper);
+
+    Map<Integer, List<String>> levelToSpannerTableList = new HashMap<>();
+    levelToSpannerTableList.put(0, List.of("new_people"));
+    levelToSpannerTableList.put(1, List.of("new_cart"));
+    levelToSpannerTableList.put(2, List.of("new_orders"));
+
+    PipelineController.setupLogicalDbMigration(
+        mockOptions,
+        mockPipeline,
+        spannerConfig,
+        mockTableSelector,
+        levelToSpannerTableList,
+        mockConfigContainer);
+
+    // The last level waits on the first level, as the middle level has nothing to migrate.
+    verify(mockConfigContainer).getIOWrapper(eq(List.of("new_people")), isNull());
+    verify(mockConfigContainer, never()).getIOWrapper(eq(List.of("new_cart")), any());
+    verify(mockConfigContainer).getIOWrapper(eq(List.of("new_orders")), notNull());
+  }
+
   @After
   public void cleanup() {
     if (mockedStaticJdbcIoWrapper != null) {
@@ -21,7 +21,9 @@ import static org.junit.Assert.assertEquals;
 
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.Test;
@@ -123,6 +125,24 @@ public final class SplitGeneratorTest {
         "[(141784319550391026443072753096570088109,5], (5,6]]", segments.get(3).toString());
   }
 
+  @Test
+  public void testSplitCountForSize() {
+    SplitGenerator generator = new SplitGenerator("foo.bar.Murmur3Partitioner");
+    BigInteger quarterRing = BigInteger.valueOf(2).pow(62);
+    Map<RingRange, Long> sizeEstimates = new HashMap<>();
+    // The node owns a quarter of the ring holding 250 bytes, so the table holds about 1000 bytes.
+    sizeEstimates.put(RingRange.of(BigInteger.ZERO, quarterRing.divide(BigInteger.TWO)), 100L);
+    sizeEstimates.put(RingRange.of(quarterRing.divide(BigInteger.TWO), quarterRing), 150L);
+
+    assertEquals(10, generator.getSplitCountForSize(sizeEstimates, 100L));
+    assertEquals(4, generator.getSplitCountForSize(sizeEstimates, 300L));
+    assertEquals(0, generator.getSplitCountForSize(new HashMap<>(), 100L));
+    assertEquals(
+        0,
+        generator.getSplitCountForSize(
+            Map.of(RingRange.of(BigInteger.ZERO, quarterRing), 0L), 100L));
+  }
+
   @Test(expected = RuntimeException.class)
   public void testDisorderedRing() {
     List<String> tokenStrings =